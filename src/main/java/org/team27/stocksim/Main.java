@@ -1,11 +1,36 @@
 package org.team27.stocksim;
 
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.List;
 
+import org.team27.stocksim.batch.BatchRunner;
+import org.team27.stocksim.batch.RunResult;
+import org.team27.stocksim.batch.SweepSpec;
 import org.team27.stocksim.controller.ISimController;
 import org.team27.stocksim.controller.SimController;
+import org.team27.stocksim.data.StockData;
+import org.team27.stocksim.data.StockDataLoader;
+import org.team27.stocksim.gateway.OrderEntryServer;
+import org.team27.stocksim.marketdata.MarketDataPublisher;
+import org.team27.stocksim.marketdata.MarketDataTcpServer;
 import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.market.AuctionSchedule;
+import org.team27.stocksim.model.market.IMarket;
+import org.team27.stocksim.model.market.RiskEngine;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+import org.team27.stocksim.model.metrics.MetricsReporter;
+import org.team27.stocksim.model.profiling.SimulationRecording;
+import org.team27.stocksim.model.session.SimulationContext;
 import org.team27.stocksim.model.simulation.SimulationConfig;
+import org.team27.stocksim.repository.BatchResultRepository;
+import org.team27.stocksim.shard.ShardCluster;
+import org.team27.stocksim.shard.ShardedMarket;
+import org.team27.stocksim.shard.SymbolPartitioner;
 import org.team27.stocksim.view.fx.FXStockSimApp;
 
 import javafx.application.Application;
@@ -13,16 +38,46 @@ import javafx.application.Application;
 
 public class Main {
 
+    private static final int METRICS_PORT = 9400;
+    private static final int METRICS_DUMP_INTERVAL_SECONDS = 2;
+    private static final String DEFAULT_BATCH_OUTPUT = "batch-results";
+
     public static void main(String[] args) {
         // Parse command-line arguments
         boolean simMode = false;
         boolean displayMode = false;
+        boolean metricsMode = false;
+        boolean profileMode = false;
+        String batchSpec = null;
+        String batchOutput = DEFAULT_BATCH_OUTPUT;
+        int shardCount = 0;
+        int gatewayPort = -1;
+        int feedPort = -1;
+        boolean batchAuctions = false;
 
-        for (String arg : args) {
-            if ("-sim".equals(arg)) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("-batch".equals(arg) && i + 1 < args.length) {
+                batchSpec = args[++i];
+                if (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+                    batchOutput = args[++i];
+                }
+            } else if ("-shards".equals(arg) && i + 1 < args.length) {
+                shardCount = Integer.parseInt(args[++i]);
+            } else if ("-gateway".equals(arg) && i + 1 < args.length) {
+                gatewayPort = Integer.parseInt(args[++i]);
+            } else if ("-feed".equals(arg) && i + 1 < args.length) {
+                feedPort = Integer.parseInt(args[++i]);
+            } else if ("-sim".equals(arg)) {
                 simMode = true;
             } else if ("-display".equals(arg)) {
                 displayMode = true;
+            } else if ("-metrics".equals(arg)) {
+                metricsMode = true;
+            } else if ("-profile".equals(arg)) {
+                profileMode = true;
+            } else if ("-fba".equals(arg)) {
+                batchAuctions = true;
             }
         }
 
@@ -32,10 +87,23 @@ public class Main {
             System.out.println(
                     "  mvn exec:java -Dexec.args=\"-sim\"       - Run headless simulation to generate price data");
             System.out.println("  mvn exec:java -Dexec.args=\"-display\"   - Load existing data and show JavaFX UI");
+            System.out.println("  add -metrics to print metrics periodically and serve them on http://localhost:"
+                    + METRICS_PORT + "/metrics");
+            System.out.println("  add -profile to record the run with Java Flight Recorder");
+            System.out.println("  add -shards N to match orders in N separate processes");
+            System.out.println("  add -gateway PORT to accept orders from external clients on localhost:PORT");
+            System.out.println("  add -feed PORT to publish market data to TCP clients on localhost:PORT");
+            System.out.println("  add -fba to match orders in one batch auction per symbol and tick");
+            System.out.println("  mvn exec:java -Dexec.args=\"-batch sweep.json [outDir]\" - Run a parameter sweep headless");
 
             displayMode = true;
         }
 
+        if (batchSpec != null) {
+            runBatch(batchSpec, batchOutput);
+            System.exit(0);
+        }
+
         int simulationSpeed;
         // Simulation configuration
         if (displayMode) {
@@ -66,15 +134,38 @@ public class Main {
                 .tickInterval(tickInterval)
                 .durationInRealSeconds(durationInRealSeconds)
                 .initialTimestamp(initialTimestamp)
+                .auctionSchedule(batchAuctions ? AuctionSchedule.frequentBatch() : AuctionSchedule.createDefault())
                 .build();
 
-        // Initialize the model with simulation configuration
-        StockSim model = new StockSim(config);
+        // Initialize the model with simulation configuration, in the global session
+        // so that the UI thread shares the simulation's clock and order IDs
+        ShardCluster shardCluster = shardCount > 0 ? startShards(shardCount, config) : null;
+        StockSim model = shardCluster != null
+                ? new StockSim(SimulationContext.global(), config,
+                        metrics -> connectShards(metrics, shardCluster, config))
+                : new StockSim(SimulationContext.global(), config);
         ISimController controller = new SimController(model);
 
         // Set up initial data (stocks, bots, positions)
         SimSetup setup = new SimSetup(model);
 
+        MetricsReporter metricsReporter = null;
+        if (metricsMode) {
+            metricsReporter = startMetrics(model);
+        }
+
+        SimulationRecording recording = null;
+        if (profileMode) {
+            recording = startRecording();
+        }
+
+        if (gatewayPort >= 0) {
+            startGateway(model, gatewayPort);
+        }
+        if (feedPort >= 0) {
+            startFeed(model, feedPort);
+        }
+
         if (displayMode) {
             // Load pre-generated price data from JSON
             setup.startWithLoadedPrices();
@@ -95,11 +186,107 @@ public class Main {
             model.saveBotPositions();
             model.stopMarketSimulation();
             System.out.println("Simulation completed. Price data and bot positions saved.");
+            if (metricsReporter != null) {
+                metricsReporter.stop();
+                System.out.print(model.getMetrics().toText());
+            }
+            if (recording != null) {
+                System.out.println("Flight recording written to " + recording.stop().toAbsolutePath());
+            }
+            // Shard processes end with this JVM, which closes their standard input
             System.exit(0);
         }
 
     }
 
+    private static void runBatch(String specFile, String outputDirectory) {
+        SweepSpec spec;
+        try {
+            spec = SweepSpec.load(Path.of(specFile));
+        } catch (IOException e) {
+            System.err.println("Could not read sweep specification: " + e.getMessage());
+            return;
+        }
+        BatchResultRepository repository = new BatchResultRepository(Path.of(outputDirectory));
+        System.out.println("Running " + spec.expand().size() + " scenarios, " + spec.getParallelism()
+                + " at a time...");
+        List<RunResult> results = new BatchRunner(spec, repository).runAll();
+        System.out.println(results.size() + " runs written to " + repository.getDirectory().toAbsolutePath());
+    }
+
+    private static ShardCluster startShards(int shardCount, SimulationConfig config) {
+        try {
+            ShardCluster cluster = ShardCluster.startProcesses(shardCount, ShardCluster.Transport.TCP,
+                    config.getMarketOrderConfig());
+            System.out.println("Matching on " + shardCount + " shard processes");
+            return cluster;
+        } catch (IOException e) {
+            System.err.println("Could not start shards, matching in process: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static IMarket connectShards(MetricsRegistry metrics, ShardCluster cluster, SimulationConfig config) {
+        List<String> symbols = new StockDataLoader().loadDefaultStocks().stream()
+                .map(StockData::getSymbol)
+                .toList();
+        try {
+            return new ShardedMarket(metrics, new SymbolPartitioner(symbols, cluster.size()), cluster.getAddresses(),
+                    new RiskEngine(config.getRiskLimits(), config.getMarketOrderConfig()));
+        } catch (IOException e) {
+            System.err.println("Could not connect to shards, matching in process: " + e.getMessage());
+            return StockSim.createMarket(metrics, config);
+        }
+    }
+
+    private static MetricsReporter startMetrics(StockSim model) {
+        MetricsReporter reporter = new MetricsReporter(model.getMetrics());
+        reporter.startPeriodicDump(System.out, METRICS_DUMP_INTERVAL_SECONDS, false);
+        try {
+            int port = reporter.startHttpServer(METRICS_PORT);
+            System.out.println("Metrics available at http://localhost:" + port + "/metrics");
+        } catch (IOException e) {
+            System.err.println("Could not start metrics endpoint: " + e.getMessage());
+        }
+        return reporter;
+    }
+
+    private static void startGateway(StockSim model, int port) {
+        OrderEntryServer gateway = new OrderEntryServer(model,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        try {
+            SocketAddress address = gateway.start();
+            System.out.println("Order entry gateway listening on " + address);
+        } catch (IOException e) {
+            System.err.println("Could not start order entry gateway: " + e.getMessage());
+        }
+    }
+
+    private static void startFeed(StockSim model, int port) {
+        MarketDataPublisher publisher = new MarketDataPublisher(model);
+        publisher.start();
+        MarketDataTcpServer server = new MarketDataTcpServer(publisher,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        try {
+            SocketAddress address = server.start();
+            System.out.println("Market data feed on " + address);
+        } catch (IOException e) {
+            System.err.println("Could not start market data feed: " + e.getMessage());
+            publisher.close();
+        }
+    }
+
+    private static SimulationRecording startRecording() {
+        try {
+            SimulationRecording recording = SimulationRecording.start(Path.of("."));
+            System.out.println("Recording with Java Flight Recorder to " + recording.getDestination().toAbsolutePath());
+            return recording;
+        } catch (IOException e) {
+            System.err.println("Could not start flight recording: " + e.getMessage());
+            return null;
+        }
+    }
+
     private static void launchUI(String[] args, StockSim model, ISimController controller) {// Pass to JavaFX
                                                                                             // application and
         // launch
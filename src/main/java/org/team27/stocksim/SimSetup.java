@@ -34,6 +34,21 @@ public class SimSetup {
         start(true);
     }
 
+    /**
+     * Sets up the default stocks with the given bots instead of the configured
+     * ones, then starts the simulation. Used by batch runs that generate their
+     * own bot population.
+     *
+     * @param bots Bots to create, with their initial positions
+     */
+    public void startWithBots(List<BotData> bots) {
+        createDefaultStocks();
+        createBots(bots);
+        model.createUser("user1", "Default User", 1000000);
+        model.setCurrentUser("user1");
+        model.startMarketSimulation();
+    }
+
     private void start(boolean loadExistingPrices) {
         createDefaultStocks();
         createBotsFromFile(loadExistingPrices);
@@ -77,6 +92,10 @@ public class SimSetup {
             bots = loader.loadDefaultBots();
         }
 
+        createBots(bots);
+    }
+
+    private void createBots(List<BotData> bots) {
         for (BotData botData : bots) {
             // Create strategy first
             IBotStrategy strategy = createStrategy(botData.getStrategy());
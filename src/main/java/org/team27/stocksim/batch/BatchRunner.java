@@ -0,0 +1,199 @@
+package org.team27.stocksim.batch;
+
+import org.team27.stocksim.SimSetup;
+import org.team27.stocksim.data.BotConfig;
+import org.team27.stocksim.data.BotData;
+import org.team27.stocksim.data.BotDataGenerator;
+import org.team27.stocksim.data.BotDataLoader;
+import org.team27.stocksim.data.StockData;
+import org.team27.stocksim.data.StockDataLoader;
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.instruments.Instrument;
+import org.team27.stocksim.model.instruments.PricePoint;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+import org.team27.stocksim.model.session.SimulationContext;
+import org.team27.stocksim.model.simulation.StrategyStatistics;
+import org.team27.stocksim.repository.BatchResultRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every scenario of a {@link SweepSpec} headless and concurrently.
+ *
+ * <p>Each scenario gets its own {@link SimulationContext}, so runs have
+ * independent clocks, order IDs and registries while their bot actions share
+ * the process-wide worker pool fairly. Up to {@code parallelism} runs are in
+ * flight at once. Each finished run is written immediately as a compact JSON
+ * file, and a CSV summary is written once all runs are done.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Batch + Template Method</p>
+ * <ul>
+ *   <li>Set up: default stocks, generated bots for the scenario, start</li>
+ *   <li>Run: sleep for the configured real-time duration</li>
+ *   <li>Collect: counters, downsampled price paths, PnL per strategy</li>
+ *   <li>A failing run is reported on System.err and does not stop the batch</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * SweepSpec spec = SweepSpec.load(Path.of("sweep.json"));
+ * BatchRunner runner = new BatchRunner(spec, new BatchResultRepository(Path.of("results")));
+ * List<RunResult> results = runner.runAll();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see SweepSpec
+ * @see RunResult
+ * @see BatchResultRepository
+ */
+public class BatchRunner {
+
+    private final SweepSpec spec;
+    private final BatchResultRepository repository;
+
+    public BatchRunner(SweepSpec spec, BatchResultRepository repository) {
+        this.spec = spec;
+        this.repository = repository;
+    }
+
+    /**
+     * Runs all scenarios and writes their results.
+     *
+     * @return Results of the runs that completed, ordered by scenario ID
+     */
+    public List<RunResult> runAll() {
+        List<Scenario> scenarios = spec.expand();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService runners = Executors.newFixedThreadPool(Math.min(spec.getParallelism(), scenarios.size()),
+                runnable -> new Thread(runnable, "batch-run-" + threadIndex.incrementAndGet()));
+
+        List<Future<RunResult>> futures = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            futures.add(runners.submit(() -> runAndSave(scenario, scenarios.size())));
+        }
+
+        List<RunResult> results = new ArrayList<>();
+        try {
+            for (Future<RunResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    System.err.println("Batch run failed: " + e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            runners.shutdownNow();
+        } finally {
+            runners.shutdown();
+        }
+
+        repository.saveSummary(results);
+        return results;
+    }
+
+    private RunResult runAndSave(Scenario scenario, int total) throws InterruptedException {
+        RunResult result = run(scenario);
+        repository.saveRun(result);
+        System.out.println("Run " + scenario.getId() + "/" + total + " done: " + result.getTrades() + " trades");
+        return result;
+    }
+
+    /**
+     * Runs a single scenario to completion.
+     *
+     * @param scenario Parameters of the run
+     * @return The collected result
+     * @throws InterruptedException If interrupted while the simulation runs
+     */
+    public RunResult run(Scenario scenario) throws InterruptedException {
+        SimulationContext context = new SimulationContext("run-" + scenario.getId());
+        StockSim model = new StockSim(context, scenario.toSimulationConfig(spec));
+        List<BotData> bots = generateBots(scenario);
+
+        long start = System.currentTimeMillis();
+        context.run(() -> new SimSetup(model).startWithBots(bots));
+        Map<String, BigDecimal> startEquity = new TreeMap<>();
+        model.getStrategyStatistics().forEach((name, stats) -> startEquity.put(name, stats.getTotalEquity()));
+
+        try {
+            Thread.sleep(spec.getDurationInRealSeconds() * 1000L);
+        } finally {
+            model.stopMarketSimulation();
+        }
+        long wallMillis = System.currentTimeMillis() - start;
+
+        MetricsRegistry metrics = model.getMetrics();
+        return new RunResult(scenario, wallMillis,
+                metrics.counter(MetricsRegistry.ORDERS).sum(),
+                metrics.counter(MetricsRegistry.TRADES).sum(),
+                metrics.counter(MetricsRegistry.REJECTS).sum(),
+                pricePaths(context),
+                strategyResults(model, startEquity));
+    }
+
+    private List<BotData> generateBots(Scenario scenario) {
+        BotConfig config = new BotDataLoader().loadDefaultConfig();
+        List<String> symbols = new StockDataLoader().loadDefaultStocks().stream()
+                .map(StockData::getSymbol)
+                .toList();
+        return new BotDataGenerator(
+                scenario.getBotCount(),
+                scenario.getStrategies(),
+                config.getQuantityMin(),
+                config.getQuantityMax(),
+                config.getBalanceMin(),
+                config.getBalanceMax(),
+                config.getCostBasisMin(),
+                config.getCostBasisMax(),
+                symbols,
+                scenario.getSeed()).generateBots();
+    }
+
+    private Map<String, double[]> pricePaths(SimulationContext context) {
+        Map<String, double[]> paths = new TreeMap<>();
+        for (Instrument instrument : context.getInstrumentRegistry().getAllInstruments().values()) {
+            paths.put(instrument.getSymbol(), downsample(instrument.getPriceHistory().getPoints(),
+                    spec.getPricePathPoints()));
+        }
+        return paths;
+    }
+
+    /**
+     * Picks at most {@code maxPoints} evenly spaced prices, keeping the first and last.
+     */
+    static double[] downsample(List<PricePoint> points, int maxPoints) {
+        int count = Math.min(points.size(), maxPoints);
+        double[] path = new double[count];
+        for (int i = 0; i < count; i++) {
+            int index = count == 1 ? 0 : (int) ((long) i * (points.size() - 1) / (count - 1));
+            path[i] = points.get(index).getPrice().doubleValue();
+        }
+        return path;
+    }
+
+    private static Map<String, RunResult.StrategyResult> strategyResults(StockSim model,
+            Map<String, BigDecimal> startEquity) {
+        Map<String, RunResult.StrategyResult> results = new TreeMap<>();
+        for (Map.Entry<String, StrategyStatistics> entry : model.getStrategyStatistics().entrySet()) {
+            StrategyStatistics stats = entry.getValue();
+            results.put(entry.getKey(), new RunResult.StrategyResult(
+                    stats.getBotCount(),
+                    startEquity.getOrDefault(entry.getKey(), stats.getTotalEquity()),
+                    stats.getTotalEquity(),
+                    stats.getTurnover(),
+                    stats.getFillCount()));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,111 @@
+package org.team27.stocksim.batch;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Compact outcome of one batch run: counts, price paths and PnL per strategy.
+ *
+ * <p>Price paths are downsampled to at most {@link SweepSpec#getPricePathPoints()}
+ * evenly spaced points per symbol, always including the first and last print.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see BatchRunner
+ */
+public class RunResult {
+
+    private final Scenario scenario;
+    private final long wallMillis;
+    private final long orders;
+    private final long trades;
+    private final long rejects;
+    private final Map<String, double[]> pricePaths;
+    private final Map<String, StrategyResult> strategies;
+
+    public RunResult(Scenario scenario, long wallMillis, long orders, long trades, long rejects,
+            Map<String, double[]> pricePaths, Map<String, StrategyResult> strategies) {
+        this.scenario = scenario;
+        this.wallMillis = wallMillis;
+        this.orders = orders;
+        this.trades = trades;
+        this.rejects = rejects;
+        this.pricePaths = pricePaths;
+        this.strategies = strategies;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public long getWallMillis() {
+        return wallMillis;
+    }
+
+    public long getOrders() {
+        return orders;
+    }
+
+    public long getTrades() {
+        return trades;
+    }
+
+    public long getRejects() {
+        return rejects;
+    }
+
+    public Map<String, double[]> getPricePaths() {
+        return pricePaths;
+    }
+
+    public Map<String, StrategyResult> getStrategies() {
+        return strategies;
+    }
+
+    /**
+     * Equity of all bots using one strategy at the start and end of a run.
+     */
+    public static class StrategyResult {
+
+        private final int bots;
+        private final BigDecimal startEquity;
+        private final BigDecimal endEquity;
+        private final BigDecimal pnl;
+        private final BigDecimal turnover;
+        private final long fills;
+
+        public StrategyResult(int bots, BigDecimal startEquity, BigDecimal endEquity, BigDecimal turnover,
+                long fills) {
+            this.bots = bots;
+            this.startEquity = startEquity;
+            this.endEquity = endEquity;
+            this.pnl = endEquity.subtract(startEquity);
+            this.turnover = turnover;
+            this.fills = fills;
+        }
+
+        public int getBots() {
+            return bots;
+        }
+
+        public BigDecimal getStartEquity() {
+            return startEquity;
+        }
+
+        public BigDecimal getEndEquity() {
+            return endEquity;
+        }
+
+        public BigDecimal getPnl() {
+            return pnl;
+        }
+
+        public BigDecimal getTurnover() {
+            return turnover;
+        }
+
+        public long getFills() {
+            return fills;
+        }
+    }
+}
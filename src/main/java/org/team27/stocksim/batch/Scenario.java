@@ -0,0 +1,74 @@
+package org.team27.stocksim.batch;
+
+import org.team27.stocksim.model.market.MarketOrderConfig;
+import org.team27.stocksim.model.simulation.SimulationConfig;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * One point of a {@link SweepSpec} grid: the parameters of a single run.
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see SweepSpec
+ * @see BatchRunner
+ */
+public class Scenario {
+
+    private final int id;
+    private final int botCount;
+    private final List<String> strategies;
+    private final BigDecimal maxPriceDeviation;
+    private final int repetition;
+    private final long seed;
+
+    public Scenario(int id, int botCount, List<String> strategies, BigDecimal maxPriceDeviation, int repetition,
+            long seed) {
+        this.id = id;
+        this.botCount = botCount;
+        this.strategies = List.copyOf(strategies);
+        this.maxPriceDeviation = maxPriceDeviation;
+        this.repetition = repetition;
+        this.seed = seed;
+    }
+
+    /**
+     * Builds the simulation configuration for this scenario.
+     *
+     * @param spec Sweep providing speed, tick interval and duration
+     * @return Configuration for the run
+     */
+    public SimulationConfig toSimulationConfig(SweepSpec spec) {
+        return SimulationConfig.builder()
+                .speedupFactor(spec.getSpeedupFactor())
+                .tickInterval(spec.getTickInterval())
+                .durationInRealSeconds(spec.getDurationInRealSeconds())
+                .marketOrderConfig(new MarketOrderConfig(maxPriceDeviation, true))
+                .build();
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getBotCount() {
+        return botCount;
+    }
+
+    public List<String> getStrategies() {
+        return strategies;
+    }
+
+    public BigDecimal getMaxPriceDeviation() {
+        return maxPriceDeviation;
+    }
+
+    public int getRepetition() {
+        return repetition;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
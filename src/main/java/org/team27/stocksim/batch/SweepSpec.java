@@ -0,0 +1,199 @@
+package org.team27.stocksim.batch;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parameter grid for a batch of headless simulations, read from JSON.
+ *
+ * <p>Every combination of bot count, strategy mix and market order price
+ * deviation becomes one {@link Scenario}, repeated {@code repetitions} times
+ * with different seeds. A strategy mix is a list of strategy names assigned to
+ * bots round-robin, so {@code ["RandomStrategy", "RandomStrategy",
+ * "HodlerStrategy"]} gives a 2:1 mix. Fields left out of the file keep the
+ * defaults below.</p>
+ *
+ * <h2>Example file:</h2>
+ * <pre>{@code
+ * {
+ *   "botCounts": [100, 500],
+ *   "strategyMixes": [["RandomStrategy"], ["RandomStrategy", "MomentumTraderStrategy"]],
+ *   "maxPriceDeviations": [0.05, 0.10],
+ *   "repetitions": 2,
+ *   "durationInRealSeconds": 5,
+ *   "parallelism": 4
+ * }
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see Scenario
+ * @see BatchRunner
+ */
+public class SweepSpec {
+
+    private List<Integer> botCounts = List.of(100);
+    private List<List<String>> strategyMixes = List.of(List.of("RandomStrategy"));
+    private List<BigDecimal> maxPriceDeviations = List.of(new BigDecimal("0.10"));
+    private int repetitions = 1;
+    private long seed = 1L;
+    private int speedupFactor = 3600;
+    private int tickInterval = 50;
+    private int durationInRealSeconds = 8;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int pricePathPoints = 200;
+
+    /**
+     * Reads a sweep specification from a JSON file.
+     *
+     * @param file JSON file to read
+     * @return The parsed specification
+     * @throws IOException If the file cannot be read or parsed
+     */
+    public static SweepSpec load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            SweepSpec spec = new Gson().fromJson(reader, SweepSpec.class);
+            if (spec == null) {
+                throw new IOException("Empty sweep specification: " + file);
+            }
+            spec.validate();
+            return spec;
+        } catch (JsonParseException | IllegalArgumentException e) {
+            throw new IOException("Invalid sweep specification " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks that every axis has at least one value and all values are usable.
+     *
+     * @throws IllegalArgumentException If the specification is invalid
+     */
+    public void validate() {
+        if (botCounts == null || botCounts.isEmpty() || botCounts.stream().anyMatch(n -> n == null || n <= 0)) {
+            throw new IllegalArgumentException("botCounts must be a non-empty list of positive numbers");
+        }
+        if (strategyMixes == null || strategyMixes.isEmpty()
+                || strategyMixes.stream().anyMatch(mix -> mix == null || mix.isEmpty())) {
+            throw new IllegalArgumentException("strategyMixes must be a non-empty list of non-empty lists");
+        }
+        if (maxPriceDeviations == null || maxPriceDeviations.isEmpty()
+                || maxPriceDeviations.stream().anyMatch(d -> d == null || d.signum() < 0)) {
+            throw new IllegalArgumentException("maxPriceDeviations must be a non-empty list of non-negative numbers");
+        }
+        if (repetitions <= 0 || durationInRealSeconds <= 0 || parallelism <= 0 || pricePathPoints < 2) {
+            throw new IllegalArgumentException(
+                    "repetitions, durationInRealSeconds and parallelism must be positive, pricePathPoints at least 2");
+        }
+    }
+
+    /**
+     * Expands the grid into individual scenarios, numbered from 1.
+     *
+     * @return One scenario per combination and repetition
+     */
+    public List<Scenario> expand() {
+        validate();
+        List<Scenario> scenarios = new ArrayList<>();
+        int id = 1;
+        for (int botCount : botCounts) {
+            for (List<String> mix : strategyMixes) {
+                for (BigDecimal deviation : maxPriceDeviations) {
+                    for (int repetition = 0; repetition < repetitions; repetition++) {
+                        scenarios.add(new Scenario(id, botCount, mix, deviation, repetition, seed + id));
+                        id++;
+                    }
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    public List<Integer> getBotCounts() {
+        return botCounts;
+    }
+
+    public void setBotCounts(List<Integer> botCounts) {
+        this.botCounts = botCounts;
+    }
+
+    public List<List<String>> getStrategyMixes() {
+        return strategyMixes;
+    }
+
+    public void setStrategyMixes(List<List<String>> strategyMixes) {
+        this.strategyMixes = strategyMixes;
+    }
+
+    public List<BigDecimal> getMaxPriceDeviations() {
+        return maxPriceDeviations;
+    }
+
+    public void setMaxPriceDeviations(List<BigDecimal> maxPriceDeviations) {
+        this.maxPriceDeviations = maxPriceDeviations;
+    }
+
+    public int getRepetitions() {
+        return repetitions;
+    }
+
+    public void setRepetitions(int repetitions) {
+        this.repetitions = repetitions;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public int getSpeedupFactor() {
+        return speedupFactor;
+    }
+
+    public void setSpeedupFactor(int speedupFactor) {
+        this.speedupFactor = speedupFactor;
+    }
+
+    public int getTickInterval() {
+        return tickInterval;
+    }
+
+    public void setTickInterval(int tickInterval) {
+        this.tickInterval = tickInterval;
+    }
+
+    public int getDurationInRealSeconds() {
+        return durationInRealSeconds;
+    }
+
+    public void setDurationInRealSeconds(int durationInRealSeconds) {
+        this.durationInRealSeconds = durationInRealSeconds;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getPricePathPoints() {
+        return pricePathPoints;
+    }
+
+    public void setPricePathPoints(int pricePathPoints) {
+        this.pricePathPoints = pricePathPoints;
+    }
+}
@@ -5,10 +5,14 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import org.team27.stocksim.dto.HistoryPageDTO;
 import org.team27.stocksim.dto.InstrumentDTO;
+import org.team27.stocksim.dto.OrderBookDepthDTO;
 import org.team27.stocksim.dto.OrderDTO;
+import org.team27.stocksim.dto.PortfolioDTO;
 import org.team27.stocksim.dto.TradeDTO;
 import org.team27.stocksim.dto.UserDTO;
+import org.team27.stocksim.dto.ValuationDTO;
 import org.team27.stocksim.observer.IModelObserver;
 
 public interface ISimController {
@@ -23,6 +27,12 @@ public interface ISimController {
 
     UserDTO getUser();
 
+    PortfolioDTO getUserPortfolio();
+
+    ValuationDTO getUserValuation();
+
+    List<ValuationDTO> getLeaderboard(int n);
+
     void buyStock(String stockSymbol, int quantity, BigDecimal price);
 
     void placeMarketBuyOrder(String stockSymbol, int quantity);
@@ -35,9 +45,19 @@ public interface ISimController {
 
     List<TradeDTO> getTradeHistory();
 
+    List<OrderDTO> getActiveOrders();
+
+    List<OrderDTO> getActiveOrders(String stockSymbol);
+
+    HistoryPageDTO<OrderDTO> getOrderHistory(int page, int pageSize);
+
+    HistoryPageDTO<TradeDTO> getTradeHistory(int page, int pageSize);
+
     void setSelectedStock(InstrumentDTO stock);
 
     InstrumentDTO getSelectedStock();
 
     void cancelOrder(int orderId);
+
+    OrderBookDepthDTO getOrderBookDepth(String stockSymbol, int levels);
 }
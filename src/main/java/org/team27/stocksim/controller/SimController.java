@@ -5,10 +5,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 
+import org.team27.stocksim.dto.HistoryPageDTO;
 import org.team27.stocksim.dto.InstrumentDTO;
+import org.team27.stocksim.dto.OrderBookDepthDTO;
+import org.team27.stocksim.dto.OrderBookDepthMapper;
 import org.team27.stocksim.dto.OrderDTO;
+import org.team27.stocksim.dto.PortfolioDTO;
+import org.team27.stocksim.dto.PortfolioMapper;
 import org.team27.stocksim.dto.TradeDTO;
 import org.team27.stocksim.dto.UserDTO;
+import org.team27.stocksim.dto.ValuationDTO;
+import org.team27.stocksim.dto.ValuationMapper;
 import org.team27.stocksim.model.StockSim;
 import org.team27.stocksim.model.market.Order;
 import org.team27.stocksim.model.users.User;
@@ -45,6 +52,25 @@ public class SimController implements ISimController {
         return model.getCurrentUserDto();
     }
 
+    @Override
+    public PortfolioDTO getUserPortfolio() {
+        User user = model.getCurrentUser();
+        return user != null ? PortfolioMapper.toDto(user.getPortfolio()) : null;
+    }
+
+    @Override
+    public ValuationDTO getUserValuation() {
+        User user = model.getCurrentUser();
+        return user != null ? ValuationMapper.toDto(model.getValuation(user.getId())) : null;
+    }
+
+    @Override
+    public List<ValuationDTO> getLeaderboard(int n) {
+        return model.getLeaderboard(n).stream()
+                .map(ValuationMapper::toDto)
+                .toList();
+    }
+
     @Override
     public void buyStock(String stockSymbol, int quantity, BigDecimal price) {
 
@@ -106,6 +132,34 @@ public class SimController implements ISimController {
         return user != null ? user.getOrderHistory().getAllTradesDTO() : new ArrayList<>();
     }
 
+    @Override
+    public List<OrderDTO> getActiveOrders() {
+        User user = model.getCurrentUser();
+        return user != null ? user.getOrderHistory().getActiveOrdersDTO() : new ArrayList<>();
+    }
+
+    @Override
+    public List<OrderDTO> getActiveOrders(String stockSymbol) {
+        User user = model.getCurrentUser();
+        return user != null ? user.getOrderHistory().getActiveOrdersBySymbolDTO(stockSymbol) : new ArrayList<>();
+    }
+
+    @Override
+    public HistoryPageDTO<OrderDTO> getOrderHistory(int page, int pageSize) {
+        User user = model.getCurrentUser();
+        return user != null
+                ? user.getOrderHistory().getOrderPage(page, pageSize)
+                : new HistoryPageDTO<>(new ArrayList<>(), page, pageSize, 0);
+    }
+
+    @Override
+    public HistoryPageDTO<TradeDTO> getTradeHistory(int page, int pageSize) {
+        User user = model.getCurrentUser();
+        return user != null
+                ? user.getOrderHistory().getTradePage(page, pageSize)
+                : new HistoryPageDTO<>(new ArrayList<>(), page, pageSize, 0);
+    }
+
     @Override
     public void setSelectedStock(InstrumentDTO stock) {
         model.getSelectionManager().setSelectedStock(stock);
@@ -120,4 +174,9 @@ public class SimController implements ISimController {
     public void cancelOrder(int orderId) {
         model.cancelOrder(orderId);
     }
+
+    @Override
+    public OrderBookDepthDTO getOrderBookDepth(String stockSymbol, int levels) {
+        return OrderBookDepthMapper.toDto(stockSymbol, model.getOrderBook(stockSymbol), levels);
+    }
 }
\ No newline at end of file
@@ -16,7 +16,7 @@ public class BotDataGenerator {
     private final double costBasisMax;
     private final List<String> symbols;
 
-    private final Random rnd = new Random();
+    private final Random rnd;
 
     public BotDataGenerator(int botCount,
             List<String> strategies,
@@ -27,6 +27,38 @@ public class BotDataGenerator {
             double costBasisMin,
             double costBasisMax,
             List<String> symbols) {
+        this(botCount, strategies, quantityMin, quantityMax, balanceMin, balanceMax, costBasisMin, costBasisMax,
+                symbols, new Random());
+    }
+
+    /**
+     * Creates a generator whose balances, positions and cost bases are reproducible.
+     */
+    public BotDataGenerator(int botCount,
+            List<String> strategies,
+            int quantityMin,
+            int quantityMax,
+            int balanceMin,
+            int balanceMax,
+            double costBasisMin,
+            double costBasisMax,
+            List<String> symbols,
+            long seed) {
+        this(botCount, strategies, quantityMin, quantityMax, balanceMin, balanceMax, costBasisMin, costBasisMax,
+                symbols, new Random(seed));
+    }
+
+    private BotDataGenerator(int botCount,
+            List<String> strategies,
+            int quantityMin,
+            int quantityMax,
+            int balanceMin,
+            int balanceMax,
+            double costBasisMin,
+            double costBasisMax,
+            List<String> symbols,
+            Random rnd) {
+        this.rnd = rnd;
         this.botCount = botCount;
         this.strategies = strategies;
         this.quantityMin = quantityMin;
@@ -2,6 +2,7 @@ package org.team27.stocksim.data;
 
 import com.google.gson.Gson;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
@@ -24,6 +25,22 @@ public class BotDataLoader {
         return createBotsFromConfigFile(CONFIG_BOT_FILE);
     }
 
+    /**
+     * Loads the default bot generation settings (balances, quantities, strategies).
+     *
+     * @return Bot configuration from the bundled config file
+     */
+    public BotConfig loadDefaultConfig() {
+        try (InputStream inputStream = getClass().getResourceAsStream(CONFIG_BOT_FILE)) {
+            if (inputStream == null) {
+                throw new RuntimeException("Could not find resource: " + CONFIG_BOT_FILE);
+            }
+            return gson.fromJson(new InputStreamReader(inputStream, StandardCharsets.UTF_8), BotConfig.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read bot config " + CONFIG_BOT_FILE, e);
+        }
+    }
+
     private List<BotData> createBotsFromConfigFile(String resourcePath) {
         try (InputStream inputStream = getClass().getResourceAsStream(resourcePath)) {
             if (inputStream == null) {
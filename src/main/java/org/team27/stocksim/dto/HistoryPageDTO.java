@@ -0,0 +1,44 @@
+package org.team27.stocksim.dto;
+
+import java.util.Collections;
+import java.util.List;
+
+public class HistoryPageDTO<T> {
+
+    private final List<T> items;
+    private final int page;
+    private final int pageSize;
+    private final long totalCount;
+
+    public HistoryPageDTO(List<T> items, int page, int pageSize, long totalCount) {
+        this.items = Collections.unmodifiableList(items);
+        this.page = page;
+        this.pageSize = pageSize;
+        this.totalCount = totalCount;
+    }
+
+    // Getters only (immutable)
+    public List<T> getItems() {
+        return items;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public boolean hasNext() {
+        return (long) (page + 1) * pageSize < totalCount;
+    }
+
+    public boolean hasPrevious() {
+        return page > 0;
+    }
+}
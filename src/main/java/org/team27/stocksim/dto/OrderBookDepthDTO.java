@@ -0,0 +1,40 @@
+package org.team27.stocksim.dto;
+
+import java.util.List;
+
+public class OrderBookDepthDTO {
+
+    private final String symbol;
+    private final List<PriceLevelDTO> bids;
+    private final List<PriceLevelDTO> asks;
+
+    public OrderBookDepthDTO(String symbol, List<PriceLevelDTO> bids, List<PriceLevelDTO> asks) {
+        this.symbol = symbol;
+        this.bids = List.copyOf(bids);
+        this.asks = List.copyOf(asks);
+    }
+
+    // Getters only (immutable)
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Gets the bid levels, highest price first.
+     */
+    public List<PriceLevelDTO> getBids() {
+        return bids;
+    }
+
+    /**
+     * Gets the ask levels, lowest price first.
+     */
+    public List<PriceLevelDTO> getAsks() {
+        return asks;
+    }
+
+    public boolean isEmpty() {
+        return bids.isEmpty() && asks.isEmpty();
+    }
+
+}
@@ -0,0 +1,27 @@
+package org.team27.stocksim.dto;
+
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.OrderBook;
+import org.team27.stocksim.model.market.PriceLevel;
+
+import java.util.List;
+
+public class OrderBookDepthMapper {
+
+    public static OrderBookDepthDTO toDto(String symbol, OrderBook orderBook, int levels) {
+        if (orderBook == null) {
+            return new OrderBookDepthDTO(symbol, List.of(), List.of());
+        }
+        return new OrderBookDepthDTO(
+                symbol,
+                toDto(orderBook.getDepth(Order.Side.BUY, levels)),
+                toDto(orderBook.getDepth(Order.Side.SELL, levels)));
+    }
+
+    private static List<PriceLevelDTO> toDto(List<PriceLevel> levels) {
+        return levels.stream()
+                .map(level -> new PriceLevelDTO(level.getPrice(), level.getQuantity(), level.getOrderCount()))
+                .toList();
+    }
+
+}
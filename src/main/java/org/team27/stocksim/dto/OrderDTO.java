@@ -11,7 +11,7 @@ public class OrderDTO {
     private final BigDecimal price;
     private final int totalQuantity;
     private final int remainingQuantity;
-    private final String status; // "NEW", "PARTIALLY_FILLED", "FILLED", "CANCELLED"
+    private final String status; // "NEW", "PARTIALLY_FILLED", "FILLED", "CANCELLED", "EXPIRED"
     private final Instant timestamp;
     private final String traderId;
 
@@ -9,10 +9,20 @@ public class OrderHistoryDTO {
 
     private final List<OrderDTO> orders;
     private final List<TradeDTO> trades;
+    private final List<OrderDTO> activeOrders;
 
     public OrderHistoryDTO(List<OrderDTO> orders, List<TradeDTO> trades) {
+        this(orders, trades, orders.stream()
+                .filter(order -> !Objects.equals(order.getStatus(), "FILLED")
+                        && !Objects.equals(order.getStatus(), "CANCELLED")
+                        && !Objects.equals(order.getStatus(), "EXPIRED"))
+                .collect(Collectors.toList()));
+    }
+
+    public OrderHistoryDTO(List<OrderDTO> orders, List<TradeDTO> trades, List<OrderDTO> activeOrders) {
         this.orders = Collections.unmodifiableList(orders);
         this.trades = Collections.unmodifiableList(trades);
+        this.activeOrders = Collections.unmodifiableList(activeOrders);
     }
 
     // Getters only (immutable)
@@ -25,10 +35,7 @@ public class OrderHistoryDTO {
     }
 
     public List<OrderDTO> getActiveOrders() {
-        return orders.stream()
-                .filter(order -> !Objects.equals(order.getStatus(), "FILLED")
-                        && !Objects.equals(order.getStatus(), "CANCELLED"))
-                .collect(Collectors.toList());
+        return activeOrders;
     }
 
 
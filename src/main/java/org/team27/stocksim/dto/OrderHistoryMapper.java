@@ -9,12 +9,9 @@ public class OrderHistoryMapper {
             return null;
         }
         return new OrderHistoryDTO(
-                orderHistory.getAllOrders().stream()
-                        .map(OrderMapper::toDto)
-                        .toList(),
-                orderHistory.getAllTrades().stream()
-                        .map(TradeMapper::toDto)
-                        .toList());
+                orderHistory.getAllOrdersDTO(),
+                orderHistory.getAllTradesDTO(),
+                orderHistory.getActiveOrdersDTO());
     }
 
 }
@@ -0,0 +1,30 @@
+package org.team27.stocksim.dto;
+
+import java.math.BigDecimal;
+
+public class PriceLevelDTO {
+
+    private final BigDecimal price;
+    private final int quantity;
+    private final int orderCount;
+
+    public PriceLevelDTO(BigDecimal price, int quantity, int orderCount) {
+        this.price = price;
+        this.quantity = quantity;
+        this.orderCount = orderCount;
+    }
+
+    // Getters only (immutable)
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.team27.stocksim.dto;
+
+import java.math.BigDecimal;
+
+public class ValuationDTO {
+
+    private final String traderId;
+    private final BigDecimal equity;
+    private final BigDecimal marketValue;
+    private final BigDecimal realizedPnL;
+    private final BigDecimal unrealizedPnL;
+    private final BigDecimal returnPercentage;
+
+    public ValuationDTO(String traderId, BigDecimal equity, BigDecimal marketValue, BigDecimal realizedPnL,
+            BigDecimal unrealizedPnL, BigDecimal returnPercentage) {
+        this.traderId = traderId;
+        this.equity = equity;
+        this.marketValue = marketValue;
+        this.realizedPnL = realizedPnL;
+        this.unrealizedPnL = unrealizedPnL;
+        this.returnPercentage = returnPercentage;
+    }
+
+    // Getters only (immutable)
+    public String getTraderId() {
+        return traderId;
+    }
+
+    public BigDecimal getEquity() {
+        return equity;
+    }
+
+    public BigDecimal getMarketValue() {
+        return marketValue;
+    }
+
+    public BigDecimal getRealizedPnL() {
+        return realizedPnL;
+    }
+
+    public BigDecimal getUnrealizedPnL() {
+        return unrealizedPnL;
+    }
+
+    public BigDecimal getReturnPercentage() {
+        return returnPercentage;
+    }
+
+    // Computed properties for display
+    public BigDecimal getTotalPnL() {
+        return realizedPnL.add(unrealizedPnL);
+    }
+}
@@ -0,0 +1,24 @@
+package org.team27.stocksim.dto;
+
+import org.team27.stocksim.model.portfolio.TraderValuation;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class ValuationMapper {
+
+    public static ValuationDTO toDto(TraderValuation valuation) {
+        if (valuation == null) {
+            return null;
+        }
+
+        return new ValuationDTO(
+                valuation.getTraderId(),
+                valuation.getEquity(),
+                valuation.getMarketValue(),
+                valuation.getRealizedPnL(),
+                valuation.getUnrealizedPnL(),
+                BigDecimal.valueOf(valuation.getReturn() * 100).setScale(2, RoundingMode.HALF_UP));
+    }
+
+}
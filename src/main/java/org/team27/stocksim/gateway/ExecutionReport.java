@@ -0,0 +1,93 @@
+package org.team27.stocksim.gateway;
+
+import java.math.BigDecimal;
+
+/**
+ * A message from the order-entry gateway to a client.
+ *
+ * <p>Every server message is an execution report; its {@link ExecType} says
+ * what happened. For {@code FILL} the price and last quantity describe the
+ * trade, for {@code ACK} the price is the order's limit price. For
+ * {@code MASS_CANCELED} the last quantity is the number of orders cancelled.
+ * The text explains rejections and is empty otherwise.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see OrderEntryProtocol
+ * @see OrderEntryClient
+ */
+public class ExecutionReport {
+
+    /**
+     * What the report tells the client.
+     */
+    public enum ExecType {
+        LOGGED_ON, ACK, REJECT, FILL, CANCELED, REPLACED, MASS_CANCELED, EXPIRED
+    }
+
+    private final ExecType execType;
+    private final long clientOrderId;
+    private final int orderId;
+    private final BigDecimal price;
+    private final int lastQuantity;
+    private final int leavesQuantity;
+    private final String text;
+
+    public ExecutionReport(ExecType execType, long clientOrderId, int orderId, BigDecimal price, int lastQuantity,
+            int leavesQuantity, String text) {
+        this.execType = execType;
+        this.clientOrderId = clientOrderId;
+        this.orderId = orderId;
+        this.price = price;
+        this.lastQuantity = lastQuantity;
+        this.leavesQuantity = leavesQuantity;
+        this.text = text;
+    }
+
+    /**
+     * Checks whether the order will receive no further reports.
+     *
+     * @return true for rejections, cancellations, expiries, replacements and the last fill
+     */
+    public boolean isTerminal() {
+        return switch (execType) {
+            case REJECT, CANCELED, REPLACED, EXPIRED -> true;
+            case FILL -> leavesQuantity == 0;
+            default -> false;
+        };
+    }
+
+    public ExecType getExecType() {
+        return execType;
+    }
+
+    public long getClientOrderId() {
+        return clientOrderId;
+    }
+
+    public int getOrderId() {
+        return orderId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public int getLastQuantity() {
+        return lastQuantity;
+    }
+
+    public int getLeavesQuantity() {
+        return leavesQuantity;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return execType + " clOrdId=" + clientOrderId + " orderId=" + orderId + " price=" + price
+                + " last=" + lastQuantity + " leaves=" + leavesQuantity + (text.isEmpty() ? "" : " " + text);
+    }
+}
@@ -0,0 +1,168 @@
+package org.team27.stocksim.gateway;
+
+import org.team27.stocksim.model.market.Order;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.time.Instant;
+
+/**
+ * Blocking client for the order-entry gateway.
+ *
+ * <p>Requests are buffered and only sent on {@link #flush()} (or when the
+ * buffer fills up), so a batch of orders goes out in one write and the client
+ * does not wait for replies in between. One thread may send while another
+ * reads reports with {@link #readReport()}.</p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * try (OrderEntryClient client = new OrderEntryClient(address)) {
+ *     client.logon("ALICE");
+ *     client.newOrder(1, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("100.00"), 10);
+ *     client.flush();
+ *     ExecutionReport logon = client.readReport();
+ *     ExecutionReport ack = client.readReport();
+ * }
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see OrderEntryServer
+ * @see OrderEntryProtocol
+ */
+public class OrderEntryClient implements Closeable {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+    private final ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+
+    /**
+     * Connects to a gateway.
+     *
+     * @param address Address of the gateway
+     * @throws IOException If the connection fails
+     */
+    public OrderEntryClient(SocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        in.flip();
+    }
+
+    public synchronized void logon(String traderId) throws IOException {
+        reserve();
+        OrderEntryProtocol.writeLogon(out, traderId);
+    }
+
+    public synchronized void newOrder(long clientOrderId, Order.Side side, Order.OrderType orderType, String symbol,
+            BigDecimal price, int quantity) throws IOException {
+        newOrder(clientOrderId, side, orderType, symbol, price, quantity, Order.TimeInForce.GTC, null);
+    }
+
+    /**
+     * Sends a new order with a time in force.
+     *
+     * @param expireTime Expiry of a GTT order, ignored otherwise
+     */
+    public synchronized void newOrder(long clientOrderId, Order.Side side, Order.OrderType orderType, String symbol,
+            BigDecimal price, int quantity, Order.TimeInForce timeInForce, Instant expireTime) throws IOException {
+        newOrder(clientOrderId, side, orderType, symbol, price, null, quantity, timeInForce, expireTime);
+    }
+
+    /**
+     * Sends a new order with a stop price and a time in force.
+     *
+     * @param stopPrice Trigger price of a STOP or STOP_LIMIT order, ignored otherwise
+     * @param expireTime Expiry of a GTT order, ignored otherwise
+     */
+    public synchronized void newOrder(long clientOrderId, Order.Side side, Order.OrderType orderType, String symbol,
+            BigDecimal price, BigDecimal stopPrice, int quantity, Order.TimeInForce timeInForce, Instant expireTime)
+            throws IOException {
+        reserve();
+        OrderEntryProtocol.writeNewOrder(out, clientOrderId, side, orderType, symbol, price, quantity, timeInForce,
+                expireTime, stopPrice);
+    }
+
+    public synchronized void cancel(long clientOrderId) throws IOException {
+        reserve();
+        OrderEntryProtocol.writeCancel(out, clientOrderId);
+    }
+
+    public synchronized void replace(long originalClientOrderId, long clientOrderId, BigDecimal price, int quantity)
+            throws IOException {
+        reserve();
+        OrderEntryProtocol.writeReplace(out, originalClientOrderId, clientOrderId, price, quantity);
+    }
+
+    /**
+     * Cancels all open orders of this session.
+     *
+     * @param symbol Only cancel orders for this symbol, or null for all symbols
+     * @throws IOException If the buffer could not be sent
+     */
+    public synchronized void massCancel(String symbol) throws IOException {
+        reserve();
+        OrderEntryProtocol.writeMassCancel(out, symbol);
+    }
+
+    /**
+     * Sends all buffered requests.
+     *
+     * @throws IOException If the connection fails
+     */
+    public synchronized void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Blocks until the next report arrives.
+     *
+     * @return The report, or null if the gateway closed the connection
+     * @throws IOException If the connection fails or a message is malformed
+     */
+    public ExecutionReport readReport() throws IOException {
+        int length;
+        while ((length = OrderEntryProtocol.completeMessageLength(in)) < 0) {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0) {
+                if (in.hasRemaining()) {
+                    throw new EOFException("Connection closed inside a message");
+                }
+                return null;
+            }
+        }
+        in.getInt();
+        int end = in.position() + length;
+        byte type = in.get();
+        if (type != OrderEntryProtocol.EXECUTION_REPORT) {
+            throw new IOException("Unexpected message type " + type);
+        }
+        ExecutionReport report = OrderEntryProtocol.readReport(in);
+        in.position(end);
+        return report;
+    }
+
+    private void reserve() throws IOException {
+        if (out.remaining() < OrderEntryProtocol.MAX_MESSAGE_BYTES) {
+            flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,115 @@
+package org.team27.stocksim.gateway;
+
+import org.team27.stocksim.data.StockData;
+import org.team27.stocksim.data.StockDataLoader;
+import org.team27.stocksim.model.market.Order;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a running gateway with a constant window of outstanding orders and prints the rate.
+ *
+ * <p>Logs on as an existing trader and sends one-share market orders,
+ * alternating buy and sell across the default symbols. A new order is sent
+ * whenever a previous one received its terminal report, so at most
+ * {@code window} orders are outstanding at any time.</p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * // Start the simulation with: -sim -gateway 9500
+ * // java -cp stocksim.jar org.team27.stocksim.gateway.OrderEntryLoadGenerator localhost 9500 USER1 5 256
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see OrderEntryClient
+ * @see OrderEntryServer
+ */
+public class OrderEntryLoadGenerator {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: OrderEntryLoadGenerator host port traderId [seconds] [window]");
+            System.exit(1);
+        }
+        String host = args[0];
+        int port = Integer.parseInt(args[1]);
+        String traderId = args[2];
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 5;
+        int window = args.length > 4 ? Integer.parseInt(args[4]) : 256;
+
+        List<String> symbols = new StockDataLoader().loadDefaultStocks().stream()
+                .map(StockData::getSymbol)
+                .toList();
+        Semaphore outstanding = new Semaphore(window);
+        LongAdder completed = new LongAdder();
+        LongAdder fills = new LongAdder();
+        LongAdder rejects = new LongAdder();
+        AtomicBoolean connected = new AtomicBoolean(true);
+
+        try (OrderEntryClient client = new OrderEntryClient(new InetSocketAddress(host, port))) {
+            client.logon(traderId);
+            client.flush();
+            ExecutionReport logon = client.readReport();
+            if (logon == null || logon.getExecType() != ExecutionReport.ExecType.LOGGED_ON) {
+                System.err.println("Logon failed: " + logon);
+                System.exit(1);
+            }
+
+            Thread reader = new Thread(() -> {
+                try {
+                    ExecutionReport report;
+                    while ((report = client.readReport()) != null) {
+                        if (report.getExecType() == ExecutionReport.ExecType.FILL) {
+                            fills.increment();
+                        } else if (report.getExecType() == ExecutionReport.ExecType.REJECT) {
+                            rejects.increment();
+                        }
+                        if (report.isTerminal()) {
+                            completed.increment();
+                            outstanding.release();
+                        }
+                    }
+                } catch (IOException e) {
+                    System.err.println("Connection lost: " + e.getMessage());
+                }
+                // Unblock the sender once the gateway is gone
+                connected.set(false);
+                outstanding.release(window);
+            }, "load-reader");
+            reader.setDaemon(true);
+            reader.start();
+
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            long clientOrderId = 0;
+            while (connected.get() && System.nanoTime() < deadline) {
+                // Send what the window allows in one batch
+                int permits = outstanding.drainPermits();
+                if (permits == 0) {
+                    outstanding.acquire();
+                    permits = 1;
+                }
+                for (int i = 0; i < permits; i++) {
+                    clientOrderId++;
+                    Order.Side side = clientOrderId % 2 == 0 ? Order.Side.BUY : Order.Side.SELL;
+                    String symbol = symbols.get((int) ((clientOrderId / 2) % symbols.size()));
+                    client.newOrder(clientOrderId, side, Order.OrderType.MARKET, symbol, null, 1);
+                }
+                client.flush();
+            }
+            if (connected.get()) {
+                client.massCancel(null);
+                client.flush();
+            }
+
+            double rate = completed.sum() / (double) seconds;
+            System.out.printf("%d orders sent, %.0f orders/s completed, %d fills, %d rejects%n",
+                    clientOrderId, rate, fills.sum(), rejects.sum());
+        }
+    }
+}
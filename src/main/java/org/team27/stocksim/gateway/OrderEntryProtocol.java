@@ -0,0 +1,190 @@
+package org.team27.stocksim.gateway;
+
+import org.team27.stocksim.model.market.Order;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Binary messages of the order-entry gateway.
+ *
+ * <p>Every message is a big-endian {@code int} length (not counting itself)
+ * followed by a one-byte type. Clients choose their own {@code long} client
+ * order IDs, unique among their open orders, and may pipeline any number of
+ * requests without waiting for replies. Prices are an unscaled {@code long}
+ * plus a one-byte scale; strings are at most 255 bytes of UTF-8.</p>
+ *
+ * <h2>Requests (client to gateway):</h2>
+ * <ul>
+ *   <li>{@code LOGON}: traderId; must come first</li>
+ *   <li>{@code NEW_ORDER}: clOrdId, side, type, price, quantity, symbol, time in force,
+ *       expire time in epoch milliseconds (GTT only, otherwise zero), stop price
+ *       (STOP and STOP_LIMIT only, otherwise zero)</li>
+ *   <li>{@code CANCEL}: clOrdId</li>
+ *   <li>{@code REPLACE}: origClOrdId, clOrdId, price, quantity (new total quantity)</li>
+ *   <li>{@code MASS_CANCEL}: symbol, empty for all symbols; cancels the logged-on trader's orders</li>
+ * </ul>
+ *
+ * <h2>Reports (gateway to client):</h2>
+ * <ul>
+ *   <li>{@code EXECUTION_REPORT}: execType, clOrdId, orderId, price, lastQty,
+ *       leavesQty, text; see {@link ExecutionReport}</li>
+ * </ul>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see OrderEntryServer
+ * @see OrderEntryClient
+ */
+public final class OrderEntryProtocol {
+
+    public static final byte LOGON = 1;
+    public static final byte NEW_ORDER = 2;
+    public static final byte CANCEL = 3;
+    public static final byte REPLACE = 4;
+    public static final byte MASS_CANCEL = 5;
+    public static final byte EXECUTION_REPORT = 16;
+
+    /**
+     * Upper bound for a single message including its length prefix.
+     */
+    public static final int MAX_MESSAGE_BYTES = 1024;
+
+    private static final int MAX_STRING_BYTES = 255;
+
+    private OrderEntryProtocol() {
+    }
+
+    public static void writeLogon(ByteBuffer out, String traderId) {
+        int start = begin(out, LOGON);
+        writeString(out, traderId);
+        end(out, start);
+    }
+
+    public static void writeNewOrder(ByteBuffer out, long clientOrderId, Order.Side side, Order.OrderType orderType,
+            String symbol, BigDecimal price, int quantity, Order.TimeInForce timeInForce, Instant expireTime,
+            BigDecimal stopPrice) {
+        int start = begin(out, NEW_ORDER);
+        out.putLong(clientOrderId);
+        out.put((byte) side.ordinal());
+        out.put((byte) orderType.ordinal());
+        writePrice(out, price);
+        out.putInt(quantity);
+        writeString(out, symbol);
+        out.put((byte) timeInForce.ordinal());
+        out.putLong(expireTime != null ? expireTime.toEpochMilli() : 0);
+        writePrice(out, stopPrice);
+        end(out, start);
+    }
+
+    public static void writeCancel(ByteBuffer out, long clientOrderId) {
+        int start = begin(out, CANCEL);
+        out.putLong(clientOrderId);
+        end(out, start);
+    }
+
+    public static void writeReplace(ByteBuffer out, long originalClientOrderId, long clientOrderId,
+            BigDecimal price, int quantity) {
+        int start = begin(out, REPLACE);
+        out.putLong(originalClientOrderId);
+        out.putLong(clientOrderId);
+        writePrice(out, price);
+        out.putInt(quantity);
+        end(out, start);
+    }
+
+    public static void writeMassCancel(ByteBuffer out, String symbol) {
+        int start = begin(out, MASS_CANCEL);
+        writeString(out, symbol != null ? symbol : "");
+        end(out, start);
+    }
+
+    public static void writeReport(ByteBuffer out, ExecutionReport.ExecType execType, long clientOrderId,
+            int orderId, BigDecimal price, int lastQuantity, int leavesQuantity, String text) {
+        int start = begin(out, EXECUTION_REPORT);
+        out.put((byte) execType.ordinal());
+        out.putLong(clientOrderId);
+        out.putInt(orderId);
+        writePrice(out, price);
+        out.putInt(lastQuantity);
+        out.putInt(leavesQuantity);
+        writeString(out, truncate(text));
+        end(out, start);
+    }
+
+    public static ExecutionReport readReport(ByteBuffer in) {
+        ExecutionReport.ExecType execType = ExecutionReport.ExecType.values()[in.get()];
+        long clientOrderId = in.getLong();
+        int orderId = in.getInt();
+        BigDecimal price = readPrice(in);
+        int lastQuantity = in.getInt();
+        int leavesQuantity = in.getInt();
+        String text = readString(in);
+        return new ExecutionReport(execType, clientOrderId, orderId, price, lastQuantity, leavesQuantity, text);
+    }
+
+    /**
+     * Checks whether a buffer in read mode holds a complete message.
+     *
+     * @param in Buffer positioned at a length prefix
+     * @return Length of the message body, or -1 if it is not complete yet
+     * @throws IllegalArgumentException If the length prefix is malformed
+     */
+    public static int completeMessageLength(ByteBuffer in) {
+        if (in.remaining() < Integer.BYTES) {
+            return -1;
+        }
+        int length = in.getInt(in.position());
+        if (length <= 0 || length > MAX_MESSAGE_BYTES - Integer.BYTES) {
+            throw new IllegalArgumentException("Malformed message length " + length);
+        }
+        return in.remaining() >= Integer.BYTES + length ? length : -1;
+    }
+
+    public static BigDecimal readPrice(ByteBuffer in) {
+        long unscaled = in.getLong();
+        byte scale = in.get();
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    public static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.get() & 0xFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int begin(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putInt(0);
+        out.put(type);
+        return start;
+    }
+
+    private static void end(ByteBuffer out, int start) {
+        out.putInt(start, out.position() - start - Integer.BYTES);
+    }
+
+    /**
+     * Market orders may carry no price, and orders other than stops no stop price; they travel as zero.
+     */
+    private static void writePrice(ByteBuffer out, BigDecimal price) {
+        BigDecimal value = price != null ? price : BigDecimal.ZERO;
+        out.putLong(value.unscaledValue().longValueExact());
+        out.put((byte) value.scale());
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String longer than " + MAX_STRING_BYTES + " bytes");
+        }
+        out.put((byte) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String truncate(String text) {
+        return text.length() > 100 ? text.substring(0, 100) : text;
+    }
+}
@@ -0,0 +1,607 @@
+package org.team27.stocksim.gateway;
+
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.instruments.Instrument;
+import org.team27.stocksim.model.market.IOrderEventListener;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.OrderValidator;
+import org.team27.stocksim.model.market.Trade;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+import org.team27.stocksim.model.users.Trader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Network order entry for external clients, served by a single non-blocking selector loop.
+ *
+ * <p>Clients connect over TCP, log on as an existing trader and then send
+ * {@link OrderEntryProtocol} requests, as many as they like without waiting
+ * for replies. The selector thread decodes every complete request in a read,
+ * hands it to {@link StockSim}, and replies with execution reports. The
+ * reports come from the model's order events, which can fire on any thread
+ * (a bot's order may fill a client's resting order). They are appended to the
+ * session's outbound buffer and written by the selector thread, so matching
+ * never waits for a socket.</p>
+ *
+ * <p><strong>Design Patterns:</strong> Reactor + Observer</p>
+ * <ul>
+ *   <li>One thread accepts, reads, processes and writes for all sessions</li>
+ *   <li>Replies to pipelined requests are batched into one write</li>
+ *   <li>A client that does not read its reports is disconnected once its
+ *       outbound buffer exceeds {@value #MAX_OUTBOUND_BYTES} bytes</li>
+ *   <li>Orders of a session are cancelled when it disconnects</li>
+ *   <li>Replace of a limit order is an amend in place: the order keeps its
+ *       ID, and its queue priority if only its quantity went down</li>
+ *   <li>Other replaces are cancel-then-new; they are rejected if the original
+ *       order could not be cancelled (e.g. it filled in the meantime)</li>
+ *   <li>New orders carry a time in force; DAY and GTT orders that reach
+ *       their expire time are reported as {@code EXPIRED}</li>
+ *   <li>Stop and stop-limit orders are acknowledged on arrival and
+ *       report fills once a trade triggers them</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * OrderEntryServer server = new OrderEntryServer(model, new InetSocketAddress(9500));
+ * SocketAddress address = server.start();
+ * // ...
+ * server.close();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see OrderEntryProtocol
+ * @see OrderEntryClient
+ * @see IOrderEventListener
+ */
+public class OrderEntryServer implements Closeable {
+
+    public static final int MAX_OUTBOUND_BYTES = 4 * 1024 * 1024;
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final StockSim model;
+    private final SocketAddress bindAddress;
+    private final OrderValidator orderValidator = new OrderValidator();
+    private final IOrderEventListener reporter = new Reporter();
+
+    /**
+     * Orders placed through this gateway that may still receive reports, by market order ID.
+     */
+    private final ConcurrentHashMap<Integer, EntryOrder> ordersById = new ConcurrentHashMap<>();
+
+    /**
+     * Sessions with reports waiting to be written by the selector thread.
+     */
+    private final ConcurrentLinkedQueue<Session> pendingFlush = new ConcurrentLinkedQueue<>();
+
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final LongAdder messagesCounter;
+
+    private Selector selector;
+    private ServerSocketChannel server;
+    private Thread selectorThread;
+    private volatile boolean running;
+
+    /**
+     * Creates a gateway for the given simulation.
+     *
+     * @param model Simulation receiving the orders
+     * @param bindAddress Address to listen on, port 0 picks a free port
+     */
+    public OrderEntryServer(StockSim model, SocketAddress bindAddress) {
+        this.model = model;
+        this.bindAddress = bindAddress;
+        this.messagesCounter = model.getMetrics().counter(MetricsRegistry.GATEWAY_MESSAGES);
+        model.getMetrics().gauge(MetricsRegistry.GATEWAY_SESSIONS, sessions::size);
+    }
+
+    /**
+     * Starts listening and serving clients.
+     *
+     * @return The address the gateway listens on
+     * @throws IOException If the socket cannot be bound
+     */
+    public synchronized SocketAddress start() throws IOException {
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(bindAddress);
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        model.addOrderEventListener(reporter);
+
+        running = true;
+        selectorThread = new Thread(() -> model.getContext().run(this::selectLoop), "order-entry");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+        return server.getLocalAddress();
+    }
+
+    private void selectLoop() {
+        while (running) {
+            try {
+                selector.select();
+            } catch (IOException e) {
+                System.err.println("Order entry selector failed: " + e.getMessage());
+                return;
+            }
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                if (!key.isValid()) {
+                    continue;
+                }
+                if (key.isAcceptable()) {
+                    accept();
+                    continue;
+                }
+                Session session = (Session) key.attachment();
+                try {
+                    if (key.isReadable()) {
+                        read(session);
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        flush(session);
+                    }
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Order entry session " + session.traderId + " dropped: " + e.getMessage());
+                    closeSession(session);
+                }
+            }
+            Session session;
+            while ((session = pendingFlush.poll()) != null) {
+                session.flushScheduled.set(false);
+                try {
+                    flush(session);
+                } catch (IOException e) {
+                    System.err.println("Order entry session " + session.traderId + " dropped: " + e.getMessage());
+                    closeSession(session);
+                }
+            }
+        }
+    }
+
+    private void accept() {
+        try {
+            SocketChannel channel = server.accept();
+            if (channel == null) {
+                return;
+            }
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Session session = new Session(channel);
+            session.key = channel.register(selector, SelectionKey.OP_READ, session);
+            sessions.add(session);
+        } catch (IOException e) {
+            System.err.println("Order entry accept failed: " + e.getMessage());
+        }
+    }
+
+    private void read(Session session) throws IOException {
+        int read = session.channel.read(session.in);
+        if (read < 0) {
+            closeSession(session);
+            return;
+        }
+        session.in.flip();
+        int length;
+        while (session.isOpen() && (length = OrderEntryProtocol.completeMessageLength(session.in)) > 0) {
+            int bodyStart = session.in.position() + Integer.BYTES;
+            ByteBuffer message = session.in.slice(bodyStart, length);
+            session.in.position(bodyStart + length);
+            messagesCounter.increment();
+            try {
+                handle(session, message);
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new IOException("Malformed message", e);
+            }
+        }
+        session.in.compact();
+    }
+
+    private void handle(Session session, ByteBuffer message) {
+        byte type = message.get();
+        if (type == OrderEntryProtocol.LOGON) {
+            logon(session, OrderEntryProtocol.readString(message));
+            return;
+        }
+        if (session.traderId == null) {
+            session.reject(0, "Not logged on");
+            return;
+        }
+        switch (type) {
+            case OrderEntryProtocol.NEW_ORDER -> newOrder(session, message.getLong(),
+                    Order.Side.values()[message.get()], Order.OrderType.values()[message.get()],
+                    OrderEntryProtocol.readPrice(message), message.getInt(), OrderEntryProtocol.readString(message),
+                    Order.TimeInForce.values()[message.get()], message.getLong(),
+                    OrderEntryProtocol.readPrice(message));
+            case OrderEntryProtocol.CANCEL -> cancel(session, message.getLong());
+            case OrderEntryProtocol.REPLACE -> replace(session, message.getLong(), message.getLong(),
+                    OrderEntryProtocol.readPrice(message), message.getInt());
+            case OrderEntryProtocol.MASS_CANCEL -> massCancel(session, OrderEntryProtocol.readString(message));
+            default -> throw new IllegalArgumentException("Unknown message type " + type);
+        }
+    }
+
+    private void logon(Session session, String traderId) {
+        if (session.traderId != null) {
+            session.reject(0, "Already logged on");
+            return;
+        }
+        Trader trader = model.getTraders().get(traderId.toUpperCase());
+        if (trader == null) {
+            session.reject(0, "Unknown trader " + traderId);
+            return;
+        }
+        session.traderId = trader.getId();
+        session.report(ExecutionReport.ExecType.LOGGED_ON, 0, 0, null, 0, 0, "");
+    }
+
+    private void newOrder(Session session, long clientOrderId, Order.Side side, Order.OrderType orderType,
+            BigDecimal price, int quantity, String symbol, Order.TimeInForce timeInForce, long expireMillis,
+            BigDecimal stopPrice) {
+        if (session.orders.containsKey(clientOrderId)) {
+            session.reject(clientOrderId, "Duplicate client order ID");
+            return;
+        }
+        Instrument instrument = model.getInstrument(symbol.toUpperCase());
+        if (instrument == null) {
+            session.reject(clientOrderId, "Unknown symbol " + symbol);
+            return;
+        }
+        Order order = new Order(side, orderType, instrument.getSymbol(), price, stopPrice, quantity, session.traderId,
+                timeInForce, expireMillis != 0 ? Instant.ofEpochMilli(expireMillis) : null);
+        submit(session, clientOrderId, order);
+    }
+
+    private boolean submit(Session session, long clientOrderId, Order order) {
+        OrderValidator.ValidationResult validation = orderValidator.validate(order);
+        if (!validation.isValid()) {
+            session.reject(clientOrderId, validation.getErrorMessage());
+            return false;
+        }
+        // Register first: reports for the order fire while placeOrder runs
+        EntryOrder entry = new EntryOrder(session, clientOrderId, order);
+        session.orders.put(clientOrderId, entry);
+        ordersById.put(order.getOrderId(), entry);
+        model.placeOrder(order);
+        return true;
+    }
+
+    private void cancel(Session session, long clientOrderId) {
+        EntryOrder entry = session.orders.get(clientOrderId);
+        if (entry == null) {
+            session.reject(clientOrderId, "Unknown order");
+            return;
+        }
+        model.cancelOrder(entry.order.getOrderId());
+    }
+
+    private void replace(Session session, long originalClientOrderId, long clientOrderId, BigDecimal price,
+            int quantity) {
+        EntryOrder original = session.orders.get(originalClientOrderId);
+        if (original == null) {
+            session.reject(clientOrderId, "Unknown order");
+            return;
+        }
+        if (session.orders.containsKey(clientOrderId)) {
+            session.reject(clientOrderId, "Duplicate client order ID");
+            return;
+        }
+        int leaves = quantity - original.filled.get();
+        if (leaves <= 0) {
+            session.reject(clientOrderId, "Quantity must exceed the filled quantity");
+            return;
+        }
+        Order old = original.order;
+        if (!old.isMarketOrder() && !old.isAwaitingTrigger()) {
+            amend(session, original, clientOrderId, price, quantity);
+            return;
+        }
+        // A triggered stop is replaced by the market or limit order it became
+        Order.OrderType orderType = !old.isTriggered() ? old.getOrderType()
+                : old.isMarketOrder() ? Order.OrderType.MARKET : Order.OrderType.LIMIT;
+        Order replacement = new Order(old.getSide(), orderType, old.getSymbol(), price, old.getStopPrice(), leaves,
+                old.getTraderId(), old.getTimeInForce(), old.getExpireTime());
+        OrderValidator.ValidationResult validation = orderValidator.validate(replacement);
+        if (!validation.isValid()) {
+            session.reject(clientOrderId, validation.getErrorMessage());
+            return;
+        }
+
+        original.replaced = true;
+        model.cancelOrder(old.getOrderId());
+        if (old.getStatus() != Order.Status.CANCELLED) {
+            original.replaced = false;
+            session.reject(clientOrderId, "Order could not be cancelled");
+            return;
+        }
+        session.report(ExecutionReport.ExecType.REPLACED, originalClientOrderId, old.getOrderId(), old.getPrice(),
+                0, 0, "");
+        submit(session, clientOrderId, replacement);
+    }
+
+    private void amend(Session session, EntryOrder original, long clientOrderId, BigDecimal price, int quantity) {
+        int orderId = original.order.getOrderId();
+        // Re-key first: the amend's reports and the fills it causes belong to the new client order ID
+        EntryOrder amended = new EntryOrder(session, clientOrderId, original.order, original.filled, original);
+        session.orders.put(clientOrderId, amended);
+        ordersById.put(orderId, amended);
+        if (model.amendOrder(orderId, price, quantity)) {
+            session.orders.remove(original.clientOrderId, original);
+            return;
+        }
+        ordersById.replace(orderId, amended, original);
+        session.orders.remove(clientOrderId, amended);
+        session.reject(clientOrderId, "Order could not be amended");
+    }
+
+    private void massCancel(Session session, String symbol) {
+        // One pass per book under its lock; the count covers only orders that were still active
+        int cancelled = model.cancelOrders(session.traderId, symbol.isEmpty() ? null : symbol.toUpperCase(), null);
+        session.report(ExecutionReport.ExecType.MASS_CANCELED, 0, 0, null, cancelled, 0, "");
+    }
+
+    private void flush(Session session) throws IOException {
+        if (!session.isOpen()) {
+            return;
+        }
+        if (session.overflowed) {
+            throw new IOException("Outbound buffer exceeded " + MAX_OUTBOUND_BYTES + " bytes");
+        }
+        synchronized (session) {
+            session.out.flip();
+            try {
+                session.channel.write(session.out);
+            } finally {
+                session.out.compact();
+            }
+            int interest = session.out.position() > 0
+                    ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                    : SelectionKey.OP_READ;
+            if (session.key.interestOps() != interest) {
+                session.key.interestOps(interest);
+            }
+        }
+    }
+
+    private void closeSession(Session session) {
+        if (!sessions.remove(session)) {
+            return;
+        }
+        session.key.cancel();
+        try {
+            session.channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing order entry session: " + e.getMessage());
+        }
+        // Cancel on disconnect
+        for (EntryOrder entry : List.copyOf(session.orders.values())) {
+            model.cancelOrder(entry.order.getOrderId());
+            ordersById.remove(entry.order.getOrderId(), entry);
+        }
+        session.orders.clear();
+    }
+
+    /**
+     * Gets the number of connected sessions.
+     *
+     * @return Open sessions, logged on or not
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        model.removeOrderEventListener(reporter);
+        if (selector != null) {
+            selector.wakeup();
+            try {
+                selectorThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            for (Session session : new ArrayList<>(sessions)) {
+                closeSession(session);
+            }
+            server.close();
+            selector.close();
+        }
+    }
+
+    /**
+     * Turns the model's order events into execution reports for the owning session.
+     */
+    private final class Reporter implements IOrderEventListener {
+
+        @Override
+        public void onOrderAccepted(Order order) {
+            EntryOrder entry = ordersById.get(order.getOrderId());
+            if (entry != null) {
+                entry.session.report(ExecutionReport.ExecType.ACK, entry.clientOrderId, order.getOrderId(),
+                        order.getPrice(), 0, order.getTotalQuantity(), "");
+            }
+        }
+
+        @Override
+        public void onOrderRejected(Order order, String reason) {
+            EntryOrder entry = ordersById.get(order.getOrderId());
+            if (entry != null) {
+                forget(entry);
+                entry.session.reject(entry.clientOrderId, reason);
+            }
+        }
+
+        @Override
+        public void onOrderAmended(Order order) {
+            EntryOrder entry = ordersById.get(order.getOrderId());
+            if (entry == null || entry.replaces == null) {
+                return;
+            }
+            entry.session.report(ExecutionReport.ExecType.REPLACED, entry.replaces.clientOrderId, order.getOrderId(),
+                    order.getPrice(), 0, 0, "");
+            entry.session.report(ExecutionReport.ExecType.ACK, entry.clientOrderId, order.getOrderId(),
+                    order.getPrice(), 0, order.getRemainingQuantity(), "");
+        }
+
+        @Override
+        public void onTradeSettled(Trade trade) {
+            reportFill(trade, trade.getBuyOrderId());
+            reportFill(trade, trade.getSellOrderId());
+        }
+
+        private void reportFill(Trade trade, int orderId) {
+            EntryOrder entry = ordersById.get(orderId);
+            if (entry == null) {
+                return;
+            }
+            int leaves = Math.max(0, entry.order.getTotalQuantity() - entry.filled.addAndGet(trade.getQuantity()));
+            entry.session.report(ExecutionReport.ExecType.FILL, entry.clientOrderId, orderId, trade.getPrice(),
+                    trade.getQuantity(), leaves, "");
+            if (leaves == 0) {
+                forget(entry);
+            }
+        }
+
+        @Override
+        public void onOrderClosed(Order order) {
+            EntryOrder entry = ordersById.get(order.getOrderId());
+            if (entry == null) {
+                return;
+            }
+            if (order.getStatus() == Order.Status.FILLED) {
+                // A filled resting order closes before its last trade settles; the fill reports it
+                return;
+            }
+            forget(entry);
+            if (order.getStatus() == Order.Status.EXPIRED) {
+                entry.session.report(ExecutionReport.ExecType.EXPIRED, entry.clientOrderId, order.getOrderId(),
+                        order.getPrice(), 0, 0, "");
+            } else if (!entry.replaced) {
+                String text = order.getStatus() == Order.Status.CANCELLED ? "" : "Unfilled remainder dropped";
+                entry.session.report(ExecutionReport.ExecType.CANCELED, entry.clientOrderId, order.getOrderId(),
+                        order.getPrice(), 0, 0, text);
+            }
+        }
+
+        @Override
+        public void onOrderBookChanged(String symbol) {
+        }
+
+        private void forget(EntryOrder entry) {
+            ordersById.remove(entry.order.getOrderId(), entry);
+            entry.session.orders.remove(entry.clientOrderId, entry);
+        }
+    }
+
+    /**
+     * An order placed through a session, with the quantity reported as filled so far.
+     * An amended order gets a new entry under its new client order ID.
+     */
+    private static final class EntryOrder {
+
+        private final Session session;
+        private final long clientOrderId;
+        private final Order order;
+        private final AtomicInteger filled;
+
+        /**
+         * The entry this one took over by an amend, or null.
+         */
+        private final EntryOrder replaces;
+        private volatile boolean replaced;
+
+        private EntryOrder(Session session, long clientOrderId, Order order) {
+            this(session, clientOrderId, order, new AtomicInteger(), null);
+        }
+
+        private EntryOrder(Session session, long clientOrderId, Order order, AtomicInteger filled,
+                EntryOrder replaces) {
+            this.session = session;
+            this.clientOrderId = clientOrderId;
+            this.order = order;
+            this.filled = filled;
+            this.replaces = replaces;
+        }
+    }
+
+    /**
+     * One client connection. Buffers are touched by the selector thread, except
+     * {@code out}, which any thread may append reports to under the session lock.
+     */
+    private final class Session {
+
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+        private ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+        private final ConcurrentHashMap<Long, EntryOrder> orders = new ConcurrentHashMap<>();
+        private final AtomicBoolean flushScheduled = new AtomicBoolean();
+        private SelectionKey key;
+        private volatile String traderId;
+        private volatile boolean overflowed;
+
+        private Session(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        private boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        private void reject(long clientOrderId, String text) {
+            report(ExecutionReport.ExecType.REJECT, clientOrderId, 0, null, 0, 0, text);
+        }
+
+        private void report(ExecutionReport.ExecType execType, long clientOrderId, int orderId, BigDecimal price,
+                int lastQuantity, int leavesQuantity, String text) {
+            synchronized (this) {
+                if (overflowed) {
+                    return;
+                }
+                if (out.remaining() < OrderEntryProtocol.MAX_MESSAGE_BYTES) {
+                    if (out.capacity() * 2 > MAX_OUTBOUND_BYTES) {
+                        overflowed = true;
+                    } else {
+                        ByteBuffer larger = ByteBuffer.allocate(out.capacity() * 2);
+                        out.flip();
+                        larger.put(out);
+                        out = larger;
+                    }
+                }
+                if (!overflowed) {
+                    OrderEntryProtocol.writeReport(out, execType, clientOrderId, orderId, price, lastQuantity,
+                            leavesQuantity, text);
+                }
+            }
+            if (flushScheduled.compareAndSet(false, true)) {
+                pendingFlush.add(this);
+                if (Thread.currentThread() != selectorThread) {
+                    selector.wakeup();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.team27.stocksim.marketdata;
+
+/**
+ * In-process consumer of the market-data feed.
+ *
+ * <p>Messages arrive in sequence order on the subscription's own thread, so a
+ * slow listener only delays itself. A gap in the sequence numbers means the
+ * listener fell behind; the snapshots that follow replace the affected books.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MarketDataPublisher#subscribe(String, IMarketDataListener)
+ */
+public interface IMarketDataListener {
+
+    void onMessage(MarketDataMessage message);
+}
@@ -0,0 +1,64 @@
+package org.team27.stocksim.marketdata;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Blocking reader for the TCP market-data feed.
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * try (MarketDataClient client = new MarketDataClient(address)) {
+ *     MarketDataMessage message;
+ *     while ((message = client.read()) != null) {
+ *         System.out.println(message);
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MarketDataTcpServer
+ */
+public class MarketDataClient implements Closeable {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+
+    public MarketDataClient(SocketAddress address) throws IOException {
+        channel = SocketChannel.open(address);
+        in.flip();
+    }
+
+    /**
+     * Blocks until the next message arrives.
+     *
+     * @return The message, or null if the server closed the connection
+     * @throws IOException If the connection fails or a message is malformed
+     */
+    public MarketDataMessage read() throws IOException {
+        while (MarketDataProtocol.completeMessageLength(in) < 0) {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0) {
+                if (in.hasRemaining()) {
+                    throw new EOFException("Connection closed inside a message");
+                }
+                return null;
+            }
+        }
+        return MarketDataProtocol.decode(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,161 @@
+package org.team27.stocksim.marketdata;
+
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.PriceLevel;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * A decoded market-data message.
+ *
+ * <p>Which fields are set depends on the {@link Type}:</p>
+ * <ul>
+ *   <li>{@code TOP_OF_BOOK}: best bid and ask; an empty side has price zero and quantity zero</li>
+ *   <li>{@code DEPTH_UPDATE}: side and the new state of one price level; quantity
+ *       zero removes the level</li>
+ *   <li>{@code TRADE}: price, quantity and epoch millisecond of a trade print</li>
+ *   <li>{@code SNAPSHOT}: the full published depth of the symbol</li>
+ * </ul>
+ *
+ * <p>Updates carry consecutive sequence numbers across all symbols. A
+ * snapshot carries the sequence number of the last update it includes and
+ * does not consume one itself.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MarketDataProtocol
+ * @see MarketDataPublisher
+ */
+public class MarketDataMessage {
+
+    /**
+     * Kind of market-data message.
+     */
+    public enum Type {
+        TOP_OF_BOOK, DEPTH_UPDATE, TRADE, SNAPSHOT
+    }
+
+    private final Type type;
+    private final long sequence;
+    private final String symbol;
+    private final Order.Side side;
+    private final BigDecimal price;
+    private final int quantity;
+    private final int orderCount;
+    private final BigDecimal askPrice;
+    private final int askQuantity;
+    private final long timestamp;
+    private final List<PriceLevel> bids;
+    private final List<PriceLevel> asks;
+
+    private MarketDataMessage(Type type, long sequence, String symbol, Order.Side side, BigDecimal price,
+            int quantity, int orderCount, BigDecimal askPrice, int askQuantity, long timestamp,
+            List<PriceLevel> bids, List<PriceLevel> asks) {
+        this.type = type;
+        this.sequence = sequence;
+        this.symbol = symbol;
+        this.side = side;
+        this.price = price;
+        this.quantity = quantity;
+        this.orderCount = orderCount;
+        this.askPrice = askPrice;
+        this.askQuantity = askQuantity;
+        this.timestamp = timestamp;
+        this.bids = bids;
+        this.asks = asks;
+    }
+
+    public static MarketDataMessage topOfBook(long sequence, String symbol, BigDecimal bidPrice, int bidQuantity,
+            BigDecimal askPrice, int askQuantity) {
+        return new MarketDataMessage(Type.TOP_OF_BOOK, sequence, symbol, null, bidPrice, bidQuantity, 0,
+                askPrice, askQuantity, 0, List.of(), List.of());
+    }
+
+    public static MarketDataMessage depthUpdate(long sequence, String symbol, Order.Side side, BigDecimal price,
+            int quantity, int orderCount) {
+        return new MarketDataMessage(Type.DEPTH_UPDATE, sequence, symbol, side, price, quantity, orderCount,
+                null, 0, 0, List.of(), List.of());
+    }
+
+    public static MarketDataMessage trade(long sequence, String symbol, BigDecimal price, int quantity,
+            long timestamp) {
+        return new MarketDataMessage(Type.TRADE, sequence, symbol, null, price, quantity, 0, null, 0, timestamp,
+                List.of(), List.of());
+    }
+
+    public static MarketDataMessage snapshot(long sequence, String symbol, List<PriceLevel> bids,
+            List<PriceLevel> asks) {
+        return new MarketDataMessage(Type.SNAPSHOT, sequence, symbol, null, null, 0, 0, null, 0, 0,
+                List.copyOf(bids), List.copyOf(asks));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public Order.Side getSide() {
+        return side;
+    }
+
+    /**
+     * Gets the level or trade price, or the best bid for {@code TOP_OF_BOOK}.
+     *
+     * @return The price
+     */
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * Gets the level or trade quantity, or the best bid quantity for {@code TOP_OF_BOOK}.
+     *
+     * @return The quantity
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    public BigDecimal getAskPrice() {
+        return askPrice;
+    }
+
+    public int getAskQuantity() {
+        return askQuantity;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public List<PriceLevel> getBids() {
+        return bids;
+    }
+
+    public List<PriceLevel> getAsks() {
+        return asks;
+    }
+
+    @Override
+    public String toString() {
+        String body = switch (type) {
+            case TOP_OF_BOOK -> quantity + " @ " + price + " / " + askQuantity + " @ " + askPrice;
+            case DEPTH_UPDATE -> side + " " + quantity + " @ " + price + " (" + orderCount + ")";
+            case TRADE -> quantity + " @ " + price;
+            case SNAPSHOT -> "bids=" + bids + " asks=" + asks;
+        };
+        return "#" + sequence + " " + type + " " + symbol + " " + body;
+    }
+}
@@ -0,0 +1,211 @@
+package org.team27.stocksim.marketdata;
+
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.PriceLevel;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Binary encoding of market-data messages.
+ *
+ * <p>Every message is a big-endian {@code int} length (not counting itself),
+ * a one-byte type, the {@code long} sequence number and the symbol, followed
+ * by the body. The same bytes are written to TCP streams and sent as single
+ * UDP datagrams. Prices are an unscaled {@code long} plus a one-byte scale;
+ * strings are at most 255 bytes of UTF-8.</p>
+ *
+ * <h2>Bodies:</h2>
+ * <ul>
+ *   <li>{@code TOP_OF_BOOK}: bidPrice, bidQty, askPrice, askQty</li>
+ *   <li>{@code DEPTH_UPDATE}: side, price, quantity, orderCount</li>
+ *   <li>{@code TRADE}: price, quantity, epoch millis</li>
+ *   <li>{@code SNAPSHOT}: bid count, bid levels, ask count, ask levels; a level
+ *       is price, quantity, orderCount</li>
+ * </ul>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MarketDataMessage
+ * @see MarketDataPublisher
+ */
+public final class MarketDataProtocol {
+
+    public static final byte TOP_OF_BOOK = 1;
+    public static final byte DEPTH_UPDATE = 2;
+    public static final byte TRADE = 3;
+    public static final byte SNAPSHOT = 4;
+
+    /**
+     * Most price levels per side in a snapshot.
+     */
+    public static final int MAX_LEVELS = 50;
+
+    /**
+     * Upper bound for a single message including its length prefix; fits one datagram.
+     */
+    public static final int MAX_MESSAGE_BYTES = 2048;
+
+    private static final int MAX_STRING_BYTES = 255;
+
+    private MarketDataProtocol() {
+    }
+
+    /**
+     * Appends one message to a buffer.
+     *
+     * @param out Buffer with at least {@link #MAX_MESSAGE_BYTES} remaining
+     * @param message Message to encode
+     * @throws IllegalArgumentException If a snapshot has more than {@link #MAX_LEVELS} levels per side
+     */
+    public static void encode(ByteBuffer out, MarketDataMessage message) {
+        int start = out.position();
+        out.putInt(0);
+        out.put(typeCode(message.getType()));
+        out.putLong(message.getSequence());
+        writeString(out, message.getSymbol());
+        switch (message.getType()) {
+            case TOP_OF_BOOK -> {
+                writePrice(out, message.getPrice());
+                out.putInt(message.getQuantity());
+                writePrice(out, message.getAskPrice());
+                out.putInt(message.getAskQuantity());
+            }
+            case DEPTH_UPDATE -> {
+                out.put((byte) message.getSide().ordinal());
+                writePrice(out, message.getPrice());
+                out.putInt(message.getQuantity());
+                out.putInt(message.getOrderCount());
+            }
+            case TRADE -> {
+                writePrice(out, message.getPrice());
+                out.putInt(message.getQuantity());
+                out.putLong(message.getTimestamp());
+            }
+            case SNAPSHOT -> {
+                writeLevels(out, message.getBids());
+                writeLevels(out, message.getAsks());
+            }
+        }
+        out.putInt(start, out.position() - start - Integer.BYTES);
+    }
+
+    /**
+     * Encodes one message into its own array.
+     *
+     * @param message Message to encode
+     * @return The encoded bytes including the length prefix
+     */
+    public static byte[] encode(MarketDataMessage message) {
+        ByteBuffer out = ByteBuffer.allocate(MAX_MESSAGE_BYTES);
+        encode(out, message);
+        byte[] bytes = new byte[out.position()];
+        out.flip().get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Decodes the message at the buffer's position, including its length prefix.
+     *
+     * @param in Buffer positioned at a complete message
+     * @return The decoded message; the buffer is positioned after it
+     */
+    public static MarketDataMessage decode(ByteBuffer in) {
+        int end = in.position() + Integer.BYTES + in.getInt();
+        byte type = in.get();
+        long sequence = in.getLong();
+        String symbol = readString(in);
+        MarketDataMessage message = switch (type) {
+            case TOP_OF_BOOK -> MarketDataMessage.topOfBook(sequence, symbol, readPrice(in), in.getInt(),
+                    readPrice(in), in.getInt());
+            case DEPTH_UPDATE -> MarketDataMessage.depthUpdate(sequence, symbol, Order.Side.values()[in.get()],
+                    readPrice(in), in.getInt(), in.getInt());
+            case TRADE -> MarketDataMessage.trade(sequence, symbol, readPrice(in), in.getInt(), in.getLong());
+            case SNAPSHOT -> MarketDataMessage.snapshot(sequence, symbol, readLevels(in), readLevels(in));
+            default -> throw new IllegalArgumentException("Unknown market-data message type " + type);
+        };
+        in.position(end);
+        return message;
+    }
+
+    /**
+     * Checks whether a buffer in read mode holds a complete message.
+     *
+     * @param in Buffer positioned at a length prefix
+     * @return Length of the message body, or -1 if it is not complete yet
+     * @throws IllegalArgumentException If the length prefix is malformed
+     */
+    public static int completeMessageLength(ByteBuffer in) {
+        if (in.remaining() < Integer.BYTES) {
+            return -1;
+        }
+        int length = in.getInt(in.position());
+        if (length <= 0 || length > MAX_MESSAGE_BYTES - Integer.BYTES) {
+            throw new IllegalArgumentException("Malformed message length " + length);
+        }
+        return in.remaining() >= Integer.BYTES + length ? length : -1;
+    }
+
+    private static byte typeCode(MarketDataMessage.Type type) {
+        return switch (type) {
+            case TOP_OF_BOOK -> TOP_OF_BOOK;
+            case DEPTH_UPDATE -> DEPTH_UPDATE;
+            case TRADE -> TRADE;
+            case SNAPSHOT -> SNAPSHOT;
+        };
+    }
+
+    private static void writeLevels(ByteBuffer out, List<PriceLevel> levels) {
+        if (levels.size() > MAX_LEVELS) {
+            throw new IllegalArgumentException("Snapshot side with more than " + MAX_LEVELS + " levels");
+        }
+        out.put((byte) levels.size());
+        for (PriceLevel level : levels) {
+            writePrice(out, level.getPrice());
+            out.putInt(level.getQuantity());
+            out.putInt(level.getOrderCount());
+        }
+    }
+
+    private static List<PriceLevel> readLevels(ByteBuffer in) {
+        int count = in.get() & 0xFF;
+        List<PriceLevel> levels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            levels.add(new PriceLevel(readPrice(in), in.getInt(), in.getInt()));
+        }
+        return levels;
+    }
+
+    /**
+     * An empty side travels as price zero.
+     */
+    private static void writePrice(ByteBuffer out, BigDecimal price) {
+        BigDecimal value = price != null ? price : BigDecimal.ZERO;
+        out.putLong(value.unscaledValue().longValueExact());
+        out.put((byte) value.scale());
+    }
+
+    private static BigDecimal readPrice(ByteBuffer in) {
+        long unscaled = in.getLong();
+        byte scale = in.get();
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IllegalArgumentException("String longer than " + MAX_STRING_BYTES + " bytes");
+        }
+        out.put((byte) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.get() & 0xFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
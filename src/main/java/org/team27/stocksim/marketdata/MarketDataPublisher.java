@@ -0,0 +1,361 @@
+package org.team27.stocksim.marketdata;
+
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.market.IOrderEventListener;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.OrderBook;
+import org.team27.stocksim.model.market.PriceLevel;
+import org.team27.stocksim.model.market.Trade;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+
+import java.io.Closeable;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes top-of-book, depth updates and trade prints of a simulation as a sequenced binary feed.
+ *
+ * <p>Matching threads only record which books changed and which trades were
+ * settled; a single publisher thread turns that into messages. For every
+ * changed symbol it reads the top {@code depth} price levels per side, compares
+ * them with what it published last and emits one {@code DEPTH_UPDATE} per
+ * changed level, plus a {@code TOP_OF_BOOK} if the best bid or ask changed.
+ * Several changes to the same book between two passes are conflated into one
+ * diff. Every update gets the next sequence number and is encoded once for
+ * all subscribers.</p>
+ *
+ * <p><strong>Design Patterns:</strong> Observer + Publish-Subscribe</p>
+ * <ul>
+ *   <li>In-process listeners, TCP connections ({@link MarketDataTcpServer}) and
+ *       UDP or multicast destinations ({@link MarketDataUdpSender}) are all
+ *       subscriptions with a bounded queue</li>
+ *   <li>A new subscription starts with a snapshot of every symbol</li>
+ *   <li>A subscription whose queue overflows gets snapshots instead of the
+ *       updates it missed; see {@link MarketDataSubscription}</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * MarketDataPublisher publisher = new MarketDataPublisher(model);
+ * publisher.start();
+ * publisher.subscribe("dashboard", message -> System.out.println(message));
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MarketDataProtocol
+ * @see MarketDataSubscription
+ */
+public class MarketDataPublisher implements Closeable {
+
+    public static final int DEFAULT_DEPTH = 10;
+    public static final int DEFAULT_QUEUE_CAPACITY = 8192;
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final StockSim model;
+    private final int depth;
+    private final int queueCapacity;
+    private final IOrderEventListener listener = new BookListener();
+
+    /**
+     * Trades and changed symbols recorded by matching threads since the last pass.
+     */
+    private final ConcurrentLinkedQueue<Trade> pendingTrades = new ConcurrentLinkedQueue<>();
+    private final Set<String> dirtySymbols = ConcurrentHashMap.newKeySet();
+
+    private final ConcurrentLinkedQueue<MarketDataSubscription> newSubscriptions = new ConcurrentLinkedQueue<>();
+    private final List<MarketDataSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /**
+     * Last published state per symbol; publisher thread only.
+     */
+    private final Map<String, BookState> states = new TreeMap<>();
+    private final ByteBuffer scratch = ByteBuffer.allocate(MarketDataProtocol.MAX_MESSAGE_BYTES);
+    private volatile long sequence;
+
+    private final LongAdder messagesCounter;
+    private final LongAdder conflationsCounter;
+
+    private volatile Thread publisherThread;
+    private volatile boolean running;
+
+    /**
+     * Creates a publisher with the default depth and queue capacity.
+     *
+     * @param model Simulation to publish
+     */
+    public MarketDataPublisher(StockSim model) {
+        this(model, DEFAULT_DEPTH, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a publisher.
+     *
+     * @param model Simulation to publish
+     * @param depth Price levels per side, at most {@link MarketDataProtocol#MAX_LEVELS}
+     * @param queueCapacity Messages a subscriber may fall behind before it is conflated
+     */
+    public MarketDataPublisher(StockSim model, int depth, int queueCapacity) {
+        if (depth < 1 || depth > MarketDataProtocol.MAX_LEVELS) {
+            throw new IllegalArgumentException("Depth must be between 1 and " + MarketDataProtocol.MAX_LEVELS);
+        }
+        this.model = model;
+        this.depth = depth;
+        this.queueCapacity = queueCapacity;
+        this.messagesCounter = model.getMetrics().counter(MetricsRegistry.MARKET_DATA_MESSAGES);
+        this.conflationsCounter = model.getMetrics().counter(MetricsRegistry.MARKET_DATA_CONFLATIONS);
+        model.getMetrics().gauge(MetricsRegistry.MARKET_DATA_SUBSCRIBERS, subscriptions::size);
+    }
+
+    /**
+     * Starts listening to the simulation and publishing.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        // Publish every listed instrument, even before its first order
+        dirtySymbols.addAll(model.getContext().getInstrumentRegistry().getAllInstruments().keySet());
+        model.addOrderEventListener(listener);
+        running = true;
+        publisherThread = new Thread(() -> model.getContext().run(this::publishLoop), "market-data");
+        publisherThread.setDaemon(true);
+        publisherThread.start();
+    }
+
+    /**
+     * Subscribes an in-process listener. Messages arrive on the subscription's own thread.
+     *
+     * @param name Name of the subscriber, used for its thread
+     * @param subscriber Listener receiving decoded messages
+     * @return The subscription, close it to unsubscribe
+     */
+    public MarketDataSubscription subscribe(String name, IMarketDataListener subscriber) {
+        return subscribe(name, messages -> {
+            for (byte[] message : messages) {
+                subscriber.onMessage(MarketDataProtocol.decode(ByteBuffer.wrap(message)));
+            }
+        }, null);
+    }
+
+    MarketDataSubscription subscribe(String name, MarketDataSubscription.MessageSink sink, Closeable transport) {
+        MarketDataSubscription subscription = new MarketDataSubscription(name, this, queueCapacity, sink,
+                transport);
+        subscription.start();
+        newSubscriptions.add(subscription);
+        wakeUp();
+        return subscription;
+    }
+
+    void unsubscribe(MarketDataSubscription subscription) {
+        newSubscriptions.remove(subscription);
+        subscriptions.remove(subscription);
+    }
+
+    void recordConflation() {
+        conflationsCounter.increment();
+    }
+
+    private void wakeUp() {
+        Thread thread = publisherThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void publishLoop() {
+        while (running) {
+            boolean published = false;
+
+            MarketDataSubscription added;
+            while ((added = newSubscriptions.poll()) != null) {
+                // Joins with a snapshot below, so it never sees an update the snapshot lacks
+                subscriptions.add(added);
+            }
+
+            Trade trade;
+            while ((trade = pendingTrades.poll()) != null) {
+                publish(MarketDataMessage.trade(++sequence, trade.getStockSymbol(), trade.getPrice(),
+                        trade.getQuantity(), trade.getTime().toEpochMilli()));
+                published = true;
+            }
+
+            Iterator<String> dirty = dirtySymbols.iterator();
+            while (dirty.hasNext()) {
+                String symbol = dirty.next();
+                dirty.remove();
+                publishBook(symbol);
+                published = true;
+            }
+
+            for (MarketDataSubscription subscription : subscriptions) {
+                if (subscription.takeSnapshotRequest()) {
+                    sendSnapshots(subscription);
+                }
+            }
+
+            if (!published) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void publishBook(String symbol) {
+        BookState state = states.computeIfAbsent(symbol, s -> new BookState());
+        OrderBook book = model.getOrderBook(symbol);
+        List<PriceLevel> bids = book != null ? book.getDepth(Order.Side.BUY, depth) : List.of();
+        List<PriceLevel> asks = book != null ? book.getDepth(Order.Side.SELL, depth) : List.of();
+
+        publishDiff(symbol, Order.Side.BUY, state.bids, bids);
+        publishDiff(symbol, Order.Side.SELL, state.asks, asks);
+
+        PriceLevel bestBid = bids.isEmpty() ? null : bids.get(0);
+        PriceLevel bestAsk = asks.isEmpty() ? null : asks.get(0);
+        if (!sameTop(state.bestBid, bestBid) || !sameTop(state.bestAsk, bestAsk)) {
+            publish(MarketDataMessage.topOfBook(++sequence, symbol,
+                    bestBid != null ? bestBid.getPrice() : null, bestBid != null ? bestBid.getQuantity() : 0,
+                    bestAsk != null ? bestAsk.getPrice() : null, bestAsk != null ? bestAsk.getQuantity() : 0));
+        }
+        state.bids = bids;
+        state.asks = asks;
+        state.bestBid = bestBid;
+        state.bestAsk = bestAsk;
+    }
+
+    private void publishDiff(String symbol, Order.Side side, List<PriceLevel> before, List<PriceLevel> after) {
+        Map<BigDecimal, PriceLevel> remaining = new HashMap<>();
+        for (PriceLevel level : before) {
+            remaining.put(level.getPrice().stripTrailingZeros(), level);
+        }
+        for (PriceLevel level : after) {
+            PriceLevel previous = remaining.remove(level.getPrice().stripTrailingZeros());
+            if (!level.equals(previous)) {
+                publish(MarketDataMessage.depthUpdate(++sequence, symbol, side, level.getPrice(),
+                        level.getQuantity(), level.getOrderCount()));
+            }
+        }
+        for (PriceLevel gone : remaining.values()) {
+            publish(MarketDataMessage.depthUpdate(++sequence, symbol, side, gone.getPrice(), 0, 0));
+        }
+    }
+
+    private static boolean sameTop(PriceLevel before, PriceLevel after) {
+        if (before == null || after == null) {
+            return before == after;
+        }
+        return before.getPrice().compareTo(after.getPrice()) == 0 && before.getQuantity() == after.getQuantity();
+    }
+
+    private void publish(MarketDataMessage message) {
+        byte[] encoded = encode(message);
+        messagesCounter.increment();
+        for (MarketDataSubscription subscription : subscriptions) {
+            subscription.offer(encoded);
+        }
+    }
+
+    private void sendSnapshots(MarketDataSubscription subscription) {
+        for (Map.Entry<String, BookState> entry : states.entrySet()) {
+            BookState state = entry.getValue();
+            MarketDataMessage snapshot = MarketDataMessage.snapshot(sequence, entry.getKey(), state.bids,
+                    state.asks);
+            if (!subscription.offer(encode(snapshot))) {
+                // Overflowed again; the subscription asks for a new set of snapshots
+                return;
+            }
+        }
+    }
+
+    private byte[] encode(MarketDataMessage message) {
+        scratch.clear();
+        MarketDataProtocol.encode(scratch, message);
+        byte[] encoded = new byte[scratch.position()];
+        scratch.flip().get(encoded);
+        return encoded;
+    }
+
+    /**
+     * Gets the sequence number of the last published update.
+     *
+     * @return Last sequence number, 0 before the first update
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        model.removeOrderEventListener(listener);
+        if (publisherThread != null) {
+            LockSupport.unpark(publisherThread);
+            try {
+                publisherThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        List<MarketDataSubscription> all = new ArrayList<>(subscriptions);
+        all.addAll(newSubscriptions);
+        for (MarketDataSubscription subscription : all) {
+            subscription.close();
+        }
+    }
+
+    /**
+     * Records what changed; runs on matching threads and must stay cheap.
+     */
+    private final class BookListener implements IOrderEventListener {
+
+        @Override
+        public void onOrderAccepted(Order order) {
+        }
+
+        @Override
+        public void onOrderRejected(Order order, String reason) {
+        }
+
+        @Override
+        public void onOrderAmended(Order order) {
+        }
+
+        @Override
+        public void onTradeSettled(Trade trade) {
+            pendingTrades.add(trade);
+        }
+
+        @Override
+        public void onOrderClosed(Order order) {
+        }
+
+        @Override
+        public void onOrderBookChanged(String symbol) {
+            if (dirtySymbols.add(symbol)) {
+                wakeUp();
+            }
+        }
+    }
+
+    /**
+     * Depth and top of book of one symbol as last published.
+     */
+    private static final class BookState {
+        private List<PriceLevel> bids = List.of();
+        private List<PriceLevel> asks = List.of();
+        private PriceLevel bestBid;
+        private PriceLevel bestAsk;
+    }
+}
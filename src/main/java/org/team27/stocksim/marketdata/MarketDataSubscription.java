@@ -0,0 +1,154 @@
+package org.team27.stocksim.marketdata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One consumer of the market-data feed, with its own queue and delivery thread.
+ *
+ * <p>The publisher only ever offers encoded messages to the queue, so a slow
+ * consumer cannot hold up the publisher, let alone matching. When the queue
+ * is full the subscription is conflated: queued updates are discarded, newer
+ * ones are skipped, and the publisher sends a fresh snapshot of every symbol
+ * instead. The consumer sees a gap in the sequence numbers followed by the
+ * snapshots, which carry the latest state.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MarketDataPublisher
+ */
+public class MarketDataSubscription implements Closeable {
+
+    private static final int MAX_BATCH = 256;
+
+    /**
+     * Receives batches of encoded messages on the delivery thread.
+     */
+    interface MessageSink {
+        void deliver(List<byte[]> messages) throws IOException;
+    }
+
+    private final String name;
+    private final MarketDataPublisher publisher;
+    private final ArrayBlockingQueue<byte[]> queue;
+    private final MessageSink sink;
+    private final Closeable transport;
+    private final Thread deliveryThread;
+    private volatile boolean needsSnapshot = true;
+    private volatile long conflations;
+    private volatile boolean closed;
+
+    MarketDataSubscription(String name, MarketDataPublisher publisher, int capacity, MessageSink sink,
+            Closeable transport) {
+        this.name = name;
+        this.publisher = publisher;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.transport = transport;
+        this.deliveryThread = new Thread(this::deliverLoop, "market-data-" + name);
+        this.deliveryThread.setDaemon(true);
+    }
+
+    void start() {
+        deliveryThread.start();
+    }
+
+    /**
+     * Queues an update; called by the publisher thread only.
+     *
+     * @param message Encoded message
+     * @return false if the subscription is waiting for a snapshot or just overflowed
+     */
+    boolean offer(byte[] message) {
+        if (needsSnapshot || closed) {
+            return false;
+        }
+        if (!queue.offer(message)) {
+            queue.clear();
+            needsSnapshot = true;
+            conflations++;
+            publisher.recordConflation();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Clears the snapshot request; called by the publisher thread before it sends the snapshots.
+     *
+     * @return true if the subscription needed a snapshot
+     */
+    boolean takeSnapshotRequest() {
+        if (!needsSnapshot || closed) {
+            return false;
+        }
+        needsSnapshot = false;
+        return true;
+    }
+
+    private void deliverLoop() {
+        List<byte[]> batch = new ArrayList<>(MAX_BATCH);
+        while (!closed) {
+            try {
+                byte[] first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                sink.deliver(batch);
+            } catch (InterruptedException e) {
+                break;
+            } catch (IOException | RuntimeException e) {
+                if (!closed) {
+                    System.err.println("Market data subscriber " + name + " dropped: " + e.getMessage());
+                }
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        close();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets how often this subscriber fell behind and was sent snapshots instead of updates.
+     *
+     * @return Number of conflations
+     */
+    public long getConflationCount() {
+        return conflations;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.clear();
+        publisher.unsubscribe(this);
+        if (Thread.currentThread() != deliveryThread) {
+            deliveryThread.interrupt();
+        }
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (IOException e) {
+                System.err.println("Error closing market data subscriber " + name + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.team27.stocksim.marketdata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serves the market-data feed to TCP clients.
+ *
+ * <p>Every connection is a {@link MarketDataSubscription}: it starts with a
+ * snapshot of every symbol, then receives updates. A client that reads too
+ * slowly is conflated to snapshots rather than slowing anyone else down.
+ * Clients of the UDP feed can connect here to recover from a gap: the first
+ * messages on a new connection are the snapshots.</p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * MarketDataTcpServer server = new MarketDataTcpServer(publisher, new InetSocketAddress(9600));
+ * SocketAddress address = server.start();
+ * try (MarketDataClient client = new MarketDataClient(address)) {
+ *     MarketDataMessage first = client.read();
+ * }
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MarketDataPublisher
+ * @see MarketDataClient
+ */
+public class MarketDataTcpServer implements Closeable {
+
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private final MarketDataPublisher publisher;
+    private final SocketAddress bindAddress;
+    private final Set<MarketDataSubscription> connections = ConcurrentHashMap.newKeySet();
+    private ServerSocketChannel server;
+    private volatile boolean running;
+    private int connectionCount;
+
+    public MarketDataTcpServer(MarketDataPublisher publisher, SocketAddress bindAddress) {
+        this.publisher = publisher;
+        this.bindAddress = bindAddress;
+    }
+
+    /**
+     * Starts accepting connections.
+     *
+     * @return The address the server listens on
+     * @throws IOException If the socket cannot be bound
+     */
+    public synchronized SocketAddress start() throws IOException {
+        server = ServerSocketChannel.open();
+        server.bind(bindAddress);
+        running = true;
+        Thread acceptor = new Thread(this::acceptLoop, "market-data-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server.getLocalAddress();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                SocketChannel channel = server.accept();
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+                MarketDataSubscription subscription = publisher.subscribe("tcp-" + (++connectionCount),
+                        messages -> write(channel, buffer, messages), channel);
+                connections.add(subscription);
+                connections.removeIf(MarketDataSubscription::isClosed);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                System.err.println("Market data accept failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void write(SocketChannel channel, ByteBuffer buffer, List<byte[]> messages) throws IOException {
+        for (byte[] message : messages) {
+            if (buffer.remaining() < message.length) {
+                drain(channel, buffer);
+            }
+            buffer.put(message);
+        }
+        drain(channel, buffer);
+    }
+
+    private static void drain(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Gets the number of connected clients.
+     *
+     * @return Open connections
+     */
+    public int getConnectionCount() {
+        connections.removeIf(MarketDataSubscription::isClosed);
+        return connections.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        if (server != null) {
+            server.close();
+        }
+        for (MarketDataSubscription connection : connections) {
+            connection.close();
+        }
+        connections.clear();
+    }
+}
@@ -0,0 +1,79 @@
+package org.team27.stocksim.marketdata;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.Inet6Address;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+/**
+ * Sends the market-data feed as UDP datagrams, one message per datagram.
+ *
+ * <p>The destination may be a multicast group, in which case every process
+ * on the host that joined the group receives the feed, or a single unicast
+ * address. Multicast is sent with a time-to-live of one and loopback enabled,
+ * so it stays on the local network. UDP may lose datagrams; a receiver that
+ * sees a gap in the sequence numbers recovers by reading snapshots from a
+ * {@link MarketDataTcpServer}.</p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * MarketDataUdpSender sender = new MarketDataUdpSender(publisher,
+ *         new InetSocketAddress("239.255.27.1", 9601));
+ * sender.start();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MarketDataPublisher
+ * @see MarketDataProtocol
+ */
+public class MarketDataUdpSender implements Closeable {
+
+    private final MarketDataPublisher publisher;
+    private final InetSocketAddress destination;
+    private DatagramChannel channel;
+    private MarketDataSubscription subscription;
+
+    public MarketDataUdpSender(MarketDataPublisher publisher, InetSocketAddress destination) {
+        this.publisher = publisher;
+        this.destination = destination;
+    }
+
+    /**
+     * Opens the socket and starts sending.
+     *
+     * @throws IOException If the socket cannot be opened
+     */
+    public synchronized void start() throws IOException {
+        boolean multicast = destination.getAddress().isMulticastAddress();
+        channel = multicast
+                ? DatagramChannel.open(destination.getAddress() instanceof Inet6Address
+                        ? StandardProtocolFamily.INET6
+                        : StandardProtocolFamily.INET)
+                : DatagramChannel.open();
+        if (multicast) {
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_TTL, 1);
+            channel.setOption(StandardSocketOptions.IP_MULTICAST_LOOP, true);
+        }
+        subscription = publisher.subscribe("udp-" + destination.getPort(), messages -> {
+            for (byte[] message : messages) {
+                channel.send(ByteBuffer.wrap(message), destination);
+            }
+        }, channel);
+    }
+
+    public InetSocketAddress getDestination() {
+        return destination;
+    }
+
+    @Override
+    public void close() {
+        if (subscription != null) {
+            subscription.close();
+        }
+    }
+}
@@ -5,27 +5,38 @@ import org.team27.stocksim.dto.StockMapper;
 import org.team27.stocksim.dto.UserDTO;
 import org.team27.stocksim.model.instruments.IInstrumentRegistry;
 import org.team27.stocksim.model.instruments.Instrument;
-import org.team27.stocksim.model.instruments.InstrumentRegistry;
-import org.team27.stocksim.model.instruments.StockFactory;
 import org.team27.stocksim.model.market.IMarket;
+import org.team27.stocksim.model.market.IOrderEventListener;
 import org.team27.stocksim.model.market.Market;
 import org.team27.stocksim.model.market.Order;
 import org.team27.stocksim.model.market.OrderBook;
+import org.team27.stocksim.model.metrics.LatencyHistogram;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
 import org.team27.stocksim.model.portfolio.Portfolio;
+import org.team27.stocksim.model.portfolio.TraderValuation;
+import org.team27.stocksim.model.portfolio.ValuationEngine;
+import org.team27.stocksim.model.session.SimulationContext;
 import org.team27.stocksim.model.simulation.IMarketSimulator;
 import org.team27.stocksim.model.simulation.MarketSimulator;
+import org.team27.stocksim.model.simulation.PopulationStatistics;
 import org.team27.stocksim.model.simulation.SimulationConfig;
+import org.team27.stocksim.model.simulation.StrategyStatistics;
 import org.team27.stocksim.model.users.*;
 import org.team27.stocksim.observer.IModelObserver;
 import org.team27.stocksim.observer.IModelSubject;
 import org.team27.stocksim.repository.BotPositionRepository;
 import org.team27.stocksim.repository.StockPriceRepository;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 /**
  * Core facade for the stock market simulation system.
@@ -41,6 +52,7 @@ import java.util.Set;
  *   <li>Coordinates between market, traders, instruments, and simulation subsystems</li>
  *   <li>Manages observers for MVC architecture communication</li>
  *   <li>Handles bot action execution and market simulation lifecycle</li>
+ *   <li>Runs in a SimulationContext, so several instances can share one JVM</li>
  * </ul>
  *
  * <h2>Usage Example:</h2>
@@ -76,6 +88,11 @@ public class StockSim implements IModelSubject {
      */
     private final List<IModelObserver> observers = new ArrayList<>();
 
+    /**
+     * Listeners receiving every accepted order, settled trade and closed order.
+     */
+    private final List<IOrderEventListener> orderEventListeners = new CopyOnWriteArrayList<>();
+
     /**
      * Manages the currently selected stock and user in the UI.
      */
@@ -87,6 +104,11 @@ public class StockSim implements IModelSubject {
      */
     private final IMarket market;
 
+    /**
+     * Session owning this simulation's registries, clock, order IDs and executor lane.
+     */
+    private final SimulationContext context;
+
     /**
      * Registry managing all tradable instruments (stocks).
      * Depends on abstraction (IInstrumentRegistry) following DIP.
@@ -110,6 +132,31 @@ public class StockSim implements IModelSubject {
      */
     private final BotActionExecutor botActionExecutor;
 
+    /**
+     * Incremental mark-to-market valuation of every trader, fed by settlements.
+     */
+    private final ValuationEngine valuationEngine;
+
+    /**
+     * Per-strategy aggregates of the bot population, fed by market events.
+     */
+    private final PopulationStatistics populationStatistics;
+
+    /**
+     * Latency histograms, counters and gauges for this simulation.
+     */
+    private final MetricsRegistry metrics;
+
+    /**
+     * Counts bot ticks skipped because the bot's previous action was still running.
+     */
+    private final LongAdder skippedBotTicks;
+
+    /**
+     * Real time spent per simulated second on bot decisions and leaderboard refresh.
+     */
+    private final LatencyHistogram tickLatency;
+
     /**
      * Constructs a StockSim with default configuration.
      * <ul>
@@ -122,24 +169,123 @@ public class StockSim implements IModelSubject {
         this(SimulationConfig.createDefault());
     }
 
+    /**
+     * Constructs a StockSim in a session of its own.
+     *
+     * <p>Threads that are not bound to a session fall back to the global
+     * context for clock and order IDs; a single-session application should
+     * use {@link #StockSim(SimulationContext, SimulationConfig)} with
+     * {@link SimulationContext#global()}.</p>
+     *
+     * @param config Simulation configuration
+     */
     public StockSim(SimulationConfig config) {
+        this(new SimulationContext("stocksim"), config);
+    }
+
+    /**
+     * Constructs a StockSim in the given session.
+     *
+     * <p>The session supplies the registries, clock, order IDs and the lane
+     * bot actions run on, so several StockSims can run side by side in one JVM.</p>
+     *
+     * @param context Session this simulation belongs to
+     * @param config Simulation configuration
+     */
+    public StockSim(SimulationContext context, SimulationConfig config) {
+        this(context, config, metrics -> createMarket(metrics, config));
+    }
+
+    /**
+     * Creates an in-process market with the order, risk, circuit breaker, auction and allocation settings of a
+     * configuration.
+     *
+     * @param metrics Registry for the market's latencies and counters
+     * @param config Simulation configuration
+     * @return New market
+     */
+    public static Market createMarket(MetricsRegistry metrics, SimulationConfig config) {
+        Market market = new Market(metrics, config.getMarketOrderConfig(), config.getRiskLimits(),
+                config.getCircuitBreakerConfig(), config.getAuctionSchedule());
+        config.getSymbolCircuitBreakerConfigs().forEach(market::setCircuitBreakerConfig);
+        config.getAllocationStrategies().forEach(market::setAllocationStrategy);
+        return market;
+    }
+
+    /**
+     * Constructs a StockSim in the given session on a market of the caller's choice.
+     *
+     * <p>Used to run the simulation against a market whose books live in
+     * other processes. The factory receives the simulation's metrics registry.</p>
+     *
+     * @param context Session this simulation belongs to
+     * @param config Simulation configuration
+     * @param marketFactory Creates the market from the metrics registry
+     */
+    public StockSim(SimulationContext context, SimulationConfig config,
+            Function<MetricsRegistry, IMarket> marketFactory) {
+        this.context = context;
+
         // Initialize registries
-        this.instrumentRegistry = new InstrumentRegistry(new StockFactory());
-        this.traderRegistry = new TraderRegistry(new UserFactory(), new BotFactory());
+        this.instrumentRegistry = context.getInstrumentRegistry();
+        this.traderRegistry = context.getTraderRegistry();
 
-        // Initialize market
-        this.market = new Market();
+        // Initialize metrics and market
+        this.metrics = new MetricsRegistry();
+        this.market = marketFactory.apply(metrics);
 
         // Initialize bot action executor
-        this.botActionExecutor = new BotActionExecutor();
+        this.botActionExecutor = new BotActionExecutor(context.getExecutor());
+        this.skippedBotTicks = metrics.counter(MetricsRegistry.BOT_TICKS_SKIPPED);
+        metrics.gauge(MetricsRegistry.EXECUTOR_QUEUE, botActionExecutor::getQueueLength);
+
+        // Initialize valuation engine
+        this.valuationEngine = new ValuationEngine();
+        this.populationStatistics = new PopulationStatistics(valuationEngine);
 
         // Set up market callbacks
         market.setOnPriceUpdate(this::notifyPriceUpdate);
+        market.setOnOrderAccepted(order -> {
+            populationStatistics.onOrderAccepted(order);
+            for (IOrderEventListener listener : orderEventListeners) {
+                listener.onOrderAccepted(order);
+            }
+        });
+        market.setOnOrderRejected((order, reason) -> {
+            for (IOrderEventListener listener : orderEventListeners) {
+                listener.onOrderRejected(order, reason);
+            }
+        });
+        market.setOnOrderAmended(order -> {
+            for (IOrderEventListener listener : orderEventListeners) {
+                listener.onOrderAmended(order);
+            }
+        });
+        market.setOnOrderClosed(order -> {
+            populationStatistics.onOrderClosed(order);
+            for (IOrderEventListener listener : orderEventListeners) {
+                listener.onOrderClosed(order);
+            }
+        });
+        market.setOnOrderBookChanged(symbol -> {
+            for (IOrderEventListener listener : orderEventListeners) {
+                listener.onOrderBookChanged(symbol);
+            }
+        });
         market.setOnTradeSettled(trade -> {
+            valuationEngine.onTradeSettled(trade);
+            populationStatistics.onTradeSettled(trade);
+            for (IOrderEventListener listener : orderEventListeners) {
+                listener.onTradeSettled(trade);
+            }
             notifyTradeSettled();
 
-            String buyerTraderId = getTraderIdForOrder(trade.getBuyOrderId());
-            String sellerTraderId = getTraderIdForOrder(trade.getSellOrderId());
+            String buyerTraderId = trade.getBuyerTraderId() != null
+                    ? trade.getBuyerTraderId()
+                    : getTraderIdForOrder(trade.getBuyOrderId());
+            String sellerTraderId = trade.getSellerTraderId() != null
+                    ? trade.getSellerTraderId()
+                    : getTraderIdForOrder(trade.getSellOrderId());
             if (buyerTraderId != null && sellerTraderId != null) {
                 Trader buyer = traderRegistry.getTrader(buyerTraderId);
                 Trader seller = traderRegistry.getTrader(sellerTraderId);
@@ -152,19 +298,25 @@ public class StockSim implements IModelSubject {
         // Initialize simulator with configuration
         this.marketSimulator = new MarketSimulator(
                 traderRegistry::getBots,
-                this::onSimulationTick,
+                context.wrap(this::onSimulationTick),
                 this::saveStockPrices,
                 config.getSpeedupFactor(),
                 config.getTickInterval(),
                 config.getDurationInRealSeconds(),
-                config.getInitialTimestamp());
+                config.getInitialTimestamp(),
+                config.getOverrunPolicy(),
+                config.isTickQuantized());
+        this.tickLatency = metrics.histogram(MetricsRegistry.SIM_TICK);
+        metrics.gauge(MetricsRegistry.TICK_LAG, marketSimulator::getTickLagSeconds);
+        metrics.gauge(MetricsRegistry.TICK_OVERRUNS, marketSimulator::getTickOverruns);
+        metrics.gauge(MetricsRegistry.TICK_SKIPPED, marketSimulator::getSkippedSeconds);
     }
 
     private String getTraderIdForOrder(int orderId) {
         // This is a workaround - ideally we'd have better order tracking
         for (Trader trader : traderRegistry.getAllTraders().values()) {
             if (trader instanceof User user) {
-                if (user.getOrderHistory().getAllOrders().stream().anyMatch(o -> o.getOrderId() == orderId)) {
+                if (user.getOrderHistory().getOrderById(orderId) != null) {
                     return trader.getId();
                 }
             }
@@ -173,11 +325,19 @@ public class StockSim implements IModelSubject {
     }
 
     private void onSimulationTick() {
+        long start = System.nanoTime();
+        runAuctions();
+        expireOrders();
         // Execute bot trading decisions
         for (Bot bot : traderRegistry.getBots().values()) {
-            bot.tick(this, botActionExecutor);
+            if (!bot.tick(this, botActionExecutor)) {
+                skippedBotTicks.increment();
+            }
         }
         marketSimulator.setTotalTradesExecuted(market.getCompletedTrades().size());
+        valuationEngine.refreshLeaderboard();
+        populationStatistics.refreshTopBots();
+        tickLatency.record(System.nanoTime() - start);
     }
 
     public void addOrderBook(String symbol, OrderBook orderBook) {
@@ -196,14 +356,70 @@ public class StockSim implements IModelSubject {
         market.placeOrder(order, traderRegistry.getAllTraders(), instrumentRegistry.getAllInstruments());
     }
 
+    /**
+     * Expires resting DAY and GTT orders whose expiry time the simulation clock has reached.
+     *
+     * <p>Runs at the start of every simulation tick, after the auctions.</p>
+     */
+    public void expireOrders() {
+        market.expireOrders(traderRegistry.getAllTraders());
+    }
+
+    /**
+     * Runs the call auctions whose call phase has ended and reopens halted symbols whose halt has ended.
+     *
+     * <p>Runs at the start of every simulation tick, before expired orders are removed.</p>
+     */
+    public void runAuctions() {
+        market.runAuctions(traderRegistry.getAllTraders(), instrumentRegistry.getAllInstruments());
+    }
+
     public void cancelOrder(int orderId) {
         market.cancelOrder(orderId, traderRegistry.getAllTraders());
         notifyPortfolioChanged();
     }
 
+    /**
+     * Cancels every active order matching a scope; null matches anything.
+     *
+     * @param traderId Trader whose orders to cancel, or null for all traders
+     * @param symbol Symbol to cancel in, or null for all symbols
+     * @param side Side to cancel, or null for both
+     * @return Number of orders cancelled
+     * @see IMarket#cancelOrders(String, String, Order.Side, HashMap)
+     */
+    public int cancelOrders(String traderId, String symbol, Order.Side side) {
+        int cancelled = market.cancelOrders(traderId, symbol, side, traderRegistry.getAllTraders());
+        if (cancelled > 0) {
+            notifyPortfolioChanged();
+        }
+        return cancelled;
+    }
+
+    /**
+     * Amends the limit price and total quantity of an active order.
+     *
+     * @param orderId ID of the order to amend
+     * @param price New limit price
+     * @param quantity New total quantity, including what has already filled
+     * @return true if the amend was accepted
+     * @see IMarket#amendOrder(int, BigDecimal, int, HashMap, HashMap)
+     */
+    public boolean amendOrder(int orderId, BigDecimal price, int quantity) {
+        boolean amended = market.amendOrder(orderId, price, quantity, traderRegistry.getAllTraders(),
+                instrumentRegistry.getAllInstruments());
+        if (amended) {
+            notifyPortfolioChanged();
+        }
+        return amended;
+    }
+
     public void createStock(String symbol, String stockName, String tickSize, String lotSize, String category,
             String initialPrice) {
-        instrumentRegistry.createInstrument(symbol, stockName, tickSize, lotSize, category, initialPrice);
+        if (instrumentRegistry.createInstrument(symbol, stockName, tickSize, lotSize, category, initialPrice)) {
+            Instrument instrument = instrumentRegistry.getInstrument(symbol);
+            valuationEngine.onPricePrint(instrument.getSymbol(), instrument.getCurrentPrice());
+        }
     }
 
     public ArrayList<String> getCategories() {
@@ -231,15 +447,28 @@ public class StockSim implements IModelSubject {
     }
 
     public void createUser(String id, String name, int balance) {
-        traderRegistry.createUser(id, name, balance);
+        if (traderRegistry.createUser(id, name, balance)) {
+            trackValuation(id);
+        }
     }
 
     public void createBot(String id, String name) {
-        traderRegistry.createBot(id, name);
+        if (traderRegistry.createBot(id, name)) {
+            trackValuation(id);
+            populationStatistics.register((Bot) traderRegistry.getTrader(id));
+        }
     }
 
     public void createBot(String id, String name, org.team27.stocksim.model.users.bot.IBotStrategy strategy) {
-        traderRegistry.createBot(id, name, strategy);
+        if (traderRegistry.createBot(id, name, strategy)) {
+            trackValuation(id);
+            populationStatistics.register((Bot) traderRegistry.getTrader(id));
+        }
+    }
+
+    private void trackValuation(String traderId) {
+        Trader trader = traderRegistry.getTrader(traderId);
+        valuationEngine.track(trader.getId(), trader.getPortfolio());
     }
 
     public HashMap<String, Trader> getTraders() {
@@ -271,7 +500,24 @@ public class StockSim implements IModelSubject {
     }
 
     public void startMarketSimulation() {
-        marketSimulator.start();
+        // Seed valuations from loaded prices and initial positions
+        for (Instrument instrument : instrumentRegistry.getAllInstruments().values()) {
+            valuationEngine.onPricePrint(instrument.getSymbol(), instrument.getCurrentPrice());
+        }
+        for (Trader trader : traderRegistry.getAllTraders().values()) {
+            valuationEngine.track(trader.getId(), trader.getPortfolio());
+        }
+        valuationEngine.refreshLeaderboard();
+
+        // Re-seed strategy aggregates now that initial positions are loaded
+        populationStatistics.reset();
+        for (Bot bot : traderRegistry.getBots().values()) {
+            populationStatistics.register(bot);
+        }
+        populationStatistics.refreshTopBots();
+
+        // Installs the simulation clock in this session
+        context.run(marketSimulator::start);
     }
 
     public void pauseMarketSimulation() {
@@ -327,6 +573,53 @@ public class StockSim implements IModelSubject {
     }
 
 
+    /**
+     * Gets the incrementally maintained valuation of a trader.
+     *
+     * @param traderId ID of the trader
+     * @return The trader's valuation, or null if unknown
+     */
+    public TraderValuation getValuation(String traderId) {
+        return valuationEngine.getValuation(traderId.toUpperCase());
+    }
+
+    /**
+     * Gets the best performing traders as ranked at the last simulation tick.
+     *
+     * @param n Maximum number of entries
+     * @return Valuations sorted by return, best first
+     */
+    public List<TraderValuation> getLeaderboard(int n) {
+        return valuationEngine.getLeaderboard(n);
+    }
+
+    /**
+     * Gets live aggregates for each bot strategy in use.
+     *
+     * @return Statistics keyed by strategy class name
+     */
+    public Map<String, StrategyStatistics> getStrategyStatistics() {
+        return populationStatistics.getAllStrategyStatistics();
+    }
+
+    /**
+     * Gets the metrics registry of this simulation.
+     *
+     * @return Registry holding order lifecycle latencies, counters and gauges
+     */
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Gets the session this simulation runs in.
+     *
+     * @return The simulation's context
+     */
+    public SimulationContext getContext() {
+        return context;
+    }
+
     public Instrument getInstrument(String symbol) {
         return instrumentRegistry.getAllInstruments().get(symbol);
     }
@@ -341,4 +634,17 @@ public class StockSim implements IModelSubject {
         observers.remove(obs);
     }
 
+    /**
+     * Registers a listener for order lifecycle events of every trader.
+     *
+     * @param listener Listener to add
+     */
+    public void addOrderEventListener(IOrderEventListener listener) {
+        orderEventListeners.add(listener);
+    }
+
+    public void removeOrderEventListener(IOrderEventListener listener) {
+        orderEventListeners.remove(listener);
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package org.team27.stocksim.model.clock;
 
+import org.team27.stocksim.model.session.SimulationContext;
+
 /**
  * Provides global access to the application's clock for testable time management.
  *
@@ -8,13 +10,19 @@ package org.team27.stocksim.model.clock;
  * of simulated time (GameClock) during runtime and makes time-dependent code
  * easily testable by allowing clock substitution.</p>
  *
+ * <p>The clock is looked up per session: every call resolves to the clock of
+ * the {@link SimulationContext} bound to the calling thread, or of the global
+ * context when none is bound. Several simulations in one JVM therefore each
+ * see their own time.</p>
+ *
  * <p><strong>Design Pattern:</strong> Service Locator + Singleton</p>
  * <ul>
  *   <li>Global access point for application clock</li>
  *   <li>Enables dependency injection of time source</li>
  *   <li>Supports both real time and simulated time</li>
  *   <li>Makes time-dependent code testable</li>
- *   <li>Thread-safe static access</li>
+ *   <li>Thread-safe static access (volatile, safely published)</li>
+ *   <li>Session-scoped via the thread's SimulationContext</li>
  * </ul>
  *
  * <h2>Usage Pattern:</h2>
@@ -42,12 +50,11 @@ package org.team27.stocksim.model.clock;
  * @author Team 27
  * @version 1.0
  * @see GameClock
+ * @see SimulationContext
  * @see Clock
  */
 public class ClockProvider {
 
-    private static GameClock clock = new GameClock();
-
     private ClockProvider() {
         // Prevent instantiation
     }
@@ -56,12 +63,12 @@ public class ClockProvider {
      * Sets the clock to be used throughout the application.
      *
      * <p>This should be called when the simulation starts to enable
-     * time acceleration via GameClock.</p>
+     * time acceleration via GameClock. Sets the clock of the calling thread's session.</p>
      *
      * @param gameClock The clock to use (typically a GameClock instance)
      */
     public static void setClock(GameClock gameClock) {
-        clock = gameClock;
+        SimulationContext.current().setClock(gameClock);
     }
 
     /**
@@ -74,7 +81,16 @@ public class ClockProvider {
      * @return Current time in milliseconds
      */
     public static long currentTimeMillis() {
-        return clock.millis();
+        return SimulationContext.current().getClock().millis();
+    }
+
+    /**
+     * Gets the current simulated time in nanoseconds since epoch, without allocating.
+     *
+     * @return Current time in nanoseconds
+     */
+    public static long currentTimeNanos() {
+        return SimulationContext.current().getClock().nanos();
     }
 
     /**
@@ -83,7 +99,7 @@ public class ClockProvider {
      * @return The configured Clock
      */
     public static GameClock getClock() {
-        return clock;
+        return SimulationContext.current().getClock();
     }
 
     /**
@@ -93,7 +109,7 @@ public class ClockProvider {
      * where time advances at real-world rate.</p>
      */
     public static void reset() {
-        clock = new GameClock();
+        SimulationContext.current().resetClock();
     }
 
 }
@@ -13,12 +13,28 @@ import java.time.ZoneId;
  * The clock maintains a consistent relationship between real-world time and
  * simulated time.</p>
  *
+ * <p>Reads are lock-free and allocation-free: the time base (start instant,
+ * real-time reference and speed) lives in one immutable anchor published
+ * through a volatile field, so {@link #setSpeed(double)} from any thread is
+ * seen atomically by all readers. {@link #nanos()} and {@link #millis()}
+ * return primitives; {@link #instant()} reuses the last {@link Instant} it
+ * created while the time has not moved.</p>
+ *
+ * <p>In <em>tick-quantized</em> mode the clock does not advance on its own.
+ * Readers see the time last published with {@link #advanceTo(long)}, which
+ * {@link GameTicker} calls once per simulated second, so every order, trade
+ * and price stamped during one tick shares the same timestamp (and the same
+ * cached Instant). The free-running time is still available to the ticker
+ * through {@link #unquantizedNanos()}.</p>
+ *
  * <p><strong>Design Pattern:</strong> Adapter (adapts real time to simulated time)</p>
  * <ul>
  *   <li>Configurable time acceleration (speed multiplier)</li>
  *   <li>Maintains real-time to sim-time mapping</li>
  *   <li>Extends java.time.Clock for standard time API compatibility</li>
  *   <li>Dynamic speed adjustment without time discontinuities</li>
+ *   <li>Lock-free reads with safely published speed changes</li>
+ *   <li>Optional tick-quantized mode driven by the ticker</li>
  *   <li>Enables testable time-dependent code</li>
  * </ul>
  *
@@ -49,34 +65,63 @@ import java.time.ZoneId;
  *
  * // Adjust speed mid-simulation
  * clock.setSpeed(120.0);  // Speed up to 120x
+ *
+ * // Allocation-free reads on hot paths
+ * long simMillis = clock.millis();
+ *
+ * // Tick-quantized: time only moves when the scheduler advances it
+ * GameClock ticked = new GameClock(ZoneId.of("UTC"), marketOpen, 60.0, true);
+ * ticked.advanceTo(ticked.unquantizedNanos());
  * }</pre>
  *
  * @author Team 27
  * @version 1.0
  * @see ClockProvider
+ * @see GameTicker
  * @see Clock
  */
 public class GameClock extends Clock {
 
+    public static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    /**
+     * Immutable time base; replaced as a whole so readers never see a torn update.
+     *
+     * @param simStartNanos Simulated epoch nanos at the reference point
+     * @param realStartNanos {@code System.nanoTime()} at the reference point
+     * @param speed Speed multiplier from the reference point on
+     */
+    private record Anchor(long simStartNanos, long realStartNanos, double speed) {
+    }
+
+    /**
+     * Last Instant handed out, reused while the simulated time is unchanged.
+     */
+    private record CachedInstant(long nanos, Instant instant) {
+    }
+
     /**
      * Time zone for this clock.
      */
     private final ZoneId zone;
 
     /**
-     * Simulated time corresponding to when the clock was started/reset.
+     * Whether readers see published tick times instead of free-running time.
      */
-    private Instant simStart;
+    private final boolean tickQuantized;
 
     /**
-     * Real-world nanoTime() when simStart was set.
+     * Current time base: simulated start, real-world reference and speed.
      */
-    private long realStartNanos;
+    private volatile Anchor anchor;
 
     /**
-     * Speed multiplier (1.0 = real-time, 60.0 = 60x, etc.).
+     * Simulated epoch nanos last published by {@link #advanceTo(long)} (tick-quantized mode only).
      */
-    private double speed;
+    private volatile long publishedNanos;
+
+    private volatile CachedInstant cachedInstant;
 
     /**
      * Constructs a GameClock with specified initial time and speed.
@@ -86,10 +131,24 @@ public class GameClock extends Clock {
      * @param speed Time acceleration multiplier (1.0 = real-time)
      */
     public GameClock(ZoneId zone, Instant initialSimTime, double speed) {
+        this(zone, initialSimTime, speed, false);
+    }
+
+    /**
+     * Constructs a GameClock, optionally in tick-quantized mode.
+     *
+     * @param zone Time zone for the clock
+     * @param initialSimTime Starting simulated time (representable as epoch nanos, i.e. before 2262)
+     * @param speed Time acceleration multiplier (1.0 = real-time)
+     * @param tickQuantized True if time only advances through {@link #advanceTo(long)}
+     */
+    public GameClock(ZoneId zone, Instant initialSimTime, double speed, boolean tickQuantized) {
         this.zone = zone;
-        this.simStart = initialSimTime;
-        this.realStartNanos = System.nanoTime();
-        this.speed = speed;
+        this.tickQuantized = tickQuantized;
+        long startNanos = toNanos(initialSimTime);
+        this.publishedNanos = startNanos;
+        this.cachedInstant = new CachedInstant(startNanos, initialSimTime);
+        this.anchor = new Anchor(startNanos, System.nanoTime(), speed);
     }
 
     public GameClock() {
@@ -103,25 +162,94 @@ public class GameClock extends Clock {
 
     @Override
     public Clock withZone(ZoneId zone) {
-        return new GameClock(zone, instant(), speed);
+        return new GameClock(zone, instant(), getSpeed(), tickQuantized);
+    }
+
+    /**
+     * Gets the current simulated time as seen by the application.
+     *
+     * @return Simulated nanoseconds since the epoch
+     */
+    public long nanos() {
+        return tickQuantized ? publishedNanos : unquantizedNanos();
+    }
+
+    /**
+     * Gets the free-running simulated time, ignoring tick quantization.
+     *
+     * @return Simulated nanoseconds since the epoch
+     */
+    public long unquantizedNanos() {
+        Anchor a = anchor;
+        return a.simStartNanos + (long) ((System.nanoTime() - a.realStartNanos) * a.speed);
+    }
+
+    @Override
+    public long millis() {
+        return Math.floorDiv(nanos(), NANOS_PER_MILLI);
+    }
+
+    /**
+     * Gets the current simulated second.
+     *
+     * @return Simulated seconds since the epoch
+     */
+    public long epochSecond() {
+        return Math.floorDiv(nanos(), NANOS_PER_SECOND);
     }
 
     @Override
     public Instant instant() {
-        long nanosSinceStart = System.nanoTime() - realStartNanos;
-        long scaledNanos = (long) (nanosSinceStart * speed);
-        return simStart.plusNanos(scaledNanos);
+        long now = nanos();
+        CachedInstant cached = cachedInstant;
+        if (cached.nanos == now) {
+            return cached.instant;
+        }
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(now, NANOS_PER_SECOND),
+                Math.floorMod(now, NANOS_PER_SECOND));
+        cachedInstant = new CachedInstant(now, instant);
+        return instant;
     }
 
-    public void setSpeed(double newSpeed) {
+    /**
+     * Publishes a new simulated time in tick-quantized mode.
+     *
+     * <p>Time never moves backwards: a value at or before the current
+     * published time is ignored. Has no effect on a free-running clock.</p>
+     *
+     * @param simNanos Simulated epoch nanos to publish
+     */
+    public void advanceTo(long simNanos) {
+        if (tickQuantized && simNanos > publishedNanos) {
+            publishedNanos = simNanos;
+        }
+    }
+
+    /**
+     * Changes the speed without a jump in simulated time.
+     *
+     * <p>Safe to call from any thread; readers see either the old or the new
+     * time base, never a mix.</p>
+     *
+     * @param newSpeed New time acceleration multiplier
+     */
+    public synchronized void setSpeed(double newSpeed) {
         // Frys nuvarande simtid och starta om referensen
-        Instant nowSim = instant();
-        this.simStart = nowSim;
-        this.realStartNanos = System.nanoTime();
-        this.speed = newSpeed;
+        long realNow = System.nanoTime();
+        Anchor a = anchor;
+        long simNow = a.simStartNanos + (long) ((realNow - a.realStartNanos) * a.speed);
+        anchor = new Anchor(simNow, realNow, newSpeed);
     }
 
     public double getSpeed() {
-        return speed;
+        return anchor.speed;
+    }
+
+    public boolean isTickQuantized() {
+        return tickQuantized;
+    }
+
+    private static long toNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
     }
 }
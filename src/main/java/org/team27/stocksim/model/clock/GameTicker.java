@@ -4,6 +4,7 @@ import java.time.Instant;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 /**
@@ -13,6 +14,11 @@ import java.util.function.Consumer;
  * that passes, even when multiple simulated seconds occur between real-world ticks.
  * This ensures no simulated time is skipped when running at high speed multipliers.</p>
  *
+ * <p>Each poll is timed against the tick interval. When the handler cannot keep
+ * up, the poll counts as an overrun and the configured {@link TickOverrunPolicy}
+ * decides how to degrade: coalesce the missed seconds, slow the clock down, or
+ * fire less often. Lag, overruns and skipped seconds are exposed for metrics.</p>
+ *
  * <p><strong>Design Pattern:</strong> Observer + Scheduler</p>
  * <ul>
  *   <li>Polls GameClock at configurable real-time intervals</li>
@@ -20,6 +26,8 @@ import java.util.function.Consumer;
  *   <li>Fires callbacks for each simulated second (no skipping)</li>
  *   <li>Handles high-speed simulations correctly (e.g., 100x speed)</li>
  *   <li>Single-threaded executor for predictable callback order</li>
+ *   <li>Fixed-delay polling, so a slow poll never queues up further polls</li>
+ *   <li>Advances a tick-quantized clock to each second before its callback</li>
  * </ul>
  *
  * <h2>Tick Logic:</h2>
@@ -27,8 +35,9 @@ import java.util.function.Consumer;
  * Real tick (every 200ms default):
  *   1. Check current simulated time
  *   2. Calculate seconds elapsed since last check
- *   3. Fire callback for EACH elapsed second
+ *   3. Fire callback for EACH elapsed second, within the tick interval budget
  *   4. Update last known second
+ *   5. On overrun, apply the overrun policy
  *
  * Example at 60x speed:
  *   - Real tick interval: 200ms
@@ -46,21 +55,39 @@ import java.util.function.Consumer;
  *         System.out.println("Simulated second: " + simInstant);
  *         // Execute per-second simulation logic
  *     },
- *     200  // Check every 200ms real-time
+ *     200,  // Check every 200ms real-time
+ *     TickOverrunPolicy.COALESCE
  * );
  *
  * ticker.start();
  * // ... simulation runs
+ * System.out.println("Behind by " + ticker.getLagSeconds() + "s");
  * ticker.stop();
  * }</pre>
  *
  * @author Team 27
  * @version 1.0
  * @see GameClock
+ * @see TickOverrunPolicy
  * @see MarketSimulator
  */
 public class GameTicker {
 
+    /**
+     * Largest stride used by {@link TickOverrunPolicy#REDUCE_TICK_RATE}.
+     */
+    public static final int MAX_STRIDE = 64;
+
+    /**
+     * Lowest speed {@link TickOverrunPolicy#SLOW_CLOCK} slows the clock down to.
+     */
+    public static final double MIN_SPEED = 1.0;
+
+    /**
+     * Factor by which SLOW_CLOCK raises the speed again after a poll with headroom.
+     */
+    private static final double SPEED_RECOVERY = 1.1;
+
     /**
      * The game clock being monitored for time progression.
      */
@@ -76,10 +103,39 @@ public class GameTicker {
      */
     private final long tickIntervalMillis;
 
+    /**
+     * Policy applied when a poll overruns its interval.
+     */
+    private final TickOverrunPolicy overrunPolicy;
+
+    /**
+     * Clock speed configured when the ticker started; SLOW_CLOCK never exceeds it.
+     */
+    private volatile double targetSpeed;
+
     /**
      * Last simulated second that was processed.
      */
-    private long lastSecond;
+    private volatile long lastSecond;
+
+    /**
+     * Simulated seconds between callbacks; above 1 only under REDUCE_TICK_RATE.
+     */
+    private volatile int stride = 1;
+
+    /**
+     * Simulated seconds still unprocessed when the last poll ran out of work or time,
+     * before the overrun policy was applied.
+     */
+    private volatile long lagSeconds;
+
+    /**
+     * Real-time duration of the last poll in nanoseconds.
+     */
+    private volatile long lastPollNanos;
+
+    private final AtomicLong overruns = new AtomicLong();
+    private final AtomicLong skippedSeconds = new AtomicLong();
 
     /**
      * Callback invoked for each simulated second that passes.
@@ -97,42 +153,112 @@ public class GameTicker {
     }
 
     /**
-     * Constructs a GameTicker with custom tick interval.
+     * Constructs a GameTicker with custom tick interval that never skips a second.
      *
      * @param clock The game clock to monitor
      * @param onSecondHandler Callback invoked for each simulated second
      * @param tickIntervalMillis Real-time milliseconds between tick checks
      */
     public GameTicker(GameClock clock, Consumer<Instant> onSecondHandler, long tickIntervalMillis) {
+        this(clock, onSecondHandler, tickIntervalMillis, TickOverrunPolicy.CATCH_UP);
+    }
+
+    /**
+     * Constructs a GameTicker with custom tick interval and overrun policy.
+     *
+     * @param clock The game clock to monitor
+     * @param onSecondHandler Callback invoked for each simulated second
+     * @param tickIntervalMillis Real-time milliseconds between tick checks
+     * @param overrunPolicy What to do when the handler cannot keep up
+     */
+    public GameTicker(GameClock clock, Consumer<Instant> onSecondHandler, long tickIntervalMillis,
+            TickOverrunPolicy overrunPolicy) {
         this.clock = clock;
         this.onSecondHandler = onSecondHandler;
         this.tickIntervalMillis = tickIntervalMillis;
+        this.overrunPolicy = overrunPolicy != null ? overrunPolicy : TickOverrunPolicy.CATCH_UP;
+        this.targetSpeed = clock.getSpeed();
+        this.lastSecond = clock.epochSecond();
     }
 
     /**
      * Starts the ticker, beginning periodic tick checks.
      *
      * <p>Initializes the last known second and schedules periodic tick checks
-     * at the configured interval.</p>
+     * with the configured delay between the end of one check and the start of
+     * the next.</p>
      */
     public void start() {
-        lastSecond = clock.instant().getEpochSecond();
-        exec.scheduleAtFixedRate(this::tick, 0, tickIntervalMillis, TimeUnit.MILLISECONDS);
+        targetSpeed = clock.getSpeed();
+        lastSecond = clock.epochSecond();
+        exec.scheduleWithFixedDelay(this::tick, 0, tickIntervalMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
      * Checks for elapsed simulated seconds and fires callbacks.
      *
-     * <p>Called periodically by the executor. Compares current simulated time
-     * with last known time and fires callbacks for each elapsed second.</p>
+     * <p>Called periodically by the executor. Fires callbacks for the elapsed
+     * seconds until they are all processed or, unless the policy is CATCH_UP,
+     * the tick interval is used up. A poll that runs over the interval is an
+     * overrun and triggers the overrun policy.</p>
      */
-    private void tick() {
-        Instant nowSim = clock.instant();
-        long currentSec = nowSim.getEpochSecond();
+    void tick() {
+        long pollStart = System.nanoTime();
+        long budgetNanos = TimeUnit.MILLISECONDS.toNanos(tickIntervalMillis);
+        long currentSec = Math.floorDiv(clock.unquantizedNanos(), GameClock.NANOS_PER_SECOND);
+        boolean budgetExhausted = false;
 
         while (lastSecond < currentSec) {
-            lastSecond++;
-            onSimulatedSecond(Instant.ofEpochSecond(lastSecond));
+            if (overrunPolicy != TickOverrunPolicy.CATCH_UP && System.nanoTime() - pollStart > budgetNanos) {
+                budgetExhausted = true;
+                break;
+            }
+            long next = Math.min(lastSecond + stride, currentSec);
+            skippedSeconds.addAndGet(next - lastSecond - 1);
+            lastSecond = next;
+            clock.advanceTo(next * GameClock.NANOS_PER_SECOND);
+            onSimulatedSecond(clock.isTickQuantized() ? clock.instant() : Instant.ofEpochSecond(next));
+        }
+
+        long pollNanos = System.nanoTime() - pollStart;
+        boolean overrun = budgetExhausted || pollNanos > budgetNanos;
+        lastPollNanos = pollNanos;
+        if (overrun) {
+            overruns.incrementAndGet();
+        }
+        lagSeconds = currentSec - lastSecond;
+        applyOverrunPolicy(overrun, currentSec, pollNanos, budgetNanos);
+    }
+
+    private void applyOverrunPolicy(boolean overrun, long currentSec, long pollNanos, long budgetNanos) {
+        switch (overrunPolicy) {
+            case COALESCE -> {
+                if (lastSecond < currentSec) {
+                    skippedSeconds.addAndGet(currentSec - lastSecond);
+                    lastSecond = currentSec;
+                    clock.advanceTo(currentSec * GameClock.NANOS_PER_SECOND);
+                }
+            }
+            case SLOW_CLOCK -> {
+                double speed = clock.getSpeed();
+                if (overrun) {
+                    // Scale by the share of the interval the handler actually had, at most halving per poll
+                    double factor = Math.max(0.5, Math.min(0.9, (double) budgetNanos / Math.max(1, pollNanos)));
+                    clock.setSpeed(Math.max(MIN_SPEED, speed * factor));
+                } else if (lastSecond >= currentSec && speed < targetSpeed) {
+                    clock.setSpeed(Math.min(targetSpeed, speed * SPEED_RECOVERY));
+                }
+            }
+            case REDUCE_TICK_RATE -> {
+                if (overrun) {
+                    stride = Math.min(MAX_STRIDE, stride * 2);
+                } else if (stride > 1 && lastSecond >= currentSec && pollNanos < budgetNanos / 4) {
+                    stride = stride / 2;
+                }
+            }
+            default -> {
+                // CATCH_UP: keep every second, however late
+            }
         }
     }
 
@@ -173,4 +299,57 @@ public class GameTicker {
         this.onSecondHandler = onSecondHandler;
 
     }
+
+    public TickOverrunPolicy getOverrunPolicy() {
+        return overrunPolicy;
+    }
+
+    /**
+     * Gets how far the ticker was behind the clock after its last poll.
+     *
+     * <p>Measured before the overrun policy runs, so a COALESCE ticker still
+     * reports the seconds it is about to skip.</p>
+     *
+     * @return Unprocessed simulated seconds
+     */
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * Gets the real-time duration of the last poll.
+     *
+     * @return Duration in nanoseconds
+     */
+    public long getLastPollNanos() {
+        return lastPollNanos;
+    }
+
+    /**
+     * Gets the number of polls that ran over the tick interval.
+     *
+     * @return Overrun count since construction
+     */
+    public long getOverrunCount() {
+        return overruns.get();
+    }
+
+    /**
+     * Gets the number of simulated seconds that never got a callback,
+     * because they were coalesced or stepped over by a larger stride.
+     *
+     * @return Skipped second count since construction
+     */
+    public long getSkippedSeconds() {
+        return skippedSeconds.get();
+    }
+
+    /**
+     * Gets the current number of simulated seconds between callbacks.
+     *
+     * @return 1 unless REDUCE_TICK_RATE has lowered the tick rate
+     */
+    public int getStride() {
+        return stride;
+    }
 }
@@ -0,0 +1,40 @@
+package org.team27.stocksim.model.clock;
+
+/**
+ * What a {@link GameTicker} does when the per-second handler cannot keep up
+ * with the simulated clock.
+ *
+ * <p>A poll overruns when firing the elapsed simulated seconds takes longer
+ * than the real-time tick interval. Without a policy the backlog grows
+ * without bound and the simulation silently falls further behind its
+ * clock.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see GameTicker
+ */
+public enum TickOverrunPolicy {
+
+    /**
+     * Fire every elapsed second no matter how long it takes (the original behaviour).
+     */
+    CATCH_UP,
+
+    /**
+     * Fire as many seconds as fit in one tick interval and skip the rest,
+     * so the handler always works on the current simulated second.
+     */
+    COALESCE,
+
+    /**
+     * Keep every second but lower the {@link GameClock} speed until the
+     * handler keeps up, then raise it back towards the configured speed.
+     */
+    SLOW_CLOCK,
+
+    /**
+     * Fire only every n-th simulated second, doubling n on overrun and
+     * halving it again once there is headroom.
+     */
+    REDUCE_TICK_RATE
+}
@@ -0,0 +1,290 @@
+package org.team27.stocksim.model.clock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel holding timers that fire at a simulated tick.
+ *
+ * <p>Timers are kept in four wheels of 64 slots each. The first wheel has one
+ * slot per tick, every further wheel one slot per full turn of the wheel
+ * below it, so the wheels together cover 64<sup>4</sup> ticks (about 194
+ * simulated days at one tick per second). A timer is placed in the finest
+ * wheel whose range reaches its deadline; when a coarser slot comes due its
+ * timers are cascaded into the finer wheels. Deadlines further out wait in an
+ * overflow list that is revisited once per turn of the third wheel.</p>
+ *
+ * <p>Scheduling and cancelling a timer are O(1), and each timer is moved at
+ * most once per wheel before it fires, so millions of expiries cost O(1)
+ * each. Advancing costs one slot visit per tick, or nothing while the wheel
+ * holds no timers.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Scheduler (hashed hierarchical timing wheel)</p>
+ * <ul>
+ *   <li>Ticks are whatever unit the caller chooses, e.g. simulated epoch seconds</li>
+ *   <li>Timers live in intrusive doubly linked lists, so cancel unlinks in place</li>
+ *   <li>Due items are returned to the caller rather than called back, so no
+ *       caller code runs under the wheel's lock</li>
+ *   <li>Thread-safe through synchronized methods</li>
+ *   <li>Follows the clock backwards by rebasing its timers (e.g. when a
+ *       simulation installs a clock that starts in the past)</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * TimingWheel<Order> wheel = new TimingWheel<>();
+ * long now = ClockProvider.getClock().epochSecond();
+ *
+ * TimingWheel.Timer<Order> timer = wheel.schedule(order, now + 3600, now);
+ *
+ * // Once per simulated second
+ * for (Order expired : wheel.advanceTo(ClockProvider.getClock().epochSecond())) {
+ *     expire(expired);
+ * }
+ *
+ * // The order was filled first
+ * timer.cancel();
+ * }</pre>
+ *
+ * @param <T> Type of the scheduled items
+ * @author Team 27
+ * @version 1.0
+ * @see GameClock
+ * @see GameTicker
+ */
+public class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    /**
+     * Span of all wheels together; deadlines this far out or further overflow.
+     */
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    /**
+     * A scheduled item; cancel it if the item no longer needs to fire.
+     *
+     * @param <T> Type of the scheduled item
+     */
+    public static final class Timer<T> {
+        private final T item;
+        private final long deadline;
+        private TimingWheel<T> wheel;
+        private Timer<T> previous;
+        private Timer<T> next;
+
+        private Timer(T item, long deadline) {
+            this.item = item;
+            this.deadline = deadline;
+        }
+
+        public T getItem() {
+            return item;
+        }
+
+        public long getDeadline() {
+            return deadline;
+        }
+
+        /**
+         * Removes the timer from its wheel.
+         *
+         * @return true if the timer was pending, false if it already fired or was cancelled
+         */
+        public boolean cancel() {
+            TimingWheel<T> owner = wheel;
+            return owner != null && owner.cancel(this);
+        }
+    }
+
+    /**
+     * Slot lists: {@code slots[level][index]} is a sentinel of a circular list.
+     */
+    private final Timer<T>[][] slots;
+    private final Timer<T> overflow;
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel() {
+        slots = new Timer[LEVELS][SLOTS];
+        for (Timer<T>[] level : slots) {
+            for (int i = 0; i < SLOTS; i++) {
+                level[i] = sentinel();
+            }
+        }
+        overflow = sentinel();
+    }
+
+    private static <T> Timer<T> sentinel() {
+        Timer<T> sentinel = new Timer<>(null, 0);
+        sentinel.previous = sentinel;
+        sentinel.next = sentinel;
+        return sentinel;
+    }
+
+    /**
+     * Schedules an item to be returned by the first advance that reaches its deadline.
+     *
+     * <p>A deadline at or before the wheel's current tick fires on the next
+     * advance. {@code nowTick} positions the wheel when it holds no timers, so
+     * the first timer does not have to be walked to from tick zero.</p>
+     *
+     * @param item Item to return when due
+     * @param deadlineTick Tick at which the item is due
+     * @param nowTick The caller's current tick
+     * @return Handle to cancel the timer
+     */
+    public synchronized Timer<T> schedule(T item, long deadlineTick, long nowTick) {
+        if (size == 0 || nowTick < currentTick) {
+            rebase(nowTick);
+        }
+        Timer<T> timer = new Timer<>(item, deadlineTick);
+        timer.wheel = this;
+        place(timer, currentTick + 1);
+        size++;
+        return timer;
+    }
+
+    /**
+     * Advances the wheel and collects every item whose deadline has been reached.
+     *
+     * @param tick The new current tick
+     * @return Due items in deadline order, empty if none
+     */
+    public synchronized List<T> advanceTo(long tick) {
+        if (tick < currentTick) {
+            rebase(tick);
+            return List.of();
+        }
+        if (size == 0) {
+            currentTick = tick;
+            return List.of();
+        }
+        List<T> due = new ArrayList<>();
+        while (currentTick < tick && size > 0) {
+            currentTick++;
+            cascade();
+            Timer<T> slot = slots[0][(int) (currentTick & SLOT_MASK)];
+            while (slot.next != slot) {
+                Timer<T> timer = slot.next;
+                unlink(timer);
+                size--;
+                due.add(timer.item);
+            }
+        }
+        if (size == 0) {
+            currentTick = tick;
+        }
+        return due;
+    }
+
+    /**
+     * Gets the number of pending timers.
+     *
+     * @return Timers scheduled and neither fired nor cancelled
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long getCurrentTick() {
+        return currentTick;
+    }
+
+    private synchronized boolean cancel(Timer<T> timer) {
+        if (timer.wheel != this) {
+            return false;
+        }
+        unlink(timer);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the timers of every coarser slot that starts at the current tick
+     * into finer wheels, coarsest first.
+     */
+    private void cascade() {
+        for (int level = LEVELS - 1; level >= 1; level--) {
+            long unit = 1L << (SLOT_BITS * level);
+            if ((currentTick & (unit - 1)) == 0) {
+                if (level == LEVELS - 1) {
+                    reinsert(overflow);
+                }
+                reinsert(slots[level][(int) ((currentTick >> (SLOT_BITS * level)) & SLOT_MASK)]);
+            }
+        }
+    }
+
+    private void reinsert(Timer<T> list) {
+        Timer<T> timer = list.next;
+        list.next = list;
+        list.previous = list;
+        while (timer != list) {
+            Timer<T> next = timer.next;
+            place(timer, currentTick);
+            timer = next;
+        }
+    }
+
+    /**
+     * Links a timer into the slot for its deadline, or for {@code earliest} if that is later.
+     */
+    private void place(Timer<T> timer, long earliest) {
+        long deadline = Math.max(timer.deadline, earliest);
+        long delta = deadline - currentTick;
+        Timer<T> list;
+        if (delta >= RANGE) {
+            list = overflow;
+        } else {
+            int level = 0;
+            while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+                level++;
+            }
+            list = slots[level][(int) ((deadline >> (SLOT_BITS * level)) & SLOT_MASK)];
+        }
+        timer.next = list;
+        timer.previous = list.previous;
+        list.previous.next = timer;
+        list.previous = timer;
+    }
+
+    private void unlink(Timer<T> timer) {
+        timer.previous.next = timer.next;
+        timer.next.previous = timer.previous;
+        timer.previous = null;
+        timer.next = null;
+        timer.wheel = null;
+    }
+
+    /**
+     * Repositions every pending timer relative to a new current tick.
+     */
+    private void rebase(long tick) {
+        List<Timer<T>> pending = new ArrayList<>(size);
+        for (Timer<T>[] level : slots) {
+            for (Timer<T> list : level) {
+                drain(list, pending);
+            }
+        }
+        drain(overflow, pending);
+        currentTick = tick;
+        for (Timer<T> timer : pending) {
+            place(timer, currentTick + 1);
+        }
+    }
+
+    private static <T> void drain(Timer<T> list, List<Timer<T>> into) {
+        Timer<T> timer = list.next;
+        while (timer != list) {
+            into.add(timer);
+            timer = timer.next;
+        }
+        list.next = list;
+        list.previous = list;
+    }
+}
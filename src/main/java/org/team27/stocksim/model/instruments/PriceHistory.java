@@ -2,6 +2,7 @@ package org.team27.stocksim.model.instruments;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -14,6 +15,7 @@ import java.util.List;
  * <p><strong>Design Pattern:</strong> Repository + Encapsulation</p>
  * <ul>
  *   <li>Stores chronological sequence of price points</li>
+ *   <li>Append-only with a published length, so readers scan without locks</li>
  *   <li>Returns defensive copies to maintain immutability</li>
  *   <li>Supports technical analysis and charting</li>
  *   <li>Enables momentum calculation and trend analysis</li>
@@ -48,37 +50,103 @@ import java.util.List;
  */
 public class PriceHistory {
     /**
-     * Chronological list of price points.
+     * Initial capacity of the backing array.
      */
-    private List<PricePoint> points;
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Backing array of price points. Replaced by a larger copy when full;
+     * slots below {@link #size} are never modified after being published.
+     */
+    private volatile PricePoint[] points;
+
+    /**
+     * Number of published price points. Written only by the single writer
+     * after the point itself has been stored, so readers that load this
+     * value first always see fully initialized points below it.
+     */
+    private volatile int size;
 
     /**
      * Constructs an empty PriceHistory.
      */
     public PriceHistory() {
-        this.points = new ArrayList<>();
+        this.points = new PricePoint[INITIAL_CAPACITY];
+        this.size = 0;
     }
 
     /**
      * Adds a new price point to the history.
      *
+     * <p>Must only be called by one thread at a time per history. In the
+     * market this is guaranteed by the per-symbol order book lock held
+     * during settlement, so no additional lock is taken here.</p>
+     *
      * @param price The price at this point in time
      * @param timestamp Unix timestamp in milliseconds
      */
     public void addPrice(BigDecimal price, long timestamp) {
         PricePoint point = new PricePoint(timestamp, price);
-        points.add(point);
+        int n = size;
+        PricePoint[] current = points;
+        if (n == current.length) {
+            current = Arrays.copyOf(current, n * 2);
+            points = current;
+        }
+        current[n] = point;
+        size = n + 1; // publish
+    }
+
+    /**
+     * Returns the number of published price points.
+     *
+     * @return Current history length
+     */
+    public int size() {
+        return size;
     }
 
     /**
      * Returns a defensive copy of all price points.
      *
-     * <p>Returns a new list to prevent external modification of internal state.</p>
+     * <p>Returns a new list to prevent external modification of internal state.
+     * The copy is taken without locking and reflects every point published
+     * before the call.</p>
      *
      * @return List of all price points in chronological order
      */
     public List<PricePoint> getPoints() {
-        return new ArrayList<>(points); // Return a copy to maintain encapsulation
+        return getPoints(0, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a copy of the price points in the range {@code [fromIndex, toIndex)}.
+     *
+     * <p>Both bounds are clamped to the published length, so callers can pass
+     * a size they read earlier without risking an out-of-range access. Used for
+     * incremental chart updates so only new points are copied.</p>
+     *
+     * @param fromIndex Index of the first point to include
+     * @param toIndex Index after the last point to include
+     * @return List of price points in chronological order
+     */
+    public List<PricePoint> getPoints(int fromIndex, int toIndex) {
+        int n = size;
+        PricePoint[] snapshot = points;
+        int to = Math.min(toIndex, n);
+        int from = Math.max(0, Math.min(fromIndex, to));
+        return new ArrayList<>(Arrays.asList(snapshot).subList(from, to));
+    }
+
+    /**
+     * Returns a copy of at most the {@code count} most recent price points.
+     *
+     * @param count Maximum number of points to return
+     * @return List of the most recent price points in chronological order
+     */
+    public List<PricePoint> getRecentPoints(int count) {
+        int n = size;
+        return getPoints(n - count, n);
     }
 
 }
@@ -79,18 +79,8 @@ public class PriceHistoryService {
             return new ArrayList<>();
         }
 
-        List<PricePoint> allPoints = priceHistory.getPoints();
-
-        if (allPoints.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        // Take only the most recent points if we have too many
-        if (allPoints.size() > MAX_DISPLAY_POINTS) {
-            return allPoints.subList(allPoints.size() - MAX_DISPLAY_POINTS, allPoints.size());
-        }
-
-        return new ArrayList<>(allPoints);
+        // Take only the most recent points; avoids copying the whole history
+        return priceHistory.getRecentPoints(MAX_DISPLAY_POINTS);
     }
 
     /**
@@ -116,8 +106,7 @@ public class PriceHistoryService {
             return new FilterResult(new ArrayList<>(), lastKnownSize, false);
         }
 
-        List<PricePoint> allPoints = priceHistory.getPoints();
-        int currentSize = allPoints.size();
+        int currentSize = priceHistory.size();
 
         // If history was reset or reduced, signal full redraw
         if (currentSize < lastKnownSize) {
@@ -133,26 +122,20 @@ public class PriceHistoryService {
             return new FilterResult(new ArrayList<>(), currentSize, false);
         }
 
-        // Get what the filtered data SHOULD look like
-        List<PricePoint> correctFilteredData = filterPriceData(priceHistory);
-
-        // Get only the new points
-        List<PricePoint> newPoints = new ArrayList<>();
-        for (int i = lastKnownSize; i < currentSize; i++) {
-            newPoints.add(allPoints.get(i));
-        }
-
         // Check if we need a full redraw (if we would exceed max display points)
         boolean needsFullRedraw = currentSize > MAX_DISPLAY_POINTS;
 
         if (needsFullRedraw) {
             return new FilterResult(
-                    correctFilteredData,
+                    priceHistory.getPoints(currentSize - MAX_DISPLAY_POINTS, currentSize),
                     currentSize,
                     true // needs full redraw
             );
         }
 
+        // Get only the new points
+        List<PricePoint> newPoints = priceHistory.getPoints(lastKnownSize, currentSize);
+
         // Return incremental update without full redraw
         return new FilterResult(
                 newPoints,
@@ -14,6 +14,7 @@ import java.math.BigDecimal;
  * <p><strong>Design Pattern:</strong> Inheritance + Observer (via price updates)</p>
  * <ul>
  *   <li>Tracks current price and complete price history</li>
+ *   <li>Last price is a volatile slot, safe to read from any thread</li>
  *   <li>Uses ClockProvider for testable timestamp management</li>
  *   <li>Inherits tick size, lot size, and category from Instrument</li>
  *   <li>Price history enables charting and technical analysis</li>
@@ -50,14 +51,15 @@ import java.math.BigDecimal;
  */
 public class Stock extends Instrument {
     /**
-     * Current market price of the stock.
+     * Last traded price of the stock. Volatile so readers on other threads
+     * always see the most recently published price without locking.
      */
-    private BigDecimal price;
+    private volatile BigDecimal price;
 
     /**
      * Complete historical price data for charting and analysis.
      */
-    private PriceHistory priceHistory;
+    private final PriceHistory priceHistory;
 
     /**
      * Package-private constructor for use by StockFactory.
@@ -84,9 +86,21 @@ public class Stock extends Instrument {
         setCurrentPrice(price, ClockProvider.currentTimeMillis());
     }
 
+    /**
+     * Records a new price print.
+     *
+     * <p>Each instrument has a single writer at a time: the market only
+     * settles trades for a symbol while holding that symbol's order book
+     * lock. The history point is appended before the last-price slot is
+     * published, so a reader never sees a price that is missing from the
+     * history.</p>
+     *
+     * @param price The new price
+     * @param timestamp Unix timestamp in milliseconds
+     */
     public void setCurrentPrice(BigDecimal price, long timestamp) {
-        this.price = price;
         priceHistory.addPrice(price, timestamp);
+        this.price = price;
     }
 
     public PriceHistory getPriceHistory() {
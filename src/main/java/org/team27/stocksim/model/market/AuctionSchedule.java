@@ -0,0 +1,154 @@
+package org.team27.stocksim.model.market;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * Configuration of when the market matches orders in auctions rather than continuously.
+ *
+ * <p>During a call phase orders are not matched as they arrive. They collect
+ * in the book, which may cross, and a {@link CallAuction} uncrosses each book
+ * at a single price once the phase ends. The opening call covers the start of
+ * each day in the simulation clock's zone and the closing call its end; the
+ * rest of the day trades continuously.</p>
+ *
+ * <p>In frequent batch mode nothing trades continuously: orders arriving
+ * during a simulation tick wait outside the book and are cleared in one
+ * auction per symbol at the start of the next tick. The batch is sorted
+ * before it enters the book, so priority within a price level does not
+ * depend on which thread submitted first. Market, immediate-or-cancel and
+ * fill-or-kill orders take part in the auction of their batch only, and
+ * whatever they do not trade there is cancelled.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Configuration Object + Immutable Value Object</p>
+ * <ul>
+ *   <li>Immutable configuration prevents mid-execution changes</li>
+ *   <li>Validates parameters at construction</li>
+ *   <li>Provides sensible defaults via factory method</li>
+ * </ul>
+ *
+ * <h2>Configuration Parameters:</h2>
+ * <ul>
+ *   <li><strong>Opening Call:</strong> Simulated seconds after midnight that orders collect
+ *       for the opening auction (default: 0, none)</li>
+ *   <li><strong>Closing Call:</strong> Simulated seconds before midnight that orders collect
+ *       for the closing auction (default: 0, none)</li>
+ *   <li><strong>Frequent Batch:</strong> Clear every symbol in one auction per tick (default: off)</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * // Ten-minute opening and closing calls
+ * SimulationConfig config = SimulationConfig.builder()
+ *         .auctionSchedule(new AuctionSchedule(600, 600))
+ *         .build();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see CallAuction
+ * @see Market
+ */
+public class AuctionSchedule {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+
+    /**
+     * Length of the opening call phase in simulated seconds.
+     */
+    private final long openingCallSeconds;
+
+    /**
+     * Length of the closing call phase in simulated seconds.
+     */
+    private final long closingCallSeconds;
+
+    /**
+     * Whether orders are batched per tick instead of matched as they arrive.
+     */
+    private final boolean frequentBatch;
+
+    /**
+     * Constructs an AuctionSchedule with specified call phases and continuous trading between them.
+     *
+     * @param openingCallSeconds Simulated seconds of the opening call, 0 for none
+     * @param closingCallSeconds Simulated seconds of the closing call, 0 for none
+     * @throws IllegalArgumentException if a phase is negative or the phases cover the whole day
+     */
+    public AuctionSchedule(long openingCallSeconds, long closingCallSeconds) {
+        this(openingCallSeconds, closingCallSeconds, false);
+    }
+
+    /**
+     * Constructs an AuctionSchedule with specified call phases.
+     *
+     * @param openingCallSeconds Simulated seconds of the opening call, 0 for none
+     * @param closingCallSeconds Simulated seconds of the closing call, 0 for none
+     * @param frequentBatch true to clear orders in one auction per tick outside the call phases
+     * @throws IllegalArgumentException if a phase is negative or the phases cover the whole day
+     */
+    public AuctionSchedule(long openingCallSeconds, long closingCallSeconds, boolean frequentBatch) {
+        if (openingCallSeconds < 0 || closingCallSeconds < 0) {
+            throw new IllegalArgumentException("Call phases cannot be negative");
+        }
+        if (openingCallSeconds + closingCallSeconds >= SECONDS_PER_DAY) {
+            throw new IllegalArgumentException("Call phases must leave time for continuous trading");
+        }
+        this.openingCallSeconds = openingCallSeconds;
+        this.closingCallSeconds = closingCallSeconds;
+        this.frequentBatch = frequentBatch;
+    }
+
+    /**
+     * Creates the default schedule: continuous trading all day.
+     *
+     * @return Default AuctionSchedule
+     */
+    public static AuctionSchedule createDefault() {
+        return new AuctionSchedule(0, 0);
+    }
+
+    /**
+     * Creates a schedule that clears every symbol in one batch auction per tick.
+     *
+     * @return Frequent batch AuctionSchedule
+     */
+    public static AuctionSchedule frequentBatch() {
+        return new AuctionSchedule(0, 0, true);
+    }
+
+    /**
+     * Finds the end of the call phase a time falls in.
+     *
+     * @param epochSecond Simulated epoch second
+     * @param zone Zone the simulated day is measured in
+     * @return Epoch second the call phase ends and its auction runs, or -1 during continuous trading
+     */
+    public long callPhaseEnd(long epochSecond, ZoneId zone) {
+        if (openingCallSeconds == 0 && closingCallSeconds == 0) {
+            return -1;
+        }
+        int offset = zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        long secondOfDay = Math.floorMod(epochSecond + offset, SECONDS_PER_DAY);
+        long startOfDay = epochSecond - secondOfDay;
+        if (secondOfDay < openingCallSeconds) {
+            return startOfDay + openingCallSeconds;
+        }
+        if (secondOfDay >= SECONDS_PER_DAY - closingCallSeconds) {
+            return startOfDay + SECONDS_PER_DAY;
+        }
+        return -1;
+    }
+
+    public long getOpeningCallSeconds() {
+        return openingCallSeconds;
+    }
+
+    public long getClosingCallSeconds() {
+        return closingCallSeconds;
+    }
+
+    public boolean isFrequentBatch() {
+        return frequentBatch;
+    }
+}
@@ -0,0 +1,364 @@
+package org.team27.stocksim.model.market;
+
+import org.team27.stocksim.model.clock.ClockProvider;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Call auction that matches a whole book at once at a single price.
+ *
+ * <p>Where the {@link MatchingEngine} matches each incoming order as it
+ * arrives, a call auction lets orders accumulate in the book, crossed or not,
+ * and then uncrosses it in one batch. The auction price is the equilibrium
+ * price that trades the most quantity, found in a single pass over the
+ * aggregated price levels of both sides, so the cost of an auction grows with
+ * the number of price levels rather than the number of orders.</p>
+ *
+ * <p>The market runs an auction when a symbol reopens after a halt and at the
+ * end of each call phase of its {@link AuctionSchedule}.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Strategy</p>
+ * <ul>
+ *   <li>Implements {@link IMatchingStrategy} for whole-book matching</li>
+ *   <li>Prefers the last trade price when several prices trade the same quantity</li>
+ *   <li>Self-trade prevention (same trader can't match own orders)</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * CallAuction auction = new CallAuction();
+ * orderBook.add(new Order(Order.Side.BUY, "AAPL", new BigDecimal("101.00"), 10, "trader1"));
+ * orderBook.add(new Order(Order.Side.SELL, "AAPL", new BigDecimal("99.00"), 10, "trader2"));
+ * List<Trade> trades = auction.match(orderBook, null);
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MatchingEngine
+ * @see AuctionSchedule
+ */
+public class CallAuction implements IMatchingStrategy {
+
+    /**
+     * Last trade prices by symbol, used as reference prices and updated by each auction.
+     */
+    private final Map<String, BigDecimal> lastTradePrices;
+
+    /**
+     * Constructs a CallAuction with no trade history.
+     */
+    public CallAuction() {
+        this(new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Constructs a CallAuction sharing the last trade prices of a matching engine.
+     *
+     * @param lastTradePrices Last trade prices by symbol
+     */
+    CallAuction(Map<String, BigDecimal> lastTradePrices) {
+        this.lastTradePrices = lastTradePrices;
+    }
+
+    /**
+     * Uncrosses a book, preferring its symbol's last trade price on ties.
+     *
+     * @param orderBook The order book to uncross
+     * @param onOrderFilled Callback for each order removed from the book, may be null
+     * @return Trades at the auction price, empty if the book is not crossed
+     */
+    @Override
+    public List<Trade> match(OrderBook orderBook, Consumer<Order> onOrderFilled) {
+        return uncross(orderBook, lastTradePrices.get(orderBook.getSymbol()), onOrderFilled);
+    }
+
+    /**
+     * Uncrosses a book together with market orders, preferring its symbol's last trade price on ties.
+     *
+     * @param orderBook The order book to uncross
+     * @param marketOrders Market orders taking part in the auction, in priority order
+     * @param onOrderFilled Callback for each filled order, may be null
+     * @return Trades at the auction price, empty if nothing crosses
+     */
+    @Override
+    public List<Trade> match(OrderBook orderBook, List<Order> marketOrders, Consumer<Order> onOrderFilled) {
+        return uncross(orderBook, lastTradePrices.get(orderBook.getSymbol()), marketOrders, onOrderFilled);
+    }
+
+    /**
+     * Uncrosses a crossed book in one auction.
+     *
+     * <p>The auction trades every crossing order it can at a single price, the
+     * {@linkplain #auctionPrice equilibrium price}. Bids then take asks in
+     * price-time priority; a bid whose next ask belongs to its own trader
+     * takes the next ask of another trader instead. An iceberg showing a new
+     * slice goes behind the rest of its price level, as it does in the book,
+     * so its hidden quantity trades after the orders queued at its price.</p>
+     *
+     * @param orderBook The crossed order book
+     * @param referencePrice Price to prefer when several prices trade the same quantity, may be null
+     * @param onOrderFilled Callback for each order removed from the book, may be null
+     * @return Trades at the auction price, empty if the book is not crossed
+     */
+    public List<Trade> uncross(OrderBook orderBook, BigDecimal referencePrice, Consumer<Order> onOrderFilled) {
+        return uncross(orderBook, referencePrice, List.of(), onOrderFilled);
+    }
+
+    /**
+     * Uncrosses a book in one auction together with market orders that cannot rest in it.
+     *
+     * <p>Market orders trade at any price, so they count towards the volume
+     * at every candidate price and go ahead of the limit orders on their
+     * side. When no limit order takes part, market orders on both sides
+     * trade at the reference price. Market orders that do not fill stay
+     * outside the book.</p>
+     *
+     * @param orderBook The order book to uncross
+     * @param referencePrice Price to prefer when several prices trade the same quantity, may be null
+     * @param marketOrders Market orders taking part in the auction, in priority order
+     * @param onOrderFilled Callback for each filled market order and each order removed from the book, may be null
+     * @return Trades at the auction price, empty if nothing crosses
+     */
+    public List<Trade> uncross(OrderBook orderBook, BigDecimal referencePrice, List<Order> marketOrders,
+            Consumer<Order> onOrderFilled) {
+        List<Trade> trades = new ArrayList<>();
+        List<Order> bids = new ArrayList<>();
+        List<Order> asks = new ArrayList<>();
+        // A market buy capped at its reserved price bids like a limit order at the cap
+        List<PriceLevel> cappedBids = new ArrayList<>();
+        long marketBuys = 0;
+        long marketSells = 0;
+        for (Order order : marketOrders) {
+            if (order.isBuyOrder()) {
+                bids.add(order);
+                if (order.getPriceCap() != null) {
+                    cappedBids.add(new PriceLevel(order.getPriceCap(), order.getRemainingQuantity(), 1));
+                } else {
+                    marketBuys += order.getRemainingQuantity();
+                }
+            } else {
+                asks.add(order);
+                marketSells += order.getRemainingQuantity();
+            }
+        }
+        BigDecimal price;
+        if (marketOrders.isEmpty()) {
+            Order bestBid = orderBook.getBestBid();
+            // Most books are not crossed; skip building their depth
+            if (bestBid == null || !orderBook.crosses(Order.Side.BUY, bestBid.getPrice())) {
+                return trades;
+            }
+            // Only levels between the best ask and the best bid can trade
+            price = auctionPrice(orderBook.getDepthThrough(Order.Side.BUY, orderBook.getBestAsk().getPrice()),
+                    orderBook.getDepthThrough(Order.Side.SELL, bestBid.getPrice()), referencePrice);
+        } else {
+            List<PriceLevel> bidDepth = new ArrayList<>(orderBook.getDepth(Order.Side.BUY, Integer.MAX_VALUE));
+            if (!cappedBids.isEmpty()) {
+                bidDepth.addAll(cappedBids);
+                bidDepth.sort(Comparator.comparing(PriceLevel::getPrice).reversed());
+            }
+            price = auctionPrice(bidDepth, orderBook.getDepth(Order.Side.SELL, Integer.MAX_VALUE),
+                    marketBuys, marketSells, referencePrice);
+        }
+        if (price == null) {
+            return trades;
+        }
+        BigDecimal auctionPrice = price;
+        bids.removeIf(order -> order.getPriceCap() != null && order.getPriceCap().compareTo(auctionPrice) < 0);
+        bids.addAll(orderBook.getOrdersThrough(Order.Side.BUY, price));
+        asks.addAll(orderBook.getOrdersThrough(Order.Side.SELL, price));
+        int bidIndex = 0;
+        int askIndex = 0;
+        while (true) {
+            bidIndex = nextUnfilled(bids, bidIndex);
+            askIndex = nextUnfilled(asks, askIndex);
+            if (bidIndex >= bids.size() || askIndex >= asks.size()) {
+                break;
+            }
+            Order bid = bids.get(bidIndex);
+            int counterparty = nextCounterparty(asks, askIndex, bid.getTraderId());
+            if (counterparty < 0) {
+                // Only the bid's own trader is left to sell
+                bidIndex++;
+                continue;
+            }
+            Order ask = asks.get(counterparty);
+            int quantity = Math.min(bid.getVisibleQuantity(), ask.getVisibleQuantity());
+            fill(bids, bidIndex, quantity, orderBook);
+            fill(asks, counterparty, quantity, orderBook);
+            trades.add(new Trade(bid.getOrderId(), ask.getOrderId(), orderBook.getSymbol(), price, quantity,
+                    ClockProvider.getClock().instant(), bid.getTraderId(), ask.getTraderId()));
+            if (bid.getRemainingQuantity() == 0) {
+                removeFilled(bid, orderBook, onOrderFilled);
+            }
+            if (ask.getRemainingQuantity() == 0) {
+                removeFilled(ask, orderBook, onOrderFilled);
+            }
+        }
+        if (!trades.isEmpty()) {
+            lastTradePrices.put(orderBook.getSymbol(), price);
+        }
+        return trades;
+    }
+
+    /**
+     * Fills an order and, if it is an iceberg that showed a new slice, moves it behind the rest of its price level.
+     */
+    private static void fill(List<Order> orders, int index, int quantity, OrderBook orderBook) {
+        Order order = orders.get(index);
+        boolean replenishes = order.isIceberg() && quantity == order.getVisibleQuantity();
+        orderBook.fillOrder(order, quantity);
+        if (!replenishes || order.getRemainingQuantity() == 0) {
+            return;
+        }
+        int last = index;
+        while (last + 1 < orders.size() && orders.get(last + 1).getPrice().compareTo(order.getPrice()) == 0) {
+            last++;
+        }
+        orders.remove(index);
+        orders.add(last, order);
+    }
+
+    private static int nextUnfilled(List<Order> orders, int index) {
+        while (index < orders.size() && orders.get(index).getRemainingQuantity() == 0) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * Finds the first unfilled order from an index on that belongs to another trader.
+     *
+     * @return Its index, or -1 if there is none
+     */
+    private static int nextCounterparty(List<Order> orders, int index, String traderId) {
+        for (int i = index; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            if (order.getRemainingQuantity() > 0 && !order.getTraderId().equals(traderId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void removeFilled(Order order, OrderBook orderBook, Consumer<Order> onOrderFilled) {
+        // Market orders never enter the book
+        if (!order.isMarketOrder()) {
+            orderBook.remove(order);
+        }
+        if (onOrderFilled != null) {
+            onOrderFilled.accept(order);
+        }
+    }
+
+    /**
+     * Finds the price at which the most quantity trades between two sides of a book.
+     *
+     * <p>Walks the candidate prices, every level price between the best ask
+     * and the best bid, once in ascending order, keeping running totals of
+     * the bids at or above and the asks at or below the price, so the cost
+     * is linear in the number of levels. Among prices
+     * trading the same quantity, the one leaving the smaller surplus wins.
+     * If that ties too, a surplus of bids picks the highest price and a
+     * surplus of asks the lowest; a balanced book picks the price closest to
+     * the reference price, then the lowest.</p>
+     *
+     * @param bids Bid levels, highest first
+     * @param asks Ask levels, lowest first
+     * @param referencePrice Tie-break price, may be null
+     * @return The equilibrium price, or null if the sides do not cross
+     */
+    static BigDecimal auctionPrice(List<PriceLevel> bids, List<PriceLevel> asks, BigDecimal referencePrice) {
+        return auctionPrice(bids, asks, 0, 0, referencePrice);
+    }
+
+    /**
+     * Finds the price at which the most quantity trades between two sides of a book and market orders.
+     *
+     * <p>Market orders count on their side at every price, which widens the
+     * candidates to every level price on the other side. With no levels at
+     * all, market orders on both sides trade at the reference price.</p>
+     *
+     * @param bids Bid levels, highest first
+     * @param asks Ask levels, lowest first
+     * @param marketBuys Quantity of market buy orders
+     * @param marketSells Quantity of market sell orders
+     * @param referencePrice Tie-break price, may be null
+     * @return The equilibrium price, or null if nothing crosses
+     */
+    static BigDecimal auctionPrice(List<PriceLevel> bids, List<PriceLevel> asks, long marketBuys, long marketSells,
+            BigDecimal referencePrice) {
+        if (bids.isEmpty() && asks.isEmpty()) {
+            return marketBuys > 0 && marketSells > 0 ? referencePrice : null;
+        }
+        BigDecimal low = asks.isEmpty() ? null : asks.get(0).getPrice();
+        BigDecimal lowestBid = bids.isEmpty() ? null : bids.get(bids.size() - 1).getPrice();
+        if (marketSells > 0 && lowestBid != null && (low == null || lowestBid.compareTo(low) < 0)) {
+            low = lowestBid;
+        }
+        BigDecimal high = bids.isEmpty() ? null : bids.get(0).getPrice();
+        BigDecimal highestAsk = asks.isEmpty() ? null : asks.get(asks.size() - 1).getPrice();
+        if (marketBuys > 0 && highestAsk != null && (high == null || highestAsk.compareTo(high) > 0)) {
+            high = highestAsk;
+        }
+        if (low == null || high == null || high.compareTo(low) < 0) {
+            return null;
+        }
+
+        // Bids that can trade at the lowest candidate; walked from the end, lowest price first
+        int crossingBids = 0;
+        long bidsAtOrAbove = marketBuys;
+        while (crossingBids < bids.size() && bids.get(crossingBids).getPrice().compareTo(low) >= 0) {
+            bidsAtOrAbove += bids.get(crossingBids++).getQuantity();
+        }
+        long asksAtOrBelow = marketSells;
+        int bidIndex = crossingBids - 1;
+        int askIndex = 0;
+
+        BigDecimal best = null;
+        long bestVolume = -1;
+        long bestSurplus = 0;
+        while (bidIndex >= 0 || (askIndex < asks.size() && asks.get(askIndex).getPrice().compareTo(high) <= 0)) {
+            BigDecimal price = nextPrice(bids, bidIndex, asks, askIndex, high);
+            while (askIndex < asks.size() && asks.get(askIndex).getPrice().compareTo(price) <= 0) {
+                asksAtOrBelow += asks.get(askIndex++).getQuantity();
+            }
+            long volume = Math.min(bidsAtOrAbove, asksAtOrBelow);
+            long imbalance = bidsAtOrAbove - asksAtOrBelow;
+            long surplus = Math.abs(imbalance);
+            if (volume > bestVolume || (volume == bestVolume && (surplus < bestSurplus
+                    || (surplus == bestSurplus && (imbalance > 0
+                            || (imbalance == 0 && closer(price, best, referencePrice))))))) {
+                best = price;
+                bestVolume = volume;
+                bestSurplus = surplus;
+            }
+            while (bidIndex >= 0 && bids.get(bidIndex).getPrice().compareTo(price) <= 0) {
+                bidsAtOrAbove -= bids.get(bidIndex--).getQuantity();
+            }
+        }
+        return bestVolume > 0 ? best : null;
+    }
+
+    private static BigDecimal nextPrice(List<PriceLevel> bids, int bidIndex, List<PriceLevel> asks, int askIndex,
+            BigDecimal high) {
+        BigDecimal bidPrice = bidIndex >= 0 ? bids.get(bidIndex).getPrice() : null;
+        BigDecimal askPrice = askIndex < asks.size() && asks.get(askIndex).getPrice().compareTo(high) <= 0
+                ? asks.get(askIndex).getPrice() : null;
+        if (bidPrice == null) {
+            return askPrice;
+        }
+        return askPrice == null || bidPrice.compareTo(askPrice) <= 0 ? bidPrice : askPrice;
+    }
+
+    private static boolean closer(BigDecimal price, BigDecimal best, BigDecimal referencePrice) {
+        return referencePrice != null
+                && price.subtract(referencePrice).abs().compareTo(best.subtract(referencePrice).abs()) < 0;
+    }
+}
@@ -0,0 +1,160 @@
+package org.team27.stocksim.model.market;
+
+import java.math.BigDecimal;
+
+/**
+ * Price band and trading halt of one symbol.
+ *
+ * <p>The matching engine asks the breaker whether each trade may print
+ * before executing it. The band is kept as two {@code long} bounds in
+ * ten-thousandths, so the check in the matching loop is two primitive
+ * comparisons. The first trade of a symbol sets its reference price; after
+ * that the reference moves to the last trade price once per reference
+ * window.</p>
+ *
+ * <p>A trade outside the band is not executed. Instead the symbol is halted:
+ * incoming orders rest in the book without being matched, or are cancelled
+ * if they cannot rest, so a runaway symbol costs no matching work until it
+ * reopens. Once the halt has lasted its configured duration, the market
+ * reopens the symbol with an auction that uncrosses the book at one price.</p>
+ *
+ * <p>Changed only under the lock of the symbol's {@link OrderBook}; only the
+ * halt state may be read without it.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see CircuitBreakerConfig
+ * @see MatchingEngine
+ * @see Market
+ */
+public class CircuitBreaker {
+
+    private final CircuitBreakerConfig config;
+
+    /**
+     * Reference price in ten-thousandths, 0 until the first trade.
+     */
+    private long referenceUnits;
+
+    /**
+     * Simulated epoch second the reference price was taken.
+     */
+    private long anchoredAt;
+
+    private long lowerUnits = Long.MIN_VALUE;
+    private long upperUnits = Long.MAX_VALUE;
+
+    /**
+     * Whether the symbol is halted; volatile, like {@link #haltedUntil}, so the
+     * market can find symbols due to reopen without taking every book lock.
+     */
+    private volatile boolean halted;
+
+    /**
+     * Simulated epoch second from which a halted symbol may reopen.
+     */
+    private volatile long haltedUntil;
+
+    private int haltCount;
+
+    /**
+     * Constructs a breaker that has seen no trade yet.
+     *
+     * @param config Band and halt settings
+     */
+    public CircuitBreaker(CircuitBreakerConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Checks whether a trade may print at a price.
+     *
+     * @param priceUnits Trade price in ten-thousandths
+     * @return true if the price lies within the band
+     */
+    public boolean allows(long priceUnits) {
+        return priceUnits >= lowerUnits && priceUnits <= upperUnits;
+    }
+
+    /**
+     * Records an executed trade, taking its price as the new reference once the window has passed.
+     *
+     * @param priceUnits Trade price in ten-thousandths
+     * @param now Simulated epoch second
+     */
+    public void onTrade(long priceUnits, long now) {
+        if (config.isEnabled() && (referenceUnits == 0 || now - anchoredAt >= config.getReferenceWindowSeconds())) {
+            anchor(priceUnits, now);
+        }
+    }
+
+    /**
+     * Halts the symbol because a trade would have printed outside the band.
+     *
+     * @param now Simulated epoch second
+     */
+    public void halt(long now) {
+        if (!halted) {
+            halted = true;
+            haltCount++;
+        }
+        haltedUntil = now + config.getHaltSeconds();
+    }
+
+    /**
+     * Checks whether a halted symbol's halt has lasted long enough to reopen.
+     *
+     * @param now Simulated epoch second
+     * @return true if the symbol is halted and may reopen
+     */
+    public boolean isReopenDue(long now) {
+        return halted && now >= haltedUntil;
+    }
+
+    /**
+     * Lifts the halt, taking the reopening price as the new reference.
+     *
+     * @param reopenPriceUnits Price the reopening auction traded at, or 0 if it did not trade
+     * @param now Simulated epoch second
+     */
+    public void reopen(long reopenPriceUnits, long now) {
+        halted = false;
+        if (reopenPriceUnits > 0) {
+            anchor(reopenPriceUnits, now);
+        }
+    }
+
+    private void anchor(long priceUnits, long now) {
+        referenceUnits = priceUnits;
+        anchoredAt = now;
+        long band = BigDecimal.valueOf(priceUnits).multiply(config.getPriceBand()).longValue();
+        lowerUnits = priceUnits - band;
+        upperUnits = priceUnits + band;
+    }
+
+    public boolean isHalted() {
+        return halted;
+    }
+
+    /**
+     * Gets the number of times this symbol has been halted.
+     *
+     * @return Halts so far
+     */
+    public int getHaltCount() {
+        return haltCount;
+    }
+
+    /**
+     * Gets the price the band is centred on.
+     *
+     * @return Reference price, or null before the first trade
+     */
+    public BigDecimal getReferencePrice() {
+        return referenceUnits != 0 ? BigDecimal.valueOf(referenceUnits, 4) : null;
+    }
+
+    public CircuitBreakerConfig getConfig() {
+        return config;
+    }
+}
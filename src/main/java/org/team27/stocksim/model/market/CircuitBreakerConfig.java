@@ -0,0 +1,123 @@
+package org.team27.stocksim.model.market;
+
+import java.math.BigDecimal;
+
+/**
+ * Configuration of the price band and volatility halt of a symbol.
+ *
+ * <p>A {@link CircuitBreaker} built from this configuration lets trades print
+ * only within a band around a reference price. The reference is the last trade
+ * price, taken again once per reference window, so the band follows the market
+ * but a single aggressive order cannot walk the book through it. A trade that
+ * would print outside the band halts the symbol for the halt duration, after
+ * which it reopens with an auction.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Configuration Object + Immutable Value Object</p>
+ * <ul>
+ *   <li>Immutable configuration prevents mid-execution changes</li>
+ *   <li>Validates parameters at construction</li>
+ *   <li>Provides sensible defaults via factory method</li>
+ * </ul>
+ *
+ * <h2>Configuration Parameters:</h2>
+ * <ul>
+ *   <li><strong>Price Band:</strong> Maximum % a trade may deviate from the reference price (default: 25%)</li>
+ *   <li><strong>Reference Window:</strong> Simulated seconds between updates of the reference price (default: 300)</li>
+ *   <li><strong>Halt Duration:</strong> Simulated seconds a symbol stays halted (default: 300)</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * CircuitBreakerConfig tight = new CircuitBreakerConfig(new BigDecimal("0.05"), 60, 600);
+ * SimulationConfig config = SimulationConfig.builder()
+ *         .circuitBreakerConfig(CircuitBreakerConfig.createDefault())
+ *         .circuitBreakerConfig("TSLA", tight)
+ *         .build();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see CircuitBreaker
+ * @see Market
+ */
+public class CircuitBreakerConfig {
+    /**
+     * Maximum deviation of a trade price from the reference price, as decimal (e.g., 0.25 = 25%).
+     * Null if the breaker is disabled.
+     */
+    private final BigDecimal priceBand;
+
+    /**
+     * Simulated seconds after which the next trade becomes the new reference price.
+     */
+    private final long referenceWindowSeconds;
+
+    /**
+     * Simulated seconds a symbol stays halted before it reopens.
+     */
+    private final long haltSeconds;
+
+    /**
+     * Constructs a CircuitBreakerConfig with specified parameters.
+     *
+     * @param priceBand Maximum price deviation from the reference price as decimal
+     * @param referenceWindowSeconds Simulated seconds between reference price updates
+     * @param haltSeconds Simulated seconds a halt lasts
+     * @throws IllegalArgumentException if the band or window is not positive, or the halt is negative
+     */
+    public CircuitBreakerConfig(BigDecimal priceBand, long referenceWindowSeconds, long haltSeconds) {
+        if (priceBand == null || priceBand.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Price band must be positive");
+        }
+        if (referenceWindowSeconds <= 0) {
+            throw new IllegalArgumentException("Reference window must be positive");
+        }
+        if (haltSeconds < 0) {
+            throw new IllegalArgumentException("Halt duration cannot be negative");
+        }
+        this.priceBand = priceBand;
+        this.referenceWindowSeconds = referenceWindowSeconds;
+        this.haltSeconds = haltSeconds;
+    }
+
+    private CircuitBreakerConfig() {
+        this.priceBand = null;
+        this.referenceWindowSeconds = 0;
+        this.haltSeconds = 0;
+    }
+
+    /**
+     * Creates the default configuration: a 25% band, re-anchored every 300
+     * simulated seconds, and 300-second halts.
+     *
+     * @return Default CircuitBreakerConfig
+     */
+    public static CircuitBreakerConfig createDefault() {
+        return new CircuitBreakerConfig(new BigDecimal("0.25"), 300, 300);
+    }
+
+    /**
+     * Creates a configuration without price band or halts.
+     *
+     * @return Disabled CircuitBreakerConfig
+     */
+    public static CircuitBreakerConfig disabled() {
+        return new CircuitBreakerConfig();
+    }
+
+    public boolean isEnabled() {
+        return priceBand != null;
+    }
+
+    public BigDecimal getPriceBand() {
+        return priceBand;
+    }
+
+    public long getReferenceWindowSeconds() {
+        return referenceWindowSeconds;
+    }
+
+    public long getHaltSeconds() {
+        return haltSeconds;
+    }
+}
@@ -0,0 +1,31 @@
+package org.team27.stocksim.model.market;
+
+import java.util.List;
+
+/**
+ * Strategy for sharing an incoming order among the orders resting at one price.
+ *
+ * <p>The {@link MatchingEngine} always trades the best price first; an
+ * allocation strategy decides only which orders at that price trade and how
+ * much each gets. Strategies work on the orders of one level in time
+ * priority, so they all see the same price-level structure of the
+ * {@link OrderBook}.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see PriceTimeAllocation
+ * @see ProRataAllocation
+ * @see SizePriorityAllocation
+ */
+public interface IAllocationStrategy {
+
+    /**
+     * Allocates a quantity among the orders of one price level; called under the book lock.
+     *
+     * @param level Resting orders at the price, in time priority
+     * @param quantity Quantity to allocate, at most the level's visible quantity
+     * @param allocations Receives each order's share, at the order's index in {@code level};
+     *                    a share is at most the order's visible quantity
+     */
+    void allocate(List<Order> level, int quantity, int[] allocations);
+}
@@ -1,9 +1,12 @@
 package org.team27.stocksim.model.market;
 import org.team27.stocksim.model.instruments.Instrument;
 import org.team27.stocksim.model.users.Trader;
+
+import java.math.BigDecimal;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 public interface IMarket {
@@ -12,6 +15,64 @@ public interface IMarket {
 
     void cancelOrder(int orderId, HashMap<String, Trader> traders);
 
+    /**
+     * Cancels every active order matching a scope in one operation.
+     *
+     * <p>Each scope parameter may be null to match anything, so a trader's
+     * orders, a trader's orders in one symbol, or one side of a symbol's book
+     * can be cleared at once. Untriggered stop orders are cancelled too.</p>
+     *
+     * @param traderId Trader whose orders to cancel, or null for all traders
+     * @param symbol Symbol to cancel in, or null for all symbols
+     * @param side Side to cancel, or null for both
+     * @param traders All traders, to record the cancellations
+     * @return Number of orders cancelled
+     */
+    int cancelOrders(String traderId, String symbol, Order.Side side, HashMap<String, Trader> traders);
+
+    /**
+     * Changes the limit price and quantity of an active limit order in one step.
+     *
+     * <p>The order keeps its ID. A quantity decrease at the same price keeps
+     * the order's place in the queue; any other change puts it at the back of
+     * its new price level, and a price that crosses the book trades at once,
+     * like a new order would. Market orders and stop orders that have not been
+     * triggered cannot be amended.</p>
+     *
+     * @param orderId ID of the order to amend
+     * @param price New limit price
+     * @param quantity New total quantity, including what has already filled
+     * @param traders All traders, to settle trades the amend causes
+     * @param stocks All instruments, to settle trades the amend causes
+     * @return true if the amend was accepted; false if the order is unknown,
+     *         no longer active, has already filled {@code quantity} or more,
+     *         or fails the pre-trade risk checks
+     */
+    boolean amendOrder(int orderId, BigDecimal price, int quantity, HashMap<String, Trader> traders,
+            HashMap<String, Instrument> stocks);
+
+    /**
+     * Expires every resting DAY or GTT order whose expiry time has been reached.
+     *
+     * <p>Called once per simulated second with the simulation clock.</p>
+     *
+     * @param traders All traders, to update the owners' order histories
+     */
+    void expireOrders(HashMap<String, Trader> traders);
+
+    /**
+     * Runs the auction of every symbol whose call phase has ended, and
+     * reopens every halted symbol whose halt has lasted its configured
+     * duration, uncrossing the orders queued during the halt in one auction.
+     *
+     * <p>Called once per simulated second with the simulation clock, before
+     * {@link #expireOrders}, so a closing auction still sees the day's DAY orders.</p>
+     *
+     * @param traders All traders, to settle the auction trades
+     * @param stocks All instruments, to settle the auction trades
+     */
+    void runAuctions(HashMap<String, Trader> traders, HashMap<String, Instrument> stocks);
+
     void addOrderBook(String symbol, OrderBook orderBook);
 
     void removeOrderBook(String symbol);
@@ -23,4 +84,14 @@ public interface IMarket {
     void setOnPriceUpdate(Consumer<Set<String>> callback);
 
     void setOnTradeSettled(Consumer<Trade> callback);
+
+    void setOnOrderAccepted(Consumer<Order> callback);
+
+    void setOnOrderRejected(BiConsumer<Order, String> callback);
+
+    void setOnOrderAmended(Consumer<Order> callback);
+
+    void setOnOrderClosed(Consumer<Order> callback);
+
+    void setOnOrderBookChanged(Consumer<String> callback);
 }
@@ -1,5 +1,35 @@
 package org.team27.stocksim.model.market;
 
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Strategy for matching the orders resting in a book against each other.
+ *
+ * <p>Unlike {@link MatchingEngine#match}, which matches one incoming order,
+ * a strategy matches a whole book at once, as a call auction does.</p>
+ *
+ * @see CallAuction
+ */
 public interface IMatchingStrategy {
-    void match(OrderBook book);
+
+    /**
+     * Matches the crossing orders of a book; called under the book lock.
+     *
+     * @param book The order book to match
+     * @param onOrderFilled Callback for each order removed from the book, may be null
+     * @return Trades generated by the match
+     */
+    List<Trade> match(OrderBook book, Consumer<Order> onOrderFilled);
+
+    /**
+     * Matches the crossing orders of a book together with market orders that
+     * cannot rest in it; called under the book lock.
+     *
+     * @param book The order book to match
+     * @param marketOrders Market orders taking part in the match, in priority order
+     * @param onOrderFilled Callback for each filled order, may be null
+     * @return Trades generated by the match
+     */
+    List<Trade> match(OrderBook book, List<Order> marketOrders, Consumer<Order> onOrderFilled);
 }
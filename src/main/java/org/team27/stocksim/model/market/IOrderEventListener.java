@@ -0,0 +1,44 @@
+package org.team27.stocksim.model.market;
+
+/**
+ * Listener for the lifecycle of individual orders.
+ *
+ * <p>Unlike {@link org.team27.stocksim.observer.IModelObserver}, which tells
+ * views that something changed, this listener receives the orders and trades
+ * themselves, so that order-entry sessions can report executions to their
+ * clients. Events arrive on whichever thread processed the order and must be
+ * handled quickly.</p>
+ *
+ * <h2>Event Order per Order:</h2>
+ * <ol>
+ *   <li>{@link #onOrderAccepted(Order)} once the order passed validation and
+ *       risk checks, or {@link #onOrderRejected(Order, String)} instead, after
+ *       which no further events follow</li>
+ *   <li>{@link #onOrderAmended(Order)} each time an amend changed the order,
+ *       before any trade the amend causes</li>
+ *   <li>{@link #onTradeSettled(Trade)} for every settled trade involving the order</li>
+ *   <li>{@link #onOrderClosed(Order)} once it is filled, cancelled or dropped;
+ *       a resting order that is filled may close before its last trade settles</li>
+ *   <li>{@link #onOrderBookChanged(String)} with the order's symbol once it was
+ *       matched or cancelled, after the events above</li>
+ * </ol>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see IMarket
+ * @see org.team27.stocksim.model.StockSim#addOrderEventListener(IOrderEventListener)
+ */
+public interface IOrderEventListener {
+
+    void onOrderAccepted(Order order);
+
+    void onOrderRejected(Order order, String reason);
+
+    void onOrderAmended(Order order);
+
+    void onTradeSettled(Trade trade);
+
+    void onOrderClosed(Order order);
+
+    void onOrderBookChanged(String symbol);
+}
@@ -1,12 +1,22 @@
 package org.team27.stocksim.model.market;
 
+import org.team27.stocksim.model.clock.ClockProvider;
+import org.team27.stocksim.model.clock.GameClock;
+import org.team27.stocksim.model.clock.TimingWheel;
 import org.team27.stocksim.model.instruments.Instrument;
+import org.team27.stocksim.model.metrics.LatencyHistogram;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
 import org.team27.stocksim.model.users.Trader;
 import org.team27.stocksim.model.users.User;
 
+import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -22,15 +32,35 @@ import java.util.function.Consumer;
  *   <li>Coordinates OrderBook, MatchingEngine, and SettlementEngine subsystems</li>
  *   <li>Uses callback functions (Observer) for price updates and trade settlements</li>
  *   <li>Validates orders before processing to ensure market integrity</li>
+ *   <li>Reserves each order's cash or shares in a {@link RiskEngine} before
+ *       it is matched, so settlement never lacks funds</li>
  *   <li>Thread-safe operations support concurrent trading by multiple bots/users</li>
+ *   <li>Resting DAY and GTT orders are expired through a {@link TimingWheel}</li>
+ *   <li>Stop orders wait in a {@link StopOrderBook} per symbol and are
+ *       matched, under the same book lock, by the trade that triggers them</li>
+ *   <li>Active orders of every trader, bots included, can be cancelled or
+ *       amended by ID; an amend is one operation under the book lock</li>
+ *   <li>Mass cancels use the books' per-trader indexes and cost O(orders cancelled)
+ *       per book</li>
+ *   <li>A {@link CircuitBreaker} per symbol keeps trades within a price band;
+ *       a halted symbol only queues orders until an auction reopens it</li>
+ *   <li>During the call phases of the {@link AuctionSchedule} orders collect in
+ *       the book and a {@link CallAuction} uncrosses it when the phase ends</li>
+ *   <li>In frequent batch mode each tick's orders queue without the book lock
+ *       and are cleared in one auction per symbol</li>
+ *   <li>Each symbol may share its price levels by its own {@link IAllocationStrategy}</li>
  * </ul>
  *
  * <h2>Order Processing Flow:</h2>
  * <ol>
  *   <li>Order validation via OrderValidator</li>
+ *   <li>Pre-trade risk checks and reservation via RiskEngine</li>
  *   <li>Order recording in trader's history</li>
+ *   <li>Untriggered stop orders are parked in the stop order book</li>
  *   <li>Synchronized matching against order book</li>
  *   <li>Trade settlement with atomic portfolio updates</li>
+ *   <li>Cancellation of an IOC or FOK remainder, or expiry scheduling for a resting order</li>
+ *   <li>Matching of stop orders triggered by the trades, repeating steps 3-6</li>
  *   <li>Price update notifications to observers</li>
  * </ol>
  *
@@ -52,6 +82,9 @@ import java.util.function.Consumer;
  * @see MatchingEngine
  * @see SettlementEngine
  * @see OrderValidator
+ * @see RiskEngine
+ * @see StopOrderBook
+ * @see CircuitBreaker
  */
 public class Market implements IMarket {
 
@@ -61,6 +94,40 @@ public class Market implements IMarket {
      */
     private final ConcurrentHashMap<String, OrderBook> orderBooks;
 
+    /**
+     * Map of stock symbols to their untriggered stop orders, guarded by the symbol's order book lock.
+     */
+    private final ConcurrentHashMap<String, StopOrderBook> stopBooks;
+
+    /**
+     * Map of stock symbols to their price bands and halt state, guarded by the symbol's order book lock.
+     */
+    private final ConcurrentHashMap<String, CircuitBreaker> circuitBreakers;
+
+    /**
+     * Circuit breaker settings of symbols that do not use the default ones.
+     */
+    private final ConcurrentHashMap<String, CircuitBreakerConfig> circuitBreakerConfigs;
+
+    private final CircuitBreakerConfig defaultCircuitBreakerConfig;
+
+    /**
+     * Simulated epoch second at which each symbol collecting orders for a call auction runs it.
+     */
+    private final ConcurrentHashMap<String, Long> callPhaseEnds;
+
+    private final AuctionSchedule auctionSchedule;
+
+    /**
+     * Orders waiting for the next batch auction of their symbol, in frequent batch mode.
+     */
+    private final ConcurrentHashMap<String, ConcurrentLinkedQueue<Order>> batches;
+
+    /**
+     * Whole-book matching used to uncross books after a call phase or halt.
+     */
+    private final IMatchingStrategy callAuction;
+
     /**
      * Engine responsible for matching buy and sell orders.
      */
@@ -81,11 +148,31 @@ public class Market implements IMarket {
      */
     private final ConcurrentHashMap<Integer, String> orderIdToTraderId;
 
+    /**
+     * Accepted orders that are not yet filled, cancelled, expired or dropped, by order ID.
+     */
+    private final ConcurrentHashMap<Integer, Order> activeOrders;
+
     /**
      * Validator ensuring order integrity before processing.
      */
     private final OrderValidator orderValidator;
 
+    /**
+     * Pre-trade risk checks reserving cash and shares of open orders.
+     */
+    private final RiskEngine riskEngine;
+
+    /**
+     * Pending expiries of resting DAY and GTT orders, in simulated epoch seconds.
+     */
+    private final TimingWheel<Order> expiryWheel;
+
+    /**
+     * Expiry timers by order ID, cancelled when the order closes first.
+     */
+    private final ConcurrentHashMap<Integer, TimingWheel.Timer<Order>> expiryTimers;
+
     /**
      * Callback invoked when stock prices are updated.
      */
@@ -96,6 +183,51 @@ public class Market implements IMarket {
      */
     private Consumer<Trade> onTradeSettled;
 
+    /**
+     * Callback invoked when an order passes validation and enters the market.
+     */
+    private Consumer<Order> onOrderAccepted;
+
+    /**
+     * Callback invoked with an order and the reason it was rejected.
+     */
+    private BiConsumer<Order, String> onOrderRejected;
+
+    /**
+     * Callback invoked when an amend has been applied to an order, before it trades.
+     */
+    private Consumer<Order> onOrderAmended;
+
+    /**
+     * Callback invoked when an order stops being active (filled, cancelled,
+     * or a market order whose remainder was dropped).
+     */
+    private Consumer<Order> onOrderClosed;
+
+    /**
+     * Callback invoked with the symbol whose order book an order or cancellation changed.
+     */
+    private Consumer<String> onOrderBookChanged;
+
+    private final LatencyHistogram validateLatency;
+    private final LatencyHistogram matchLatency;
+    private final LatencyHistogram settleLatency;
+    private final LatencyHistogram notifyLatency;
+    private final LongAdder ordersCounter;
+    private final LongAdder tradesCounter;
+    private final LongAdder rejectsCounter;
+    private final LongAdder cancelsCounter;
+    private final LongAdder amendsCounter;
+    private final LongAdder expiriesCounter;
+    private final LongAdder stopsTriggeredCounter;
+    private final LongAdder haltsCounter;
+    private final LongAdder auctionsCounter;
+
+    /**
+     * Per-thread accumulator for time spent in trade callbacks while settling one order.
+     */
+    private final ThreadLocal<long[]> callbackNanos = ThreadLocal.withInitial(() -> new long[1]);
+
     /**
      * Constructs a new Market with all necessary subsystems initialized.
      *
@@ -103,62 +235,266 @@ public class Market implements IMarket {
      * the matching engine, settlement engine, and order validator.</p>
      */
     public Market() {
+        this(new MetricsRegistry());
+    }
+
+    /**
+     * Constructs a new Market that records its metrics in the given registry.
+     *
+     * @param metrics Registry for order lifecycle latencies and counters
+     */
+    public Market(MetricsRegistry metrics) {
+        this(metrics, MarketOrderConfig.createDefault());
+    }
+
+    /**
+     * Constructs a new Market with metrics and market order settings.
+     *
+     * @param metrics Registry for order lifecycle latencies and counters
+     * @param marketOrderConfig Price protection and partial fill settings for market orders
+     */
+    public Market(MetricsRegistry metrics, MarketOrderConfig marketOrderConfig) {
+        this(metrics, marketOrderConfig, RiskLimits.createDefault());
+    }
+
+    /**
+     * Constructs a new Market with metrics, market order settings and pre-trade risk limits.
+     *
+     * @param metrics Registry for order lifecycle latencies and counters
+     * @param marketOrderConfig Price protection and partial fill settings for market orders
+     * @param riskLimits Order size, price band and open order limits
+     */
+    public Market(MetricsRegistry metrics, MarketOrderConfig marketOrderConfig, RiskLimits riskLimits) {
+        this(metrics, marketOrderConfig, riskLimits, CircuitBreakerConfig.createDefault());
+    }
+
+    /**
+     * Constructs a new Market with metrics, market order settings, risk limits and price bands.
+     *
+     * @param metrics Registry for order lifecycle latencies and counters
+     * @param marketOrderConfig Price protection and partial fill settings for market orders
+     * @param riskLimits Order size, price band and open order limits
+     * @param circuitBreakerConfig Price band and halt settings of every symbol without its own
+     */
+    public Market(MetricsRegistry metrics, MarketOrderConfig marketOrderConfig, RiskLimits riskLimits,
+            CircuitBreakerConfig circuitBreakerConfig) {
+        this(metrics, marketOrderConfig, riskLimits, circuitBreakerConfig, AuctionSchedule.createDefault());
+    }
+
+    /**
+     * Constructs a new Market with metrics, market order settings, risk limits, price bands and call phases.
+     *
+     * @param metrics Registry for order lifecycle latencies and counters
+     * @param marketOrderConfig Price protection and partial fill settings for market orders
+     * @param riskLimits Order size, price band and open order limits
+     * @param circuitBreakerConfig Price band and halt settings of every symbol without its own
+     * @param auctionSchedule Opening and closing call phases of the simulated day
+     */
+    public Market(MetricsRegistry metrics, MarketOrderConfig marketOrderConfig, RiskLimits riskLimits,
+            CircuitBreakerConfig circuitBreakerConfig, AuctionSchedule auctionSchedule) {
+        this.validateLatency = metrics.histogram(MetricsRegistry.ORDER_VALIDATE);
+        this.matchLatency = metrics.histogram(MetricsRegistry.ORDER_MATCH);
+        this.settleLatency = metrics.histogram(MetricsRegistry.ORDER_SETTLE);
+        this.notifyLatency = metrics.histogram(MetricsRegistry.ORDER_NOTIFY);
+        this.ordersCounter = metrics.counter(MetricsRegistry.ORDERS);
+        this.tradesCounter = metrics.counter(MetricsRegistry.TRADES);
+        this.rejectsCounter = metrics.counter(MetricsRegistry.REJECTS);
+        this.cancelsCounter = metrics.counter(MetricsRegistry.CANCELS);
+        this.amendsCounter = metrics.counter(MetricsRegistry.AMENDS);
+        this.expiriesCounter = metrics.counter(MetricsRegistry.EXPIRIES);
+        this.stopsTriggeredCounter = metrics.counter(MetricsRegistry.STOPS_TRIGGERED);
+        this.haltsCounter = metrics.counter(MetricsRegistry.HALTS);
+        this.auctionsCounter = metrics.counter(MetricsRegistry.AUCTIONS);
+        metrics.gauge(MetricsRegistry.BOOK_DEPTH, this::getTotalBookDepth);
+        metrics.gauge(MetricsRegistry.PENDING_STOPS, this::getPendingStopCount);
+
         this.orderBooks = new ConcurrentHashMap<>();
-        this.matchingEngine = new MatchingEngine();
+        this.stopBooks = new ConcurrentHashMap<>();
+        this.circuitBreakers = new ConcurrentHashMap<>();
+        this.circuitBreakerConfigs = new ConcurrentHashMap<>();
+        this.defaultCircuitBreakerConfig = circuitBreakerConfig;
+        this.callPhaseEnds = new ConcurrentHashMap<>();
+        this.auctionSchedule = auctionSchedule;
+        this.batches = new ConcurrentHashMap<>();
+        this.matchingEngine = new MatchingEngine(marketOrderConfig);
+        this.callAuction = matchingEngine.getCallAuction();
         this.completedTrades = new CopyOnWriteArrayList<>();
         this.orderIdToTraderId = new ConcurrentHashMap<>();
+        this.activeOrders = new ConcurrentHashMap<>();
         this.settlementEngine = new SettlementEngine(orderIdToTraderId, this::handleTradeSettled);
         this.orderValidator = new OrderValidator();
+        this.riskEngine = new RiskEngine(riskLimits, marketOrderConfig);
+        this.expiryWheel = new TimingWheel<>();
+        this.expiryTimers = new ConcurrentHashMap<>();
+        metrics.gauge(MetricsRegistry.PENDING_EXPIRIES, expiryWheel::size);
     }
 
     @Override
     public void placeOrder(Order order, HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
+        long validateStart = System.nanoTime();
         OrderValidator.ValidationResult validationResult = orderValidator.validate(order);
+        if (validationResult.isValid()) {
+            validationResult = riskEngine.reserve(order, traders.get(order.getTraderId()),
+                    referencePrice(order.getSymbol(), stocks));
+        }
+        validateLatency.record(System.nanoTime() - validateStart);
         if (!validationResult.isValid()) {
+            rejectsCounter.increment();
             // Log validation failure and reject order
             System.err.println("Order validation failed: " + validationResult.getErrorMessage() +
                              " for order " + (order != null ? order.getOrderId() : "null"));
+            if (order != null && onOrderRejected != null) {
+                onOrderRejected.accept(order, validationResult.getErrorMessage());
+            }
             return; // Reject invalid order
         }
 
+        ordersCounter.increment();
         settlementEngine.trackOrder(order.getOrderId(), order.getTraderId());
+        activeOrders.put(order.getOrderId(), order);
 
         recordOrderInHistory(order, traders);
 
+        if (onOrderAccepted != null) {
+            onOrderAccepted.accept(order);
+        }
 
         processOrder(order, traders, stocks);
     }
 
     @Override
     public void cancelOrder(int orderId, HashMap<String, Trader> traders) {
-        String traderId = orderIdToTraderId.get(orderId);
-        if (traderId == null) {
+        Order order = activeOrders.get(orderId);
+        if (order == null) {
             return;
         }
 
-        Trader trader = traders.get(traderId);
-        if (!(trader instanceof User user)) {
+        OrderBook orderBook = getOrderBook(order.getSymbol());
+        if (orderBook == null) {
             return;
         }
 
-        Order order = user.getOrderHistory().getOrderById(orderId);
-        if (order == null) {
-            return;
+        // Hold the book lock so the order cannot be filled while it is being cancelled
+        boolean cancelled = false;
+        synchronized (orderBook) {
+            // Only cancel if the order is active (not filled or already cancelled)
+            if (order.isActive()) {
+                removeFromBook(order, orderBook);
+                order.cancel();
+                cancelsCounter.increment();
+                handleOrderClosed(order, traders);
+                cancelled = true;
+            }
         }
+        if (cancelled && onOrderBookChanged != null) {
+            onOrderBookChanged.accept(order.getSymbol());
+        }
+    }
 
-        // Only cancel if the order is active (not filled or already cancelled)
-        if (order.getStatus() != Order.Status.FILLED && order.getStatus() != Order.Status.CANCELLED) {
-            // Remove from order book
-            OrderBook orderBook = getOrderBook(order.getSymbol());
-            if (orderBook != null) {
+    @Override
+    public int cancelOrders(String traderId, String symbol, Order.Side side, HashMap<String, Trader> traders) {
+        int cancelled = 0;
+        for (Map.Entry<String, OrderBook> entry : orderBooks.entrySet()) {
+            if (symbol == null || entry.getKey().equals(symbol)) {
+                cancelled += cancelOrders(entry.getKey(), entry.getValue(), traderId, side, traders);
+            }
+        }
+        return cancelled;
+    }
+
+    private int cancelOrders(String symbol, OrderBook orderBook, String traderId, Order.Side side,
+            HashMap<String, Trader> traders) {
+        List<Order> removed = new ArrayList<>();
+        synchronized (orderBook) {
+            removed.addAll(traderId != null ? orderBook.removeOrders(traderId, side) : orderBook.removeOrders(side));
+            StopOrderBook stopBook = stopBooks.get(symbol);
+            if (stopBook != null) {
+                removed.addAll(traderId != null ? stopBook.removeOrders(traderId, side) : stopBook.removeOrders(side));
+            }
+            ConcurrentLinkedQueue<Order> batch = batches.get(symbol);
+            if (batch != null) {
+                // Orders waiting for their batch auction are not in either book yet
+                batch.removeIf(order -> {
+                    boolean matches = order.isActive() && (traderId == null || order.getTraderId().equals(traderId))
+                            && (side == null || order.getSide() == side);
+                    if (matches) {
+                        removed.add(order);
+                    }
+                    return matches;
+                });
+            }
+            for (Order order : removed) {
+                order.cancel();
+                handleOrderClosed(order, traders);
+            }
+        }
+        if (removed.isEmpty()) {
+            return 0;
+        }
+        cancelsCounter.add(removed.size());
+        if (onOrderBookChanged != null) {
+            onOrderBookChanged.accept(symbol);
+        }
+        return removed.size();
+    }
+
+    @Override
+    public boolean amendOrder(int orderId, BigDecimal price, int quantity, HashMap<String, Trader> traders,
+            HashMap<String, Instrument> stocks) {
+        Order order = activeOrders.get(orderId);
+        if (order == null || order.isMarketOrder() || order.isAwaitingTrigger()) {
+            return false;
+        }
+        if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+            System.err.println("Amend rejected: price must be positive for order " + orderId);
+            return false;
+        }
+
+        OrderBook orderBook = getOrderBook(order.getSymbol());
+        synchronized (orderBook) {
+            // Checked under the lock: the order may have traded since it was looked up
+            int filled = order.getTotalQuantity() - order.getRemainingQuantity();
+            if (!order.isActive() || quantity <= filled) {
+                return false;
+            }
+            OrderValidator.ValidationResult riskResult = riskEngine.amend(order, price, quantity,
+                    referencePrice(order.getSymbol(), stocks));
+            if (!riskResult.isValid()) {
+                System.err.println("Amend rejected: " + riskResult.getErrorMessage() + " for order " + orderId);
+                return false;
+            }
+            amendsCounter.increment();
+            if (!auctionSchedule.isFrequentBatch() && orderBook.crosses(order.getSide(), price)) {
+                // The new price trades: take the order out and match it like an incoming order
                 orderBook.remove(order);
+                order.amend(price, quantity);
+                notifyAmended(order);
+                matchWithStops(order, orderBook, traders, stocks);
+            } else {
+                if (!orderBook.amend(order, price, quantity)) {
+                    // Waiting for its batch auction, not yet in the book
+                    order.amend(price, quantity);
+                }
+                notifyAmended(order);
             }
+        }
+        if (onOrderBookChanged != null) {
+            onOrderBookChanged.accept(order.getSymbol());
+        }
+        return true;
+    }
 
-            // Mark as cancelled
-            order.cancel();
+    private void notifyAmended(Order order) {
+        if (onOrderAmended != null) {
+            onOrderAmended.accept(order);
         }
     }
 
+    private static BigDecimal referencePrice(String symbol, HashMap<String, Instrument> stocks) {
+        Instrument stock = stocks.get(symbol);
+        return stock != null ? stock.getCurrentPrice() : null;
+    }
+
     private void recordOrderInHistory(Order order, HashMap<String, Trader> traders) {
         Trader trader = traders.get(order.getTraderId());
         if (trader instanceof User) {
@@ -167,32 +503,497 @@ public class Market implements IMarket {
     }
 
     private void processOrder(Order order, HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
+        // Created up front so mass cancels find the symbol while its orders wait for their batch
         OrderBook orderBook = getOrderBook(order.getSymbol());
+        if (auctionSchedule.isFrequentBatch() && !order.isAwaitingTrigger()) {
+            // No book lock: the batch enters the book at the next auction
+            batches.computeIfAbsent(order.getSymbol(), symbol -> new ConcurrentLinkedQueue<>()).add(order);
+            return;
+        }
 
         synchronized (orderBook) {
-            List<Trade> trades = matchingEngine.match(order, orderBook);
-
-            Set<String> affectedSymbols = new HashSet<>();
-            for (Trade trade : trades) {
-                completedTrades.add(trade);
-                boolean settled = settlementEngine.settleTrade(trade, traders, stocks);
-                if (settled) {
-                    affectedSymbols.add(trade.getStockSymbol());
+            if (order.isAwaitingTrigger()) {
+                if (getStopOrderBook(order.getSymbol()).add(order)) {
+                    scheduleExpiry(order);
+                    return;
                 }
+                stopsTriggeredCounter.increment();
             }
+            matchWithStops(order, orderBook, traders, stocks);
+        }
+        if (onOrderBookChanged != null) {
+            onOrderBookChanged.accept(order.getSymbol());
+        }
+    }
 
-            if (!affectedSymbols.isEmpty() && onPriceUpdate != null) {
-                onPriceUpdate.accept(affectedSymbols);
+    /**
+     * Matches an order and every stop order its trades trigger; called under the book lock.
+     */
+    private void matchWithStops(Order order, OrderBook orderBook, HashMap<String, Trader> traders,
+            HashMap<String, Instrument> stocks) {
+        StopOrderBook stopBook = getStopOrderBook(order.getSymbol());
+        CircuitBreaker breaker = getCircuitBreaker(order.getSymbol());
+        boolean collecting = isCollectingForAuction(order.getSymbol());
+        // Trades of one order may trigger stops whose trades trigger further stops
+        ArrayDeque<Order> pending = new ArrayDeque<>();
+        pending.add(order);
+        while (!pending.isEmpty()) {
+            Order next = pending.poll();
+            if (collecting || breaker.isHalted()) {
+                queueForAuction(next, orderBook, traders);
+                continue;
+            }
+            for (Trade trade : matchAndSettle(next, orderBook, breaker, traders, stocks)) {
+                List<Order> triggered = stopBook.onTrade(trade.getPrice());
+                stopsTriggeredCounter.add(triggered.size());
+                pending.addAll(triggered);
+            }
+            if (breaker.isHalted()) {
+                haltsCounter.increment();
             }
         }
     }
 
+    /**
+     * Checks whether a symbol's orders collect for a batch or call auction,
+     * starting to collect if a call phase has begun; called under the book lock.
+     */
+    private boolean isCollectingForAuction(String symbol) {
+        return isInCallPhase(symbol) || auctionSchedule.isFrequentBatch();
+    }
+
+    /**
+     * Checks whether a symbol is in a call phase, starting it if it has begun; called under the book lock.
+     */
+    private boolean isInCallPhase(String symbol) {
+        if (callPhaseEnds.containsKey(symbol)) {
+            return true;
+        }
+        GameClock clock = ClockProvider.getClock();
+        long end = auctionSchedule.callPhaseEnd(clock.epochSecond(), clock.getZone());
+        if (end < 0) {
+            return false;
+        }
+        callPhaseEnds.put(symbol, end);
+        return true;
+    }
+
+    /**
+     * Handles an order of a halted symbol or one in an auction phase without matching it; called under the book lock.
+     */
+    private void queueForAuction(Order order, OrderBook orderBook, HashMap<String, Trader> traders) {
+        if (order.canRest()) {
+            // The book may now cross; the next auction uncrosses it
+            orderBook.add(order);
+            scheduleExpiry(order);
+        } else if (auctionSchedule.isFrequentBatch() && !callPhaseEnds.containsKey(order.getSymbol())
+                && !getCircuitBreaker(order.getSymbol()).isHalted()) {
+            // A triggered stop that cannot rest takes part in the next batch auction
+            batches.computeIfAbsent(order.getSymbol(), symbol -> new ConcurrentLinkedQueue<>()).add(order);
+        } else {
+            order.cancel();
+            handleOrderClosed(order, traders);
+        }
+    }
+
+    /**
+     * Matches one order and settles its trades; called under the book lock.
+     */
+    private List<Trade> matchAndSettle(Order order, OrderBook orderBook, CircuitBreaker breaker,
+            HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
+        long matchStart = System.nanoTime();
+        List<Trade> trades = matchingEngine.match(order, orderBook,
+                restingOrder -> handleOrderClosed(restingOrder, traders), breaker);
+        matchLatency.record(System.nanoTime() - matchStart);
+        if (!trades.isEmpty()) {
+            settleTrades(trades, traders, stocks);
+        }
+        // Close the incoming order after its trades settled, so listeners see fills first
+        if (order.getRemainingQuantity() > 0 && order.canRest()) {
+            scheduleExpiry(order);
+        } else {
+            if (order.getRemainingQuantity() > 0 && isImmediate(order)) {
+                order.cancel();
+            }
+            handleOrderClosed(order, traders);
+        }
+        return trades;
+    }
+
+    /**
+     * Takes an active order out of the order book or, if it awaits its trigger, the stop order book.
+     */
+    private void removeFromBook(Order order, OrderBook orderBook) {
+        if (order.isAwaitingTrigger()) {
+            getStopOrderBook(order.getSymbol()).remove(order);
+        } else {
+            orderBook.remove(order);
+        }
+    }
+
+    private void settleTrades(List<Trade> trades, HashMap<String, Trader> traders,
+            HashMap<String, Instrument> stocks) {
+        tradesCounter.add(trades.size());
+
+        long[] notifyNanos = callbackNanos.get();
+        notifyNanos[0] = 0;
+        long settleStart = System.nanoTime();
+        Set<String> affectedSymbols = new HashSet<>();
+        for (Trade trade : trades) {
+            completedTrades.add(trade);
+            boolean settled = settlementEngine.settleTrade(trade, traders, stocks);
+            riskEngine.onTrade(trade);
+            if (settled) {
+                affectedSymbols.add(trade.getStockSymbol());
+            }
+        }
+        // Trade callbacks run inside settlement; count them as notification time
+        settleLatency.record(System.nanoTime() - settleStart - notifyNanos[0]);
+
+        if (!affectedSymbols.isEmpty() && onPriceUpdate != null) {
+            long notifyStart = System.nanoTime();
+            onPriceUpdate.accept(affectedSymbols);
+            notifyNanos[0] += System.nanoTime() - notifyStart;
+        }
+        notifyLatency.record(notifyNanos[0]);
+    }
+
+    private static boolean isImmediate(Order order) {
+        return order.getTimeInForce() == Order.TimeInForce.IOC || order.getTimeInForce() == Order.TimeInForce.FOK;
+    }
+
+    /**
+     * Arms the expiry of an order that now rests in its book; called under the book lock.
+     */
+    private void scheduleExpiry(Order order) {
+        // A triggered stop order keeps the timer it got while waiting for its trigger
+        if (order.getExpireTime() == null || expiryTimers.containsKey(order.getOrderId())) {
+            return;
+        }
+        long deadline = order.getExpireTime().getEpochSecond() + (order.getExpireTime().getNano() > 0 ? 1 : 0);
+        expiryTimers.put(order.getOrderId(),
+                expiryWheel.schedule(order, deadline, ClockProvider.getClock().epochSecond()));
+    }
+
+    @Override
+    public void expireOrders(HashMap<String, Trader> traders) {
+        List<Order> due = expiryWheel.advanceTo(ClockProvider.getClock().epochSecond());
+        if (due.isEmpty()) {
+            return;
+        }
+        Set<String> changedSymbols = new HashSet<>();
+        for (Order order : due) {
+            expiryTimers.remove(order.getOrderId());
+            OrderBook orderBook = getOrderBook(order.getSymbol());
+            synchronized (orderBook) {
+                // The order may have been filled or cancelled after its timer fired
+                if (order.isActive()) {
+                    removeFromBook(order, orderBook);
+                    order.expire();
+                    expiriesCounter.increment();
+                    handleOrderClosed(order, traders);
+                    changedSymbols.add(order.getSymbol());
+                }
+            }
+        }
+        if (onOrderBookChanged != null) {
+            changedSymbols.forEach(onOrderBookChanged);
+        }
+    }
+
+    @Override
+    public void runAuctions(HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
+        long now = ClockProvider.getClock().epochSecond();
+        // Every batched symbol, as amends and triggered stops can cross a book without a new order
+        for (Map.Entry<String, ConcurrentLinkedQueue<Order>> entry : batches.entrySet()) {
+            String symbol = entry.getKey();
+            synchronized (getOrderBook(symbol)) {
+                clearBatch(symbol, entry.getValue(), traders, stocks, now);
+            }
+            if (onOrderBookChanged != null) {
+                onOrderBookChanged.accept(symbol);
+            }
+        }
+        for (Map.Entry<String, Long> entry : callPhaseEnds.entrySet()) {
+            if (now < entry.getValue()) {
+                continue;
+            }
+            String symbol = entry.getKey();
+            OrderBook orderBook = getOrderBook(symbol);
+            synchronized (orderBook) {
+                Long end = callPhaseEnds.get(symbol);
+                if (end == null || now < end) {
+                    continue;
+                }
+                callPhaseEnds.remove(symbol);
+                CircuitBreaker breaker = getCircuitBreaker(symbol);
+                // A halted symbol's book is uncrossed by its reopening auction instead
+                if (!breaker.isHalted()) {
+                    BigDecimal price = uncrossAndSettle(orderBook, traders, stocks);
+                    if (price != null) {
+                        breaker.onTrade(Order.toPriceUnits(price), now);
+                        matchTriggeredStops(symbol, price, orderBook, traders, stocks);
+                    }
+                }
+            }
+            if (onOrderBookChanged != null) {
+                onOrderBookChanged.accept(symbol);
+            }
+        }
+        for (Map.Entry<String, CircuitBreaker> entry : circuitBreakers.entrySet()) {
+            if (!entry.getValue().isReopenDue(now)) {
+                continue;
+            }
+            String symbol = entry.getKey();
+            OrderBook orderBook = getOrderBook(symbol);
+            synchronized (orderBook) {
+                CircuitBreaker breaker = getCircuitBreaker(symbol);
+                if (!breaker.isReopenDue(now)) {
+                    continue;
+                }
+                reopen(symbol, orderBook, breaker, traders, stocks, now);
+            }
+            if (onOrderBookChanged != null) {
+                onOrderBookChanged.accept(symbol);
+            }
+        }
+    }
+
+    /**
+     * Adds a symbol's batch to its book in a deterministic order and uncrosses it; called under the book lock.
+     */
+    private void clearBatch(String symbol, ConcurrentLinkedQueue<Order> batch, HashMap<String, Trader> traders,
+            HashMap<String, Instrument> stocks, long now) {
+        List<Order> orders = new ArrayList<>();
+        for (Order order = batch.poll(); order != null; order = batch.poll()) {
+            // Orders cancelled while waiting are dropped
+            if (order.isActive()) {
+                orders.add(order);
+            }
+        }
+        // Traders take turns ahead of each other tick by tick; a trader's own orders keep their order
+        orders.sort(Comparator.comparingInt((Order order) -> batchRank(order.getTraderId(), now))
+                .thenComparing(Order::getTraderId)
+                .thenComparingInt(Order::getOrderId));
+        OrderBook orderBook = getOrderBook(symbol);
+        CircuitBreaker breaker = getCircuitBreaker(symbol);
+        // The sort, not arrival, sets priority: the batch joins the book at one time in sorted sequence
+        Instant joined = ClockProvider.getClock().instant();
+        boolean collecting = breaker.isHalted() || isInCallPhase(symbol);
+        List<Order> marketOrders = new ArrayList<>();
+        List<Order> immediate = new ArrayList<>();
+        for (Order order : orders) {
+            order.setPriority(joined, 0);
+            if (collecting || order.canRest()) {
+                queueForAuction(order, orderBook, traders);
+            } else if (order.isMarketOrder()) {
+                marketOrders.add(order);
+            } else {
+                // Immediate limit orders take part in this auction only
+                orderBook.add(order);
+                immediate.add(order);
+            }
+        }
+        // Halted symbols and call phases keep collecting until their own auction
+        if (collecting) {
+            return;
+        }
+        BigDecimal price = uncrossAndSettle(orderBook, marketOrders, traders, stocks);
+        // What the auction left of an immediate order is cancelled before stops can trade with it
+        immediate.addAll(marketOrders);
+        for (Order order : immediate) {
+            if (order.isActive()) {
+                if (!order.isMarketOrder()) {
+                    orderBook.remove(order);
+                }
+                order.cancel();
+                handleOrderClosed(order, traders);
+            }
+        }
+        if (price != null) {
+            breaker.onTrade(Order.toPriceUnits(price), now);
+            matchTriggeredStops(symbol, price, orderBook, traders, stocks);
+        }
+    }
+
+    /**
+     * Rank of a trader within one tick's batches, reshuffled every tick.
+     */
+    private static int batchRank(String traderId, long tick) {
+        long hash = (traderId.hashCode() ^ tick) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32);
+    }
+
+    /**
+     * Lifts a halt with an auction uncrossing the orders queued during it; called under the book lock.
+     */
+    private void reopen(String symbol, OrderBook orderBook, CircuitBreaker breaker, HashMap<String, Trader> traders,
+            HashMap<String, Instrument> stocks, long now) {
+        // During a call phase the book keeps collecting; the call auction uncrosses it
+        BigDecimal price = callPhaseEnds.containsKey(symbol) ? null : uncrossAndSettle(orderBook, traders, stocks);
+        breaker.reopen(price != null ? Order.toPriceUnits(price) : 0, now);
+        if (price != null) {
+            matchTriggeredStops(symbol, price, orderBook, traders, stocks);
+        }
+    }
+
+    /**
+     * Uncrosses a book in one auction and settles its trades; called under the book lock.
+     *
+     * @return The auction price, or null if nothing traded
+     */
+    private BigDecimal uncrossAndSettle(OrderBook orderBook, HashMap<String, Trader> traders,
+            HashMap<String, Instrument> stocks) {
+        return uncrossAndSettle(orderBook, List.of(), traders, stocks);
+    }
+
+    /**
+     * Uncrosses a book in one auction together with market orders and settles its trades; called under the book lock.
+     *
+     * @return The auction price, or null if nothing traded
+     */
+    private BigDecimal uncrossAndSettle(OrderBook orderBook, List<Order> marketOrders,
+            HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
+        long matchStart = System.nanoTime();
+        List<Trade> trades = callAuction.match(orderBook, marketOrders,
+                filledOrder -> handleOrderClosed(filledOrder, traders));
+        matchLatency.record(System.nanoTime() - matchStart);
+        if (trades.isEmpty()) {
+            return null;
+        }
+        auctionsCounter.increment();
+        settleTrades(trades, traders, stocks);
+        return trades.get(0).getPrice();
+    }
+
+    /**
+     * Matches the stop orders an auction price triggers; called under the book lock.
+     */
+    private void matchTriggeredStops(String symbol, BigDecimal price, OrderBook orderBook,
+            HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
+        List<Order> triggered = getStopOrderBook(symbol).onTrade(price);
+        stopsTriggeredCounter.add(triggered.size());
+        for (Order order : triggered) {
+            matchWithStops(order, orderBook, traders, stocks);
+        }
+    }
+
+    /**
+     * Gets the price band and halt state of a symbol.
+     *
+     * @param symbol Instrument symbol
+     * @return The symbol's circuit breaker, created on first use
+     */
+    public CircuitBreaker getCircuitBreaker(String symbol) {
+        return circuitBreakers.computeIfAbsent(symbol,
+                s -> new CircuitBreaker(circuitBreakerConfigs.getOrDefault(s, defaultCircuitBreakerConfig)));
+    }
+
+    /**
+     * Gives a symbol its own price band and halt settings.
+     *
+     * <p>The symbol's band starts over: the next trade sets its reference
+     * price, and a halt in progress is lifted without an auction.</p>
+     *
+     * @param symbol Instrument symbol
+     * @param config Settings for the symbol
+     */
+    public void setCircuitBreakerConfig(String symbol, CircuitBreakerConfig config) {
+        synchronized (getOrderBook(symbol)) {
+            circuitBreakerConfigs.put(symbol, config);
+            circuitBreakers.put(symbol, new CircuitBreaker(config));
+        }
+    }
+
+    /**
+     * Selects how a symbol's incoming orders are shared among the orders resting at one price.
+     *
+     * @param symbol Instrument symbol
+     * @param allocation Allocation strategy, or null for price-time priority
+     */
+    public void setAllocationStrategy(String symbol, IAllocationStrategy allocation) {
+        synchronized (getOrderBook(symbol)) {
+            matchingEngine.setAllocationStrategy(symbol, allocation);
+        }
+    }
+
+    /**
+     * Gets the number of stop orders waiting for their trigger.
+     *
+     * @return Untriggered stop orders across all symbols
+     */
+    public long getPendingStopCount() {
+        long pending = 0;
+        for (StopOrderBook stopBook : stopBooks.values()) {
+            pending += stopBook.size();
+        }
+        return pending;
+    }
+
+    /**
+     * Gets the untriggered stop orders of a symbol.
+     *
+     * @param symbol Instrument symbol
+     * @return The symbol's stop order book, created on first use
+     */
+    public StopOrderBook getStopOrderBook(String symbol) {
+        return stopBooks.computeIfAbsent(symbol, StopOrderBook::new);
+    }
+
+    /**
+     * Gets the number of resting orders waiting to expire.
+     *
+     * @return Pending expiry timers
+     */
+    public int getPendingExpiryCount() {
+        return expiryWheel.size();
+    }
+
+    private void handleOrderClosed(Order order, HashMap<String, Trader> traders) {
+        activeOrders.remove(order.getOrderId());
+        riskEngine.onOrderClosed(order);
+        TimingWheel.Timer<Order> timer = expiryTimers.remove(order.getOrderId());
+        if (timer != null) {
+            timer.cancel();
+        }
+        if (traders.get(order.getTraderId()) instanceof User user) {
+            user.getOrderHistory().onOrderClosed(order);
+        }
+        if (onOrderClosed != null) {
+            onOrderClosed.accept(order);
+        }
+    }
+
     private void handleTradeSettled(Trade trade) {
         if (onTradeSettled != null) {
+            long start = System.nanoTime();
             onTradeSettled.accept(trade);
+            callbackNanos.get()[0] += System.nanoTime() - start;
         }
     }
 
+    /**
+     * Gets the risk engine holding the reservations of open orders.
+     *
+     * @return The market's risk engine
+     */
+    public RiskEngine getRiskEngine() {
+        return riskEngine;
+    }
+
+    /**
+     * Gets the number of resting orders across all order books.
+     *
+     * @return Total book depth
+     */
+    public long getTotalBookDepth() {
+        long depth = 0;
+        for (OrderBook orderBook : orderBooks.values()) {
+            depth += orderBook.size();
+        }
+        return depth;
+    }
+
     @Override
     public void addOrderBook(String symbol, OrderBook orderBook) {
         orderBooks.put(symbol, orderBook);
@@ -201,6 +1002,10 @@ public class Market implements IMarket {
     @Override
     public void removeOrderBook(String symbol) {
         orderBooks.remove(symbol);
+        stopBooks.remove(symbol);
+        circuitBreakers.remove(symbol);
+        callPhaseEnds.remove(symbol);
+        batches.remove(symbol);
     }
 
     @Override
@@ -222,4 +1027,29 @@ public class Market implements IMarket {
     public void setOnTradeSettled(Consumer<Trade> callback) {
         this.onTradeSettled = callback;
     }
+
+    @Override
+    public void setOnOrderAccepted(Consumer<Order> callback) {
+        this.onOrderAccepted = callback;
+    }
+
+    @Override
+    public void setOnOrderRejected(BiConsumer<Order, String> callback) {
+        this.onOrderRejected = callback;
+    }
+
+    @Override
+    public void setOnOrderAmended(Consumer<Order> callback) {
+        this.onOrderAmended = callback;
+    }
+
+    @Override
+    public void setOnOrderClosed(Consumer<Order> callback) {
+        this.onOrderClosed = callback;
+    }
+
+    @Override
+    public void setOnOrderBookChanged(Consumer<String> callback) {
+        this.onOrderBookChanged = callback;
+    }
 }
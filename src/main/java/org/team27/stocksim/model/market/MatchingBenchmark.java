@@ -0,0 +1,103 @@
+package org.team27.stocksim.model.market;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Measures the cost of matching one order under each allocation strategy for increasing book depths.
+ *
+ * <p>For each depth, a book is filled with that many asks of random size at
+ * the best price, and an incoming buy takes half of the level. Only the match
+ * is timed; the book is built afresh for every order so all strategies see
+ * the same level. "default" is the engine's own price-time loop, which
+ * trades one resting order at a time without building the level.</p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * // java -cp stocksim.jar org.team27.stocksim.model.market.MatchingBenchmark [rounds] [depths...]
+ * // java -cp stocksim.jar org.team27.stocksim.model.market.MatchingBenchmark 3 1 10 100 1000
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see IAllocationStrategy
+ * @see MatchingEngine
+ */
+public class MatchingBenchmark {
+
+    private static final String SYMBOL = "BENCH";
+    private static final BigDecimal PRICE = new BigDecimal("100.00");
+    private static final BigDecimal NEXT_PRICE = new BigDecimal("100.01");
+    private static final int ORDERS_PER_RUN = 200_000;
+    private static final int MIN_MATCHES_PER_RUN = 200;
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        List<Integer> depths = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            depths.add(Integer.parseInt(args[i]));
+        }
+        if (depths.isEmpty()) {
+            depths = List.of(1, 10, 100, 1000);
+        }
+
+        Map<String, IAllocationStrategy> strategies = new LinkedHashMap<>();
+        strategies.put("default", null);
+        strategies.put("price-time", new PriceTimeAllocation());
+        strategies.put("pro-rata", new ProRataAllocation());
+        strategies.put("size", new SizePriorityAllocation());
+
+        System.out.println("Matching benchmark: " + rounds + " rounds, best of each reported");
+        System.out.printf("%8s", "depth");
+        strategies.keySet().forEach(name -> System.out.printf(" %14s", name + " (ns)"));
+        System.out.println();
+        for (int depth : depths) {
+            System.out.printf("%8d", depth);
+            for (IAllocationStrategy strategy : strategies.values()) {
+                double best = Double.MAX_VALUE;
+                // The first round warms up the JIT
+                for (int round = 0; round <= rounds; round++) {
+                    double nanos = run(strategy, depth);
+                    if (round > 0) {
+                        best = Math.min(best, nanos);
+                    }
+                }
+                System.out.printf(" %14.0f", best);
+            }
+            System.out.println();
+        }
+    }
+
+    /**
+     * Matches orders against fresh books of the given depth.
+     *
+     * @return Average nanoseconds per match
+     */
+    private static double run(IAllocationStrategy strategy, int depth) {
+        MatchingEngine engine = new MatchingEngine();
+        engine.setAllocationStrategy(SYMBOL, strategy);
+        SplittableRandom random = new SplittableRandom(depth);
+        int matches = Math.max(MIN_MATCHES_PER_RUN, ORDERS_PER_RUN / depth);
+        long totalNanos = 0;
+        for (int m = 0; m < matches; m++) {
+            OrderBook orderBook = new OrderBook(SYMBOL);
+            int levelQuantity = 0;
+            for (int i = 0; i < depth; i++) {
+                int quantity = 1 + random.nextInt(100);
+                orderBook.add(new Order(Order.Side.SELL, SYMBOL, PRICE, quantity, "S" + i));
+                levelQuantity += quantity;
+            }
+            orderBook.add(new Order(Order.Side.SELL, SYMBOL, NEXT_PRICE, 100, "S"));
+            Order buy = new Order(Order.Side.BUY, SYMBOL, PRICE, Math.max(1, levelQuantity / 2), "BUYER");
+
+            long start = System.nanoTime();
+            engine.match(buy, orderBook);
+            totalNanos += System.nanoTime() - start;
+        }
+        return (double) totalNanos / matches;
+    }
+}
@@ -1,12 +1,15 @@
 package org.team27.stocksim.model.market;
 
 import org.team27.stocksim.model.clock.ClockProvider;
+import org.team27.stocksim.model.profiling.MatchEvent;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Engine responsible for matching buy and sell orders in the market.
@@ -17,12 +20,18 @@ import java.util.concurrent.ConcurrentHashMap;
  * specific prices) and market orders (executed at best available price with
  * deviation limits).</p>
  *
+ * <p>Price priority is fixed, but a symbol may share each price level by
+ * another {@link IAllocationStrategy}, such as {@link ProRataAllocation} or
+ * {@link SizePriorityAllocation}, to model other venues.</p>
+ *
  * <p><strong>Design Patterns:</strong> Strategy + Chain of Responsibility</p>
  * <ul>
- *   <li>Price-time priority matching algorithm</li>
+ *   <li>Price-time priority matching algorithm, or a per-symbol allocation strategy within a price level</li>
  *   <li>Market order protection via price deviation limits</li>
  *   <li>Self-trade prevention (same trader can't match own orders)</li>
  *   <li>Tracks last trade prices for market order validation</li>
+ *   <li>Optional per-symbol {@link CircuitBreaker} checked before every trade</li>
+ *   <li>Auction uncrossing of a crossed book at a single price, through {@link CallAuction}</li>
  *   <li>Generates trades atomically with order book updates</li>
  * </ul>
  *
@@ -32,7 +41,11 @@ import java.util.concurrent.ConcurrentHashMap;
  *   <li>Self-trades are prevented (same trader ID)</li>
  *   <li>Market orders match within configured price deviation limits</li>
  *   <li>Limit orders only rest in book if not market orders</li>
+ *   <li>IOC and FOK orders never rest; FOK orders only trade if they fill completely</li>
  *   <li>Filled orders are removed from the order book</li>
+ *   <li>A trade outside the circuit breaker's band is not executed; the symbol
+ *       halts and the incoming order's remainder is handled as if the book
+ *       had no more matching orders</li>
  * </ol>
  *
  * <h2>Usage Example:</h2>
@@ -54,6 +67,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * @see OrderBook
  * @see Trade
  * @see MarketOrderConfig
+ * @see CircuitBreaker
  */
 public class MatchingEngine {
 
@@ -67,6 +81,21 @@ public class MatchingEngine {
      */
     private final Map<String, BigDecimal> lastTradePrices;
 
+    /**
+     * Auction for uncrossing whole books, sharing {@link #lastTradePrices}.
+     */
+    private final CallAuction callAuction;
+
+    /**
+     * Allocation strategies of symbols that do not use price-time priority.
+     */
+    private final Map<String, IAllocationStrategy> allocationStrategies;
+
+    /**
+     * Per-thread level and allocations reused by {@link #matchLevel}, as symbols match concurrently.
+     */
+    private final ThreadLocal<LevelScratch> levelScratch = ThreadLocal.withInitial(LevelScratch::new);
+
     /**
      * Constructs a MatchingEngine with default configuration.
      */
@@ -82,60 +111,221 @@ public class MatchingEngine {
     public MatchingEngine(MarketOrderConfig config) {
         this.config = config;
         this.lastTradePrices = new ConcurrentHashMap<>();
+        this.callAuction = new CallAuction(lastTradePrices);
+        this.allocationStrategies = new ConcurrentHashMap<>();
     }
 
     private void executeTrade(Order incomingOrder, Order matchingOrder, OrderBook orderBook,
-            List<Trade> trades) {
-
-        int tradeQuantity = Math.min(incomingOrder.getRemainingQuantity(), matchingOrder.getRemainingQuantity());
+            List<Trade> trades, Consumer<Order> onRestingOrderFilled, CircuitBreaker breaker) {
+        // A resting iceberg trades only its shown slice; the book then shows the next one
+        executeTrade(incomingOrder, matchingOrder, orderBook, trades, onRestingOrderFilled, breaker,
+                Math.min(incomingOrder.getRemainingQuantity(), matchingOrder.getVisibleQuantity()));
+    }
 
+    private void executeTrade(Order incomingOrder, Order matchingOrder, OrderBook orderBook,
+            List<Trade> trades, Consumer<Order> onRestingOrderFilled, CircuitBreaker breaker, int tradeQuantity) {
         incomingOrder.fill(tradeQuantity);
-        matchingOrder.fill(tradeQuantity);
+        // Through the book, so the resting order's price level shrinks with it
+        orderBook.fillOrder(matchingOrder, tradeQuantity);
 
         if (matchingOrder.getRemainingQuantity() == 0) {
             orderBook.remove(matchingOrder);
+            if (onRestingOrderFilled != null) {
+                onRestingOrderFilled.accept(matchingOrder);
+            }
         }
+        Order buyOrder = incomingOrder.isBuyOrder() ? incomingOrder : matchingOrder;
+        Order sellOrder = incomingOrder.isBuyOrder() ? matchingOrder : incomingOrder;
         Trade trade = new Trade(
-                incomingOrder.isBuyOrder() ? incomingOrder.getOrderId() : matchingOrder.getOrderId(),
-                !incomingOrder.isBuyOrder() ? incomingOrder.getOrderId() : matchingOrder.getOrderId(),
-                incomingOrder.getSymbol(), matchingOrder.getPrice(), tradeQuantity, ClockProvider.getClock().instant());
+                buyOrder.getOrderId(),
+                sellOrder.getOrderId(),
+                incomingOrder.getSymbol(), matchingOrder.getPrice(), tradeQuantity, ClockProvider.getClock().instant(),
+                buyOrder.getTraderId(), sellOrder.getTraderId());
         trades.add(trade);
 
         lastTradePrices.put(trade.getStockSymbol(), trade.getPrice());
+        if (breaker != null) {
+            breaker.onTrade(matchingOrder.getPriceUnits(), ClockProvider.getClock().epochSecond());
+        }
     }
 
     public List<Trade> match(Order incomingOrder, OrderBook orderBook) {
+        return match(incomingOrder, orderBook, null);
+    }
+
+    /**
+     * Matches an incoming order and reports resting orders that were completely filled.
+     *
+     * @param incomingOrder The order to match
+     * @param orderBook The order book for the order's symbol
+     * @param onRestingOrderFilled Callback for each resting order removed from the book, may be null
+     * @return Trades generated by the match
+     */
+    public List<Trade> match(Order incomingOrder, OrderBook orderBook, Consumer<Order> onRestingOrderFilled) {
+        return match(incomingOrder, orderBook, onRestingOrderFilled, null);
+    }
+
+    /**
+     * Matches an incoming order within the band of the symbol's circuit breaker.
+     *
+     * <p>Matching stops at the first resting order whose price is outside the
+     * band, and the breaker halts the symbol. A fill-or-kill order only counts
+     * resting orders inside the band.</p>
+     *
+     * @param incomingOrder The order to match
+     * @param orderBook The order book for the order's symbol
+     * @param onRestingOrderFilled Callback for each resting order removed from the book, may be null
+     * @param breaker The symbol's circuit breaker, or null for no band
+     * @return Trades generated by the match
+     */
+    public List<Trade> match(Order incomingOrder, OrderBook orderBook, Consumer<Order> onRestingOrderFilled,
+            CircuitBreaker breaker) {
+        MatchEvent event = new MatchEvent();
+        event.begin();
         List<Trade> trades = new ArrayList<>();
+        // Null keeps the one-order-at-a-time price-time loop
+        IAllocationStrategy allocation = allocationStrategies.get(incomingOrder.getSymbol());
 
-        if (incomingOrder.isBuyOrder()) {
+        // Fill or kill: do not trade at all unless the whole quantity can be matched now
+        boolean killed = incomingOrder.getTimeInForce() == Order.TimeInForce.FOK
+                && orderBook.getMatchableQuantity(incomingOrder, resting -> canMatch(incomingOrder, resting)
+                        && (breaker == null || breaker.allows(resting.getPriceUnits())),
+                        incomingOrder.getRemainingQuantity()) < incomingOrder.getRemainingQuantity();
+
+        if (!killed && incomingOrder.isBuyOrder()) {
             while (!incomingOrder.isFilled()) {
                 Order bestAsk = orderBook.getBestAsk();
                 if (bestAsk != null && canMatch(incomingOrder, bestAsk)) {
-                    executeTrade(incomingOrder, bestAsk, orderBook, trades);
+                    if (breaker != null && !breaker.allows(bestAsk.getPriceUnits())) {
+                        breaker.halt(ClockProvider.getClock().epochSecond());
+                        break;
+                    }
+                    if (allocation == null) {
+                        executeTrade(incomingOrder, bestAsk, orderBook, trades, onRestingOrderFilled, breaker);
+                    } else if (!matchLevel(incomingOrder, orderBook, allocation, trades,
+                            onRestingOrderFilled, breaker)) {
+                        break;
+                    }
                 } else {
                     break;
                 }
             }
-        } else {
+        } else if (!killed) {
             while (!incomingOrder.isFilled()) {
                 Order bestBid = orderBook.getBestBid();
                 if (bestBid != null && canMatch(incomingOrder, bestBid)) {
-                    executeTrade(incomingOrder, bestBid, orderBook, trades);
+                    if (breaker != null && !breaker.allows(bestBid.getPriceUnits())) {
+                        breaker.halt(ClockProvider.getClock().epochSecond());
+                        break;
+                    }
+                    if (allocation == null) {
+                        executeTrade(incomingOrder, bestBid, orderBook, trades, onRestingOrderFilled, breaker);
+                    } else if (!matchLevel(incomingOrder, orderBook, allocation, trades,
+                            onRestingOrderFilled, breaker)) {
+                        break;
+                    }
                 } else {
                     break;
                 }
             }
         }
 
-        // Market orders should not rest in the book, only add if limit order with remaining quantity
-        if (incomingOrder.getRemainingQuantity() > 0 && !incomingOrder.isMarketOrder()) {
+        // Market, IOC and FOK orders should not rest in the book, only add if a resting order with remaining quantity
+        boolean rested = incomingOrder.getRemainingQuantity() > 0 && incomingOrder.canRest();
+        if (rested) {
             orderBook.add(incomingOrder);
         }
 
+        if (event.shouldCommit()) {
+            event.symbol = incomingOrder.getSymbol();
+            event.orderId = incomingOrder.getOrderId();
+            event.side = incomingOrder.getSide().name();
+            event.fills = trades.size();
+            event.rested = rested;
+            event.commit();
+        }
         return trades;
     }
 
 
+    /**
+     * Trades an incoming order against the best price level, shared out by an allocation strategy.
+     *
+     * <p>As in the default loop, matching stops at the incoming order's own
+     * trader: the level ends before that trader's first resting order.</p>
+     *
+     * @return true if anything traded
+     */
+    private boolean matchLevel(Order incomingOrder, OrderBook orderBook, IAllocationStrategy allocation,
+            List<Trade> trades, Consumer<Order> onRestingOrderFilled, CircuitBreaker breaker) {
+        LevelScratch scratch = levelScratch.get();
+        List<Order> level = scratch.level;
+        try {
+            int available = orderBook.getBestLevel(incomingOrder, level);
+            int quantity = Math.min(incomingOrder.getRemainingQuantity(), available);
+            int[] allocations = scratch.allocations(level.size());
+            allocation.allocate(level, quantity, allocations);
+
+            boolean traded = false;
+            for (int i = 0; i < level.size(); i++) {
+                Order resting = level.get(i);
+                int tradeQuantity = Math.min(allocations[i],
+                        Math.min(incomingOrder.getRemainingQuantity(), resting.getVisibleQuantity()));
+                if (tradeQuantity > 0) {
+                    executeTrade(incomingOrder, resting, orderBook, trades, onRestingOrderFilled, breaker,
+                            tradeQuantity);
+                    traded = true;
+                }
+            }
+            return traded;
+        } finally {
+            level.clear();
+        }
+    }
+
+    /**
+     * Level and allocation buffers of one thread, grown as deeper levels are met.
+     */
+    private static final class LevelScratch {
+        private final ArrayList<Order> level = new ArrayList<>();
+        private int[] allocations = new int[16];
+
+        /**
+         * Gets a zeroed allocations array of at least the given size.
+         */
+        private int[] allocations(int size) {
+            if (allocations.length < size) {
+                allocations = new int[Math.max(size, allocations.length * 2)];
+            } else {
+                Arrays.fill(allocations, 0, size, 0);
+            }
+            return allocations;
+        }
+    }
+
+    /**
+     * Selects how incoming orders for a symbol are shared among the orders resting at one price.
+     *
+     * @param symbol Instrument symbol
+     * @param allocation Allocation strategy, or null for the default price-time priority
+     */
+    public void setAllocationStrategy(String symbol, IAllocationStrategy allocation) {
+        if (allocation != null) {
+            allocationStrategies.put(symbol, allocation);
+        } else {
+            allocationStrategies.remove(symbol);
+        }
+    }
+
+    /**
+     * Gets the auction that uncrosses books at this engine's last trade prices.
+     *
+     * @return Call auction sharing this engine's last trade prices
+     */
+    public CallAuction getCallAuction() {
+        return callAuction;
+    }
+
     private boolean canMatch(Order incomingOrder, Order restingOrder) {
 
         if (incomingOrder.getTraderId().equals(restingOrder.getTraderId())) {
@@ -144,6 +334,11 @@ public class MatchingEngine {
 
 
         if (incomingOrder.isMarketOrder()) {
+            // A market buy never pays more than was reserved for it
+            BigDecimal priceCap = incomingOrder.getPriceCap();
+            if (priceCap != null && restingOrder.getPrice().compareTo(priceCap) > 0) {
+                return false;
+            }
             BigDecimal lastPrice = lastTradePrices.get(incomingOrder.getSymbol());
             if (lastPrice != null) {
                 BigDecimal maxAllowedDeviation = lastPrice.multiply(config.getMaxPriceDeviation());
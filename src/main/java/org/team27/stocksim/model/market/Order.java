@@ -1,9 +1,12 @@
 package org.team27.stocksim.model.market;
 
 import org.team27.stocksim.model.clock.ClockProvider;
+import org.team27.stocksim.model.session.SimulationContext;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.Instant;
+import java.time.ZoneId;
 
 /**
  * Represents a trading order in the market.
@@ -12,6 +15,24 @@ import java.time.Instant;
  * of an instrument at a specified price. Orders can be partially filled over
  * time and track their remaining quantity and status.</p>
  *
+ * <p>The time in force says how long an order may rest in the book: until
+ * cancelled (GTC, the default), until the end of the simulated day (DAY),
+ * until a given time (GTT), or not at all (IOC fills what it can and cancels
+ * the rest, FOK fills completely or not at all). DAY and GTT orders expire
+ * at the first simulation tick at or after their expiry time.</p>
+ *
+ * <p>Stop and stop-limit orders wait in the symbol's {@link StopOrderBook}
+ * until a trade prints at or through their stop price (at or above it for a
+ * buy stop, at or below it for a sell stop). Once triggered, a stop order
+ * matches as a market order and a stop-limit order as a limit order at its
+ * limit price.</p>
+ *
+ * <p>An iceberg order shows only a slice of its quantity (the display
+ * quantity) in the book. When the slice has filled, the book shows the next
+ * slice of the same order at the back of its price level, so a large order
+ * costs one resting order and reveals little of its size. As an incoming
+ * order an iceberg trades its whole quantity.</p>
+ *
  * <p><strong>Design Patterns:</strong> Value Object + Factory Method</p>
  * <ul>
  *   <li>Immutable price, quantity, symbol, and trader ID ensure data integrity</li>
@@ -26,8 +47,13 @@ import java.time.Instant;
  *   <li>PARTIALLY_FILLED - Some quantity filled, remainder pending</li>
  *   <li>FILLED - Entire quantity filled</li>
  *   <li>CANCELLED - Order cancelled before complete fill</li>
+ *   <li>EXPIRED - DAY or GTT order reached its expiry time before complete fill</li>
  * </ol>
  *
+ * <p>A resting limit order can be amended in place through
+ * {@link IMarket#amendOrder}: it keeps its ID, and keeps its queue priority
+ * if only its quantity went down.</p>
+ *
  * <h2>Usage Example:</h2>
  * <pre>{@code
  * // Create a limit buy order
@@ -52,6 +78,24 @@ import java.time.Instant;
  * // Fill order partially
  * buyOrder.fill(30);
  * System.out.println(buyOrder.getStatus()); // PARTIALLY_FILLED
+ *
+ * // Stop-loss: sell at market once a trade prints at or below 140.00
+ * Order stopLoss = Order.stop(Order.Side.SELL, "AAPL", new BigDecimal("140.00"), 100, "trader1");
+ *
+ * // Buy 10,000 showing 500 at a time
+ * Order iceberg = Order.iceberg(Order.Side.BUY, "AAPL", new BigDecimal("150.00"), 10000, 500, "trader1");
+ *
+ * // Limit order that rests for at most one simulated hour
+ * Order gtt = new Order(
+ *     Order.Side.BUY,
+ *     Order.OrderType.LIMIT,
+ *     "AAPL",
+ *     new BigDecimal("149.00"),
+ *     100,
+ *     "trader1",
+ *     Order.TimeInForce.GTT,
+ *     ClockProvider.getClock().instant().plus(Duration.ofHours(1))
+ * );
  * }</pre>
  *
  * @author Team 27
@@ -59,20 +103,16 @@ import java.time.Instant;
  * @see OrderBook
  * @see Trade
  * @see MatchingEngine
+ * @see StopOrderBook
  */
 public class Order {
-    /**
-     * Next available order ID. Incremented atomically for each new order.
-     */
-    private static int nextOrderId = 1;
-
     /**
      * Whether this is a buy or sell order.
      */
     private final Side side;
 
     /**
-     * Type of order (LIMIT or MARKET).
+     * Type of order (LIMIT, MARKET, STOP or STOP_LIMIT).
      */
     private final OrderType orderType;
 
@@ -82,14 +122,19 @@ public class Order {
     private final int orderId;
 
     /**
-     * Limit price for the order. Ignored for market orders.
+     * Limit price for the order. Ignored for market orders. Changed only by an amend.
+     */
+    private BigDecimal price;
+
+    /**
+     * The limit price in ten-thousandths, so the matching loop compares primitives; 0 without a price.
      */
-    private final BigDecimal price;
+    private long priceUnits;
 
     /**
-     * Total quantity requested in the order.
+     * Total quantity requested in the order. Changed only by an amend.
      */
-    private final int totalQuantity;
+    private int totalQuantity;
 
     /**
      * Timestamp when the order was created.
@@ -106,6 +151,53 @@ public class Order {
      */
     private final String traderId;
 
+    /**
+     * How long the order may rest in the book.
+     */
+    private final TimeInForce timeInForce;
+
+    /**
+     * Time at which a DAY or GTT order expires, null for other orders.
+     */
+    private final Instant expireTime;
+
+    /**
+     * Trade price that triggers a STOP or STOP_LIMIT order, null for other orders.
+     */
+    private final BigDecimal stopPrice;
+
+    /**
+     * Highest price a market buy may trade at, as reserved for it, or null if unbounded.
+     */
+    private volatile BigDecimal priceCap;
+
+    /**
+     * Whether a stop order has been triggered; written under the book lock.
+     */
+    private volatile boolean triggered;
+
+    /**
+     * Size of each slice an iceberg order shows, 0 if the whole order is shown.
+     */
+    private final int displayQuantity;
+
+    /**
+     * Unfilled part of the slice an iceberg order currently shows.
+     */
+    private int visibleQuantity;
+
+    /**
+     * Time from which the order has queue priority: its timestamp, or the
+     * time its current iceberg slice was shown.
+     */
+    private Instant priorityTime;
+
+    /**
+     * Sequence the book assigned when the order started to rest, breaking
+     * ties between equal priority times.
+     */
+    private long prioritySequence;
+
     /**
      * Current status of the order.
      */
@@ -132,8 +224,9 @@ public class Order {
     /**
      * Constructs an order with specified type (LIMIT or MARKET).
      *
-     * <p>This constructor initializes the order with a unique ID generated
-     * atomically and captures the current timestamp from ClockProvider.</p>
+     * <p>This constructor initializes the order with an ID allocated
+     * atomically by the current session and captures the current timestamp
+     * from ClockProvider.</p>
      *
      * @param side Whether this is a BUY or SELL order
      * @param orderType Type of order (LIMIT or MARKET)
@@ -144,20 +237,244 @@ public class Order {
      */
     public Order(Side side, OrderType orderType, String instrumentSymbol, BigDecimal price, int quantity,
             String traderId) {
+        this(side, orderType, instrumentSymbol, price, quantity, traderId, TimeInForce.GTC, null);
+    }
+
+    /**
+     * Constructs an order with a time in force.
+     *
+     * <p>A DAY order expires at the start of the next simulated day in the
+     * clock's time zone; a GTT order expires at {@code expireTime}, which is
+     * ignored for every other time in force.</p>
+     *
+     * @param side Whether this is a BUY or SELL order
+     * @param orderType Type of order (LIMIT or MARKET)
+     * @param instrumentSymbol Symbol of the instrument to trade
+     * @param price Limit price (ignored for MARKET orders)
+     * @param quantity Number of shares/units to trade
+     * @param traderId ID of the trader placing the order
+     * @param timeInForce How long the order may rest in the book
+     * @param expireTime Expiry of a GTT order
+     */
+    public Order(Side side, OrderType orderType, String instrumentSymbol, BigDecimal price, int quantity,
+            String traderId, TimeInForce timeInForce, Instant expireTime) {
+        this(side, orderType, instrumentSymbol, price, null, quantity, traderId, timeInForce, expireTime);
+    }
+
+    /**
+     * Constructs an order with a stop price and a time in force.
+     *
+     * <p>The stop price is only used by STOP and STOP_LIMIT orders; the
+     * expiry of a DAY or GTT stop order also covers the time it waits for
+     * its trigger.</p>
+     *
+     * @param side Whether this is a BUY or SELL order
+     * @param orderType Type of order
+     * @param instrumentSymbol Symbol of the instrument to trade
+     * @param price Limit price (ignored for MARKET and STOP orders)
+     * @param stopPrice Trade price that triggers a STOP or STOP_LIMIT order
+     * @param quantity Number of shares/units to trade
+     * @param traderId ID of the trader placing the order
+     * @param timeInForce How long the order may rest in the book
+     * @param expireTime Expiry of a GTT order
+     */
+    public Order(Side side, OrderType orderType, String instrumentSymbol, BigDecimal price, BigDecimal stopPrice,
+            int quantity, String traderId, TimeInForce timeInForce, Instant expireTime) {
+        this(side, orderType, instrumentSymbol, price, stopPrice, quantity, 0, traderId, timeInForce, expireTime);
+    }
+
+    private Order(Side side, OrderType orderType, String instrumentSymbol, BigDecimal price, BigDecimal stopPrice,
+            int quantity, int displayQuantity, String traderId, TimeInForce timeInForce, Instant expireTime) {
         this.side = side;
         this.orderType = orderType;
         this.instrumentSymbol = instrumentSymbol;
-        this.orderId = generateOrderId();
+        this.orderId = SimulationContext.current().nextOrderId();
         this.price = price;
+        this.priceUnits = toPriceUnits(price);
         this.totalQuantity = quantity;
         this.remainingQuantity = quantity;
         this.traderId = traderId;
+        this.stopPrice = orderType == OrderType.STOP || orderType == OrderType.STOP_LIMIT ? stopPrice : null;
+        this.displayQuantity = displayQuantity;
+        this.visibleQuantity = displayQuantity > 0 ? Math.min(displayQuantity, quantity) : 0;
 
         this.timeStamp = ClockProvider.getClock().instant();
+        this.priorityTime = timeStamp;
+        this.timeInForce = timeInForce;
+        if (timeInForce == TimeInForce.DAY) {
+            this.expireTime = endOfDay(timeStamp, ClockProvider.getClock().getZone());
+        } else {
+            this.expireTime = timeInForce == TimeInForce.GTT ? expireTime : null;
+        }
+    }
+
+    /**
+     * Reconstructs a GTC order whose ID and timestamp were assigned elsewhere.
+     *
+     * @see #Order(int, Side, OrderType, String, BigDecimal, int, String, Instant, TimeInForce, Instant)
+     */
+    public Order(int orderId, Side side, OrderType orderType, String instrumentSymbol, BigDecimal price,
+            int quantity, String traderId, Instant timeStamp) {
+        this(orderId, side, orderType, instrumentSymbol, price, quantity, traderId, timeStamp,
+                TimeInForce.GTC, null);
+    }
+
+    /**
+     * Reconstructs an order without iceberg display whose ID and timestamp were assigned elsewhere.
+     *
+     * @see #Order(int, Side, OrderType, String, BigDecimal, int, int, String, Instant, TimeInForce, Instant)
+     */
+    public Order(int orderId, Side side, OrderType orderType, String instrumentSymbol, BigDecimal price,
+            int quantity, String traderId, Instant timeStamp, TimeInForce timeInForce, Instant expireTime) {
+        this(orderId, side, orderType, instrumentSymbol, price, quantity, 0, traderId, timeStamp, timeInForce,
+                expireTime);
+    }
+
+    /**
+     * Reconstructs an order whose ID and timestamp were assigned elsewhere.
+     *
+     * <p>Used by matching processes of a sharded market, which receive
+     * orders from the gateway and must keep the gateway's order ID and time
+     * priority.</p>
+     *
+     * @param orderId ID assigned by the session that created the order
+     * @param side Whether this is a BUY or SELL order
+     * @param orderType Type of order (LIMIT or MARKET)
+     * @param instrumentSymbol Symbol of the instrument to trade
+     * @param price Limit price (ignored for MARKET orders)
+     * @param quantity Number of shares/units to trade
+     * @param displayQuantity Iceberg slice size, 0 to show the whole order
+     * @param traderId ID of the trader placing the order
+     * @param timeStamp Time the order was created
+     * @param timeInForce How long the order may rest in the book
+     * @param expireTime Expiry of a DAY or GTT order, null otherwise
+     */
+    public Order(int orderId, Side side, OrderType orderType, String instrumentSymbol, BigDecimal price,
+            int quantity, int displayQuantity, String traderId, Instant timeStamp, TimeInForce timeInForce,
+            Instant expireTime) {
+        this.side = side;
+        this.orderType = orderType;
+        this.instrumentSymbol = instrumentSymbol;
+        this.orderId = orderId;
+        this.price = price;
+        this.priceUnits = toPriceUnits(price);
+        this.totalQuantity = quantity;
+        this.remainingQuantity = quantity;
+        this.traderId = traderId;
+        this.timeStamp = timeStamp;
+        this.timeInForce = timeInForce;
+        this.expireTime = expireTime;
+        this.stopPrice = null;
+        this.displayQuantity = displayQuantity;
+        this.visibleQuantity = displayQuantity > 0 ? Math.min(displayQuantity, quantity) : 0;
+        this.priorityTime = timeStamp;
+    }
+
+    /**
+     * Constructs a detached copy of an order's current state.
+     */
+    private Order(Order source) {
+        this.side = source.side;
+        this.orderType = source.orderType;
+        this.orderId = source.orderId;
+        this.price = source.price;
+        this.priceUnits = source.priceUnits;
+        this.totalQuantity = source.totalQuantity;
+        this.timeStamp = source.timeStamp;
+        this.instrumentSymbol = source.instrumentSymbol;
+        this.traderId = source.traderId;
+        this.timeInForce = source.timeInForce;
+        this.expireTime = source.expireTime;
+        this.stopPrice = source.stopPrice;
+        this.priceCap = source.priceCap;
+        this.triggered = source.triggered;
+        this.displayQuantity = source.displayQuantity;
+        this.visibleQuantity = source.visibleQuantity;
+        this.priorityTime = source.priorityTime;
+        this.prioritySequence = source.prioritySequence;
+        this.status = source.status;
+        this.remainingQuantity = source.remainingQuantity;
+    }
+
+    /**
+     * Copies the order's current state, so a view can be built without touching the live order.
+     *
+     * @return A copy sharing no mutable state with this order
+     */
+    public Order copy() {
+        return new Order(this);
+    }
+
+    /**
+     * Creates a GTC iceberg limit order.
+     *
+     * @param side Whether this is a BUY or SELL order
+     * @param instrumentSymbol Symbol of the instrument to trade
+     * @param price Limit price for the order
+     * @param quantity Total number of shares/units to trade
+     * @param displayQuantity Size of each slice shown in the book
+     * @param traderId ID of the trader placing the order
+     * @return A new iceberg order
+     */
+    public static Order iceberg(Side side, String instrumentSymbol, BigDecimal price, int quantity,
+            int displayQuantity, String traderId) {
+        return iceberg(side, instrumentSymbol, price, quantity, displayQuantity, traderId, TimeInForce.GTC, null);
+    }
+
+    /**
+     * Creates an iceberg limit order with a time in force.
+     *
+     * @param side Whether this is a BUY or SELL order
+     * @param instrumentSymbol Symbol of the instrument to trade
+     * @param price Limit price for the order
+     * @param quantity Total number of shares/units to trade
+     * @param displayQuantity Size of each slice shown in the book
+     * @param traderId ID of the trader placing the order
+     * @param timeInForce How long the order may rest in the book
+     * @param expireTime Expiry of a GTT order
+     * @return A new iceberg order
+     */
+    public static Order iceberg(Side side, String instrumentSymbol, BigDecimal price, int quantity,
+            int displayQuantity, String traderId, TimeInForce timeInForce, Instant expireTime) {
+        return new Order(side, OrderType.LIMIT, instrumentSymbol, price, null, quantity, displayQuantity, traderId,
+                timeInForce, expireTime);
     }
 
-    private static synchronized int generateOrderId() {
-        return nextOrderId++;
+    /**
+     * Creates a GTC stop order that becomes a market order once triggered.
+     *
+     * @param side Whether this is a BUY or SELL order
+     * @param instrumentSymbol Symbol of the instrument to trade
+     * @param stopPrice Trade price that triggers the order
+     * @param quantity Number of shares/units to trade
+     * @param traderId ID of the trader placing the order
+     * @return A new stop order
+     */
+    public static Order stop(Side side, String instrumentSymbol, BigDecimal stopPrice, int quantity,
+            String traderId) {
+        return new Order(side, OrderType.STOP, instrumentSymbol, null, stopPrice, quantity, traderId,
+                TimeInForce.GTC, null);
+    }
+
+    /**
+     * Creates a GTC stop-limit order that becomes a limit order once triggered.
+     *
+     * @param side Whether this is a BUY or SELL order
+     * @param instrumentSymbol Symbol of the instrument to trade
+     * @param stopPrice Trade price that triggers the order
+     * @param limitPrice Limit price of the triggered order
+     * @param quantity Number of shares/units to trade
+     * @param traderId ID of the trader placing the order
+     * @return A new stop-limit order
+     */
+    public static Order stopLimit(Side side, String instrumentSymbol, BigDecimal stopPrice, BigDecimal limitPrice,
+            int quantity, String traderId) {
+        return new Order(side, OrderType.STOP_LIMIT, instrumentSymbol, limitPrice, stopPrice, quantity, traderId,
+                TimeInForce.GTC, null);
+    }
+
+    private static Instant endOfDay(Instant time, ZoneId zone) {
+        return time.atZone(zone).toLocalDate().plusDays(1).atStartOfDay(zone).toInstant();
     }
 
     public int getOrderId() {
@@ -201,16 +518,224 @@ public class Order {
         return orderType;
     }
 
+    /**
+     * Checks whether the order matches at any price within the market order protection.
+     *
+     * @return true for MARKET and STOP orders
+     */
     public boolean isMarketOrder() {
-        return orderType == OrderType.MARKET;
+        return orderType == OrderType.MARKET || orderType == OrderType.STOP;
+    }
+
+    public boolean isStopOrder() {
+        return orderType == OrderType.STOP || orderType == OrderType.STOP_LIMIT;
+    }
+
+    /**
+     * Gets the trade price that triggers this order.
+     *
+     * @return Stop price of a STOP or STOP_LIMIT order, null otherwise
+     */
+    public BigDecimal getStopPrice() {
+        return stopPrice;
+    }
+
+    /**
+     * Gets the highest price this market buy may trade at.
+     *
+     * @return The unit price cash was reserved at, or null if the order is not capped
+     */
+    public BigDecimal getPriceCap() {
+        return priceCap;
+    }
+
+    /**
+     * Caps the price a market buy may trade at; set before the order is matched.
+     *
+     * @param priceCap The unit price cash was reserved at
+     */
+    public void setPriceCap(BigDecimal priceCap) {
+        this.priceCap = priceCap;
+    }
+
+    public boolean isTriggered() {
+        return triggered;
+    }
+
+    /**
+     * Gets the size of the slices an iceberg order shows.
+     *
+     * @return Display quantity, 0 if the whole order is shown
+     */
+    public int getDisplayQuantity() {
+        return displayQuantity;
+    }
+
+    public boolean isIceberg() {
+        return displayQuantity > 0;
+    }
+
+    /**
+     * Gets the quantity resting orders can trade before the book must show more.
+     *
+     * @return The unfilled part of the current slice of an iceberg order,
+     *         otherwise the remaining quantity
+     */
+    public int getVisibleQuantity() {
+        return isIceberg() ? visibleQuantity : remainingQuantity;
+    }
+
+    /**
+     * Shows the next slice of an iceberg order once the current one has filled.
+     *
+     * @return true if a new slice is now shown
+     */
+    boolean showNextSlice() {
+        if (!isIceberg() || visibleQuantity > 0 || remainingQuantity == 0) {
+            return false;
+        }
+        visibleQuantity = Math.min(displayQuantity, remainingQuantity);
+        return true;
+    }
+
+    /**
+     * Gets the limit price in ten-thousandths.
+     *
+     * @return Price units, or 0 for an order without a price
+     */
+    long getPriceUnits() {
+        return priceUnits;
+    }
+
+    /**
+     * Converts a price to the ten-thousandths used by {@link #getPriceUnits()}.
+     *
+     * @param price A price, may be null
+     * @return Price units, rounded half up, or 0 for null
+     */
+    static long toPriceUnits(BigDecimal price) {
+        return price != null ? price.setScale(4, RoundingMode.HALF_UP).unscaledValue().longValue() : 0;
+    }
+
+    Instant getPriorityTime() {
+        return priorityTime;
+    }
+
+    long getPrioritySequence() {
+        return prioritySequence;
+    }
+
+    /**
+     * Sets the queue priority; only while the order is outside any book's queue.
+     */
+    void setPriority(Instant priorityTime, long prioritySequence) {
+        this.priorityTime = priorityTime;
+        this.prioritySequence = prioritySequence;
+    }
+
+    /**
+     * Checks whether this stop order still waits for its trigger.
+     *
+     * @return true for an untriggered STOP or STOP_LIMIT order
+     */
+    public boolean isAwaitingTrigger() {
+        return isStopOrder() && !triggered;
+    }
+
+    /**
+     * Checks whether a trade at the given price triggers this stop order.
+     *
+     * @param tradePrice Price of a trade in the order's symbol
+     * @return true if the price reached the stop price from the order's side
+     */
+    public boolean isTriggeredBy(BigDecimal tradePrice) {
+        int comparison = tradePrice.compareTo(stopPrice);
+        return isBuyOrder() ? comparison >= 0 : comparison <= 0;
+    }
+
+    /**
+     * Activates a stop order so that it matches like a market or limit order.
+     */
+    public void trigger() {
+        triggered = true;
+    }
+
+    public TimeInForce getTimeInForce() {
+        return timeInForce;
+    }
+
+    /**
+     * Gets the time at which the order expires.
+     *
+     * @return Expiry of a DAY or GTT order, null if the order does not expire
+     */
+    public Instant getExpireTime() {
+        return expireTime;
+    }
+
+    /**
+     * Checks whether an unfilled remainder of this order rests in the book.
+     *
+     * @return false for market orders and IOC or FOK orders
+     */
+    public boolean canRest() {
+        return !isMarketOrder() && timeInForce != TimeInForce.IOC && timeInForce != TimeInForce.FOK;
+    }
+
+    /**
+     * Checks whether the order can still trade.
+     *
+     * @return false once the order is filled, cancelled or expired
+     */
+    public boolean isActive() {
+        Status current = getStatus();
+        return current != Status.FILLED && current != Status.CANCELLED && current != Status.EXPIRED;
     }
 
     public void cancel() {// TODO
         status = Status.CANCELLED;
     }
 
+    /**
+     * Marks a DAY or GTT order as expired; it keeps any fills it received.
+     */
+    public void expire() {
+        status = Status.EXPIRED;
+    }
+
+    /**
+     * Changes the limit price and total quantity of an order outside any book's queue.
+     *
+     * <p>Called by the market under the book lock; use
+     * {@link IMarket#amendOrder} to amend an order. The new total must exceed
+     * the quantity already filled.</p>
+     *
+     * @param newPrice New limit price
+     * @param newTotalQuantity New total quantity, including what has already filled
+     * @return true if the order keeps its queue priority, i.e. only its quantity went down
+     */
+    public boolean amend(BigDecimal newPrice, int newTotalQuantity) {
+        boolean keepsPriority = newPrice.compareTo(price) == 0 && newTotalQuantity <= totalQuantity;
+        remainingQuantity = newTotalQuantity - (totalQuantity - remainingQuantity);
+        totalQuantity = newTotalQuantity;
+        price = newPrice;
+        priceUnits = toPriceUnits(newPrice);
+        if (isIceberg()) {
+            visibleQuantity = Math.min(visibleQuantity, remainingQuantity);
+        }
+        if (!keepsPriority) {
+            // Queued as of now by the next book it is added to
+            priorityTime = ClockProvider.getClock().instant();
+            prioritySequence = 0;
+        }
+        return keepsPriority;
+    }
+
     public void fill(int quantity) {
         remainingQuantity = remainingQuantity - quantity;
+        if (isIceberg()) {
+            visibleQuantity = Math.max(0, visibleQuantity - quantity);
+        }
         updateStatus();
     }
 
@@ -224,6 +749,10 @@ public class Order {
     }
 
     private void updateStatus() {
+        if (status == Status.CANCELLED || status == Status.EXPIRED) {
+            // A cancelled or expired order keeps its status even if it was partially filled
+            return;
+        }
         if (remainingQuantity == 0) {
             status = Status.FILLED;
         } else if (remainingQuantity < totalQuantity) {
@@ -236,11 +765,31 @@ public class Order {
     }
 
     public enum Status {
-        NEW, PARTIALLY_FILLED, FILLED, CANCELLED
+        NEW, PARTIALLY_FILLED, FILLED, CANCELLED, EXPIRED
     }
 
     public enum OrderType {
-        LIMIT, MARKET
+        LIMIT, MARKET,
+        /** Becomes a market order once a trade reaches the stop price. */
+        STOP,
+        /** Becomes a limit order once a trade reaches the stop price. */
+        STOP_LIMIT
+    }
+
+    /**
+     * How long an order may rest in the book.
+     */
+    public enum TimeInForce {
+        /** Good till cancelled. */
+        GTC,
+        /** Expires at the end of the simulated day. */
+        DAY,
+        /** Good till the given expiry time. */
+        GTT,
+        /** Immediate or cancel: the unfilled remainder is cancelled. */
+        IOC,
+        /** Fill or kill: fills completely at once, or is cancelled without trading. */
+        FOK
     }
 
 }
@@ -1,24 +1,51 @@
 package org.team27.stocksim.model.market;
 
+import org.team27.stocksim.model.clock.ClockProvider;
+
+import java.math.BigDecimal;
 import java.util.ArrayList;
-import java.util.PriorityQueue;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
 
 import static java.util.Comparator.comparing;
 
 /**
  * Maintains and organizes all pending orders for a specific instrument.
  *
- * <p>The order book uses priority queues to maintain buy and sell orders sorted
+ * <p>The order book uses sorted sets to maintain buy and sell orders sorted
  * by price-time priority. Buy orders (bids) are sorted by highest price first,
  * while sell orders (asks) are sorted by lowest price first. Within the same
  * price level, earlier orders have priority (time priority).</p>
  *
- * <p><strong>Design Patterns:</strong> Repository + Priority Queue</p>
+ * <p>Alongside the queues the book keeps an aggregated (L2) view: per side, the
+ * total remaining quantity and order count at each price, updated as orders are
+ * added, filled and removed. Reading the top N levels is therefore O(N) and
+ * never walks the individual orders, so depth can be polled by the UI, the
+ * market-data feed and strategies without stalling matching.</p>
+ *
+ * <p>An iceberg order contributes only its shown slice to its level. When
+ * resting orders trade away the slice, the book shows the next slice of the
+ * same order and moves it behind the orders already waiting at its price, so
+ * replenishing costs one re-queue and no new order. Hidden quantity still
+ * counts towards {@link #getMatchableQuantity}.</p>
+ *
+ * <p>Resting orders are also indexed by trader, so a mass cancel of one
+ * trader's orders touches only those orders, however deep the book is.</p>
+ *
+ * <p><strong>Design Patterns:</strong> Repository + Sorted Set</p>
  * <ul>
- *   <li>Bids sorted by price DESC, then timestamp ASC (price-time priority)</li>
- *   <li>Asks sorted by price ASC, then timestamp ASC (price-time priority)</li>
+ *   <li>Bids sorted by price DESC, then priority time ASC (price-time priority)</li>
+ *   <li>Asks sorted by price ASC, then priority time ASC (price-time priority)</li>
  *   <li>Thread-safe operations using synchronized methods</li>
- *   <li>Efficient O(log n) insertion and O(1) best price retrieval</li>
+ *   <li>O(log n) insertion and removal, O(1) best price retrieval</li>
+ *   <li>Price levels kept incrementally, so depth reads cost O(levels)</li>
  * </ul>
  *
  * <h2>Usage Example:</h2>
@@ -37,6 +64,9 @@ import static java.util.Comparator.comparing;
  *
  * // Fill order
  * orderBook.fillOrder(buyOrder, 50);
+ *
+ * // Top five bid levels with quantity and order count
+ * List<PriceLevel> bidDepth = orderBook.getDepth(Order.Side.BUY, 5);
  * }</pre>
  *
  * @author Team 27
@@ -44,19 +74,51 @@ import static java.util.Comparator.comparing;
  * @see Order
  * @see Market
  * @see MatchingEngine
+ * @see PriceLevel
  */
 public class OrderBook {
     /**
-     * Priority queue of buy orders (bids), sorted by price DESC then time ASC.
-     * Higher prices and earlier timestamps have priority.
+     * Source of priority sequences, shared by all books so an order keeps its
+     * place when it is also copied into a snapshot book.
+     */
+    private static final AtomicLong PRIORITY_SEQUENCE = new AtomicLong();
+
+    /**
+     * Buy orders (bids), sorted by price DESC then time ASC.
+     * Higher prices and earlier priority times have priority; orders stamped in
+     * the same clock tick keep the order in which they started to rest. The
+     * unique priority sequence makes the ordering total, so removal is O(log n).
      */
-    private final PriorityQueue<Order> bids = new PriorityQueue<>(comparing(Order::getPrice).reversed().thenComparing(Order::getTimeStamp));
+    private final TreeSet<Order> bids = new TreeSet<>(comparing(Order::getPrice).reversed()
+            .thenComparing(Order::getPriorityTime).thenComparingLong(Order::getPrioritySequence));
 
     /**
-     * Priority queue of sell orders (asks), sorted by price ASC then time ASC.
-     * Lower prices and earlier timestamps have priority.
+     * Sell orders (asks), sorted by price ASC then time ASC.
+     * Lower prices and earlier priority times have priority; orders stamped in
+     * the same clock tick keep the order in which they started to rest.
      */
-    private final PriorityQueue<Order> asks = new PriorityQueue<>(comparing(Order::getPrice).thenComparing(Order::getTimeStamp));
+    private final TreeSet<Order> asks = new TreeSet<>(comparing(Order::getPrice)
+            .thenComparing(Order::getPriorityTime).thenComparingLong(Order::getPrioritySequence));
+
+    /**
+     * Resting orders of each trader, both sides, by trader ID.
+     */
+    private final Map<String, LinkedHashSet<Order>> ordersByTrader = new HashMap<>();
+
+    /**
+     * Aggregated bid levels by price, best (highest) first.
+     */
+    private final TreeMap<BigDecimal, Level> bidLevels = new TreeMap<>(Collections.reverseOrder());
+
+    /**
+     * Aggregated ask levels by price, best (lowest) first.
+     */
+    private final TreeMap<BigDecimal, Level> askLevels = new TreeMap<>();
+
+    /**
+     * Quantity each resting order contributes to its level, by order ID.
+     */
+    private final Map<Integer, Integer> restingQuantities = new HashMap<>();
 
     /**
      * Symbol of the instrument this order book manages.
@@ -72,28 +134,194 @@ public class OrderBook {
         this.symbol = symbol;
     }
 
+    public String getSymbol() {
+        return symbol;
+    }
+
     public synchronized void add(Order order) {
-        if (order.isBuyOrder()) {
-            bids.add(order);
-        } else {
-            asks.add(order);
+        if (order.getPrioritySequence() == 0) {
+            order.setPriority(order.getPriorityTime(), PRIORITY_SEQUENCE.incrementAndGet());
         }
+        order.showNextSlice();
+        queue(order).add(order);
+        ordersByTrader.computeIfAbsent(order.getTraderId(), traderId -> new LinkedHashSet<>()).add(order);
+        int quantity = order.getVisibleQuantity();
+        restingQuantities.put(order.getOrderId(), quantity);
+        Level level = levels(order).computeIfAbsent(order.getPrice(), price -> new Level());
+        level.quantity += quantity;
+        level.orderCount++;
     }
 
     public synchronized void remove(Order order) {
-        if (order.isBuyOrder()) {
-            bids.remove(order);
-        } else {
-            asks.remove(order);
+        boolean removed = queue(order).remove(order);
+        Integer quantity = restingQuantities.remove(order.getOrderId());
+        if (removed && quantity != null) {
+            LinkedHashSet<Order> traderOrders = ordersByTrader.get(order.getTraderId());
+            traderOrders.remove(order);
+            if (traderOrders.isEmpty()) {
+                ordersByTrader.remove(order.getTraderId());
+            }
+            TreeMap<BigDecimal, Level> levels = levels(order);
+            Level level = levels.get(order.getPrice());
+            level.quantity -= quantity;
+            if (--level.orderCount == 0) {
+                levels.remove(order.getPrice());
+            }
         }
     }
 
+    /**
+     * Removes every resting order of a trader, optionally only on one side.
+     *
+     * <p>Runs in O(k log n) for k removed orders, using the per-trader index.</p>
+     *
+     * @param traderId Trader whose orders to remove
+     * @param side Side to remove, or null for both
+     * @return The removed orders
+     */
+    public synchronized List<Order> removeOrders(String traderId, Order.Side side) {
+        LinkedHashSet<Order> traderOrders = ordersByTrader.get(traderId);
+        if (traderOrders == null) {
+            return List.of();
+        }
+        List<Order> removed = new ArrayList<>();
+        for (Order order : traderOrders) {
+            if (side == null || order.getSide() == side) {
+                removed.add(order);
+            }
+        }
+        removed.forEach(this::remove);
+        return removed;
+    }
+
+    /**
+     * Removes every resting order on one or both sides of the book.
+     *
+     * @param side Side to remove, or null for both
+     * @return The removed orders, bids before asks, each best first
+     */
+    public synchronized List<Order> removeOrders(Order.Side side) {
+        List<Order> removed = new ArrayList<>();
+        if (side != Order.Side.SELL) {
+            removed.addAll(bids);
+        }
+        if (side != Order.Side.BUY) {
+            removed.addAll(asks);
+        }
+        removed.forEach(this::remove);
+        return removed;
+    }
+
+    /**
+     * Gets the number of orders a trader has resting in this book.
+     *
+     * @param traderId Trader ID
+     * @return Resting orders of the trader on both sides
+     */
+    public synchronized int getOrderCount(String traderId) {
+        LinkedHashSet<Order> traderOrders = ordersByTrader.get(traderId);
+        return traderOrders != null ? traderOrders.size() : 0;
+    }
+
+    /**
+     * Amends a resting order without letting it trade.
+     *
+     * <p>A quantity decrease at the same price is applied where the order
+     * stands, keeping its queue priority. Any other change moves the order to
+     * the back of its new price level. The caller must match an order whose
+     * new price {@linkplain #crosses crosses} the book instead.</p>
+     *
+     * @param order A resting order of this book
+     * @param price New limit price
+     * @param quantity New total quantity, more than the quantity already filled
+     * @return false if the order does not rest in this book
+     */
+    public synchronized boolean amend(Order order, BigDecimal price, int quantity) {
+        Integer resting = restingQuantities.get(order.getOrderId());
+        if (resting == null) {
+            return false;
+        }
+        if (price.compareTo(order.getPrice()) == 0 && quantity <= order.getTotalQuantity()) {
+            order.amend(price, quantity);
+            int shown = order.getVisibleQuantity();
+            levels(order).get(order.getPrice()).quantity += shown - resting;
+            restingQuantities.put(order.getOrderId(), shown);
+            return true;
+        }
+        remove(order);
+        order.amend(price, quantity);
+        add(order);
+        return true;
+    }
+
+    /**
+     * Checks whether a limit order at the given price would trade with the other side of the book.
+     *
+     * @param side Side of the order
+     * @param price Limit price of the order
+     * @return true if the best opposite order is at or better than the price
+     */
+    public synchronized boolean crosses(Order.Side side, BigDecimal price) {
+        Order best = side == Order.Side.BUY ? getBestAsk() : getBestBid();
+        if (best == null) {
+            return false;
+        }
+        return side == Order.Side.BUY ? best.getPrice().compareTo(price) <= 0 : best.getPrice().compareTo(price) >= 0;
+    }
+
     public synchronized Order getBestBid() {
-        return bids.peek();
+        return bids.isEmpty() ? null : bids.first();
     }
 
     public synchronized Order getBestAsk() {
-        return asks.peek();
+        return asks.isEmpty() ? null : asks.first();
+    }
+
+    /**
+     * Gets the orders on one side that would trade at a price, in priority order.
+     *
+     * @param side BUY for bids at or above the price, SELL for asks at or below it
+     * @param price The price
+     * @return The orders, best first
+     */
+    public synchronized List<Order> getOrdersThrough(Order.Side side, BigDecimal price) {
+        List<Order> orders = new ArrayList<>();
+        for (Order order : side == Order.Side.BUY ? bids : asks) {
+            int comparison = order.getPrice().compareTo(price);
+            if (side == Order.Side.BUY ? comparison < 0 : comparison > 0) {
+                break;
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /**
+     * Collects the opposite side's best price level as far as an incoming order may trade with it.
+     *
+     * <p>The level ends at the incoming trader's own first order there, which
+     * matching does not trade past. Orders are added in time priority to a
+     * list the caller reuses, so no level is allocated per match.</p>
+     *
+     * @param incoming The incoming order
+     * @param level Receives the orders; expected to be empty
+     * @return Visible quantity of the collected orders
+     */
+    public synchronized int getBestLevel(Order incoming, List<Order> level) {
+        TreeSet<Order> opposite = incoming.isBuyOrder() ? asks : bids;
+        if (opposite.isEmpty()) {
+            return 0;
+        }
+        BigDecimal price = opposite.first().getPrice();
+        int visible = 0;
+        for (Order order : opposite) {
+            if (order.getPrice().compareTo(price) != 0 || order.getTraderId().equals(incoming.getTraderId())) {
+                break;
+            }
+            level.add(order);
+            visible += order.getVisibleQuantity();
+        }
+        return visible;
     }
 
     public synchronized ArrayList<Order> getOrders() {
@@ -103,7 +331,126 @@ public class OrderBook {
         return orders;
     }
 
+    /**
+     * Gets the number of resting orders on both sides of the book.
+     *
+     * @return Number of bids plus asks
+     */
+    public synchronized int size() {
+        return bids.size() + asks.size();
+    }
+
+    /**
+     * Fills an order, keeping its price level in step if it rests in this book.
+     *
+     * <p>A resting iceberg order whose shown slice has filled shows its next
+     * slice and loses time priority at its price.</p>
+     *
+     * @param order The order to fill
+     * @param quantity Quantity filled, at most the order's visible quantity if it rests here
+     */
     public synchronized void fillOrder(Order order, int quantity) {
         order.fill(quantity);
+        Integer resting = restingQuantities.get(order.getOrderId());
+        if (resting != null) {
+            Level level = levels(order).get(order.getPrice());
+            level.quantity -= quantity;
+            int shown = resting - quantity;
+            TreeSet<Order> queue = queue(order);
+            if (order.getVisibleQuantity() == 0 && order.getRemainingQuantity() > 0 && queue.remove(order)) {
+                order.showNextSlice();
+                order.setPriority(ClockProvider.getClock().instant(), PRIORITY_SEQUENCE.incrementAndGet());
+                queue.add(order);
+                shown = order.getVisibleQuantity();
+                level.quantity += shown;
+            }
+            restingQuantities.put(order.getOrderId(), shown);
+        }
+    }
+
+    /**
+     * Adds up what an incoming order could take from the other side of the book.
+     *
+     * <p>Walks the opposite side in price-time priority, like matching does,
+     * and stops at the first order the incoming order cannot match or once
+     * {@code limit} is reached. The book is left unchanged.</p>
+     *
+     * @param incoming The incoming order
+     * @param canMatch Whether the incoming order may trade with a resting order
+     * @param limit Quantity after which to stop counting
+     * @return Matchable quantity, at most {@code limit}
+     */
+    public synchronized int getMatchableQuantity(Order incoming, Predicate<Order> canMatch, int limit) {
+        TreeSet<Order> opposite = incoming.isBuyOrder() ? asks : bids;
+        int quantity = 0;
+        for (Order best : opposite) {
+            if (quantity >= limit || !canMatch.test(best)) {
+                break;
+            }
+            quantity += best.getRemainingQuantity();
+        }
+        return Math.min(quantity, limit);
+    }
+
+    /**
+     * Gets the best price levels on one side of the book.
+     *
+     * @param side BUY for bids (highest first) or SELL for asks (lowest first)
+     * @param maxLevels Maximum number of levels to return
+     * @return Up to {@code maxLevels} levels, best first
+     */
+    public synchronized List<PriceLevel> getDepth(Order.Side side, int maxLevels) {
+        TreeMap<BigDecimal, Level> levels = side == Order.Side.BUY ? bidLevels : askLevels;
+        List<PriceLevel> depth = new ArrayList<>(Math.min(maxLevels, levels.size()));
+        for (Map.Entry<BigDecimal, Level> entry : levels.entrySet()) {
+            if (depth.size() >= maxLevels) {
+                break;
+            }
+            depth.add(new PriceLevel(entry.getKey(), entry.getValue().quantity, entry.getValue().orderCount));
+        }
+        return depth;
+    }
+
+    /**
+     * Gets the price levels on one side that would trade at a price.
+     *
+     * @param side BUY for bid levels at or above the price, SELL for ask levels at or below it
+     * @param price The price
+     * @return The levels, best first
+     */
+    public synchronized List<PriceLevel> getDepthThrough(Order.Side side, BigDecimal price) {
+        TreeMap<BigDecimal, Level> levels = side == Order.Side.BUY ? bidLevels : askLevels;
+        List<PriceLevel> depth = new ArrayList<>();
+        // Both maps are ordered best first, so the head map holds the prices at or better than the price
+        for (Map.Entry<BigDecimal, Level> entry : levels.headMap(price, true).entrySet()) {
+            depth.add(new PriceLevel(entry.getKey(), entry.getValue().quantity, entry.getValue().orderCount));
+        }
+        return depth;
+    }
+
+    /**
+     * Gets the number of distinct prices on one side of the book.
+     *
+     * @param side BUY for bids or SELL for asks
+     * @return Number of price levels
+     */
+    public synchronized int getLevelCount(Order.Side side) {
+        return side == Order.Side.BUY ? bidLevels.size() : askLevels.size();
+    }
+
+    private TreeSet<Order> queue(Order order) {
+        return order.isBuyOrder() ? bids : asks;
+    }
+
+    private TreeMap<BigDecimal, Level> levels(Order order) {
+        return order.isBuyOrder() ? bidLevels : askLevels;
+    }
+
+    /**
+     * Running totals for one price; mutated only under the book lock.
+     */
+    private static final class Level {
+        private int quantity;
+        private int orderCount;
     }
 }
@@ -1,5 +1,7 @@
 package org.team27.stocksim.model.market;
 
+import org.team27.stocksim.model.clock.ClockProvider;
+
 import java.math.BigDecimal;
 
 /**
@@ -26,6 +28,9 @@ import java.math.BigDecimal;
  *   <li>Quantity must be positive</li>
  *   <li>Limit orders must have positive price</li>
  *   <li>Market orders may have null/zero price</li>
+ *   <li>Stop and stop-limit orders must have a positive stop price</li>
+ *   <li>Iceberg orders must be limit orders showing less than their quantity</li>
+ *   <li>Time in force must be set; GTT orders need an expiry in the future</li>
  * </ul>
  *
  * <h2>Usage Example:</h2>
@@ -160,6 +165,39 @@ public class OrderValidator {
             }
         }
 
+        if (order.isStopOrder()) {
+            if (order.getStopPrice() == null) {
+                return ValidationResult.failure("Stop price cannot be null");
+            }
+            if (order.getStopPrice().compareTo(BigDecimal.ZERO) <= 0) {
+                return ValidationResult.failure("Stop price must be positive");
+            }
+        }
+
+        if (order.getDisplayQuantity() < 0) {
+            return ValidationResult.failure("Display quantity cannot be negative");
+        }
+        if (order.isIceberg()) {
+            if (order.isMarketOrder()) {
+                return ValidationResult.failure("Iceberg orders must be limit orders");
+            }
+            if (order.getDisplayQuantity() >= order.getTotalQuantity()) {
+                return ValidationResult.failure("Display quantity must be less than quantity");
+            }
+        }
+
+        if (order.getTimeInForce() == null) {
+            return ValidationResult.failure("Time in force is required");
+        }
+        if (order.getTimeInForce() == Order.TimeInForce.GTT) {
+            if (order.getExpireTime() == null) {
+                return ValidationResult.failure("GTT order expire time cannot be null");
+            }
+            if (!order.getExpireTime().isAfter(ClockProvider.getClock().instant())) {
+                return ValidationResult.failure("GTT order expire time must be in the future");
+            }
+        }
+
         return ValidationResult.success();
     }
 }
@@ -0,0 +1,61 @@
+package org.team27.stocksim.model.market;
+
+import java.math.BigDecimal;
+
+/**
+ * Aggregated resting interest at one price on one side of an order book.
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see OrderBook
+ */
+public class PriceLevel {
+
+    private final BigDecimal price;
+    private final int quantity;
+    private final int orderCount;
+
+    public PriceLevel(BigDecimal price, int quantity, int orderCount) {
+        this.price = price;
+        this.quantity = quantity;
+        this.orderCount = orderCount;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * Gets the remaining quantity of all orders at this price.
+     *
+     * @return Total remaining quantity
+     */
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public int getOrderCount() {
+        return orderCount;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof PriceLevel level)) {
+            return false;
+        }
+        return price.compareTo(level.price) == 0 && quantity == level.quantity && orderCount == level.orderCount;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * price.stripTrailingZeros().hashCode() + quantity) + orderCount;
+    }
+
+    @Override
+    public String toString() {
+        return quantity + " @ " + price + " (" + orderCount + ")";
+    }
+}
@@ -0,0 +1,26 @@
+package org.team27.stocksim.model.market;
+
+import java.util.List;
+
+/**
+ * Allocates to the oldest order at a price first, as most equity venues do.
+ *
+ * <p>Gives the same fills as the engine's default matching; it exists so
+ * price-time priority can be selected and compared like the other
+ * strategies.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see IAllocationStrategy
+ */
+public class PriceTimeAllocation implements IAllocationStrategy {
+
+    @Override
+    public void allocate(List<Order> level, int quantity, int[] allocations) {
+        for (int i = 0; i < level.size() && quantity > 0; i++) {
+            int share = Math.min(quantity, level.get(i).getVisibleQuantity());
+            allocations[i] = share;
+            quantity -= share;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.team27.stocksim.model.market;
+
+import java.util.List;
+
+/**
+ * Allocates in proportion to the size of each order at a price, as many futures venues do.
+ *
+ * <p>Each order gets its share of the quantity rounded down; the lots left
+ * over by rounding go to the orders in time priority. Arriving early thus
+ * matters little, and posting size is rewarded instead.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see IAllocationStrategy
+ */
+public class ProRataAllocation implements IAllocationStrategy {
+
+    @Override
+    public void allocate(List<Order> level, int quantity, int[] allocations) {
+        long total = 0;
+        for (Order order : level) {
+            total += order.getVisibleQuantity();
+        }
+        if (total == 0) {
+            return;
+        }
+        int allocated = 0;
+        for (int i = 0; i < level.size(); i++) {
+            allocations[i] = (int) ((long) quantity * level.get(i).getVisibleQuantity() / total);
+            allocated += allocations[i];
+        }
+        for (int i = 0; i < level.size() && allocated < quantity; i++) {
+            int extra = Math.min(quantity - allocated, level.get(i).getVisibleQuantity() - allocations[i]);
+            allocations[i] += extra;
+            allocated += extra;
+        }
+    }
+}
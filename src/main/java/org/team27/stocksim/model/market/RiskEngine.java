@@ -0,0 +1,424 @@
+package org.team27.stocksim.model.market;
+
+import org.team27.stocksim.model.portfolio.Portfolio;
+import org.team27.stocksim.model.users.Trader;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pre-trade risk checks that reserve buying power and sellable shares per order.
+ *
+ * <p>The market asks the engine to {@link #reserve} every order after it passed
+ * the {@link OrderValidator} and before it is matched. A buy order reserves
+ * cash for its whole quantity at its limit price, a sell order reserves the
+ * shares it offers. A trader's orders can therefore never promise more than the
+ * portfolio holds, even when several threads place orders for the trader at
+ * once, so settlement no longer meets a buyer without funds or a seller without
+ * shares.</p>
+ *
+ * <p>Reservations are released as the order's trades settle and, for whatever
+ * did not trade, when the order is cancelled, expires or is dropped. The
+ * market reports each settled trade only after the {@link SettlementEngine}
+ * moved the cash and shares, so a trader's available amount never counts a
+ * trade twice.</p>
+ *
+ * <p><strong>Design Patterns:</strong> Validator + Result Object</p>
+ * <ul>
+ *   <li>Every check is O(1): one map lookup per trader and per order</li>
+ *   <li>Reserved cash and shares are per-trader atomic counters updated by
+ *       compare-and-set, with no lock on the order path</li>
+ *   <li>Cash is counted in ten-thousandths, rounded against the trader</li>
+ *   <li>Enforces the fat-finger, price band and open order limits of
+ *       {@link RiskLimits}</li>
+ *   <li>Market buys reserve at the last price plus the market order
+ *       protection band of {@link MarketOrderConfig}, and that price caps
+ *       what they may trade at, so a gap can never overrun the reservation</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * RiskEngine riskEngine = new RiskEngine(RiskLimits.createDefault(), MarketOrderConfig.createDefault());
+ *
+ * ValidationResult result = riskEngine.reserve(order, trader, stock.getCurrentPrice());
+ * if (result.isValid()) {
+ *     // match the order, then for every settled trade:
+ *     riskEngine.onTrade(trade);
+ * }
+ * riskEngine.onOrderClosed(order);
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see RiskLimits
+ * @see OrderValidator
+ * @see Market
+ */
+public class RiskEngine {
+
+    /**
+     * Decimal places of the cash units reservations are counted in.
+     */
+    private static final int CASH_SCALE = 4;
+
+    private final RiskLimits limits;
+
+    /**
+     * Fraction above the reference price a market buy may trade at.
+     */
+    private final BigDecimal marketOrderDeviation;
+
+    /**
+     * Reserved amounts by trader ID.
+     */
+    private final ConcurrentHashMap<String, Account> accounts;
+
+    /**
+     * Reservations of open orders by order ID.
+     */
+    private final ConcurrentHashMap<Integer, Reservation> reservations;
+
+    /**
+     * Constructs a RiskEngine with default limits and market order settings.
+     */
+    public RiskEngine() {
+        this(RiskLimits.createDefault(), MarketOrderConfig.createDefault());
+    }
+
+    /**
+     * Constructs a RiskEngine.
+     *
+     * @param limits Order size, price band and open order limits
+     * @param marketOrderConfig Price protection of market orders, used to price market buys
+     */
+    public RiskEngine(RiskLimits limits, MarketOrderConfig marketOrderConfig) {
+        this.limits = limits;
+        this.marketOrderDeviation = marketOrderConfig.getMaxPriceDeviation();
+        this.accounts = new ConcurrentHashMap<>();
+        this.reservations = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Checks an order against the limits and reserves what it may spend or deliver.
+     *
+     * @param order The validated order
+     * @param trader The trader who placed it, or null if unknown
+     * @param referencePrice Last price of the order's instrument, or null if unknown
+     * @return ValidationResult indicating success, or why the order was rejected
+     */
+    public OrderValidator.ValidationResult reserve(Order order, Trader trader, BigDecimal referencePrice) {
+        if (trader == null) {
+            return OrderValidator.ValidationResult.failure("Unknown trader " + order.getTraderId());
+        }
+        int quantity = order.getTotalQuantity();
+        if (quantity > limits.getMaxOrderQuantity()) {
+            return OrderValidator.ValidationResult.failure(
+                    "Quantity exceeds the maximum order size of " + limits.getMaxOrderQuantity());
+        }
+        if (!order.isMarketOrder() && !withinBand(order.getPrice(), referencePrice)) {
+            return OrderValidator.ValidationResult.failure("Price " + order.getPrice() + " is outside the price band");
+        }
+        if (order.isStopOrder() && !withinBand(order.getStopPrice(), referencePrice)) {
+            return OrderValidator.ValidationResult.failure(
+                    "Stop price " + order.getStopPrice() + " is outside the price band");
+        }
+
+        long unitCash = 0;
+        if (order.isBuyOrder()) {
+            BigDecimal unitPrice = buyPrice(order, referencePrice);
+            if (unitPrice == null) {
+                return OrderValidator.ValidationResult.failure("No reference price for market buy");
+            }
+            unitCash = toUnitsUp(unitPrice);
+        }
+
+        Account account = accounts.computeIfAbsent(order.getTraderId(), id -> new Account(trader.getPortfolio()));
+        if (account.openOrders.incrementAndGet() > limits.getMaxOpenOrders()) {
+            account.openOrders.decrementAndGet();
+            return OrderValidator.ValidationResult.failure(
+                    "Open order limit of " + limits.getMaxOpenOrders() + " reached");
+        }
+        Reservation reservation = new Reservation(account, order.getSymbol(), order.getSide(), unitCash, quantity);
+        boolean reserved = order.isBuyOrder()
+                ? account.tryReserveCash(Math.multiplyExact(unitCash, quantity))
+                : account.tryReserveShares(order.getSymbol(), quantity);
+        if (!reserved) {
+            account.openOrders.decrementAndGet();
+            return OrderValidator.ValidationResult.failure(
+                    order.isBuyOrder() ? "Insufficient buying power" : "Insufficient shares");
+        }
+        reservations.put(order.getOrderId(), reservation);
+        if (order.isBuyOrder() && order.isMarketOrder()) {
+            // The first trade of a symbol or a gap past a stop would otherwise trade above the reservation
+            order.setPriceCap(BigDecimal.valueOf(unitCash, CASH_SCALE));
+        }
+        return OrderValidator.ValidationResult.success();
+    }
+
+    /**
+     * Adjusts the reservation of an order to an amended price and quantity.
+     *
+     * <p>Nothing changes if the amend is rejected.</p>
+     *
+     * @param order The order being amended
+     * @param price The new limit price
+     * @param quantity The new total quantity, filled part included
+     * @param referencePrice Last price of the order's instrument, or null if unknown
+     * @return ValidationResult indicating success, or why the amend was rejected
+     */
+    public OrderValidator.ValidationResult amend(Order order, BigDecimal price, int quantity,
+            BigDecimal referencePrice) {
+        if (quantity > limits.getMaxOrderQuantity()) {
+            return OrderValidator.ValidationResult.failure(
+                    "Quantity exceeds the maximum order size of " + limits.getMaxOrderQuantity());
+        }
+        if (!withinBand(price, referencePrice)) {
+            return OrderValidator.ValidationResult.failure("Price " + price + " is outside the price band");
+        }
+        Reservation reservation = reservations.get(order.getOrderId());
+        if (reservation == null) {
+            return OrderValidator.ValidationResult.failure("Order is not open");
+        }
+        return reservation.resize(order.isBuyOrder() ? toUnitsUp(price) : 0, quantity)
+                ? OrderValidator.ValidationResult.success()
+                : OrderValidator.ValidationResult.failure(
+                        order.isBuyOrder() ? "Insufficient buying power" : "Insufficient shares");
+    }
+
+    /**
+     * Releases what a settled trade used of both orders' reservations.
+     *
+     * <p>Must be called after the trade's cash and shares were transferred.</p>
+     *
+     * @param trade The settled trade
+     */
+    public void onTrade(Trade trade) {
+        release(trade.getBuyOrderId(), trade.getQuantity());
+        release(trade.getSellOrderId(), trade.getQuantity());
+    }
+
+    private void release(int orderId, int quantity) {
+        Reservation reservation = reservations.get(orderId);
+        if (reservation != null && reservation.release(quantity)) {
+            reservations.remove(orderId, reservation);
+        }
+    }
+
+    /**
+     * Frees the open order slot of an order that stopped being active.
+     *
+     * <p>A cancelled, expired or dropped order gives back its whole remaining
+     * reservation. A filled order keeps its reservation until its last trades
+     * have settled, since a resting order may close before they do.</p>
+     *
+     * @param order The closed order
+     */
+    public void onOrderClosed(Order order) {
+        Reservation reservation = reservations.get(order.getOrderId());
+        if (reservation != null && reservation.close(order.getStatus() != Order.Status.FILLED)) {
+            reservations.remove(order.getOrderId(), reservation);
+        }
+    }
+
+    /**
+     * Gets the cash reserved by a trader's open orders.
+     *
+     * @param traderId Trader ID
+     * @return Reserved cash
+     */
+    public BigDecimal getReservedCash(String traderId) {
+        Account account = accounts.get(traderId);
+        return BigDecimal.valueOf(account != null ? account.reservedCash.get() : 0, CASH_SCALE);
+    }
+
+    /**
+     * Gets the shares of a symbol reserved by a trader's open sell orders.
+     *
+     * @param traderId Trader ID
+     * @param symbol Instrument symbol
+     * @return Reserved shares
+     */
+    public int getReservedShares(String traderId, String symbol) {
+        Account account = accounts.get(traderId);
+        AtomicInteger reserved = account != null ? account.reservedShares.get(symbol) : null;
+        return reserved != null ? reserved.get() : 0;
+    }
+
+    /**
+     * Gets the number of a trader's orders counted against the open order limit.
+     *
+     * @param traderId Trader ID
+     * @return Open orders
+     */
+    public int getOpenOrderCount(String traderId) {
+        Account account = accounts.get(traderId);
+        return account != null ? account.openOrders.get() : 0;
+    }
+
+    private boolean withinBand(BigDecimal price, BigDecimal referencePrice) {
+        if (referencePrice == null || referencePrice.compareTo(BigDecimal.ZERO) <= 0) {
+            return true;
+        }
+        BigDecimal maxDeviation = referencePrice.multiply(limits.getPriceBand());
+        return price.subtract(referencePrice).abs().compareTo(maxDeviation) <= 0;
+    }
+
+    /**
+     * Highest price a buy order can trade at, or null if it cannot be bounded.
+     */
+    private BigDecimal buyPrice(Order order, BigDecimal referencePrice) {
+        if (!order.isMarketOrder()) {
+            return order.getPrice();
+        }
+        // A stop market order trades around its stop price once triggered
+        BigDecimal base = order.isStopOrder() ? order.getStopPrice() : referencePrice;
+        if (base == null || base.compareTo(BigDecimal.ZERO) <= 0) {
+            return null;
+        }
+        return base.add(base.multiply(marketOrderDeviation));
+    }
+
+    private static long toUnitsUp(BigDecimal amount) {
+        return amount.setScale(CASH_SCALE, RoundingMode.CEILING).unscaledValue().longValueExact();
+    }
+
+    private static long toUnitsDown(BigDecimal amount) {
+        return amount.setScale(CASH_SCALE, RoundingMode.FLOOR).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Cash and shares reserved by one trader's open orders.
+     */
+    private static final class Account {
+
+        private final Portfolio portfolio;
+        private final AtomicLong reservedCash = new AtomicLong();
+        private final ConcurrentHashMap<String, AtomicInteger> reservedShares = new ConcurrentHashMap<>();
+        private final AtomicInteger openOrders = new AtomicInteger();
+
+        private Account(Portfolio portfolio) {
+            this.portfolio = portfolio;
+        }
+
+        private boolean tryReserveCash(long amount) {
+            while (true) {
+                long reserved = reservedCash.get();
+                if (toUnitsDown(portfolio.getBalance()) - reserved < amount) {
+                    return false;
+                }
+                if (reservedCash.compareAndSet(reserved, reserved + amount)) {
+                    return true;
+                }
+            }
+        }
+
+        private boolean tryReserveShares(String symbol, int quantity) {
+            AtomicInteger shares = reservedShares.computeIfAbsent(symbol, s -> new AtomicInteger());
+            while (true) {
+                int reserved = shares.get();
+                if (portfolio.getStockQuantity(symbol) - reserved < quantity) {
+                    return false;
+                }
+                if (shares.compareAndSet(reserved, reserved + quantity)) {
+                    return true;
+                }
+            }
+        }
+
+        private void releaseShares(String symbol, int quantity) {
+            reservedShares.get(symbol).addAndGet(-quantity);
+        }
+    }
+
+    /**
+     * What one open order holds of its trader's account.
+     *
+     * <p>Changed by the thread matching the order and, for amends, the thread
+     * amending it; the monitor is per order and therefore uncontended.</p>
+     */
+    private static final class Reservation {
+
+        private final Account account;
+        private final String symbol;
+        private final Order.Side side;
+        private long unitCash;
+        private int quantity;
+        private int remaining;
+        private boolean closed;
+
+        private Reservation(Account account, String symbol, Order.Side side, long unitCash, int quantity) {
+            this.account = account;
+            this.symbol = symbol;
+            this.side = side;
+            this.unitCash = unitCash;
+            this.quantity = quantity;
+            this.remaining = quantity;
+        }
+
+        /**
+         * Releases the reservation of traded shares; true once nothing is left to release.
+         */
+        private synchronized boolean release(int traded) {
+            int released = Math.min(traded, remaining);
+            giveBack(released);
+            return closed && remaining == 0;
+        }
+
+        /**
+         * Marks the order closed and gives back the rest if it will not trade; true once nothing is left.
+         */
+        private synchronized boolean close(boolean releaseRemaining) {
+            if (!closed) {
+                closed = true;
+                account.openOrders.decrementAndGet();
+            }
+            if (releaseRemaining) {
+                giveBack(remaining);
+            }
+            return remaining == 0;
+        }
+
+        private synchronized boolean resize(long newUnitCash, int newQuantity) {
+            int newRemaining = newQuantity - (quantity - remaining);
+            if (closed || newRemaining <= 0) {
+                return false;
+            }
+            if (side == Order.Side.BUY) {
+                long delta = Math.multiplyExact(newUnitCash, newRemaining) - unitCash * remaining;
+                if (delta > 0 && !account.tryReserveCash(delta)) {
+                    return false;
+                }
+                if (delta < 0) {
+                    account.reservedCash.addAndGet(delta);
+                }
+                unitCash = newUnitCash;
+            } else {
+                int delta = newRemaining - remaining;
+                if (delta > 0 && !account.tryReserveShares(symbol, delta)) {
+                    return false;
+                }
+                if (delta < 0) {
+                    account.releaseShares(symbol, -delta);
+                }
+            }
+            quantity = newQuantity;
+            remaining = newRemaining;
+            return true;
+        }
+
+        private void giveBack(int shares) {
+            if (shares == 0) {
+                return;
+            }
+            remaining -= shares;
+            if (side == Order.Side.BUY) {
+                account.reservedCash.addAndGet(-unitCash * shares);
+            } else {
+                account.releaseShares(symbol, shares);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package org.team27.stocksim.model.market;
+
+import java.math.BigDecimal;
+
+/**
+ * Limits enforced by the {@link RiskEngine} before an order reaches the book.
+ *
+ * <p>Buying power and sellable quantity are always checked; these limits add
+ * protection against orders that are affordable but implausible.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Configuration Object + Immutable Value Object</p>
+ * <ul>
+ *   <li>Immutable configuration prevents mid-execution changes</li>
+ *   <li>Validates parameters at construction</li>
+ *   <li>Provides sensible defaults via factory method</li>
+ * </ul>
+ *
+ * <h2>Configuration Parameters:</h2>
+ * <ul>
+ *   <li><strong>Max Order Quantity:</strong> Fat-finger limit on a single order (default: 100,000)</li>
+ *   <li><strong>Price Band:</strong> Maximum % a limit or stop price may deviate from
+ *       the last price (default: 50%)</li>
+ *   <li><strong>Max Open Orders:</strong> Active orders allowed per trader (default: 10,000)</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * RiskLimits limits = new RiskLimits(10_000, new BigDecimal("0.20"), 50);
+ * SimulationConfig config = SimulationConfig.builder().riskLimits(limits).build();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see RiskEngine
+ */
+public class RiskLimits {
+    /**
+     * Largest total quantity a single order may have.
+     */
+    private final int maxOrderQuantity;
+
+    /**
+     * Maximum deviation of an order's price from the last price, as decimal (e.g., 0.50 = 50%).
+     */
+    private final BigDecimal priceBand;
+
+    /**
+     * Largest number of active orders, stops included, one trader may have.
+     */
+    private final int maxOpenOrders;
+
+    /**
+     * Constructs RiskLimits with specified parameters.
+     *
+     * @param maxOrderQuantity Largest quantity of a single order
+     * @param priceBand Maximum price deviation from the last price as decimal
+     * @param maxOpenOrders Largest number of active orders per trader
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public RiskLimits(int maxOrderQuantity, BigDecimal priceBand, int maxOpenOrders) {
+        if (maxOrderQuantity <= 0) {
+            throw new IllegalArgumentException("Max order quantity must be positive");
+        }
+        if (priceBand == null || priceBand.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new IllegalArgumentException("Price band must be positive");
+        }
+        if (maxOpenOrders <= 0) {
+            throw new IllegalArgumentException("Max open orders must be positive");
+        }
+        this.maxOrderQuantity = maxOrderQuantity;
+        this.priceBand = priceBand;
+        this.maxOpenOrders = maxOpenOrders;
+    }
+
+    /**
+     * Creates default limits: 100,000 shares per order, a 50% price band and
+     * 10,000 open orders per trader.
+     *
+     * @return Default RiskLimits
+     */
+    public static RiskLimits createDefault() {
+        return new RiskLimits(100_000, new BigDecimal("0.50"), 10_000);
+    }
+
+    public int getMaxOrderQuantity() {
+        return maxOrderQuantity;
+    }
+
+    public BigDecimal getPriceBand() {
+        return priceBand;
+    }
+
+    public int getMaxOpenOrders() {
+        return maxOpenOrders;
+    }
+}
@@ -1,6 +1,7 @@
 package org.team27.stocksim.model.market;
 
 import org.team27.stocksim.model.portfolio.Portfolio;
+import org.team27.stocksim.model.profiling.SettlementEvent;
 import org.team27.stocksim.model.users.Trader;
 import org.team27.stocksim.model.users.User;
 import org.team27.stocksim.model.instruments.Instrument;
@@ -103,6 +104,29 @@ public class SettlementEngine implements ISettlementEngine {
      */
     @Override
     public boolean settleTrade(Trade trade, HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
+        SettlementEvent event = new SettlementEvent();
+        event.begin();
+        boolean settled = settle(trade, traders, stocks);
+        if (event.shouldCommit()) {
+            event.symbol = trade.getStockSymbol();
+            event.buyOrderId = trade.getBuyOrderId();
+            event.sellOrderId = trade.getSellOrderId();
+            event.quantity = trade.getQuantity();
+            event.buyerType = traderType(traders, trade.getBuyOrderId());
+            event.sellerType = traderType(traders, trade.getSellOrderId());
+            event.settled = settled;
+            event.commit();
+        }
+        return settled;
+    }
+
+    private String traderType(HashMap<String, Trader> traders, int orderId) {
+        String traderId = orderIdToTraderId.get(orderId);
+        Trader trader = traderId != null ? traders.get(traderId) : null;
+        return trader != null ? trader.getClass().getSimpleName() : null;
+    }
+
+    private boolean settle(Trade trade, HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
         String buyerTraderId = orderIdToTraderId.get(trade.getBuyOrderId());
         String sellerTraderId = orderIdToTraderId.get(trade.getSellOrderId());
 
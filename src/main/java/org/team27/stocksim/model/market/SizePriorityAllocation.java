@@ -0,0 +1,30 @@
+package org.team27.stocksim.model.market;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Allocates to the largest order at a price first, then by time among orders of equal size.
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see IAllocationStrategy
+ */
+public class SizePriorityAllocation implements IAllocationStrategy {
+
+    @Override
+    public void allocate(List<Order> level, int quantity, int[] allocations) {
+        // Sort keys of visible quantity and index; the index keeps the sort stable
+        long[] keys = new long[level.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) -level.get(i).getVisibleQuantity() << 32) | i;
+        }
+        Arrays.sort(keys);
+        for (int k = 0; k < keys.length && quantity > 0; k++) {
+            int i = (int) keys[k];
+            int share = Math.min(quantity, level.get(i).getVisibleQuantity());
+            allocations[i] = share;
+            quantity -= share;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.team27.stocksim.model.market;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Holds the untriggered stop and stop-limit orders of one instrument.
+ *
+ * <p>Orders are indexed by stop price: buy stops lowest first, because a
+ * rising price reaches the lowest buy stop first, and sell stops highest
+ * first. A trade therefore only looks at the front of each index and stops
+ * at the first stop price it does not reach, so triggering k orders costs
+ * O(k log n) and a trade that triggers nothing costs O(1). Within a stop
+ * price, orders trigger in arrival order.</p>
+ *
+ * <p>The book remembers the last trade price it saw, so a stop order whose
+ * stop price has already been reached is triggered on arrival instead of
+ * waiting for the next trade.</p>
+ *
+ * <p>Like {@link OrderBook}, the book indexes its orders by trader, so a
+ * mass cancel removes one trader's stops without scanning the others.</p>
+ *
+ * <p><strong>Design Patterns:</strong> Repository + Observer</p>
+ * <ul>
+ *   <li>Buy stops sorted by stop price ASC, sell stops by stop price DESC</li>
+ *   <li>Fed every trade price of its instrument by the market</li>
+ *   <li>Returns triggered orders to the caller, which matches them</li>
+ *   <li>Thread-safe operations using synchronized methods; the market calls
+ *       it under the lock of the instrument's {@link OrderBook}</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * StopOrderBook stopBook = new StopOrderBook("AAPL");
+ * Order stopLoss = Order.stop(Order.Side.SELL, "AAPL", new BigDecimal("140.00"), 100, "trader1");
+ * if (!stopBook.add(stopLoss)) {
+ *     // Already triggered by the last trade; match it now
+ * }
+ *
+ * for (Order triggered : stopBook.onTrade(trade.getPrice())) {
+ *     matchingEngine.match(triggered, orderBook);
+ * }
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see Order
+ * @see OrderBook
+ * @see Market
+ */
+public class StopOrderBook {
+
+    /**
+     * Untriggered buy stops by stop price, lowest first.
+     */
+    private final TreeMap<BigDecimal, LinkedHashSet<Order>> buyStops = new TreeMap<>();
+
+    /**
+     * Untriggered sell stops by stop price, highest first.
+     */
+    private final TreeMap<BigDecimal, LinkedHashSet<Order>> sellStops = new TreeMap<>(Collections.reverseOrder());
+
+    /**
+     * Untriggered stops of each trader, both sides, by trader ID.
+     */
+    private final Map<String, LinkedHashSet<Order>> stopsByTrader = new HashMap<>();
+
+    /**
+     * Symbol of the instrument this book manages.
+     */
+    private final String symbol;
+
+    private BigDecimal lastTradePrice;
+    private int size;
+
+    /**
+     * Constructs an empty stop order book.
+     *
+     * @param symbol The stock/instrument symbol this book manages
+     */
+    public StopOrderBook(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Adds a stop order unless the last trade already reached its stop price.
+     *
+     * @param order An untriggered STOP or STOP_LIMIT order
+     * @return true if the order now waits in the book, false if it was triggered instead
+     */
+    public synchronized boolean add(Order order) {
+        if (lastTradePrice != null && order.isTriggeredBy(lastTradePrice)) {
+            order.trigger();
+            return false;
+        }
+        stops(order).computeIfAbsent(order.getStopPrice(), price -> new LinkedHashSet<>()).add(order);
+        stopsByTrader.computeIfAbsent(order.getTraderId(), traderId -> new LinkedHashSet<>()).add(order);
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes an untriggered stop order, e.g. when it is cancelled or expires.
+     *
+     * @param order The order to remove
+     * @return true if the order was waiting in this book
+     */
+    public synchronized boolean remove(Order order) {
+        if (!order.isStopOrder()) {
+            return false;
+        }
+        TreeMap<BigDecimal, LinkedHashSet<Order>> stops = stops(order);
+        LinkedHashSet<Order> level = stops.get(order.getStopPrice());
+        if (level == null || !level.remove(order)) {
+            return false;
+        }
+        if (level.isEmpty()) {
+            stops.remove(order.getStopPrice());
+        }
+        unindex(order);
+        size--;
+        return true;
+    }
+
+    /**
+     * Removes every untriggered stop order of a trader, optionally only on one side.
+     *
+     * @param traderId Trader whose stops to remove
+     * @param side Side to remove, or null for both
+     * @return The removed orders
+     */
+    public synchronized List<Order> removeOrders(String traderId, Order.Side side) {
+        LinkedHashSet<Order> traderStops = stopsByTrader.get(traderId);
+        if (traderStops == null) {
+            return List.of();
+        }
+        List<Order> removed = new ArrayList<>();
+        for (Order order : traderStops) {
+            if (side == null || order.getSide() == side) {
+                removed.add(order);
+            }
+        }
+        removed.forEach(this::remove);
+        return removed;
+    }
+
+    /**
+     * Removes every untriggered stop order on one or both sides.
+     *
+     * @param side Side to remove, or null for both
+     * @return The removed orders, buy stops before sell stops
+     */
+    public synchronized List<Order> removeOrders(Order.Side side) {
+        List<Order> removed = new ArrayList<>();
+        if (side != Order.Side.SELL) {
+            buyStops.values().forEach(removed::addAll);
+        }
+        if (side != Order.Side.BUY) {
+            sellStops.values().forEach(removed::addAll);
+        }
+        removed.forEach(this::remove);
+        return removed;
+    }
+
+    /**
+     * Records a trade and triggers every stop order its price reached.
+     *
+     * @param tradePrice Price of a trade in this book's instrument
+     * @return Triggered orders, buy stops before sell stops, each in trigger priority
+     */
+    public synchronized List<Order> onTrade(BigDecimal tradePrice) {
+        lastTradePrice = tradePrice;
+        if (size == 0) {
+            return List.of();
+        }
+        List<Order> triggered = new ArrayList<>();
+        drain(buyStops, tradePrice, triggered);
+        drain(sellStops, tradePrice, triggered);
+        return triggered;
+    }
+
+    private void drain(TreeMap<BigDecimal, LinkedHashSet<Order>> stops, BigDecimal tradePrice,
+            List<Order> triggered) {
+        while (!stops.isEmpty()) {
+            Map.Entry<BigDecimal, LinkedHashSet<Order>> first = stops.firstEntry();
+            if (!first.getValue().iterator().next().isTriggeredBy(tradePrice)) {
+                return;
+            }
+            stops.pollFirstEntry();
+            for (Order order : first.getValue()) {
+                unindex(order);
+                order.trigger();
+                triggered.add(order);
+                size--;
+            }
+        }
+    }
+
+    /**
+     * Gets the untriggered stop orders of both sides.
+     *
+     * @return Buy stops then sell stops, each in trigger priority
+     */
+    public synchronized List<Order> getOrders() {
+        List<Order> orders = new ArrayList<>(size);
+        buyStops.values().forEach(orders::addAll);
+        sellStops.values().forEach(orders::addAll);
+        return orders;
+    }
+
+    /**
+     * Gets the number of untriggered stop orders.
+     *
+     * @return Buy stops plus sell stops
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    private void unindex(Order order) {
+        LinkedHashSet<Order> traderStops = stopsByTrader.get(order.getTraderId());
+        traderStops.remove(order);
+        if (traderStops.isEmpty()) {
+            stopsByTrader.remove(order.getTraderId());
+        }
+    }
+
+    private TreeMap<BigDecimal, LinkedHashSet<Order>> stops(Order order) {
+        return order.isBuyOrder() ? buyStops : sellStops;
+    }
+}
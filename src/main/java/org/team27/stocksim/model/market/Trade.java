@@ -73,6 +73,16 @@ public class Trade {
      */
     private final Instant time;
 
+    /**
+     * ID of the trader on the buy side, or null if not known.
+     */
+    private final String buyerTraderId;
+
+    /**
+     * ID of the trader on the sell side, or null if not known.
+     */
+    private final String sellerTraderId;
+
     /**
      * Constructs a new Trade recording a completed transaction.
      *
@@ -84,6 +94,26 @@ public class Trade {
      * @param time Timestamp of execution
      */
     public Trade(int buyOrderId, int sellOrderId, String stockSymbol, BigDecimal price, int quantity, Instant time) {
+        this(buyOrderId, sellOrderId, stockSymbol, price, quantity, time, null, null);
+    }
+
+    /**
+     * Constructs a new Trade that also records the traders on each side.
+     *
+     * <p>Used by the matching engine so that settlement listeners can find
+     * the counterparties without looking up order IDs.</p>
+     *
+     * @param buyOrderId ID of the buy order
+     * @param sellOrderId ID of the sell order
+     * @param stockSymbol Symbol of the traded instrument
+     * @param price Execution price
+     * @param quantity Number of units traded
+     * @param time Timestamp of execution
+     * @param buyerTraderId ID of the buying trader
+     * @param sellerTraderId ID of the selling trader
+     */
+    public Trade(int buyOrderId, int sellOrderId, String stockSymbol, BigDecimal price, int quantity, Instant time,
+            String buyerTraderId, String sellerTraderId) {
 
         this.stockSymbol = stockSymbol;
         this.price = price;
@@ -91,6 +121,8 @@ public class Trade {
         this.buyOrderId = buyOrderId;
         this.sellOrderId = sellOrderId;
         this.time = time;
+        this.buyerTraderId = buyerTraderId;
+        this.sellerTraderId = sellerTraderId;
     }
 
     public String getStockSymbol() {
@@ -116,4 +148,12 @@ public class Trade {
     public Instant getTime() {
         return time;
     }
+
+    public String getBuyerTraderId() {
+        return buyerTraderId;
+    }
+
+    public String getSellerTraderId() {
+        return sellerTraderId;
+    }
 }
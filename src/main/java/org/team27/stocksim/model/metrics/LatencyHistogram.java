@@ -0,0 +1,148 @@
+package org.team27.stocksim.model.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free, allocation-free histogram of latencies in nanoseconds.
+ *
+ * <p>LatencyHistogram uses HDR-style log-linear buckets: every power of two is
+ * split into {@value #SUB_BUCKETS} equal sub-buckets, so any recorded value is
+ * reported within about 3% of its true value, from one nanosecond up to
+ * {@code Long.MAX_VALUE}, in a fixed array of counters. Recording is a few
+ * bit operations and one atomic increment, so it can sit on the matching
+ * hot path.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Log-linear bucketing (as in HdrHistogram)</p>
+ * <ul>
+ *   <li>Values below {@value #SUB_BUCKETS} get one exact bucket each</li>
+ *   <li>Larger values share buckets whose width doubles every power of two</li>
+ *   <li>Percentiles are read by walking the bucket counts</li>
+ *   <li>Readers may run concurrently with writers; results are approximate while recording continues</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * LatencyHistogram histogram = new LatencyHistogram();
+ * long start = System.nanoTime();
+ * matchingEngine.match(order, book);
+ * histogram.record(System.nanoTime() - start);
+ *
+ * long p99 = histogram.getValueAtPercentile(99.0);
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MetricsRegistry
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /**
+     * Number of buckets per power of two.
+     */
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos Latency in nanoseconds; negative values are recorded as zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketIndex(value));
+        count.increment();
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the highest value that falls into a bucket.
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Gets the mean of all recorded values.
+     *
+     * @return Mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        long n = count.sum();
+        return n == 0 ? 0.0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Gets the value below which the given percentage of recorded values fall.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Upper bound of the bucket holding that percentile, capped at the maximum
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Clears all recorded values.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+}
@@ -0,0 +1,178 @@
+package org.team27.stocksim.model.metrics;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Named latency histograms, counters and gauges for one simulation.
+ *
+ * <p>MetricsRegistry is created by {@link org.team27.stocksim.model.StockSim}
+ * and handed to the components it instruments. Histograms and counters are
+ * created once and then updated without locks or allocation; gauges are
+ * sampled only when a snapshot is rendered. Snapshots can be rendered as
+ * plain text or JSON, for {@link MetricsReporter} to print or serve.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Registry</p>
+ * <ul>
+ *   <li>Components look up their instruments once and keep the reference</li>
+ *   <li>Counters are {@link LongAdder}s, so contended increments stay cheap</li>
+ *   <li>Gauges are suppliers, read at snapshot time only</li>
+ *   <li>Standard metric names are defined as constants below</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * MetricsRegistry metrics = new MetricsRegistry();
+ * LatencyHistogram match = metrics.histogram(MetricsRegistry.ORDER_MATCH);
+ * LongAdder orders = metrics.counter(MetricsRegistry.ORDERS);
+ * metrics.gauge(MetricsRegistry.BOOK_DEPTH, market::getTotalBookDepth);
+ *
+ * System.out.println(metrics.toText());
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see LatencyHistogram
+ * @see MetricsReporter
+ */
+public class MetricsRegistry {
+
+    public static final String ORDER_VALIDATE = "order.validate";
+    public static final String ORDER_MATCH = "order.match";
+    public static final String ORDER_SETTLE = "order.settle";
+    public static final String ORDER_NOTIFY = "order.notify";
+    public static final String SIM_TICK = "sim.tick";
+    public static final String SHARD_ROUND_TRIP = "shard.roundtrip";
+
+    public static final String ORDERS = "orders";
+    public static final String TRADES = "trades";
+    public static final String REJECTS = "rejects";
+    public static final String CANCELS = "cancels";
+    public static final String AMENDS = "amends";
+    public static final String EXPIRIES = "expiries";
+    public static final String STOPS_TRIGGERED = "stops.triggered";
+    public static final String HALTS = "halts";
+    public static final String AUCTIONS = "auctions";
+    public static final String BOT_TICKS_SKIPPED = "bot.ticks.skipped";
+    public static final String GATEWAY_MESSAGES = "gateway.messages";
+    public static final String MARKET_DATA_MESSAGES = "marketdata.messages";
+    public static final String MARKET_DATA_CONFLATIONS = "marketdata.conflations";
+
+    public static final String BOOK_DEPTH = "book.depth";
+    public static final String PENDING_EXPIRIES = "expiries.pending";
+    public static final String PENDING_STOPS = "stops.pending";
+    public static final String EXECUTOR_QUEUE = "executor.queue";
+    public static final String TICK_LAG = "tick.lag.seconds";
+    public static final String TICK_OVERRUNS = "tick.overruns";
+    public static final String TICK_SKIPPED = "tick.skipped.seconds";
+    public static final String GATEWAY_SESSIONS = "gateway.sessions";
+    public static final String MARKET_DATA_SUBSCRIBERS = "marketdata.subscribers";
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Gets or creates a latency histogram.
+     *
+     * @param name Metric name
+     * @return The histogram registered under that name
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+    }
+
+    /**
+     * Gets or creates a counter.
+     *
+     * @param name Metric name
+     * @return The counter registered under that name
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, n -> new LongAdder());
+    }
+
+    /**
+     * Registers a gauge, replacing any gauge with the same name.
+     *
+     * @param name Metric name
+     * @param supplier Supplier read whenever a snapshot is rendered
+     */
+    public void gauge(String name, LongSupplier supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Clears all histograms and counters. Gauges are kept.
+     */
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Renders all metrics as aligned text, latencies in microseconds.
+     *
+     * @return Multi-line text snapshot
+     */
+    public String toText() {
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            text.append(String.format(Locale.ROOT,
+                    "%-20s count=%d mean=%.1fus p50=%.1fus p99=%.1fus p999=%.1fus max=%.1fus%n",
+                    entry.getKey(), h.getCount(), h.getMean() / 1000.0,
+                    micros(h.getValueAtPercentile(50)), micros(h.getValueAtPercentile(99)),
+                    micros(h.getValueAtPercentile(99.9)), micros(h.getMax())));
+        }
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet()) {
+            text.append(String.format(Locale.ROOT, "%-20s %d%n", entry.getKey(), entry.getValue().sum()));
+        }
+        for (Map.Entry<String, LongSupplier> entry : new TreeMap<>(gauges).entrySet()) {
+            text.append(String.format(Locale.ROOT, "%-20s %d%n", entry.getKey(), entry.getValue().getAsLong()));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Renders all metrics as a JSON object, latencies in nanoseconds.
+     *
+     * @return JSON snapshot with "histograms", "counters" and "gauges" sections
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{\"histograms\":{");
+        boolean first = true;
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            json.append(first ? "" : ",").append('"').append(entry.getKey()).append("\":")
+                    .append(String.format(Locale.ROOT,
+                            "{\"count\":%d,\"mean\":%.1f,\"p50\":%d,\"p99\":%d,\"p999\":%d,\"max\":%d}",
+                            h.getCount(), h.getMean(), h.getValueAtPercentile(50), h.getValueAtPercentile(99),
+                            h.getValueAtPercentile(99.9), h.getMax()));
+            first = false;
+        }
+        json.append("},\"counters\":{");
+        first = true;
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(counters).entrySet()) {
+            json.append(first ? "" : ",").append('"').append(entry.getKey()).append("\":")
+                    .append(entry.getValue().sum());
+            first = false;
+        }
+        json.append("},\"gauges\":{");
+        first = true;
+        for (Map.Entry<String, LongSupplier> entry : new TreeMap<>(gauges).entrySet()) {
+            json.append(first ? "" : ",").append('"').append(entry.getKey()).append("\":")
+                    .append(entry.getValue().getAsLong());
+            first = false;
+        }
+        return json.append("}}").toString();
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1000.0;
+    }
+}
@@ -0,0 +1,110 @@
+package org.team27.stocksim.model.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Exports a {@link MetricsRegistry} as a periodic dump or over local HTTP.
+ *
+ * <p>The periodic dump prints a text or JSON snapshot to a stream from a
+ * daemon thread. The HTTP endpoint binds to the loopback interface only and
+ * serves {@code /metrics} (text) and {@code /metrics.json}. Both render
+ * snapshots off the simulation threads.</p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * MetricsReporter reporter = new MetricsReporter(stockSim.getMetrics());
+ * reporter.startPeriodicDump(System.out, 5, false);
+ * reporter.startHttpServer(9400);   // curl http://localhost:9400/metrics
+ * ...
+ * reporter.stop();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MetricsRegistry
+ */
+public class MetricsReporter {
+
+    private final MetricsRegistry registry;
+    private ScheduledExecutorService scheduler;
+    private HttpServer httpServer;
+
+    public MetricsReporter(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Starts printing snapshots at a fixed interval.
+     *
+     * @param out Stream to print to
+     * @param intervalSeconds Seconds between snapshots
+     * @param json True for JSON snapshots, false for text
+     */
+    public synchronized void startPeriodicDump(PrintStream out, int intervalSeconds, boolean json) {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> out.println(json ? registry.toJson() : registry.toText()),
+                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Starts an HTTP endpoint on the loopback interface.
+     *
+     * @param port Port to listen on, or 0 for any free port
+     * @return The port actually bound
+     * @throws IOException If the server cannot be started
+     */
+    public synchronized int startHttpServer(int port) throws IOException {
+        if (httpServer == null) {
+            httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+            httpServer.createContext("/metrics.json",
+                    exchange -> respond(exchange, "application/json", registry::toJson));
+            httpServer.createContext("/metrics",
+                    exchange -> respond(exchange, "text/plain; charset=utf-8", registry::toText));
+            httpServer.start();
+        }
+        return httpServer.getAddress().getPort();
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, Supplier<String> body)
+            throws IOException {
+        byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Stops the periodic dump and the HTTP endpoint, if running.
+     */
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (httpServer != null) {
+            httpServer.stop(0);
+            httpServer = null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -17,7 +18,8 @@ import java.util.stream.Collectors;
  *
  * <p><strong>Design Patterns:</strong> Aggregate Root + Repository Pattern</p>
  * <ul>
- *   <li>Thread-safe operations using synchronized methods</li>
+ *   <li>Thread-safe updates using synchronized methods; balance and quantity
+ *       reads are lock-free so pre-trade risk checks never wait on settlement</li>
  *   <li>Aggregates multiple Position objects</li>
  *   <li>Tracks trade history through Position objects</li>
  *   <li>Validates withdrawals to prevent negative balance</li>
@@ -66,12 +68,12 @@ public class Portfolio {
     /**
      * Current cash balance available for trading.
      */
-    private BigDecimal balance;
+    private volatile BigDecimal balance;
 
     /**
      * Map of stock positions by symbol.
      */
-    private Map<String, Position> positions; // symbol -> Position
+    private final Map<String, Position> positions; // symbol -> Position
 
     /**
      * Constructs a new Portfolio with the specified initial balance.
@@ -81,10 +83,10 @@ public class Portfolio {
     public Portfolio(BigDecimal traderBalance) {
         this.balance = traderBalance;
         this.initialBalance = traderBalance;
-        this.positions = new HashMap<>();
+        this.positions = new ConcurrentHashMap<>();
     }
 
-    public synchronized BigDecimal getBalance() {
+    public BigDecimal getBalance() {
         return balance;
     }
 
@@ -127,7 +129,7 @@ public class Portfolio {
         return removeStock(symbol, quantity, null);
     }
 
-    public synchronized int getStockQuantity(String symbol) {
+    public int getStockQuantity(String symbol) {
         Position position = positions.get(symbol);
         return position != null ? position.getQuantity() : 0;
     }
@@ -2,7 +2,9 @@ package org.team27.stocksim.model.portfolio;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 import org.team27.stocksim.model.market.Trade;
@@ -11,13 +13,16 @@ import org.team27.stocksim.model.market.Trade;
  * Represents a trader's holdings of a specific stock.
  *
  * <p>A Position tracks the quantity of shares held, the total cost basis,
- * and the trade history that built the position. It calculates average cost
- * and unrealized profit/loss, providing essential portfolio analytics.</p>
+ * and the most recent trades that changed the position. It calculates average
+ * cost and unrealized profit/loss, providing essential portfolio analytics.</p>
+ *
+ * <p>Only the last {@link #MAX_RECENT_TRADES} trades are kept; the complete
+ * trade record lives in the trader's order history.</p>
  *
  * <p><strong>Design Patterns:</strong> Value Object + Aggregate</p>
  * <ul>
  *   <li>Tracks cost basis using weighted average method</li>
- *   <li>Maintains trade history for audit and tax purposes</li>
+ *   <li>Keeps a bounded window of recent trades</li>
  *   <li>Calculates unrealized P&L against current market price</li>
  *   <li>Proportional cost reduction when selling shares</li>
  *   <li>Validates sell operations against current holdings</li>
@@ -53,6 +58,11 @@ import org.team27.stocksim.model.market.Trade;
  * @see Trade
  */
 public class Position {
+    /**
+     * Maximum number of recent trades kept per position.
+     */
+    public static final int MAX_RECENT_TRADES = 20;
+
     /**
      * Stock symbol for this position.
      */
@@ -61,7 +71,7 @@ public class Position {
     /**
      * Number of shares currently held.
      */
-    private int quantity;
+    private volatile int quantity;
 
     /**
      * Total cost of all shares (for weighted average cost calculation).
@@ -69,9 +79,9 @@ public class Position {
     private BigDecimal totalCost;
 
     /**
-     * History of trades that built or reduced this position.
+     * Most recent trades that built or reduced this position, oldest first.
      */
-    private final List<Trade> trades;
+    private final Deque<Trade> trades;
 
     /**
      * Constructs a new Position for the specified stock symbol.
@@ -82,7 +92,7 @@ public class Position {
         this.symbol = symbol;
         this.quantity = 0;
         this.totalCost = BigDecimal.ZERO;
-        this.trades = new ArrayList<>();
+        this.trades = new ArrayDeque<>();
     }
 
 
@@ -90,7 +100,7 @@ public class Position {
         this.quantity += quantity;
         this.totalCost = this.totalCost.add(price.multiply(BigDecimal.valueOf(quantity)));
         if (trade != null) {
-            this.trades.add(trade);
+            recordTrade(trade);
         }
     }
 
@@ -111,13 +121,20 @@ public class Position {
         this.quantity -= quantity;
 
         if (trade != null) {
-            this.trades.add(trade);
+            recordTrade(trade);
         }
 
         return true;
     }
 
 
+    private void recordTrade(Trade trade) {
+        if (trades.size() == MAX_RECENT_TRADES) {
+            trades.removeFirst();
+        }
+        trades.addLast(trade);
+    }
+
     public BigDecimal getAverageCost() {
         if (quantity == 0) {
             return BigDecimal.ZERO;
@@ -0,0 +1,294 @@
+package org.team27.stocksim.model.portfolio;
+
+import org.team27.stocksim.model.market.Trade;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally maintained valuation of a single trader's portfolio.
+ *
+ * <p>TraderValuation mirrors a {@link Portfolio} in fixed-point {@code long}
+ * units so that mark-to-market value, realized P&amp;L and unrealized P&amp;L
+ * can be read without walking {@link Position}s or doing {@code BigDecimal}
+ * math. It is updated by {@link ValuationEngine} in O(1) per settled trade;
+ * price prints only touch the shared {@link Mark} for the symbol.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Materialized View</p>
+ * <ul>
+ *   <li>Cash, cost basis and realized P&amp;L are kept as running totals</li>
+ *   <li>Holdings reference shared per-symbol marks, so a price print costs O(1)</li>
+ *   <li>Market value is summed over held symbols only, using primitive math</li>
+ *   <li>Can be resynchronized from its Portfolio if the two ever diverge</li>
+ * </ul>
+ *
+ * <h2>Units:</h2>
+ * <pre>
+ * All amounts are stored as long values scaled by ValuationEngine.UNITS_PER_DOLLAR
+ * (1 unit = 0.0001). Use the BigDecimal getters for display.
+ * </pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see ValuationEngine
+ * @see Portfolio
+ */
+public class TraderValuation {
+
+    /**
+     * ID of the trader this valuation belongs to.
+     */
+    private final String traderId;
+
+    /**
+     * Portfolio this valuation mirrors, used for resynchronization.
+     */
+    private final Portfolio portfolio;
+
+    /**
+     * Holdings keyed by symbol, for O(1) lookup during settlement.
+     */
+    private final Map<String, Holding> holdingsBySymbol = new HashMap<>();
+
+    /**
+     * Holdings in insertion order, for allocation-free iteration when valuing.
+     */
+    private final List<Holding> holdings = new ArrayList<>();
+
+    /**
+     * Cash balance in units.
+     */
+    private long cashUnits;
+
+    /**
+     * Total cost basis of open positions in units.
+     */
+    private long costBasisUnits;
+
+    /**
+     * Realized profit or loss from closed quantity in units.
+     */
+    private long realizedUnits;
+
+    /**
+     * Equity when tracking started, used as the base for returns.
+     */
+    private long initialEquityUnits;
+
+    /**
+     * Constructs a TraderValuation mirroring the given portfolio.
+     *
+     * @param traderId ID of the trader
+     * @param portfolio Portfolio to mirror
+     */
+    TraderValuation(String traderId, Portfolio portfolio) {
+        this.traderId = traderId;
+        this.portfolio = portfolio;
+    }
+
+    /**
+     * Rebuilds all running totals from the mirrored portfolio.
+     *
+     * <p>Realized P&amp;L is reset, and the current equity becomes the base
+     * for return calculations.</p>
+     *
+     * @param engine Engine providing the shared price marks
+     */
+    synchronized void resync(ValuationEngine engine) {
+        reloadFromPortfolio(engine);
+        realizedUnits = 0;
+        initialEquityUnits = getEquityUnits();
+    }
+
+    /**
+     * Repairs this valuation after a sell it could not apply incrementally.
+     *
+     * <p>Happens when shares were added to the portfolio outside settlement.
+     * The portfolio already reflects the trade, so holdings are reloaded and
+     * the trade is only counted towards realized P&amp;L, at the average cost
+     * of the shares still held.</p>
+     *
+     * @param engine Engine providing the shared price marks
+     * @param trade The settled trade
+     * @param priceUnits Trade price in units
+     */
+    synchronized void repairAfterSell(ValuationEngine engine, Trade trade, long priceUnits) {
+        reloadFromPortfolio(engine);
+        Holding holding = holdingsBySymbol.get(trade.getStockSymbol());
+        if (holding != null && holding.quantity > 0) {
+            long soldCost = holding.costUnits * trade.getQuantity() / holding.quantity;
+            realizedUnits += priceUnits * trade.getQuantity() - soldCost;
+        }
+    }
+
+    private void reloadFromPortfolio(ValuationEngine engine) {
+        holdingsBySymbol.clear();
+        holdings.clear();
+        costBasisUnits = 0;
+
+        synchronized (portfolio) {
+            cashUnits = ValuationEngine.toUnits(portfolio.getBalance());
+            for (Position position : portfolio.getPositions().values()) {
+                Holding holding = holding(engine, position.getSymbol());
+                holding.quantity = position.getQuantity();
+                holding.costUnits = ValuationEngine.toUnits(position.getTotalCost());
+                costBasisUnits += holding.costUnits;
+            }
+        }
+    }
+
+    /**
+     * Applies the buy side of a settled trade.
+     *
+     * @param engine Engine providing the shared price marks
+     * @param trade The settled trade
+     * @param priceUnits Trade price in units
+     */
+    synchronized void applyBuy(ValuationEngine engine, Trade trade, long priceUnits) {
+        long value = priceUnits * trade.getQuantity();
+        Holding holding = holding(engine, trade.getStockSymbol());
+        cashUnits -= value;
+        holding.quantity += trade.getQuantity();
+        holding.costUnits += value;
+        costBasisUnits += value;
+    }
+
+    /**
+     * Applies the sell side of a settled trade.
+     *
+     * <p>The cost of the shares sold is taken at the position's average
+     * cost, matching {@link Position#removeShares(int, Trade)}.</p>
+     *
+     * @param engine Engine providing the shared price marks
+     * @param trade The settled trade
+     * @param priceUnits Trade price in units
+     * @return false if this valuation did not hold enough shares and must be resynchronized
+     */
+    synchronized boolean applySell(ValuationEngine engine, Trade trade, long priceUnits) {
+        Holding holding = holding(engine, trade.getStockSymbol());
+        int quantity = trade.getQuantity();
+        if (holding.quantity < quantity) {
+            return false;
+        }
+
+        long soldCost = holding.quantity == 0 ? 0 : holding.costUnits * quantity / holding.quantity;
+        long proceeds = priceUnits * quantity;
+        cashUnits += proceeds;
+        realizedUnits += proceeds - soldCost;
+        holding.quantity -= quantity;
+        holding.costUnits -= soldCost;
+        costBasisUnits -= soldCost;
+        return true;
+    }
+
+    private Holding holding(ValuationEngine engine, String symbol) {
+        Holding holding = holdingsBySymbol.get(symbol);
+        if (holding == null) {
+            holding = new Holding(engine.mark(symbol));
+            holdingsBySymbol.put(symbol, holding);
+            holdings.add(holding);
+        }
+        return holding;
+    }
+
+    public String getTraderId() {
+        return traderId;
+    }
+
+    public synchronized long getCashUnits() {
+        return cashUnits;
+    }
+
+    /**
+     * Gets the mark-to-market value of all positions in units.
+     *
+     * @return Sum of quantity times last price over held symbols
+     */
+    public synchronized long getMarketValueUnits() {
+        long value = 0;
+        for (int i = 0; i < holdings.size(); i++) {
+            Holding holding = holdings.get(i);
+            value += holding.quantity * holding.mark.getPriceUnits();
+        }
+        return value;
+    }
+
+    public synchronized long getEquityUnits() {
+        return cashUnits + getMarketValueUnits();
+    }
+
+    public synchronized long getRealizedPnLUnits() {
+        return realizedUnits;
+    }
+
+    public synchronized long getUnrealizedPnLUnits() {
+        return getMarketValueUnits() - costBasisUnits;
+    }
+
+    /**
+     * Gets the return since tracking started as a fraction (0.05 = 5%).
+     *
+     * @return Fractional return, or 0 if the starting equity was not positive
+     */
+    public synchronized double getReturn() {
+        if (initialEquityUnits <= 0) {
+            return 0.0;
+        }
+        return (double) (getEquityUnits() - initialEquityUnits) / initialEquityUnits;
+    }
+
+    public BigDecimal getCash() {
+        return ValuationEngine.fromUnits(getCashUnits());
+    }
+
+    public BigDecimal getMarketValue() {
+        return ValuationEngine.fromUnits(getMarketValueUnits());
+    }
+
+    public BigDecimal getEquity() {
+        return ValuationEngine.fromUnits(getEquityUnits());
+    }
+
+    public BigDecimal getRealizedPnL() {
+        return ValuationEngine.fromUnits(getRealizedPnLUnits());
+    }
+
+    public BigDecimal getUnrealizedPnL() {
+        return ValuationEngine.fromUnits(getUnrealizedPnLUnits());
+    }
+
+    public synchronized BigDecimal getInitialEquity() {
+        return ValuationEngine.fromUnits(initialEquityUnits);
+    }
+
+    /**
+     * Quantity and cost of one symbol, linked to the symbol's shared mark.
+     */
+    private static final class Holding {
+        private final Mark mark;
+        private long quantity;
+        private long costUnits;
+
+        private Holding(Mark mark) {
+            this.mark = mark;
+        }
+    }
+
+    /**
+     * Last traded price of a symbol, shared by every holder of that symbol.
+     */
+    static final class Mark {
+        private volatile long priceUnits;
+
+        long getPriceUnits() {
+            return priceUnits;
+        }
+
+        void setPriceUnits(long priceUnits) {
+            this.priceUnits = priceUnits;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.team27.stocksim.model.portfolio;
+
+import org.team27.stocksim.model.market.Trade;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps every trader's mark-to-market value and P&amp;L up to date as trades settle.
+ *
+ * <p>ValuationEngine replaces per-call scans of {@link Portfolio} positions with
+ * running totals. Each settled trade updates the buyer's and seller's
+ * {@link TraderValuation} and the symbol's shared price mark in O(1); a price
+ * print only updates the mark. Reading a trader's equity sums quantity times
+ * mark over the symbols that trader holds, using primitive arithmetic.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Observer (fed by settlement events)</p>
+ * <ul>
+ *   <li>O(1) work per settled trade and per price print</li>
+ *   <li>One shared mark per symbol instead of a price map per query</li>
+ *   <li>Leaderboard is re-ranked once per simulation tick, then read without scanning</li>
+ *   <li>Traders are seeded from their portfolios with {@link #track(String, Portfolio)}</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * ValuationEngine engine = new ValuationEngine();
+ * engine.onPricePrint("AAPL", new BigDecimal("150.00"));
+ * engine.track("BOT1", bot.getPortfolio());
+ *
+ * // From the settlement callback
+ * engine.onTradeSettled(trade);
+ *
+ * // Once per tick, then read
+ * engine.refreshLeaderboard();
+ * List<TraderValuation> top = engine.getLeaderboard(10);
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see TraderValuation
+ * @see Portfolio
+ */
+public class ValuationEngine {
+
+    /**
+     * Number of fixed-point units per currency unit (4 decimal places).
+     */
+    public static final long UNITS_PER_DOLLAR = 10_000L;
+
+    /**
+     * Decimal places represented by one unit.
+     */
+    private static final int UNIT_SCALE = 4;
+
+    /**
+     * Shared price marks by symbol.
+     */
+    private final ConcurrentHashMap<String, TraderValuation.Mark> marks = new ConcurrentHashMap<>();
+
+    /**
+     * Valuations by trader ID.
+     */
+    private final ConcurrentHashMap<String, TraderValuation> valuations = new ConcurrentHashMap<>();
+
+    /**
+     * Valuations sorted by return, best first, as of the last refresh.
+     */
+    private volatile List<TraderValuation> leaderboard = Collections.emptyList();
+
+    /**
+     * Starts (or restarts) tracking a trader from the current state of their portfolio.
+     *
+     * @param traderId ID of the trader
+     * @param portfolio The trader's portfolio
+     */
+    public void track(String traderId, Portfolio portfolio) {
+        TraderValuation valuation = valuations.computeIfAbsent(traderId, id -> new TraderValuation(id, portfolio));
+        valuation.resync(this);
+    }
+
+    /**
+     * Records a new last price for a symbol.
+     *
+     * @param symbol The instrument symbol
+     * @param price The new price
+     */
+    public void onPricePrint(String symbol, BigDecimal price) {
+        if (price != null) {
+            mark(symbol).setPriceUnits(toUnits(price));
+        }
+    }
+
+    /**
+     * Applies a settled trade to both counterparties and to the symbol's mark.
+     *
+     * <p>Trades without trader IDs, or between traders that are not tracked,
+     * only update the mark.</p>
+     *
+     * @param trade The settled trade
+     */
+    public void onTradeSettled(Trade trade) {
+        long priceUnits = toUnits(trade.getPrice());
+        mark(trade.getStockSymbol()).setPriceUnits(priceUnits);
+
+        TraderValuation buyer = trade.getBuyerTraderId() != null ? valuations.get(trade.getBuyerTraderId()) : null;
+        TraderValuation seller = trade.getSellerTraderId() != null ? valuations.get(trade.getSellerTraderId()) : null;
+
+        if (buyer != null) {
+            buyer.applyBuy(this, trade, priceUnits);
+        }
+        if (seller != null && !seller.applySell(this, trade, priceUnits)) {
+            // Shares were added to the portfolio outside settlement; the portfolio is authoritative
+            seller.repairAfterSell(this, trade, priceUnits);
+        }
+    }
+
+    /**
+     * Gets the valuation of a trader.
+     *
+     * @param traderId ID of the trader
+     * @return The valuation, or null if the trader is not tracked
+     */
+    public TraderValuation getValuation(String traderId) {
+        return valuations.get(traderId);
+    }
+
+    /**
+     * Re-ranks all tracked traders by return.
+     *
+     * <p>Called once per simulation tick. Ranking cannot be kept exact per
+     * event, because one price print changes the value of every holder of
+     * that symbol; ranking per tick keeps both events and queries cheap.</p>
+     */
+    public void refreshLeaderboard() {
+        List<TraderValuation> all = new ArrayList<>(valuations.values());
+        int n = all.size();
+        double[] returns = new double[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            returns[i] = all.get(i).getReturn();
+            order[i] = i;
+        }
+        // Sort on a snapshot of returns so the order is stable while prices move
+        Arrays.sort(order, Comparator.comparingDouble((Integer i) -> returns[i]).reversed());
+
+        List<TraderValuation> ranked = new ArrayList<>(n);
+        for (Integer i : order) {
+            ranked.add(all.get(i));
+        }
+        leaderboard = Collections.unmodifiableList(ranked);
+    }
+
+    /**
+     * Gets the best performing traders as of the last refresh.
+     *
+     * @param n Maximum number of entries
+     * @return Up to {@code n} valuations, best return first
+     */
+    public List<TraderValuation> getLeaderboard(int n) {
+        List<TraderValuation> current = leaderboard;
+        return current.subList(0, Math.min(Math.max(n, 0), current.size()));
+    }
+
+    /**
+     * Gets the last price of a symbol in fixed-point units.
+     *
+     * @param symbol The instrument symbol
+     * @return Last price in units, or 0 if no price has printed
+     */
+    public long getMarkUnits(String symbol) {
+        TraderValuation.Mark mark = marks.get(symbol);
+        return mark != null ? mark.getPriceUnits() : 0;
+    }
+
+    TraderValuation.Mark mark(String symbol) {
+        return marks.computeIfAbsent(symbol, s -> new TraderValuation.Mark());
+    }
+
+    /**
+     * Converts an amount to fixed-point units.
+     *
+     * @param amount The amount
+     * @return The amount in units, rounded half-up
+     */
+    public static long toUnits(BigDecimal amount) {
+        return amount.setScale(UNIT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    /**
+     * Converts fixed-point units back to an amount.
+     *
+     * @param units The amount in units
+     * @return The amount with two decimal places
+     */
+    public static BigDecimal fromUnits(long units) {
+        return BigDecimal.valueOf(units, UNIT_SCALE).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,31 @@
+package org.team27.stocksim.model.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one bot action, placing all orders a bot decided on in a tick.
+ *
+ * @see org.team27.stocksim.model.users.BotAction
+ */
+@Name("org.team27.stocksim.BotAction")
+@Label("Bot Action")
+@Category({"StockSim", "Bots"})
+@Description("Placement of the orders a bot decided on in one tick")
+@StackTrace(false)
+public class BotActionEvent extends Event {
+
+    @Label("Trader ID")
+    public String traderId;
+
+    @Label("Trader Type")
+    @Description("Simple class name of the bot's strategy")
+    public String traderType;
+
+    @Label("Orders")
+    public int orders;
+}
@@ -0,0 +1,38 @@
+package org.team27.stocksim.model.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for matching one incoming order against its order book.
+ *
+ * @see org.team27.stocksim.model.market.MatchingEngine
+ */
+@Name("org.team27.stocksim.Match")
+@Label("Order Match")
+@Category({"StockSim", "Market"})
+@Description("Matching of one incoming order against its order book")
+@StackTrace(false)
+public class MatchEvent extends Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Order ID")
+    public int orderId;
+
+    @Label("Side")
+    public String side;
+
+    @Label("Fills")
+    @Description("Number of trades generated by the match")
+    public int fills;
+
+    @Label("Rested")
+    @Description("Whether the remainder was added to the book")
+    public boolean rested;
+}
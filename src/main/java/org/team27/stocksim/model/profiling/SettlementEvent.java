@@ -0,0 +1,45 @@
+package org.team27.stocksim.model.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for settling one trade between two portfolios.
+ *
+ * @see org.team27.stocksim.model.market.SettlementEngine
+ */
+@Name("org.team27.stocksim.Settlement")
+@Label("Trade Settlement")
+@Category({"StockSim", "Market"})
+@Description("Settlement of one trade, including the trade-settled callback")
+@StackTrace(false)
+public class SettlementEvent extends Event {
+
+    @Label("Symbol")
+    public String symbol;
+
+    @Label("Buy Order ID")
+    public int buyOrderId;
+
+    @Label("Sell Order ID")
+    public int sellOrderId;
+
+    @Label("Quantity")
+    public int quantity;
+
+    @Label("Buyer Type")
+    @Description("Simple class name of the buying trader")
+    public String buyerType;
+
+    @Label("Seller Type")
+    @Description("Simple class name of the selling trader")
+    public String sellerType;
+
+    @Label("Settled")
+    @Description("False if the trade was rejected, for example for lack of funds")
+    public boolean settled;
+}
@@ -0,0 +1,92 @@
+package org.team27.stocksim.model.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Java Flight Recorder recording of a whole simulation run.
+ *
+ * <p>Starts a recording with the JDK's "profile" settings plus all StockSim
+ * events ({@link MatchEvent}, {@link SettlementEvent},
+ * {@link SimulationTickEvent}, {@link BotActionEvent}), and writes it to a
+ * {@code .jfr} file when stopped or when the JVM exits. The file can be opened
+ * in JDK Mission Control or inspected with {@code jfr print}.</p>
+ *
+ * <p>The StockSim events cost nothing measurable when no recording is
+ * running: the instrumented code only fills in event fields after
+ * {@code shouldCommit()} returns true.</p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * SimulationRecording recording = SimulationRecording.start(Path.of("."));
+ * // ... run the simulation
+ * Path file = recording.stop();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see MatchEvent
+ * @see SettlementEvent
+ * @see SimulationTickEvent
+ * @see BotActionEvent
+ */
+public class SimulationRecording {
+
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final Recording recording;
+    private final Path destination;
+
+    private SimulationRecording(Recording recording, Path destination) {
+        this.recording = recording;
+        this.destination = destination;
+    }
+
+    /**
+     * Starts a recording that will be written to a timestamped file in the given directory.
+     *
+     * @param directory Directory for the recording file
+     * @return The running recording
+     * @throws IOException If the destination cannot be set
+     */
+    public static SimulationRecording start(Path directory) throws IOException {
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("profile"));
+        } catch (ParseException e) {
+            throw new IOException("Could not read JFR profile settings", e);
+        }
+        recording.setName("StockSim");
+        recording.enable(MatchEvent.class);
+        recording.enable(SettlementEvent.class);
+        recording.enable(SimulationTickEvent.class);
+        recording.enable(BotActionEvent.class);
+
+        Path destination = directory.resolve("stocksim-" + LocalDateTime.now().format(FILE_TIMESTAMP) + ".jfr");
+        recording.setDestination(destination);
+        recording.setDumpOnExit(true);
+        recording.start();
+        return new SimulationRecording(recording, destination);
+    }
+
+    /**
+     * Stops the recording and writes it to its destination.
+     *
+     * @return Path of the written recording
+     */
+    public Path stop() {
+        recording.stop();
+        recording.close();
+        return destination;
+    }
+
+    public Path getDestination() {
+        return destination;
+    }
+}
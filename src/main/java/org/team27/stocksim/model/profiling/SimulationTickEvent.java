@@ -0,0 +1,25 @@
+package org.team27.stocksim.model.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one simulation tick, covering all bot decisions made in it.
+ *
+ * @see org.team27.stocksim.model.simulation.MarketSimulator
+ */
+@Name("org.team27.stocksim.SimulationTick")
+@Label("Simulation Tick")
+@Category({"StockSim", "Simulation"})
+@Description("One simulated second: bot decisions and per-tick bookkeeping")
+@StackTrace(false)
+public class SimulationTickEvent extends Event {
+
+    @Label("Bots")
+    @Description("Number of bots in the simulation")
+    public int bots;
+}
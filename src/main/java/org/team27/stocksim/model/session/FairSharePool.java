@@ -0,0 +1,191 @@
+package org.team27.stocksim.model.session;
+
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker pool shared by many simulation sessions, served round-robin.
+ *
+ * <p>Each session submits its work to its own {@link Lane}. Workers take
+ * lanes from a ready queue, run one task and put the lane back at the tail if
+ * it still has work, so a session with thousands of queued bot actions cannot
+ * starve a session with a few. A single busy lane still uses every worker,
+ * because it goes back to the ready queue before its task runs.</p>
+ *
+ * <p>Tasks run bound to their lane's {@link SimulationContext}, so clock reads
+ * and order IDs inside a task resolve to the right session.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Fair-share scheduling</p>
+ * <ul>
+ *   <li>One FIFO queue per session, one ready queue of lanes</li>
+ *   <li>A lane is in the ready queue at most once</li>
+ *   <li>Worker threads are daemons, sized to the number of cores by default</li>
+ *   <li>Closing a lane rejects new work and waits for queued work to finish</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * FairSharePool pool = FairSharePool.shared();
+ * FairSharePool.Lane lane = pool.newLane(context);
+ * lane.execute(() -> bot.tick(model, executor));
+ * ...
+ * lane.shutdown();   // waits for queued work
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see SimulationContext
+ * @see org.team27.stocksim.model.users.BotActionExecutor
+ */
+public class FairSharePool {
+
+    private static final class SharedHolder {
+        private static final FairSharePool INSTANCE =
+                new FairSharePool(Runtime.getRuntime().availableProcessors(), "sim-worker");
+    }
+
+    private final BlockingQueue<Lane> ready = new LinkedBlockingQueue<>();
+
+    /**
+     * Creates a pool with its own worker threads.
+     *
+     * @param threads Number of worker threads
+     * @param namePrefix Prefix for worker thread names
+     */
+    public FairSharePool(int threads, String namePrefix) {
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(this::work, namePrefix + "-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+    }
+
+    /**
+     * Gets the process-wide pool, with one worker per core.
+     *
+     * @return The shared pool
+     */
+    public static FairSharePool shared() {
+        return SharedHolder.INSTANCE;
+    }
+
+    /**
+     * Creates a lane for one session.
+     *
+     * @param context Session the lane's tasks run in
+     * @return A new open lane
+     */
+    public Lane newLane(SimulationContext context) {
+        return new Lane(context);
+    }
+
+    private void work() {
+        while (true) {
+            Lane lane;
+            try {
+                lane = ready.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            Runnable task = lane.tasks.poll();
+            lane.reschedule();
+            if (task != null) {
+                lane.run(task);
+            }
+        }
+    }
+
+    /**
+     * One session's queue of work on the pool.
+     */
+    public final class Lane implements Executor {
+
+        private final SimulationContext context;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean closed;
+
+        private Lane(SimulationContext context) {
+            this.context = context;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (closed) {
+                throw new RejectedExecutionException("Lane of session " + context.getName() + " is shut down");
+            }
+            pending.incrementAndGet();
+            tasks.add(task);
+            if (scheduled.compareAndSet(false, true)) {
+                ready.add(this);
+            }
+        }
+
+        /**
+         * Puts the lane back in the ready queue if it has more work, otherwise unschedules it.
+         */
+        private void reschedule() {
+            if (!tasks.isEmpty()) {
+                ready.add(this);
+                return;
+            }
+            scheduled.set(false);
+            // A task may have arrived between the check and the flag being cleared
+            if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+                ready.add(this);
+            }
+        }
+
+        private void run(Runnable task) {
+            try {
+                context.run(task);
+            } catch (RuntimeException e) {
+                System.err.println("Task failed in session " + context.getName() + ": " + e.getMessage());
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+            }
+        }
+
+        /**
+         * Gets the number of tasks waiting to run.
+         *
+         * @return Queued task count
+         */
+        public int getQueueLength() {
+            return tasks.size();
+        }
+
+        public boolean isShutdown() {
+            return closed;
+        }
+
+        /**
+         * Rejects new tasks and blocks until all queued and running tasks have finished.
+         * The pool's workers keep serving other lanes.
+         */
+        public void shutdown() {
+            closed = true;
+            synchronized (this) {
+                while (pending.get() > 0) {
+                    try {
+                        wait(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package org.team27.stocksim.model.session;
+
+import org.team27.stocksim.model.clock.GameClock;
+import org.team27.stocksim.model.instruments.IInstrumentRegistry;
+import org.team27.stocksim.model.instruments.InstrumentRegistry;
+import org.team27.stocksim.model.instruments.StockFactory;
+import org.team27.stocksim.model.users.BotFactory;
+import org.team27.stocksim.model.users.ITraderRegistry;
+import org.team27.stocksim.model.users.TraderRegistry;
+import org.team27.stocksim.model.users.UserFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Everything that must not be shared between two simulations in one JVM.
+ *
+ * <p>A SimulationContext owns one session's clock, order ID allocator,
+ * instrument and trader registries, and its lane on the shared worker pool.
+ * Code that used to reach process-wide state ({@link org.team27.stocksim.model.clock.ClockProvider},
+ * the {@link org.team27.stocksim.model.market.Order} ID counter) now asks
+ * {@link #current()}, which returns the context bound to the calling thread.
+ * Threads that are not bound to any session, such as the JavaFX thread in the
+ * single-session application, use the {@link #global()} context.</p>
+ *
+ * <p>Bot actions run on the session's lane and the simulation tick is wrapped
+ * by {@link org.team27.stocksim.model.StockSim}, so both are bound
+ * automatically. Code that drives a session from its own thread, such as a
+ * batch runner setting up stocks and bots, should do so inside
+ * {@link #run(Runnable)} or {@link #call(Supplier)}.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Context Object (thread-bound)</p>
+ * <ul>
+ *   <li>One instance per simulation session</li>
+ *   <li>Bound to a thread for the duration of a call, restored afterwards</li>
+ *   <li>Clock is replaceable and safely published (volatile)</li>
+ *   <li>Order IDs are allocated per session, starting at 1</li>
+ *   <li>All sessions share one {@link FairSharePool}, served round-robin</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * SimulationContext context = new SimulationContext("run-7");
+ * StockSim model = new StockSim(context, config);
+ *
+ * context.run(() -> {
+ *     new SimSetup(model).start();
+ * });
+ * ...
+ * model.stopMarketSimulation();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see FairSharePool
+ * @see org.team27.stocksim.model.StockSim
+ */
+public class SimulationContext {
+
+    private static final class GlobalHolder {
+        private static final SimulationContext INSTANCE = new SimulationContext("global");
+    }
+
+    private static final ThreadLocal<SimulationContext> CURRENT = new ThreadLocal<>();
+
+    private final String name;
+    private final AtomicInteger nextOrderId = new AtomicInteger(1);
+    private final IInstrumentRegistry instrumentRegistry;
+    private final ITraderRegistry traderRegistry;
+    private final FairSharePool.Lane executor;
+    private volatile GameClock clock = new GameClock();
+
+    /**
+     * Creates a session on the shared worker pool.
+     *
+     * @param name Session name, used in thread and log messages
+     */
+    public SimulationContext(String name) {
+        this(name, FairSharePool.shared());
+    }
+
+    /**
+     * Creates a session on the given worker pool.
+     *
+     * @param name Session name, used in thread and log messages
+     * @param pool Pool that runs this session's bot actions
+     */
+    public SimulationContext(String name, FairSharePool pool) {
+        this.name = name;
+        this.instrumentRegistry = new InstrumentRegistry(new StockFactory());
+        this.traderRegistry = new TraderRegistry(new UserFactory(), new BotFactory());
+        this.executor = pool.newLane(this);
+    }
+
+    /**
+     * Gets the context used by threads that are not bound to a session.
+     *
+     * @return The process-wide default context
+     */
+    public static SimulationContext global() {
+        return GlobalHolder.INSTANCE;
+    }
+
+    /**
+     * Gets the context bound to the calling thread.
+     *
+     * @return The bound context, or the global context if none is bound
+     */
+    public static SimulationContext current() {
+        SimulationContext bound = CURRENT.get();
+        return bound != null ? bound : global();
+    }
+
+    /**
+     * Runs a task with this context bound to the calling thread.
+     *
+     * @param task Task to run
+     */
+    public void run(Runnable task) {
+        SimulationContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Computes a value with this context bound to the calling thread.
+     *
+     * @param task Computation to run
+     * @param <T> Result type
+     * @return The computed value
+     */
+    public <T> T call(Supplier<T> task) {
+        SimulationContext previous = CURRENT.get();
+        CURRENT.set(this);
+        try {
+            return task.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Wraps a task so that it always runs bound to this context, on whichever thread calls it.
+     *
+     * @param task Task to wrap
+     * @return Bound task
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> run(task);
+    }
+
+    private static void restore(SimulationContext previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Allocates the next order ID of this session.
+     *
+     * @return A session-unique order ID
+     */
+    public int nextOrderId() {
+        return nextOrderId.getAndIncrement();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public GameClock getClock() {
+        return clock;
+    }
+
+    public void setClock(GameClock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * Replaces the clock with a real-time clock starting at the epoch.
+     */
+    public void resetClock() {
+        this.clock = new GameClock();
+    }
+
+    public IInstrumentRegistry getInstrumentRegistry() {
+        return instrumentRegistry;
+    }
+
+    public ITraderRegistry getTraderRegistry() {
+        return traderRegistry;
+    }
+
+    /**
+     * Gets this session's lane on the shared worker pool.
+     *
+     * @return The session executor
+     */
+    public FairSharePool.Lane getExecutor() {
+        return executor;
+    }
+}
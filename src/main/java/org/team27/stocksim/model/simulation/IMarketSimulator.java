@@ -13,4 +13,10 @@ public interface IMarketSimulator {
     MarketState getState();
 
     void setTotalTradesExecuted(int count);
+
+    long getTickLagSeconds();
+
+    long getTickOverruns();
+
+    long getSkippedSeconds();
 }
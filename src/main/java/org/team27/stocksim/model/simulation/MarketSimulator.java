@@ -3,7 +3,9 @@ package org.team27.stocksim.model.simulation;
 import org.team27.stocksim.model.clock.ClockProvider;
 import org.team27.stocksim.model.clock.GameClock;
 import org.team27.stocksim.model.clock.GameTicker;
+import org.team27.stocksim.model.clock.TickOverrunPolicy;
 import org.team27.stocksim.model.market.MarketState;
+import org.team27.stocksim.model.profiling.SimulationTickEvent;
 import org.team27.stocksim.model.users.Bot;
 import org.team27.stocksim.model.users.Trader;
 
@@ -27,6 +29,7 @@ import java.util.function.Supplier;
  *   <li>Triggers periodic tick callbacks for bot actions</li>
  *   <li>Sets global clock via ClockProvider</li>
  *   <li>Tracks simulation state and metrics</li>
+ *   <li>Reports ticker lag and overruns, degrading per the configured overrun policy</li>
  * </ul>
  *
  * <h2>Simulation States:</h2>
@@ -40,6 +43,7 @@ import java.util.function.Supplier;
  *   <li>Speed: 3600x (1 simulated hour per real second)</li>
  *   <li>Tick interval: 50ms real-time</li>
  *   <li>Each tick: Multiple simulated seconds may pass</li>
+ *   <li>Overrun policy: COALESCE (missed seconds are skipped, not queued)</li>
  * </ul>
  *
  * <h2>Usage Example:</h2>
@@ -78,6 +82,11 @@ public class MarketSimulator implements IMarketSimulator {
      */
     private final Runnable onTick;
 
+    /**
+     * Supplier for the current bots, read only when profiling events are recorded.
+     */
+    private final Supplier<HashMap<String, Bot>> botsSupplier;
+
     /**
      * Real-time milliseconds between ticks.
      */
@@ -88,6 +97,16 @@ public class MarketSimulator implements IMarketSimulator {
      */
     private final int speedupFactor;
 
+    /**
+     * What the ticker does when ticks cannot keep up with the clock.
+     */
+    private final TickOverrunPolicy overrunPolicy;
+
+    /**
+     * Whether the clock only advances when the ticker fires a second.
+     */
+    private final boolean tickQuantized;
+
     /**
      * Current simulation state.
      */
@@ -107,7 +126,7 @@ public class MarketSimulator implements IMarketSimulator {
     /**
      * Constructs a MarketSimulator with default parameters.
      *
-     * @param botsSupplier Supplier for bot map (currently unused)
+     * @param botsSupplier Supplier for bot map
      * @param onTick Callback invoked on each tick
      */
     public MarketSimulator(Supplier<HashMap<String, Bot>> botsSupplier, Runnable onTick) {
@@ -137,12 +156,34 @@ public class MarketSimulator implements IMarketSimulator {
      */
     public MarketSimulator(Supplier<HashMap<String, Bot>> botsSupplier, Runnable onTick, Runnable onSaveData,
             int speedupFactor, int tickInterval, int durationInRealSeconds, Instant initialTimeStamp) {
+        this(botsSupplier, onTick, onSaveData, speedupFactor, tickInterval, durationInRealSeconds,
+                initialTimeStamp, TickOverrunPolicy.COALESCE, false);
+    }
+
+    /**
+     * Constructs a MarketSimulator with full configuration and an overrun policy.
+     *
+     * @param botsSupplier Supplier for bot map
+     * @param onTick Callback invoked on each tick
+     * @param onSaveData Callback for saving data
+     * @param speedupFactor Time acceleration multiplier
+     * @param tickInterval Milliseconds between ticks
+     * @param durationInRealSeconds Simulation duration (currently unused)
+     * @param overrunPolicy What the ticker does when ticks cannot keep up
+     * @param tickQuantized True if simulated time only advances once per fired second
+     */
+    public MarketSimulator(Supplier<HashMap<String, Bot>> botsSupplier, Runnable onTick, Runnable onSaveData,
+            int speedupFactor, int tickInterval, int durationInRealSeconds, Instant initialTimeStamp,
+            TickOverrunPolicy overrunPolicy, boolean tickQuantized) {
         this.state = MarketState.PAUSED;
         this.onTick = onTick;
+        this.botsSupplier = botsSupplier;
         this.speedupFactor = speedupFactor;
         this.tickInterval = tickInterval;
         this.totalTradesExecuted = 0;
         this.simulationStartTime = initialTimeStamp;
+        this.overrunPolicy = overrunPolicy;
+        this.tickQuantized = tickQuantized;
     }
 
     /**
@@ -158,9 +199,11 @@ public class MarketSimulator implements IMarketSimulator {
         GameClock clock = new GameClock(
                 ZoneId.systemDefault(),
                 simulationStartTime,
-                speedupFactor);
+                speedupFactor,
+                tickQuantized);
+        ClockProvider.setClock(clock);
 
-        ticker = new GameTicker(clock, simInstant -> tick(), tickInterval);
+        ticker = new GameTicker(clock, simInstant -> tick(), tickInterval, overrunPolicy);
         ticker.start();
 
     }
@@ -202,9 +245,15 @@ public class MarketSimulator implements IMarketSimulator {
             return;
         }
 
+        SimulationTickEvent event = new SimulationTickEvent();
+        event.begin();
         if (onTick != null) {
             onTick.run();
         }
+        if (event.shouldCommit()) {
+            event.bots = botsSupplier != null ? botsSupplier.get().size() : 0;
+            event.commit();
+        }
     }
 
     /**
@@ -226,4 +275,22 @@ public class MarketSimulator implements IMarketSimulator {
     public void setTotalTradesExecuted(int count) {
         this.totalTradesExecuted = count;
     }
+
+    @Override
+    public long getTickLagSeconds() {
+        GameTicker current = ticker;
+        return current != null ? current.getLagSeconds() : 0;
+    }
+
+    @Override
+    public long getTickOverruns() {
+        GameTicker current = ticker;
+        return current != null ? current.getOverrunCount() : 0;
+    }
+
+    @Override
+    public long getSkippedSeconds() {
+        GameTicker current = ticker;
+        return current != null ? current.getSkippedSeconds() : 0;
+    }
 }
@@ -0,0 +1,195 @@
+package org.team27.stocksim.model.simulation;
+
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.Trade;
+import org.team27.stocksim.model.portfolio.Portfolio;
+import org.team27.stocksim.model.portfolio.Position;
+import org.team27.stocksim.model.portfolio.TraderValuation;
+import org.team27.stocksim.model.portfolio.ValuationEngine;
+import org.team27.stocksim.model.users.Bot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Live statistics about the bot population, grouped by strategy class.
+ *
+ * <p>PopulationStatistics is fed by the market's order and settlement
+ * callbacks. Each event touches only the {@link StrategyStatistics} of the
+ * bots involved, in O(1), so aggregates can be read at any time without
+ * scanning bots, order books or trade history.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Observer (fed by market events)</p>
+ * <ul>
+ *   <li>Bots are mapped to their strategy once, at registration</li>
+ *   <li>Order acceptance and closing drive active-order counts and fill ratios</li>
+ *   <li>Settled trades drive turnover and the equity aggregates</li>
+ *   <li>Top bots per strategy are picked once per tick from the ranked leaderboard</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * PopulationStatistics statistics = new PopulationStatistics(valuationEngine);
+ * statistics.register(bot);
+ *
+ * market.setOnOrderAccepted(statistics::onOrderAccepted);
+ * market.setOnOrderClosed(statistics::onOrderClosed);
+ * // From the settlement callback
+ * statistics.onTradeSettled(trade);
+ *
+ * StrategyStatistics momentum = statistics.getStrategyStatistics("MomentumTraderStrategy");
+ * BigDecimal equity = momentum.getTotalEquity();
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see StrategyStatistics
+ * @see ValuationEngine
+ */
+public class PopulationStatistics {
+
+    /**
+     * Number of top bots kept per strategy.
+     */
+    public static final int TOP_BOTS_PER_STRATEGY = 5;
+
+    /**
+     * Engine providing last prices and the ranked leaderboard.
+     */
+    private final ValuationEngine valuationEngine;
+
+    /**
+     * Statistics by strategy name.
+     */
+    private final ConcurrentHashMap<String, StrategyStatistics> strategies = new ConcurrentHashMap<>();
+
+    /**
+     * Statistics of each registered bot's strategy, by bot ID.
+     */
+    private final ConcurrentHashMap<String, StrategyStatistics> botStrategies = new ConcurrentHashMap<>();
+
+    public PopulationStatistics(ValuationEngine valuationEngine) {
+        this.valuationEngine = valuationEngine;
+    }
+
+    /**
+     * Registers a bot, adding its current cash and holdings to its strategy's totals.
+     * Registering the same bot again has no effect.
+     *
+     * @param bot The bot to register
+     */
+    public void register(Bot bot) {
+        String strategyName = bot.getStrategy().getClass().getSimpleName();
+        StrategyStatistics statistics = strategies.computeIfAbsent(strategyName,
+                name -> new StrategyStatistics(name, valuationEngine));
+        if (botStrategies.putIfAbsent(bot.getId(), statistics) != null) {
+            return;
+        }
+
+        Portfolio portfolio = bot.getPortfolio();
+        Map<String, Integer> quantities = new HashMap<>();
+        long cashUnits;
+        synchronized (portfolio) {
+            cashUnits = ValuationEngine.toUnits(portfolio.getBalance());
+            for (Position position : portfolio.getPositions().values()) {
+                quantities.put(position.getSymbol(), position.getQuantity());
+            }
+        }
+        statistics.addBot(cashUnits, quantities);
+    }
+
+    /**
+     * Drops all aggregates, so bots can be registered again from their current state.
+     */
+    public void reset() {
+        strategies.clear();
+        botStrategies.clear();
+    }
+
+    public void onOrderAccepted(Order order) {
+        StrategyStatistics statistics = botStrategies.get(order.getTraderId());
+        if (statistics != null) {
+            statistics.onOrderAccepted(order.getTotalQuantity());
+        }
+    }
+
+    public void onOrderClosed(Order order) {
+        StrategyStatistics statistics = botStrategies.get(order.getTraderId());
+        if (statistics != null) {
+            statistics.onOrderClosed();
+        }
+    }
+
+    /**
+     * Applies a settled trade to the strategies of both counterparties.
+     *
+     * @param trade The settled trade
+     */
+    public void onTradeSettled(Trade trade) {
+        long priceUnits = ValuationEngine.toUnits(trade.getPrice());
+        StrategyStatistics buyer = trade.getBuyerTraderId() != null ? botStrategies.get(trade.getBuyerTraderId()) : null;
+        StrategyStatistics seller = trade.getSellerTraderId() != null ? botStrategies.get(trade.getSellerTraderId()) : null;
+
+        if (buyer != null) {
+            buyer.onBuy(trade.getStockSymbol(), trade.getQuantity(), priceUnits);
+        }
+        if (seller != null) {
+            seller.onSell(trade.getStockSymbol(), trade.getQuantity(), priceUnits);
+        }
+    }
+
+    /**
+     * Picks the top bots of each strategy from the valuation leaderboard.
+     *
+     * <p>Call after {@link ValuationEngine#refreshLeaderboard()}. The scan
+     * stops as soon as every strategy has its top entries.</p>
+     */
+    public void refreshTopBots() {
+        Map<StrategyStatistics, List<TraderValuation>> top = new HashMap<>();
+        for (StrategyStatistics statistics : strategies.values()) {
+            top.put(statistics, new ArrayList<>(TOP_BOTS_PER_STRATEGY));
+        }
+
+        int remaining = top.size();
+        for (TraderValuation valuation : valuationEngine.getLeaderboard(Integer.MAX_VALUE)) {
+            if (remaining == 0) {
+                break;
+            }
+            StrategyStatistics statistics = botStrategies.get(valuation.getTraderId());
+            List<TraderValuation> entries = statistics != null ? top.get(statistics) : null;
+            if (entries != null && entries.size() < TOP_BOTS_PER_STRATEGY) {
+                entries.add(valuation);
+                if (entries.size() == TOP_BOTS_PER_STRATEGY) {
+                    remaining--;
+                }
+            }
+        }
+
+        for (Map.Entry<StrategyStatistics, List<TraderValuation>> entry : top.entrySet()) {
+            entry.getKey().setTopBots(entry.getValue());
+        }
+    }
+
+    /**
+     * Gets the statistics of one strategy.
+     *
+     * @param strategyName Simple class name of the strategy
+     * @return The statistics, or null if no bot uses that strategy
+     */
+    public StrategyStatistics getStrategyStatistics(String strategyName) {
+        return strategies.get(strategyName);
+    }
+
+    /**
+     * Gets the statistics of every strategy in use.
+     *
+     * @return Unmodifiable view keyed by strategy name
+     */
+    public Map<String, StrategyStatistics> getAllStrategyStatistics() {
+        return Collections.unmodifiableMap(strategies);
+    }
+}
@@ -1,6 +1,15 @@
 package org.team27.stocksim.model.simulation;
 
+import org.team27.stocksim.model.clock.TickOverrunPolicy;
+import org.team27.stocksim.model.market.AuctionSchedule;
+import org.team27.stocksim.model.market.CircuitBreakerConfig;
+import org.team27.stocksim.model.market.IAllocationStrategy;
+import org.team27.stocksim.model.market.MarketOrderConfig;
+import org.team27.stocksim.model.market.RiskLimits;
+
 import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Configuration for market simulation parameters.
@@ -11,12 +20,28 @@ public class SimulationConfig {
     private final int tickInterval;
     private final int durationInRealSeconds;
     private final Instant initialTimestamp;
+    private final TickOverrunPolicy overrunPolicy;
+    private final boolean tickQuantized;
+    private final MarketOrderConfig marketOrderConfig;
+    private final RiskLimits riskLimits;
+    private final CircuitBreakerConfig circuitBreakerConfig;
+    private final Map<String, CircuitBreakerConfig> symbolCircuitBreakerConfigs;
+    private final AuctionSchedule auctionSchedule;
+    private final Map<String, IAllocationStrategy> allocationStrategies;
 
     private SimulationConfig(Builder builder) {
         this.speedupFactor = builder.speedupFactor;
         this.tickInterval = builder.tickInterval;
         this.durationInRealSeconds = builder.durationInRealSeconds;
         this.initialTimestamp = builder.initialTimestamp;
+        this.overrunPolicy = builder.overrunPolicy;
+        this.tickQuantized = builder.tickQuantized;
+        this.marketOrderConfig = builder.marketOrderConfig;
+        this.riskLimits = builder.riskLimits;
+        this.circuitBreakerConfig = builder.circuitBreakerConfig;
+        this.symbolCircuitBreakerConfigs = Map.copyOf(builder.symbolCircuitBreakerConfigs);
+        this.auctionSchedule = builder.auctionSchedule;
+        this.allocationStrategies = Map.copyOf(builder.allocationStrategies);
     }
 
     public int getSpeedupFactor() {
@@ -35,12 +60,57 @@ public class SimulationConfig {
         return initialTimestamp;
     }
 
+    public TickOverrunPolicy getOverrunPolicy() {
+        return overrunPolicy;
+    }
+
+    public boolean isTickQuantized() {
+        return tickQuantized;
+    }
+
+    public MarketOrderConfig getMarketOrderConfig() {
+        return marketOrderConfig;
+    }
+
+    public RiskLimits getRiskLimits() {
+        return riskLimits;
+    }
+
+    public CircuitBreakerConfig getCircuitBreakerConfig() {
+        return circuitBreakerConfig;
+    }
+
+    /**
+     * Gets the circuit breaker settings of symbols that do not use the default ones.
+     */
+    public Map<String, CircuitBreakerConfig> getSymbolCircuitBreakerConfigs() {
+        return symbolCircuitBreakerConfigs;
+    }
+
+    public AuctionSchedule getAuctionSchedule() {
+        return auctionSchedule;
+    }
+
+    /**
+     * Gets the allocation strategies of symbols that do not use price-time priority.
+     */
+    public Map<String, IAllocationStrategy> getAllocationStrategies() {
+        return allocationStrategies;
+    }
+
     /**
      * Creates a default configuration with standard values.
      * - Speedup factor: 3600 (1 hour of simulation per second of real time)
      * - Tick interval: 50ms
      * - Duration: 10 seconds
      * - Initial timestamp: EPOCH (0)
+     * - Overrun policy: COALESCE
+     * - Tick-quantized clock: off
+     * - Market orders: default MarketOrderConfig (10% max price deviation)
+     * - Pre-trade risk: default RiskLimits (100,000 shares, 50% price band, 10,000 open orders)
+     * - Circuit breakers: default CircuitBreakerConfig (25% band, 300s reference window, 300s halts)
+     * - Call auctions: none, continuous trading all day
+     * - Allocation: price-time priority for every symbol
      */
     public static SimulationConfig createDefault() {
         return new Builder().build();
@@ -65,6 +135,14 @@ public class SimulationConfig {
         private int tickInterval = 50;
         private int durationInRealSeconds = 10;
         private Instant initialTimestamp = Instant.EPOCH;
+        private TickOverrunPolicy overrunPolicy = TickOverrunPolicy.COALESCE;
+        private boolean tickQuantized = false;
+        private MarketOrderConfig marketOrderConfig = MarketOrderConfig.createDefault();
+        private RiskLimits riskLimits = RiskLimits.createDefault();
+        private CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.createDefault();
+        private final Map<String, CircuitBreakerConfig> symbolCircuitBreakerConfigs = new HashMap<>();
+        private AuctionSchedule auctionSchedule = AuctionSchedule.createDefault();
+        private final Map<String, IAllocationStrategy> allocationStrategies = new HashMap<>();
 
         public Builder speedupFactor(int speedupFactor) {
             this.speedupFactor = speedupFactor;
@@ -86,6 +164,61 @@ public class SimulationConfig {
             return this;
         }
 
+        public Builder overrunPolicy(TickOverrunPolicy overrunPolicy) {
+            this.overrunPolicy = overrunPolicy != null ? overrunPolicy : TickOverrunPolicy.COALESCE;
+            return this;
+        }
+
+        public Builder tickQuantized(boolean tickQuantized) {
+            this.tickQuantized = tickQuantized;
+            return this;
+        }
+
+        public Builder marketOrderConfig(MarketOrderConfig marketOrderConfig) {
+            this.marketOrderConfig = marketOrderConfig != null ? marketOrderConfig : MarketOrderConfig.createDefault();
+            return this;
+        }
+
+        public Builder riskLimits(RiskLimits riskLimits) {
+            this.riskLimits = riskLimits != null ? riskLimits : RiskLimits.createDefault();
+            return this;
+        }
+
+        public Builder circuitBreakerConfig(CircuitBreakerConfig circuitBreakerConfig) {
+            this.circuitBreakerConfig = circuitBreakerConfig != null
+                    ? circuitBreakerConfig : CircuitBreakerConfig.createDefault();
+            return this;
+        }
+
+        /**
+         * Gives one symbol its own circuit breaker settings; null restores the default.
+         */
+        public Builder circuitBreakerConfig(String symbol, CircuitBreakerConfig circuitBreakerConfig) {
+            if (circuitBreakerConfig != null) {
+                symbolCircuitBreakerConfigs.put(symbol, circuitBreakerConfig);
+            } else {
+                symbolCircuitBreakerConfigs.remove(symbol);
+            }
+            return this;
+        }
+
+        public Builder auctionSchedule(AuctionSchedule auctionSchedule) {
+            this.auctionSchedule = auctionSchedule != null ? auctionSchedule : AuctionSchedule.createDefault();
+            return this;
+        }
+
+        /**
+         * Selects how one symbol shares its price levels; null restores price-time priority.
+         */
+        public Builder allocationStrategy(String symbol, IAllocationStrategy allocationStrategy) {
+            if (allocationStrategy != null) {
+                allocationStrategies.put(symbol, allocationStrategy);
+            } else {
+                allocationStrategies.remove(symbol);
+            }
+            return this;
+        }
+
         public SimulationConfig build() {
             return new SimulationConfig(this);
         }
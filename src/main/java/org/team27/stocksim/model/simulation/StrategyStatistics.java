@@ -0,0 +1,199 @@
+package org.team27.stocksim.model.simulation;
+
+import org.team27.stocksim.model.portfolio.TraderValuation;
+import org.team27.stocksim.model.portfolio.ValuationEngine;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running aggregates for all bots that share one strategy class.
+ *
+ * <p>StrategyStatistics is updated by {@link PopulationStatistics} as orders
+ * are accepted, closed and settled. Every counter is a lock-free atomic, so
+ * bot threads on different symbols never contend on a shared lock, and every
+ * getter is O(1) except total equity, which is O(number of symbols held by the
+ * strategy).</p>
+ *
+ * <p><strong>Design Pattern:</strong> Materialized View</p>
+ * <ul>
+ *   <li>Total equity is cash plus aggregate quantity per symbol times last price</li>
+ *   <li>Turnover and filled quantity accumulate from settled trades</li>
+ *   <li>Active orders rise on acceptance and fall when an order is filled or cancelled</li>
+ *   <li>Top bots are a snapshot taken once per tick from the valuation leaderboard</li>
+ * </ul>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see PopulationStatistics
+ * @see ValuationEngine
+ */
+public class StrategyStatistics {
+
+    /**
+     * Simple class name of the strategy.
+     */
+    private final String strategyName;
+
+    /**
+     * Engine providing last prices for equity.
+     */
+    private final ValuationEngine valuationEngine;
+
+    /**
+     * Number of bots using this strategy.
+     */
+    private final AtomicInteger botCount = new AtomicInteger();
+
+    /**
+     * Combined cash of all bots in units.
+     */
+    private final AtomicLong cashUnits = new AtomicLong();
+
+    /**
+     * Combined share quantity of all bots, by symbol.
+     */
+    private final Map<String, AtomicLong> quantities = new ConcurrentHashMap<>();
+
+    private final LongAdder ordersPlaced = new LongAdder();
+    private final LongAdder quantitySubmitted = new LongAdder();
+    private final LongAdder quantityFilled = new LongAdder();
+    private final LongAdder turnoverUnits = new LongAdder();
+    private final LongAdder fills = new LongAdder();
+    private final AtomicLong activeOrders = new AtomicLong();
+
+    /**
+     * Best bots of this strategy by return, as of the last refresh.
+     */
+    private volatile List<TraderValuation> topBots = Collections.emptyList();
+
+    StrategyStatistics(String strategyName, ValuationEngine valuationEngine) {
+        this.strategyName = strategyName;
+        this.valuationEngine = valuationEngine;
+    }
+
+    void addBot(long initialCashUnits, Map<String, Integer> initialQuantities) {
+        botCount.incrementAndGet();
+        cashUnits.addAndGet(initialCashUnits);
+        for (Map.Entry<String, Integer> entry : initialQuantities.entrySet()) {
+            quantity(entry.getKey()).addAndGet(entry.getValue());
+        }
+    }
+
+    void onOrderAccepted(int quantity) {
+        ordersPlaced.increment();
+        quantitySubmitted.add(quantity);
+        activeOrders.incrementAndGet();
+    }
+
+    void onOrderClosed() {
+        activeOrders.decrementAndGet();
+    }
+
+    void onBuy(String symbol, int quantity, long priceUnits) {
+        long value = priceUnits * quantity;
+        cashUnits.addAndGet(-value);
+        quantity(symbol).addAndGet(quantity);
+        recordFill(quantity, value);
+    }
+
+    void onSell(String symbol, int quantity, long priceUnits) {
+        long value = priceUnits * quantity;
+        cashUnits.addAndGet(value);
+        quantity(symbol).addAndGet(-quantity);
+        recordFill(quantity, value);
+    }
+
+    private void recordFill(int quantity, long value) {
+        quantityFilled.add(quantity);
+        turnoverUnits.add(value);
+        fills.increment();
+    }
+
+    private AtomicLong quantity(String symbol) {
+        return quantities.computeIfAbsent(symbol, s -> new AtomicLong());
+    }
+
+    void setTopBots(List<TraderValuation> topBots) {
+        this.topBots = Collections.unmodifiableList(topBots);
+    }
+
+    public String getStrategyName() {
+        return strategyName;
+    }
+
+    public int getBotCount() {
+        return botCount.get();
+    }
+
+    /**
+     * Gets the combined mark-to-market equity of all bots in units.
+     *
+     * @return Cash plus quantity times last price over every symbol held
+     */
+    public long getTotalEquityUnits() {
+        long equity = cashUnits.get();
+        for (Map.Entry<String, AtomicLong> entry : quantities.entrySet()) {
+            equity += entry.getValue().get() * valuationEngine.getMarkUnits(entry.getKey());
+        }
+        return equity;
+    }
+
+    public BigDecimal getTotalEquity() {
+        return ValuationEngine.fromUnits(getTotalEquityUnits());
+    }
+
+    /**
+     * Gets the traded value of all fills, counting each side of a trade once.
+     *
+     * @return Total notional traded by bots of this strategy
+     */
+    public BigDecimal getTurnover() {
+        return ValuationEngine.fromUnits(turnoverUnits.sum());
+    }
+
+    public long getOrdersPlaced() {
+        return ordersPlaced.sum();
+    }
+
+    public long getFillCount() {
+        return fills.sum();
+    }
+
+    public long getQuantitySubmitted() {
+        return quantitySubmitted.sum();
+    }
+
+    public long getQuantityFilled() {
+        return quantityFilled.sum();
+    }
+
+    /**
+     * Gets the share of submitted quantity that has been filled.
+     *
+     * @return Filled over submitted quantity, or 0 if nothing was submitted
+     */
+    public double getFillRatio() {
+        long submitted = quantitySubmitted.sum();
+        return submitted == 0 ? 0.0 : (double) quantityFilled.sum() / submitted;
+    }
+
+    public long getActiveOrders() {
+        return activeOrders.get();
+    }
+
+    /**
+     * Gets the best bots of this strategy by return, as ranked at the last tick.
+     *
+     * @return Unmodifiable list, best return first
+     */
+    public List<TraderValuation> getTopBots() {
+        return topBots;
+    }
+}
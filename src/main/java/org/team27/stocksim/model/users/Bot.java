@@ -88,9 +88,16 @@ public class Bot extends Trader {
         return strategy;
     }
 
-    public void tick(StockSim model, BotActionExecutor executor) {
+    /**
+     * Lets the bot decide on orders for this tick.
+     *
+     * @param model The simulation model
+     * @param executor Executor for the resulting orders
+     * @return false if the tick was skipped because the previous action is still running
+     */
+    public boolean tick(StockSim model, BotActionExecutor executor) {
         if (!tryStartActing()) {
-            return; // Already acting, so we skip this tick
+            return false; // Already acting, so we skip this tick
         }
 
         List<Order> orders = strategy.decide(model, this);
@@ -102,6 +109,7 @@ public class Bot extends Trader {
             BotAction action = new BotAction(this, orders, model);
             executor.submit(action);
         }
+        return true;
     }
 
     private synchronized boolean tryStartActing() {
@@ -2,6 +2,7 @@ package org.team27.stocksim.model.users;
 
 import org.team27.stocksim.model.StockSim;
 import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.profiling.BotActionEvent;
 
 import java.util.List;
 
@@ -103,6 +104,8 @@ public class BotAction {
      * but the bot's state machine ensures only one action executes at a time.</p>
      */
     public void execute() {
+        BotActionEvent event = new BotActionEvent();
+        event.begin();
         try {
             for (Order order : orders) {
                 model.placeOrder(order);
@@ -112,6 +115,12 @@ public class BotAction {
             e.printStackTrace();
         } finally {
             bot.returnToIdle();
+            if (event.shouldCommit()) {
+                event.traderId = bot.getId();
+                event.traderType = bot.getStrategy().getClass().getSimpleName();
+                event.orders = orders.size();
+                event.commit();
+            }
         }
     }
 }
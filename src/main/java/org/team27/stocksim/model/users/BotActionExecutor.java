@@ -1,8 +1,7 @@
 package org.team27.stocksim.model.users;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import org.team27.stocksim.model.session.FairSharePool;
+import org.team27.stocksim.model.session.SimulationContext;
 
 /**
  * Manages asynchronous execution of bot trading actions.
@@ -12,9 +11,13 @@ import java.util.concurrent.TimeUnit;
  * orders in parallel. This improves simulation performance and realism by
  * preventing bots from blocking each other.</p>
  *
+ * <p>Actions run on one session's lane of the process-wide
+ * {@link FairSharePool}, so several simulations in one JVM share the cores
+ * fairly instead of each starting its own pool.</p>
+ *
  * <p><strong>Design Pattern:</strong> Executor + Thread Pool</p>
  * <ul>
- *   <li>Fixed thread pool sized to available CPU cores</li>
+ *   <li>Shared worker pool sized to available CPU cores</li>
  *   <li>Asynchronous bot action execution</li>
  *   <li>Graceful shutdown with timeout handling</li>
  *   <li>Prevents bot actions from blocking simulation ticks</li>
@@ -23,9 +26,9 @@ import java.util.concurrent.TimeUnit;
  *
  * <h2>Lifecycle:</h2>
  * <ol>
- *   <li>Constructed with thread pool sized to processor count</li>
+ *   <li>Constructed with a lane on the shared worker pool</li>
  *   <li>Bot actions submitted via submit() method</li>
- *   <li>Actions execute asynchronously in thread pool</li>
+ *   <li>Actions execute asynchronously, bound to the session's context</li>
  *   <li>Shutdown called when simulation ends</li>
  *   <li>Waits for pending actions to complete</li>
  * </ol>
@@ -49,56 +52,61 @@ import java.util.concurrent.TimeUnit;
  * @version 1.0
  * @see BotAction
  * @see Bot
- * @see ExecutorService
+ * @see FairSharePool
  */
 public class BotActionExecutor {
     /**
-     * Thread pool for executing bot actions.
-     * Sized to available processor count for optimal parallelism.
+     * This session's lane on the shared worker pool.
      */
-    private final ExecutorService executorService;
+    private final FairSharePool.Lane lane;
 
     /**
-     * Constructs a BotActionExecutor with a fixed thread pool.
-     *
-     * <p>The thread pool size is set to the number of available processors,
-     * providing good parallelism without excessive context switching.</p>
+     * Constructs a BotActionExecutor with its own lane on the shared pool,
+     * bound to the calling thread's session.
      */
     public BotActionExecutor() {
-        int threads = Runtime.getRuntime().availableProcessors();
-        this.executorService = Executors.newFixedThreadPool(threads);
+        this(FairSharePool.shared().newLane(SimulationContext.current()));
+    }
+
+    /**
+     * Constructs a BotActionExecutor on an existing session lane.
+     *
+     * @param lane Lane to submit actions to
+     */
+    public BotActionExecutor(FairSharePool.Lane lane) {
+        this.lane = lane;
+    }
+
+    /**
+     * Gets the number of submitted actions waiting for a thread.
+     *
+     * @return Current queue length
+     */
+    public int getQueueLength() {
+        return lane.getQueueLength();
     }
 
     /**
      * Submits a bot action for asynchronous execution.
      *
-     * <p>The action will be executed in the thread pool when a thread
-     * becomes available. This method returns immediately without waiting
+     * <p>The action will be executed on the shared pool when this session's
+     * lane gets its turn. This method returns immediately without waiting
      * for execution to complete.</p>
      *
      * @param action The bot action to execute
      */
     public void submit(BotAction action) {
-        executorService.submit(action::execute);
+        lane.execute(action::execute);
     }
 
     /**
      * Gracefully shuts down the executor.
      *
-     * <p>Waits for all currently executing and queued actions to complete
-     * before shutting down. If actions don't complete within a reasonable
-     * time, forces shutdown. Handles interruption gracefully.</p>
+     * <p>Stops accepting actions and waits for all currently executing and
+     * queued actions to complete. The shared workers keep serving other
+     * sessions. Handles interruption gracefully.</p>
      */
     public void shutdown() {
-        executorService.shutdown();
-        try {
-            if (!executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.DAYS)) {
-                executorService.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            executorService.shutdownNow();
-        }
+        lane.shutdown();
     }
 }
-
@@ -1,15 +1,24 @@
 package org.team27.stocksim.model.users;
 
+import org.team27.stocksim.dto.HistoryPageDTO;
 import org.team27.stocksim.dto.OrderDTO;
 import org.team27.stocksim.dto.OrderMapper;
 import org.team27.stocksim.dto.TradeDTO;
 import org.team27.stocksim.dto.TradeMapper;
 import org.team27.stocksim.model.market.Order;
 import org.team27.stocksim.model.market.Trade;
+import org.team27.stocksim.repository.OrderHistoryRepository;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 /**
@@ -19,6 +28,22 @@ import java.util.stream.Collectors;
  * executed by a user. It provides filtered access and converts internal domain
  * objects to DTOs for safe external consumption, maintaining encapsulation.</p>
  *
+ * <p>Orders are indexed by ID and by symbol, and active and filled orders are
+ * kept in their own collections. The market reports every order that stops
+ * being active through {@link #onOrderClosed(Order)}, so lookups, cancels and
+ * the active-order view cost the same however long the history grows.</p>
+ *
+ * <p>Only a hot window of recent orders and trades is kept in memory. When
+ * the window overflows, the oldest chunk of orders or trades is handed to
+ * the {@link OrderHistoryRepository}, which writes it in the background, and
+ * dropped from the window; chunk {@code i} always holds records
+ * {@code i * chunkSize} onwards. An order still active when spilled stays
+ * reachable by ID and in the active view, and pages show its current state.
+ * The full history remains reachable through {@link #getOrderPage(int, int)}
+ * and {@link #getTradePage(int, int)}, which read spilled chunks without
+ * holding the history, so the market is never kept waiting on the disk.
+ * The other views cover the in-memory window only.</p>
+ *
  * <p><strong>Design Pattern:</strong> Repository + DTO Conversion</p>
  * <ul>
  *   <li>Maintains complete audit trail of trading activity</li>
@@ -32,7 +57,9 @@ import java.util.stream.Collectors;
  * <ul>
  *   <li>Chronological order recording</li>
  *   <li>Trade execution history</li>
- *   <li>Symbol-based filtering</li>
+ *   <li>O(1) lookup by order ID</li>
+ *   <li>Incremental per-symbol, active and filled order views</li>
+ *   <li>Bounded memory with paginated access to spilled history</li>
  *   <li>DTO conversion for safe external access</li>
  *   <li>Separate collections for orders and trades</li>
  * </ul>
@@ -51,8 +78,12 @@ import java.util.stream.Collectors;
  *
  * // Filter by symbol
  * List<OrderDTO> appleOrders = history.getOrdersBySymbolDTO("AAPL");
+ * List<OrderDTO> openAppleOrders = history.getActiveOrdersBySymbolDTO("AAPL");
  * List<TradeDTO> appleTrades = history.getTradesBySymbolDTO("AAPL");
  *
+ * // Page through the full history, newest first
+ * HistoryPageDTO<OrderDTO> page = history.getOrderPage(0, 50);
+ *
  * // Access internal objects (package-private)
  * List<Order> orders = history.getAllOrders();
  * }</pre>
@@ -68,21 +99,119 @@ import java.util.stream.Collectors;
 public class OrderHistory {
 
     /**
-     * Chronological list of all orders placed.
+     * Default number of orders and of trades kept in memory.
+     */
+    public static final int DEFAULT_HOT_WINDOW = 10_000;
+
+    /**
+     * Default number of records written per spilled chunk.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+
+    /**
+     * Store for spilled history, or null to keep everything in memory.
+     */
+    private final OrderHistoryRepository repository;
+
+    /**
+     * Unique ID under which this history's chunks are stored.
+     */
+    private final String historyId = UUID.randomUUID().toString();
+
+    private final int hotWindow;
+    private final int chunkSize;
+
+    /**
+     * Number of order and trade chunks written to the repository.
+     */
+    private int spilledOrderChunks;
+    private int spilledTradeChunks;
+
+    /**
+     * Spilled chunks the repository has not finished writing, served from memory until it has.
+     */
+    private final Map<Integer, List<OrderDTO>> pendingOrderChunks;
+    private final Map<Integer, List<TradeDTO>> pendingTradeChunks;
+
+    /**
+     * Orders that were still active when their chunk was spilled, keyed by order ID.
+     */
+    private final Map<Integer, Order> liveSpilledOrders;
+
+    /**
+     * Most recently loaded spilled chunks, so paging through one chunk reads it once.
+     */
+    private int cachedOrderChunkIndex = -1;
+    private List<OrderDTO> cachedOrderChunk;
+    private int cachedTradeChunkIndex = -1;
+    private List<TradeDTO> cachedTradeChunk;
+
+    /**
+     * Chronological list of the orders in memory.
      */
     private final List<Order> orders;
 
     /**
-     * Chronological list of all trades executed.
+     * Chronological list of the trades in memory.
      */
     private final List<Trade> trades;
 
     /**
-     * Constructs an empty OrderHistory.
+     * Orders keyed by order ID.
+     */
+    private final Map<Integer, Order> ordersById;
+
+    /**
+     * Orders per symbol, in placement order.
+     */
+    private final Map<String, List<Order>> ordersBySymbol;
+
+    /**
+     * Orders that are neither filled nor cancelled, in placement order.
+     */
+    private final Map<Integer, Order> activeOrders;
+
+    /**
+     * The same active orders per symbol, so one symbol's view skips the others.
+     */
+    private final Map<String, Map<Integer, Order>> activeOrdersBySymbol;
+
+    /**
+     * Completely filled orders, in the order they were filled.
+     */
+    private final List<Order> filledOrders;
+
+    /**
+     * Constructs an empty OrderHistory that spills to the default repository.
      */
     public OrderHistory() {
+        this(OrderHistoryRepository.getDefault(), DEFAULT_HOT_WINDOW, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs an empty OrderHistory.
+     *
+     * @param repository Store for spilled history, or null to never spill
+     * @param hotWindow Number of orders and of trades to keep in memory
+     * @param chunkSize Number of records per spilled chunk
+     */
+    public OrderHistory(OrderHistoryRepository repository, int hotWindow, int chunkSize) {
+        if (hotWindow < 0 || chunkSize <= 0) {
+            throw new IllegalArgumentException("Hot window must be non-negative and chunk size positive");
+        }
+        this.repository = repository;
+        this.hotWindow = hotWindow;
+        this.chunkSize = chunkSize;
         this.orders = new ArrayList<>();
         this.trades = new ArrayList<>();
+        this.ordersById = new HashMap<>();
+        this.ordersBySymbol = new HashMap<>();
+        this.activeOrders = new LinkedHashMap<>();
+        this.activeOrdersBySymbol = new HashMap<>();
+        this.filledOrders = new ArrayList<>();
+        this.pendingOrderChunks = new HashMap<>();
+        this.pendingTradeChunks = new HashMap<>();
+        this.liveSpilledOrders = new HashMap<>();
     }
 
     /**
@@ -90,8 +219,18 @@ public class OrderHistory {
      *
      * @param order The order to record
      */
-    public void addOrder(Order order) {
+    public synchronized void addOrder(Order order) {
         orders.add(order);
+        ordersById.put(order.getOrderId(), order);
+        ordersBySymbol.computeIfAbsent(order.getSymbol(), symbol -> new ArrayList<>()).add(order);
+        if (isActive(order)) {
+            activeOrders.put(order.getOrderId(), order);
+            activeOrdersBySymbol.computeIfAbsent(order.getSymbol(), symbol -> new LinkedHashMap<>())
+                    .put(order.getOrderId(), order);
+        } else if (order.getStatus() == Order.Status.FILLED) {
+            filledOrders.add(order);
+        }
+        spillOrdersIfFull();
     }
 
     /**
@@ -99,27 +238,119 @@ public class OrderHistory {
      *
      * @param trade The trade to record
      */
-    public void addTrade(Trade trade) {
+    public synchronized void addTrade(Trade trade) {
         trades.add(trade);
+        spillTradesIfFull();
+    }
+
+    /**
+     * Spills the oldest chunk of orders once the window is a chunk over capacity.
+     */
+    private void spillOrdersIfFull() {
+        if (repository == null || orders.size() < hotWindow + chunkSize) {
+            return;
+        }
+
+        List<Order> oldest = orders.subList(0, chunkSize);
+        List<OrderDTO> chunk = toDtos(oldest);
+        Set<Integer> spilledIds = new HashSet<>();
+        for (Order order : oldest) {
+            spilledIds.add(order.getOrderId());
+            if (activeOrders.containsKey(order.getOrderId())) {
+                // Still reachable by ID and in the active view until it closes
+                liveSpilledOrders.put(order.getOrderId(), order);
+            } else {
+                ordersById.remove(order.getOrderId());
+            }
+        }
+        oldest.clear();
+        filledOrders.removeIf(order -> spilledIds.contains(order.getOrderId()));
+        for (List<Order> symbolOrders : ordersBySymbol.values()) {
+            symbolOrders.removeIf(order -> spilledIds.contains(order.getOrderId()));
+        }
+        ordersBySymbol.values().removeIf(List::isEmpty);
+
+        int chunkIndex = spilledOrderChunks++;
+        pendingOrderChunks.put(chunkIndex, chunk);
+        repository.saveOrderChunkAsync(historyId, chunkIndex, chunk).thenAccept(saved -> {
+            if (saved) {
+                synchronized (this) {
+                    pendingOrderChunks.remove(chunkIndex, chunk);
+                }
+            }
+        });
+    }
+
+    /**
+     * Spills the oldest chunk of trades once the window is a chunk over capacity.
+     */
+    private void spillTradesIfFull() {
+        if (repository == null || trades.size() < hotWindow + chunkSize) {
+            return;
+        }
+
+        List<Trade> oldest = trades.subList(0, chunkSize);
+        List<TradeDTO> chunk = new ArrayList<>(chunkSize);
+        for (Trade trade : oldest) {
+            chunk.add(TradeMapper.toDto(trade));
+        }
+        oldest.clear();
+
+        int chunkIndex = spilledTradeChunks++;
+        pendingTradeChunks.put(chunkIndex, chunk);
+        repository.saveTradeChunkAsync(historyId, chunkIndex, chunk).thenAccept(saved -> {
+            if (saved) {
+                synchronized (this) {
+                    pendingTradeChunks.remove(chunkIndex, chunk);
+                }
+            }
+        });
     }
 
     /**
-     * Gets all orders as DTOs for external consumption.
+     * Moves an order out of the active view after it was filled, cancelled,
+     * or dropped (the unfilled remainder of a market order).
+     *
+     * @param order The order that is no longer active
+     */
+    public synchronized void onOrderClosed(Order order) {
+        if (activeOrders.remove(order.getOrderId()) == null) {
+            return;
+        }
+        Map<Integer, Order> symbolActive = activeOrdersBySymbol.get(order.getSymbol());
+        symbolActive.remove(order.getOrderId());
+        if (symbolActive.isEmpty()) {
+            activeOrdersBySymbol.remove(order.getSymbol());
+        }
+        if (liveSpilledOrders.containsKey(order.getOrderId())) {
+            // Already out of the window; only pages still show it
+            ordersById.remove(order.getOrderId());
+        } else if (order.getStatus() == Order.Status.FILLED) {
+            filledOrders.add(order);
+        }
+    }
+
+    private static boolean isActive(Order order) {
+        return order.isActive();
+    }
+
+    /**
+     * Gets the orders in memory as DTOs for external consumption.
      *
      * @return List of order DTOs
      */
-    public List<OrderDTO> getAllOrdersDTO() {
+    public synchronized List<OrderDTO> getAllOrdersDTO() {
         return orders.stream()
                 .map(OrderMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     /**
-     * Gets all trades as DTOs for external consumption.
+     * Gets the trades in memory as DTOs for external consumption.
      *
      * @return List of trade DTOs
      */
-    public List<TradeDTO> getAllTradesDTO() {
+    public synchronized List<TradeDTO> getAllTradesDTO() {
         return trades.stream()
                 .map(TradeMapper::toDto)
                 .collect(Collectors.toList());
@@ -131,11 +362,8 @@ public class OrderHistory {
      * @param symbol The stock symbol
      * @return List of order DTOs for the symbol
      */
-    public List<OrderDTO> getOrdersBySymbolDTO(String symbol) {
-        return orders.stream()
-                .filter(order -> order.getSymbol().equals(symbol))
-                .map(OrderMapper::toDto)
-                .collect(Collectors.toList());
+    public synchronized List<OrderDTO> getOrdersBySymbolDTO(String symbol) {
+        return toDtos(ordersBySymbol.getOrDefault(symbol, Collections.emptyList()));
     }
 
     /**
@@ -144,7 +372,7 @@ public class OrderHistory {
      * @param symbol The stock symbol
      * @return List of trade DTOs for the symbol
      */
-    public List<TradeDTO> getTradesBySymbolDTO(String symbol) {
+    public synchronized List<TradeDTO> getTradesBySymbolDTO(String symbol) {
         return trades.stream()
                 .filter(trade -> trade.getStockSymbol().equals(symbol))
                 .map(TradeMapper::toDto)
@@ -156,7 +384,7 @@ public class OrderHistory {
      * 
      * @return List of buy order DTOs
      */
-    public List<OrderDTO> getBuyOrdersDTO() {
+    public synchronized List<OrderDTO> getBuyOrdersDTO() {
         return orders.stream()
                 .filter(Order::isBuyOrder)
                 .map(OrderMapper::toDto)
@@ -168,7 +396,7 @@ public class OrderHistory {
      * 
      * @return List of sell order DTOs
      */
-    public List<OrderDTO> getSellOrdersDTO() {
+    public synchronized List<OrderDTO> getSellOrdersDTO() {
         return orders.stream()
                 .filter(order -> !order.isBuyOrder())
                 .map(OrderMapper::toDto)
@@ -180,11 +408,8 @@ public class OrderHistory {
      * 
      * @return List of filled order DTOs
      */
-    public List<OrderDTO> getFilledOrdersDTO() {
-        return orders.stream()
-                .filter(Order::isFilled)
-                .map(OrderMapper::toDto)
-                .collect(Collectors.toList());
+    public synchronized List<OrderDTO> getFilledOrdersDTO() {
+        return toDtos(filledOrders);
     }
 
     /**
@@ -192,12 +417,26 @@ public class OrderHistory {
      * 
      * @return List of active order DTOs
      */
-    public List<OrderDTO> getActiveOrdersDTO() {
-        return orders.stream()
-                .filter(order -> order.getStatus() != Order.Status.FILLED
-                        && order.getStatus() != Order.Status.CANCELLED)
-                .map(OrderMapper::toDto)
-                .collect(Collectors.toList());
+    public synchronized List<OrderDTO> getActiveOrdersDTO() {
+        return toDtos(activeOrders.values());
+    }
+
+    /**
+     * Get active orders for a specific symbol as DTOs.
+     *
+     * @param symbol The stock symbol
+     * @return List of the symbol's active order DTOs, in placement order
+     */
+    public synchronized List<OrderDTO> getActiveOrdersBySymbolDTO(String symbol) {
+        return toDtos(activeOrdersBySymbol.getOrDefault(symbol, Collections.emptyMap()).values());
+    }
+
+    private static List<OrderDTO> toDtos(Iterable<Order> source) {
+        List<OrderDTO> dtos = new ArrayList<>();
+        for (Order order : source) {
+            dtos.add(OrderMapper.toDto(order));
+        }
+        return dtos;
     }
 
     /**
@@ -206,56 +445,220 @@ public class OrderHistory {
      * @param orderId The order ID to find
      * @return The order, or null if not found
      */
-    public Order getOrderById(int orderId) {
-        return orders.stream()
-                .filter(order -> order.getOrderId() == orderId)
-                .findFirst()
-                .orElse(null);
+    public synchronized Order getOrderById(int orderId) {
+        return ordersById.get(orderId);
+    }
+
+    /**
+     * Gets one page of the full order history, newest first, loading spilled orders as needed.
+     *
+     * @param page Zero-based page number
+     * @param pageSize Number of orders per page
+     * @return The page, with the total number of orders
+     */
+    public HistoryPageDTO<OrderDTO> getOrderPage(int page, int pageSize) {
+        // Read from disk without holding the history, which the market updates under its book locks
+        Map<Integer, List<OrderDTO>> loaded = loadChunks(orderChunksToLoad(page, pageSize),
+                chunk -> repository.loadOrderChunk(historyId, chunk));
+        synchronized (this) {
+            return page(page, pageSize, getOrderCount(), index -> orderAt(index, loaded));
+        }
+    }
+
+    /**
+     * Gets one page of the full trade history, newest first, loading spilled trades as needed.
+     *
+     * @param page Zero-based page number
+     * @param pageSize Number of trades per page
+     * @return The page, with the total number of trades
+     */
+    public HistoryPageDTO<TradeDTO> getTradePage(int page, int pageSize) {
+        Map<Integer, List<TradeDTO>> loaded = loadChunks(tradeChunksToLoad(page, pageSize),
+                chunk -> repository.loadTradeChunk(historyId, chunk));
+        synchronized (this) {
+            return page(page, pageSize, getTradeCount(), index -> tradeAt(index, loaded));
+        }
+    }
+
+    private synchronized List<Integer> orderChunksToLoad(int page, int pageSize) {
+        return chunksToLoad(page, pageSize, getOrderCount(), spilledOrderChunks, pendingOrderChunks,
+                cachedOrderChunkIndex);
+    }
+
+    private synchronized List<Integer> tradeChunksToLoad(int page, int pageSize) {
+        return chunksToLoad(page, pageSize, getTradeCount(), spilledTradeChunks, pendingTradeChunks,
+                cachedTradeChunkIndex);
+    }
+
+    /**
+     * Finds the spilled chunks a page covers that are only on disk.
+     */
+    private List<Integer> chunksToLoad(int page, int pageSize, int total, int spilledChunks,
+            Map<Integer, ?> pending, int cachedIndex) {
+        List<Integer> chunks = new ArrayList<>();
+        if (page < 0 || pageSize <= 0) {
+            return chunks;
+        }
+        long start = (long) page * pageSize;
+        long end = Math.min(start + pageSize, total);
+        if (start >= end) {
+            return chunks;
+        }
+        // Newest first: the page covers indices total - end through total - 1 - start
+        int lastChunk = (int) Math.min((total - 1 - start) / chunkSize, spilledChunks - 1L);
+        for (int chunk = (int) ((total - end) / chunkSize); chunk <= lastChunk; chunk++) {
+            if (chunk != cachedIndex && !pending.containsKey(chunk)) {
+                chunks.add(chunk);
+            }
+        }
+        return chunks;
+    }
+
+    private static <T> Map<Integer, List<T>> loadChunks(List<Integer> chunks, IntFunction<List<T>> loader) {
+        Map<Integer, List<T>> loaded = new HashMap<>();
+        for (int chunk : chunks) {
+            loaded.put(chunk, loader.apply(chunk));
+        }
+        return loaded;
+    }
+
+    private static <T> HistoryPageDTO<T> page(int page, int pageSize, int total, IntFunction<T> itemAt) {
+        List<T> items = new ArrayList<>();
+        if (page >= 0 && pageSize > 0) {
+            long start = (long) page * pageSize;
+            long end = Math.min(start + pageSize, total);
+            for (long i = start; i < end; i++) {
+                T item = itemAt.apply((int) (total - 1 - i));
+                if (item != null) {
+                    items.add(item);
+                }
+            }
+        }
+        return new HistoryPageDTO<>(items, page, pageSize, total);
+    }
+
+    private OrderDTO orderAt(int index, Map<Integer, List<OrderDTO>> loaded) {
+        int spilled = spilledOrderChunks * chunkSize;
+        if (index >= spilled) {
+            return OrderMapper.toDto(orders.get(index - spilled));
+        }
+        int chunk = index / chunkSize;
+        List<OrderDTO> records = pendingOrderChunks.get(chunk);
+        if (records == null) {
+            if (chunk != cachedOrderChunkIndex) {
+                List<OrderDTO> read = loaded.get(chunk);
+                // Written out after the page was planned; rare enough to read here
+                cachedOrderChunk = read != null ? read : repository.loadOrderChunk(historyId, chunk);
+                cachedOrderChunkIndex = chunk;
+            }
+            records = cachedOrderChunk;
+        }
+        int offset = index % chunkSize;
+        OrderDTO record = offset < records.size() ? records.get(offset) : null;
+        // A chunk holds an order as it was when spilled; one that was active then may have changed since
+        Order live = record != null ? liveSpilledOrders.get(record.getOrderId()) : null;
+        return live != null ? OrderMapper.toDto(live) : record;
+    }
+
+    private TradeDTO tradeAt(int index, Map<Integer, List<TradeDTO>> loaded) {
+        int spilled = spilledTradeChunks * chunkSize;
+        if (index >= spilled) {
+            return TradeMapper.toDto(trades.get(index - spilled));
+        }
+        int chunk = index / chunkSize;
+        List<TradeDTO> records = pendingTradeChunks.get(chunk);
+        if (records == null) {
+            if (chunk != cachedTradeChunkIndex) {
+                List<TradeDTO> read = loaded.get(chunk);
+                cachedTradeChunk = read != null ? read : repository.loadTradeChunk(historyId, chunk);
+                cachedTradeChunkIndex = chunk;
+            }
+            records = cachedTradeChunk;
+        }
+        int offset = index % chunkSize;
+        return offset < records.size() ? records.get(offset) : null;
+    }
+
+    /**
+     * Internal method: Get active orders (for model layer use only).
+     *
+     * @return Snapshot of active orders in placement order
+     */
+    public synchronized List<Order> getActiveOrders() {
+        return new ArrayList<>(activeOrders.values());
+    }
+
+    /**
+     * Internal method: Get orders for a symbol (for model layer use only).
+     *
+     * @param symbol The stock symbol
+     * @return Snapshot of the symbol's orders in placement order
+     */
+    public synchronized List<Order> getOrdersBySymbol(String symbol) {
+        return new ArrayList<>(ordersBySymbol.getOrDefault(symbol, Collections.emptyList()));
     }
 
     /**
-     * Internal method: Get all orders (for model layer use only).
-     * External callers should use getAllOrdersDTO().
+     * Internal method: Get the orders in memory (for model layer use only).
+     * External callers should use getAllOrdersDTO() or getOrderPage().
      * 
-     * @return Unmodifiable list of all orders
+     * @return Unmodifiable list of the orders in memory
      */
     public List<Order> getAllOrders() {
         return Collections.unmodifiableList(orders);
     }
 
     /**
-     * Internal method: Get all trades (for model layer use only).
-     * External callers should use getAllTradesDTO().
+     * Internal method: Get the trades in memory (for model layer use only).
+     * External callers should use getAllTradesDTO() or getTradePage().
      * 
-     * @return Unmodifiable list of all trades
+     * @return Unmodifiable list of the trades in memory
      */
     public List<Trade> getAllTrades() {
         return Collections.unmodifiableList(trades);
     }
 
     /**
-     * Get the total number of orders.
+     * Get the total number of orders, including spilled ones.
      * 
      * @return Number of orders
      */
-    public int getOrderCount() {
-        return orders.size();
+    public synchronized int getOrderCount() {
+        return spilledOrderChunks * chunkSize + orders.size();
     }
 
     /**
-     * Get the total number of trades.
+     * Get the total number of trades, including spilled ones.
      * 
      * @return Number of trades
      */
-    public int getTradeCount() {
-        return trades.size();
+    public synchronized int getTradeCount() {
+        return spilledTradeChunks * chunkSize + trades.size();
     }
 
     /**
      * Clear all history.
      */
-    public void clear() {
+    public synchronized void clear() {
         orders.clear();
         trades.clear();
+        ordersById.clear();
+        ordersBySymbol.clear();
+        activeOrders.clear();
+        activeOrdersBySymbol.clear();
+        filledOrders.clear();
+        if (repository != null && (spilledOrderChunks > 0 || spilledTradeChunks > 0)) {
+            // Queued behind this history's pending writes
+            repository.deleteHistoryAsync(historyId);
+        }
+        pendingOrderChunks.clear();
+        pendingTradeChunks.clear();
+        liveSpilledOrders.clear();
+        spilledOrderChunks = 0;
+        spilledTradeChunks = 0;
+        cachedOrderChunkIndex = -1;
+        cachedOrderChunk = null;
+        cachedTradeChunkIndex = -1;
+        cachedTradeChunk = null;
     }
 }
@@ -2,12 +2,17 @@ package org.team27.stocksim.model.users.bot;
 
 import org.team27.stocksim.dto.InstrumentDTO;
 import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.clock.ClockProvider;
 import org.team27.stocksim.model.users.Bot;
 import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.OrderBook;
+import org.team27.stocksim.model.market.PriceLevel;
 import org.team27.stocksim.model.portfolio.Position;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +32,8 @@ import java.util.Random;
  *   <li>Provides consistent random number generation</li>
  *   <li>Offers reusable portfolio analysis methods</li>
  *   <li>Standardizes order creation patterns</li>
+ *   <li>Created orders are GTT with a fixed lifetime, since bots never cancel
+ *       and stale orders would otherwise pile up in the books</li>
  *   <li>Configurable quantity ranges for all strategies</li>
  * </ul>
  *
@@ -71,6 +78,11 @@ import java.util.Random;
  */
 public abstract class AbstractBotStrategy implements IBotStrategy {
 
+    /**
+     * Simulated time a bot order rests in the book before it expires.
+     */
+    protected static final Duration ORDER_LIFETIME = Duration.ofHours(1);
+
     /**
      * Random number generator for strategy decisions.
      */
@@ -161,7 +173,24 @@ public abstract class AbstractBotStrategy implements IBotStrategy {
             return null; // Insufficient funds
         }
 
-        return new Order(Order.Side.BUY, stock.getSymbol(), price, quantity, bot.getId());
+        return new Order(Order.Side.BUY, Order.OrderType.LIMIT, stock.getSymbol(), price, quantity, bot.getId(),
+                Order.TimeInForce.GTT, orderExpireTime());
+    }
+
+    /**
+     * Create an iceberg buy order that shows {@code displayQuantity} at a time
+     *
+     * @return Order if it can be placed, null otherwise
+     */
+    protected Order createIcebergBuyOrder(Bot bot, InstrumentDTO stock, int quantity, int displayQuantity,
+            BigDecimal price) {
+        BigDecimal cost = price.multiply(BigDecimal.valueOf(quantity));
+        if (bot.getPortfolio().getBalance().compareTo(cost) < 0) {
+            return null; // Insufficient funds
+        }
+
+        return Order.iceberg(Order.Side.BUY, stock.getSymbol(), price, quantity, displayQuantity, bot.getId(),
+                Order.TimeInForce.GTT, orderExpireTime());
     }
 
     /**
@@ -180,7 +209,31 @@ public abstract class AbstractBotStrategy implements IBotStrategy {
             return null;
         }
 
-        return new Order(Order.Side.SELL, symbol, price, quantity, bot.getId());
+        return new Order(Order.Side.SELL, Order.OrderType.LIMIT, symbol, price, quantity, bot.getId(),
+                Order.TimeInForce.GTT, orderExpireTime());
+    }
+
+    /**
+     * Create a stop-limit sell order that rests until a trade reaches the stop price
+     * 
+     * @return Order if it can be placed, null otherwise
+     */
+    protected Order createStopLimitSellOrder(Bot bot, String symbol, int quantity, BigDecimal stopPrice,
+            BigDecimal limitPrice) {
+        int available = bot.getPortfolio().getStockQuantity(symbol);
+        if (available < quantity) {
+            return null; // Insufficient shares
+        }
+
+        return new Order(Order.Side.SELL, Order.OrderType.STOP_LIMIT, symbol, limitPrice, stopPrice, quantity,
+                bot.getId(), Order.TimeInForce.GTT, orderExpireTime());
+    }
+
+    /**
+     * Expiry for an order created now
+     */
+    protected Instant orderExpireTime() {
+        return ClockProvider.getClock().instant().plus(ORDER_LIFETIME);
     }
 
     // ==================== PORTFOLIO ANALYSIS ====================
@@ -298,13 +351,7 @@ public abstract class AbstractBotStrategy implements IBotStrategy {
      * Get recent price history
      */
     protected List<BigDecimal> getRecentPrices(InstrumentDTO stock, int lookbackPeriod) {
-        var history = stock.getPriceHistory().getPoints();
-        if (history.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        int startIdx = Math.max(0, history.size() - lookbackPeriod);
-        return history.subList(startIdx, history.size()).stream()
+        return stock.getPriceHistory().getRecentPoints(lookbackPeriod).stream()
                 .map(pp -> pp.getPrice())
                 .toList();
     }
@@ -318,4 +365,27 @@ public abstract class AbstractBotStrategy implements IBotStrategy {
                 .max(BigDecimal::compareTo)
                 .orElse(stock.getPrice());
     }
+
+    // ==================== ORDER BOOK DEPTH ====================
+
+    /**
+     * Get the best price levels resting on one side of a stock's order book
+     *
+     * @param side   BUY for bids, SELL for asks
+     * @param levels Maximum number of levels
+     * @return Levels best first, empty if nothing rests on that side
+     */
+    protected List<PriceLevel> getDepth(StockSim model, String symbol, Order.Side side, int levels) {
+        OrderBook orderBook = model.getOrderBook(symbol);
+        return orderBook != null ? orderBook.getDepth(side, levels) : List.of();
+    }
+
+    /**
+     * Total quantity resting within the best levels on one side of the book
+     */
+    protected int getVisibleQuantity(StockSim model, String symbol, Order.Side side, int levels) {
+        return getDepth(model, symbol, side, levels).stream()
+                .mapToInt(PriceLevel::getQuantity)
+                .sum();
+    }
 }
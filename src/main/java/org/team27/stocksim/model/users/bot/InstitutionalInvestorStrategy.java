@@ -44,6 +44,9 @@ import org.team27.stocksim.model.market.Order;
  *   <li>Rebalancing: 1% probability per tick</li>
  *   <li>Rarely sells (represents long-term capital)</li>
  *   <li>Larger quantities per trade</li>
+ *   <li>Buys through iceberg orders that show a fifth of their size, so the
+ *       rest of a large order waits hidden in the book as one order instead
+ *       of being split into many</li>
  * </ul>
  *
  * <h2>Usage Example:</h2>
@@ -73,6 +76,11 @@ public class InstitutionalInvestorStrategy extends AbstractBotStrategy {
      */
     private final double investmentProbability;
 
+    /**
+     * An iceberg purchase shows 1/DISPLAY_DIVISOR of its quantity at a time.
+     */
+    private static final int DISPLAY_DIVISOR = 5;
+
     /**
      * Counter tracking ticks since last capital injection.
      */
@@ -164,7 +172,11 @@ public class InstitutionalInvestorStrategy extends AbstractBotStrategy {
         int quantity = randomQuantity();
         BigDecimal price = calculatePriceWithVariation(stock.getPrice(), 0.5);
 
-        return createBuyOrder(model, bot, stock, quantity, price);
+        int displayQuantity = quantity / DISPLAY_DIVISOR;
+        if (displayQuantity == 0) {
+            return createBuyOrder(model, bot, stock, quantity, price);
+        }
+        return createIcebergBuyOrder(bot, stock, quantity, displayQuantity, price);
     }
 
     /**
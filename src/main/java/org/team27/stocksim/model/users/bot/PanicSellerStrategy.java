@@ -2,14 +2,19 @@ package org.team27.stocksim.model.users.bot;
 
 import org.team27.stocksim.dto.InstrumentDTO;
 import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.clock.ClockProvider;
 import org.team27.stocksim.model.users.Bot;
 import org.team27.stocksim.model.market.Order;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Panic Seller Strategy - Loss-averse behavior with quick exits.
@@ -19,10 +24,15 @@ import java.util.Random;
  * sign of trouble. It represents retail investors with low risk tolerance who
  * react emotionally to market volatility, often selling at the worst times.</p>
  *
+ * <p>Instead of watching prices every tick, the bot protects each position
+ * with a resting stop-limit sell order just below the current price. The
+ * market triggers it on the first trade at or below the stop, so the bot
+ * reacts within the same trade and costs nothing while prices hold.</p>
+ *
  * <p><strong>Design Pattern:</strong> Strategy (concrete implementation)</p>
  * <ul>
- *   <li>Monitors holdings constantly for losses or price drops</li>
- *   <li>Sells immediately when panic threshold is triggered</li>
+ *   <li>Covers every held share with a stop-limit sell order</li>
+ *   <li>Sells as soon as a trade reaches the panic threshold</li>
  *   <li>Very rarely buys (prefers holding cash)</li>
  *   <li>Low risk tolerance with quick loss realization</li>
  *   <li>Contributes to market volatility during downturns</li>
@@ -30,10 +40,12 @@ import java.util.Random;
  *
  * <h2>Panic Triggers:</h2>
  * <ul>
- *   <li>Price drops exceeding panic threshold (default: 2%)</li>
- *   <li>Any position showing unrealized losses</li>
- *   <li>Recent downward price trends</li>
- *   <li>Sells entire position when panicking</li>
+ *   <li>Stop price at the panic threshold below the price when the stop is
+ *       placed (default: 2%)</li>
+ *   <li>Limit price a further 2-4% lower, so the position sells in a falling market</li>
+ *   <li>Stops expire with the bot's order lifetime and are then placed again
+ *       at the new price, so they trail a rising price</li>
+ *   <li>Covers the entire position, including later purchases</li>
  * </ul>
  *
  * <h2>Buying Behavior:</h2>
@@ -87,6 +99,11 @@ public class PanicSellerStrategy extends AbstractBotStrategy {
      */
     private final double buyProbability;
 
+    /**
+     * Stop orders placed per bot and symbol, pruned once they are no longer active.
+     */
+    private final Map<String, List<Order>> stops = new ConcurrentHashMap<>();
+
     /**
      * Constructs a PanicSellerStrategy with default parameters.
      * <ul>
@@ -106,7 +123,7 @@ public class PanicSellerStrategy extends AbstractBotStrategy {
      *
      * @param random Random number generator
      * @param checkProbability Probability of checking holdings per tick
-     * @param panicThreshold Minimum price drop to trigger panic (e.g., 0.02 = 2%)
+     * @param panicThreshold Price drop at which stops trigger (e.g., 0.02 = 2%)
      * @param lookbackPeriod Number of ticks to analyze
      * @param buyProbability Probability of buying per tick
      * @param minQuantity Minimum order quantity
@@ -128,8 +145,8 @@ public class PanicSellerStrategy extends AbstractBotStrategy {
             return orders;
         }
 
-        // Check for positions that are losing money or dropping
-        Order order = panicSell(model, bot);
+        // Protect positions that are not yet covered by a stop
+        Order order = placeStop(model, bot);
         if (order != null) {
             orders.add(order);
             return orders;
@@ -146,44 +163,66 @@ public class PanicSellerStrategy extends AbstractBotStrategy {
         return orders;
     }
 
-    private Order panicSell(StockSim model, Bot bot) {
+    private Order placeStop(StockSim model, Bot bot) {
         HashMap<String, Integer> holdings = new HashMap<>(bot.getPortfolio().getStockHoldings());
         if (holdings.isEmpty()) {
             return null;
         }
 
-        List<String> panicSymbols = new ArrayList<>();
-        for (String symbol : holdings.keySet()) {
-            InstrumentDTO stock = model.getStocks().get(symbol);
-            if (stock == null)
-                continue;
-
-            if (hasPriceDropped(stock, lookbackPeriod, panicThreshold) || isLosingMoney(bot, symbol)) {
-                panicSymbols.add(symbol);
+        List<String> uncovered = new ArrayList<>();
+        for (Map.Entry<String, Integer> holding : holdings.entrySet()) {
+            if (holding.getValue() > coveredQuantity(bot, holding.getKey())) {
+                uncovered.add(holding.getKey());
             }
         }
 
-        if (panicSymbols.isEmpty()) {
+        if (uncovered.isEmpty()) {
             return null;
         }
 
-        String symbol = panicSymbols.get(random.nextInt(panicSymbols.size()));
+        String symbol = uncovered.get(random.nextInt(uncovered.size()));
         InstrumentDTO stock = model.getStocks().get(symbol);
         if (stock == null)
             return null;
 
-        int quantity = holdings.get(symbol); // Sell ALL shares
-        BigDecimal price = stock.getPrice()
+        int quantity = holdings.get(symbol) - coveredQuantity(bot, symbol);
+        BigDecimal stopPrice = stock.getPrice()
+                .multiply(BigDecimal.valueOf(1 - panicThreshold))
+                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal limitPrice = stopPrice
                 .multiply(BigDecimal.valueOf(0.96 + random.nextDouble() * 0.02)) // 2-4% discount
-                .setScale(2, java.math.RoundingMode.HALF_UP);
+                .setScale(2, RoundingMode.HALF_UP);
+        if (limitPrice.compareTo(BigDecimal.ZERO) <= 0) {
+            return null;
+        }
 
-        return createSellOrder(model, bot, symbol, quantity, price);
+        Order order = createStopLimitSellOrder(bot, symbol, quantity, stopPrice, limitPrice);
+        if (order != null) {
+            stops.computeIfAbsent(stopKey(bot, symbol), key -> new ArrayList<>()).add(order);
+        }
+        return order;
+    }
+
+    /**
+     * Gets the quantity still covered by the bot's active stops for a symbol.
+     */
+    private int coveredQuantity(Bot bot, String symbol) {
+        List<Order> placed = stops.get(stopKey(bot, symbol));
+        if (placed == null) {
+            return 0;
+        }
+        // An order the market never accepted stays NEW; its expiry time still ends it
+        Instant now = ClockProvider.getClock().instant();
+        placed.removeIf(order -> !order.isActive() || !order.getExpireTime().isAfter(now));
+        int covered = 0;
+        for (Order order : placed) {
+            covered += order.getRemainingQuantity();
+        }
+        return covered;
     }
 
-    private boolean isLosingMoney(Bot bot, String symbol) {
-        // This is a simplified check - we could enhance with current price from model
-        // For now, we'll rely on hasPriceDropped in the calling code
-        return false;
+    private static String stopKey(Bot bot, String symbol) {
+        return bot.getId() + ":" + symbol;
     }
 
     private Order cautiousBuy(StockSim model, Bot bot) {
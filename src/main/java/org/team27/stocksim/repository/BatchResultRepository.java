@@ -0,0 +1,94 @@
+package org.team27.stocksim.repository;
+
+import com.google.gson.Gson;
+import org.team27.stocksim.batch.RunResult;
+import org.team27.stocksim.batch.Scenario;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Repository for batch run results.
+ * Writes one compact JSON file per run and a CSV summary with one row per run.
+ */
+public class BatchResultRepository {
+
+    private static final String SUMMARY_FILE = "summary.csv";
+
+    private final Path directory;
+    private final Gson gson;
+
+    public BatchResultRepository(Path directory) {
+        this.directory = directory;
+        this.gson = new Gson();
+    }
+
+    public void saveRun(RunResult result) {
+        Path file = directory.resolve("run-" + result.getScenario().getId() + ".json");
+        try {
+            Files.createDirectories(directory);
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                gson.toJson(result, writer);
+            }
+        } catch (IOException e) {
+            System.err.println("Error saving batch run: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the summary of all runs, ordered by run ID.
+     * Each strategy gets its own PnL column.
+     *
+     * @param results Results of the finished runs
+     */
+    public void saveSummary(List<RunResult> results) {
+        List<String> strategyNames = results.stream()
+                .flatMap(r -> r.getStrategies().keySet().stream())
+                .distinct()
+                .sorted()
+                .toList();
+
+        StringBuilder csv = new StringBuilder("run,botCount,strategies,maxPriceDeviation,repetition,seed,"
+                + "orders,trades,rejects,wallMillis");
+        strategyNames.forEach(name -> csv.append(",pnl:").append(name));
+        csv.append('\n');
+
+        for (RunResult result : results.stream()
+                .sorted(Comparator.comparingInt(r -> r.getScenario().getId())).toList()) {
+            Scenario s = result.getScenario();
+            csv.append(s.getId()).append(',')
+                    .append(s.getBotCount()).append(',')
+                    .append(String.join("|", s.getStrategies())).append(',')
+                    .append(s.getMaxPriceDeviation().toPlainString()).append(',')
+                    .append(s.getRepetition()).append(',')
+                    .append(s.getSeed()).append(',')
+                    .append(result.getOrders()).append(',')
+                    .append(result.getTrades()).append(',')
+                    .append(result.getRejects()).append(',')
+                    .append(result.getWallMillis());
+            Map<String, RunResult.StrategyResult> strategies = result.getStrategies();
+            for (String name : strategyNames) {
+                RunResult.StrategyResult strategy = strategies.get(name);
+                csv.append(',').append(strategy != null ? strategy.getPnl().toPlainString() : "");
+            }
+            csv.append('\n');
+        }
+
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(SUMMARY_FILE), csv, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            System.err.println("Error saving batch summary: " + e.getMessage());
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+}
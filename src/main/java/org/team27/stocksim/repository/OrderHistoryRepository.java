@@ -0,0 +1,219 @@
+package org.team27.stocksim.repository;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.google.gson.reflect.TypeToken;
+import org.team27.stocksim.dto.OrderDTO;
+import org.team27.stocksim.dto.TradeDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Repository for order and trade history that no longer fits in memory.
+ * Stores history in numbered JSON chunk files, one directory per history,
+ * so that any chunk can be loaded on its own.
+ *
+ * <p>Chunks are written by a single background writer thread, so callers
+ * holding locks never wait for the disk; deletes go through the same thread
+ * and so happen after the writes queued before them. The shared default
+ * repository lives in its own temporary directory, which is deleted when
+ * the JVM shuts down.</p>
+ */
+public class OrderHistoryRepository {
+
+    private static final String DEFAULT_DIRECTORY = "stocksim-history-";
+    private static OrderHistoryRepository defaultRepository;
+    private static final Type ORDER_LIST_TYPE = new TypeToken<List<OrderDTO>>() {
+    }.getType();
+    private static final Type TRADE_LIST_TYPE = new TypeToken<List<TradeDTO>>() {
+    }.getType();
+
+    private final Path baseDirectory;
+    private final Gson gson;
+    private ExecutorService writer;
+
+    /**
+     * Creates a repository in a directory of its own under the system temporary directory.
+     */
+    public OrderHistoryRepository() {
+        this(Paths.get(System.getProperty("java.io.tmpdir"), DEFAULT_DIRECTORY + UUID.randomUUID()));
+    }
+
+    /**
+     * Gets the repository shared by histories that were not given one, creating it on first use.
+     *
+     * <p>Its directory is deleted when the JVM shuts down.</p>
+     *
+     * @return The shared repository
+     */
+    public static synchronized OrderHistoryRepository getDefault() {
+        if (defaultRepository == null) {
+            OrderHistoryRepository repository = new OrderHistoryRepository();
+            Runtime.getRuntime().addShutdownHook(new Thread(repository::close, "order-history-cleanup"));
+            defaultRepository = repository;
+        }
+        return defaultRepository;
+    }
+
+    public OrderHistoryRepository(Path baseDirectory) {
+        this.baseDirectory = baseDirectory;
+        this.gson = new GsonBuilder()
+                .registerTypeAdapter(Instant.class,
+                        (JsonSerializer<Instant>) (src, type, context) -> new JsonPrimitive(src.toString()))
+                .registerTypeAdapter(Instant.class,
+                        (JsonDeserializer<Instant>) (json, type, context) -> Instant.parse(json.getAsString()))
+                .create();
+    }
+
+    public void saveOrderChunk(String historyId, int chunkIndex, List<OrderDTO> orders) {
+        saveChunk(historyId, "orders", chunkIndex, orders);
+    }
+
+    /**
+     * Writes a chunk of orders on the writer thread.
+     *
+     * @return Completes with true once the chunk is on disk, false if it could not be written
+     */
+    public CompletableFuture<Boolean> saveOrderChunkAsync(String historyId, int chunkIndex, List<OrderDTO> orders) {
+        return submit(() -> saveChunk(historyId, "orders", chunkIndex, orders));
+    }
+
+    public List<OrderDTO> loadOrderChunk(String historyId, int chunkIndex) {
+        return loadChunk(historyId, "orders", chunkIndex, ORDER_LIST_TYPE);
+    }
+
+    public void saveTradeChunk(String historyId, int chunkIndex, List<TradeDTO> trades) {
+        saveChunk(historyId, "trades", chunkIndex, trades);
+    }
+
+    /**
+     * Writes a chunk of trades on the writer thread.
+     *
+     * @return Completes with true once the chunk is on disk, false if it could not be written
+     */
+    public CompletableFuture<Boolean> saveTradeChunkAsync(String historyId, int chunkIndex, List<TradeDTO> trades) {
+        return submit(() -> saveChunk(historyId, "trades", chunkIndex, trades));
+    }
+
+    public List<TradeDTO> loadTradeChunk(String historyId, int chunkIndex) {
+        return loadChunk(historyId, "trades", chunkIndex, TRADE_LIST_TYPE);
+    }
+
+    /**
+     * Delete all chunks stored for a history.
+     *
+     * @param historyId ID of the history
+     */
+    public void deleteHistory(String historyId) {
+        deleteRecursively(baseDirectory.resolve(historyId));
+    }
+
+    /**
+     * Deletes all chunks of a history on the writer thread, after the writes queued before it.
+     *
+     * @param historyId ID of the history
+     */
+    public void deleteHistoryAsync(String historyId) {
+        submit(() -> {
+            deleteHistory(historyId);
+            return true;
+        });
+    }
+
+    /**
+     * Stops the writer thread and deletes every history stored in this repository.
+     */
+    public void close() {
+        ExecutorService stopped;
+        synchronized (this) {
+            stopped = writer;
+            writer = null;
+        }
+        if (stopped != null) {
+            stopped.shutdownNow();
+            try {
+                stopped.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        deleteRecursively(baseDirectory);
+    }
+
+    private synchronized CompletableFuture<Boolean> submit(Supplier<Boolean> task) {
+        if (writer == null) {
+            writer = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "order-history-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return CompletableFuture.supplyAsync(task, writer);
+    }
+
+    private static void deleteRecursively(Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            System.err.println("Error deleting order history: " + e.getMessage());
+        }
+    }
+
+    private boolean saveChunk(String historyId, String kind, int chunkIndex, List<?> items) {
+        Path file = chunkPath(historyId, kind, chunkIndex);
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                gson.toJson(items, writer);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error saving order history: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private <T> List<T> loadChunk(String historyId, String kind, int chunkIndex, Type type) {
+        Path file = chunkPath(historyId, kind, chunkIndex);
+        if (!Files.exists(file)) {
+            return new ArrayList<>();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<T> items = gson.fromJson(reader, type);
+            return items != null ? items : new ArrayList<>();
+        } catch (IOException e) {
+            System.err.println("Error loading order history: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private Path chunkPath(String historyId, String kind, int chunkIndex) {
+        return baseDirectory.resolve(historyId).resolve(kind + "-" + chunkIndex + ".json");
+    }
+}
@@ -0,0 +1,116 @@
+package org.team27.stocksim.shard;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+/**
+ * Blocking socket channel that reads and writes {@link ShardProtocol} frames.
+ *
+ * <p>One thread reads with {@link #next()}, while any number of threads may
+ * write. Writes are appended to an output buffer under the channel's lock and
+ * go to the socket on {@link #flush()}, so a sender can batch several frames
+ * into one system call. Works for both TCP and Unix domain sockets.</p>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see ShardProtocol
+ */
+final class FrameChannel implements Closeable {
+
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final SocketChannel channel;
+    private final ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES);
+    private final ByteBuffer out = ByteBuffer.allocate(BUFFER_BYTES);
+
+    FrameChannel(SocketChannel channel) {
+        this.channel = channel;
+        in.flip();
+    }
+
+    /**
+     * Appends one frame to the output buffer, flushing first if it might not fit.
+     *
+     * @param encoder Writes exactly one frame into the buffer
+     * @throws IOException If the socket write fails
+     */
+    synchronized void append(Consumer<ByteBuffer> encoder) throws IOException {
+        if (out.remaining() < ShardProtocol.MAX_FRAME_BYTES) {
+            flush();
+        }
+        encoder.accept(out);
+    }
+
+    /**
+     * Appends one frame and writes it to the socket immediately.
+     *
+     * @param encoder Writes exactly one frame into the buffer
+     * @throws IOException If the socket write fails
+     */
+    synchronized void send(Consumer<ByteBuffer> encoder) throws IOException {
+        append(encoder);
+        flush();
+    }
+
+    synchronized void flush() throws IOException {
+        out.flip();
+        try {
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        } finally {
+            out.clear();
+        }
+    }
+
+    /**
+     * Reads the next frame, blocking until one is complete.
+     *
+     * <p>The returned buffer starts at the frame type and is only valid until
+     * the next call.</p>
+     *
+     * @return The frame, or null once the peer has closed the connection
+     * @throws IOException If the read fails or a frame is malformed
+     */
+    ByteBuffer next() throws IOException {
+        while (true) {
+            if (hasBufferedFrame()) {
+                int length = in.getInt(in.position());
+                ByteBuffer frame = in.slice(in.position() + Integer.BYTES, length);
+                in.position(in.position() + Integer.BYTES + length);
+                return frame;
+            }
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Checks whether a complete frame can be read without blocking.
+     *
+     * @return true if {@link #next()} would return immediately
+     * @throws IOException If the buffered length prefix is malformed
+     */
+    boolean hasBufferedFrame() throws IOException {
+        if (in.remaining() < Integer.BYTES) {
+            return false;
+        }
+        int length = in.getInt(in.position());
+        if (length <= 0 || length > ShardProtocol.MAX_FRAME_BYTES) {
+            throw new IOException("Malformed frame length " + length);
+        }
+        return in.remaining() >= Integer.BYTES + length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
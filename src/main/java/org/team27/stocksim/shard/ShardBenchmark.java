@@ -0,0 +1,150 @@
+package org.team27.stocksim.shard;
+
+import org.team27.stocksim.data.StockData;
+import org.team27.stocksim.data.StockDataLoader;
+import org.team27.stocksim.model.instruments.IInstrumentRegistry;
+import org.team27.stocksim.model.market.MarketOrderConfig;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+import org.team27.stocksim.model.session.SimulationContext;
+import org.team27.stocksim.model.users.Trader;
+import org.team27.stocksim.model.users.ITraderRegistry;
+import org.team27.stocksim.model.users.bot.RandomStrategy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Measures order throughput of the sharded market for increasing shard counts.
+ *
+ * <p>For each shard count a fresh cluster of child processes is started and a
+ * number of client threads send crossing limit orders on all default symbols
+ * for a fixed time. Every pair of orders produces one trade, which the gateway
+ * settles. Throughput counts orders that were fully matched and settled.</p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * // java -cp stocksim.jar org.team27.stocksim.shard.ShardBenchmark [seconds] [tcp|unix] [shards...]
+ * // java -cp stocksim.jar org.team27.stocksim.shard.ShardBenchmark 5 unix 1 2 4
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see ShardedMarket
+ * @see ShardCluster
+ */
+public class ShardBenchmark {
+
+    private static final int CLIENT_THREADS = 8;
+    private static final int TRADERS = 64;
+    private static final int STARTING_BALANCE = 1_000_000_000;
+    private static final int STARTING_HOLDINGS = 1_000_000;
+    private static final BigDecimal PRICE = new BigDecimal("100.00");
+
+    public static void main(String[] args) throws Exception {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        ShardCluster.Transport transport = args.length > 1
+                ? ShardCluster.Transport.valueOf(args[1].toUpperCase())
+                : ShardCluster.Transport.TCP;
+        List<Integer> shardCounts = new ArrayList<>();
+        for (int i = 2; i < args.length; i++) {
+            shardCounts.add(Integer.parseInt(args[i]));
+        }
+        if (shardCounts.isEmpty()) {
+            shardCounts = List.of(1, 2, 4);
+        }
+
+        List<String> symbols = new StockDataLoader().loadDefaultStocks().stream()
+                .map(StockData::getSymbol)
+                .toList();
+        System.out.println("Sharded market benchmark: " + symbols.size() + " symbols, " + CLIENT_THREADS
+                + " clients, " + seconds + "s per run, " + transport);
+        System.out.printf("%8s %14s %14s %14s%n", "shards", "orders/s", "trades/s", "p99 rtt (us)");
+        for (int shards : shardCounts) {
+            Result result = run(shards, transport, symbols, seconds);
+            System.out.printf("%8d %14.0f %14.0f %14.1f%n", shards, result.ordersPerSecond,
+                    result.tradesPerSecond, result.p99RoundTripNanos / 1000.0);
+        }
+    }
+
+    private static Result run(int shards, ShardCluster.Transport transport, List<String> symbols, int seconds)
+            throws IOException, InterruptedException {
+        SimulationContext context = new SimulationContext("shard-benchmark-" + shards);
+        MetricsRegistry metrics = new MetricsRegistry();
+
+        try (ShardCluster cluster = ShardCluster.startProcesses(shards, transport, MarketOrderConfig.createDefault());
+             ShardedMarket market = context.call(() -> connect(metrics, symbols, shards, cluster))) {
+            setUp(context, symbols);
+            ITraderRegistry traderRegistry = context.getTraderRegistry();
+            IInstrumentRegistry instrumentRegistry = context.getInstrumentRegistry();
+
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Thread> clients = new ArrayList<>();
+            for (int c = 0; c < CLIENT_THREADS; c++) {
+                long seed = c;
+                Thread client = new Thread(context.wrap(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    while (running.get()) {
+                        String symbol = symbols.get(random.nextInt(symbols.size()));
+                        String seller = "B" + random.nextInt(TRADERS);
+                        String buyer = "B" + random.nextInt(TRADERS);
+                        if (seller.equals(buyer)) {
+                            continue;
+                        }
+                        market.placeOrder(new Order(Order.Side.SELL, symbol, PRICE, 1, seller),
+                                traderRegistry.getAllTraders(), instrumentRegistry.getAllInstruments());
+                        market.placeOrder(new Order(Order.Side.BUY, symbol, PRICE, 1, buyer),
+                                traderRegistry.getAllTraders(), instrumentRegistry.getAllInstruments());
+                    }
+                }), "benchmark-client-" + c);
+                clients.add(client);
+            }
+
+            long start = System.nanoTime();
+            clients.forEach(Thread::start);
+            Thread.sleep(seconds * 1000L);
+            running.set(false);
+            for (Thread client : clients) {
+                client.join();
+            }
+            market.awaitIdle(30_000);
+            double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            return new Result(
+                    metrics.counter(MetricsRegistry.ORDERS).sum() / elapsedSeconds,
+                    metrics.counter(MetricsRegistry.TRADES).sum() / elapsedSeconds,
+                    metrics.histogram(MetricsRegistry.SHARD_ROUND_TRIP).getValueAtPercentile(99));
+        }
+    }
+
+    private static ShardedMarket connect(MetricsRegistry metrics, List<String> symbols, int shards,
+            ShardCluster cluster) {
+        try {
+            return new ShardedMarket(metrics, new SymbolPartitioner(symbols, shards), cluster.getAddresses());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not connect to shards", e);
+        }
+    }
+
+    private static void setUp(SimulationContext context, List<String> symbols) {
+        for (String symbol : symbols) {
+            context.getInstrumentRegistry().createInstrument(symbol, symbol, "0.01", "1", "Benchmark",
+                    PRICE.toPlainString());
+        }
+        ITraderRegistry traders = context.getTraderRegistry();
+        for (int i = 0; i < TRADERS; i++) {
+            traders.createBot("B" + i, "Benchmark " + i, new RandomStrategy(), STARTING_BALANCE);
+            Trader trader = traders.getTrader("B" + i);
+            for (String symbol : symbols) {
+                trader.getPortfolio().addStock(symbol, STARTING_HOLDINGS);
+            }
+        }
+    }
+
+    private record Result(double ordersPerSecond, double tradesPerSecond, long p99RoundTripNanos) {
+    }
+}
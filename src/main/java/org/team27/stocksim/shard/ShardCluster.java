@@ -0,0 +1,194 @@
+package org.team27.stocksim.shard;
+
+import org.team27.stocksim.model.market.MarketOrderConfig;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.UnixDomainSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts and stops a set of matching shards on this machine.
+ *
+ * <p>Shards either run as child JVMs on the current class path, which is how
+ * the market scales across cores, or as {@link ShardServer}s inside this JVM,
+ * which is handy for tests. In both cases they listen on loopback TCP or on
+ * Unix domain sockets in a fresh temporary directory.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Factory</p>
+ * <ul>
+ *   <li>A child shard reports {@code READY} on standard output once listening</li>
+ *   <li>Closing the cluster closes each child's standard input, which ends it</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * try (ShardCluster cluster = ShardCluster.startProcesses(4, ShardCluster.Transport.TCP,
+ *         MarketOrderConfig.createDefault())) {
+ *     List<SocketAddress> addresses = cluster.getAddresses();
+ * }
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see ShardServer
+ * @see ShardedMarket
+ */
+public class ShardCluster implements Closeable {
+
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Socket type the shards listen on.
+     */
+    public enum Transport {
+        TCP, UNIX
+    }
+
+    private final List<SocketAddress> addresses = new ArrayList<>();
+    private final List<ShardServer> servers = new ArrayList<>();
+    private final List<Process> processes = new ArrayList<>();
+    private final Path socketDirectory;
+
+    private ShardCluster(Transport transport) throws IOException {
+        this.socketDirectory = transport == Transport.UNIX ? Files.createTempDirectory("stocksim-shards") : null;
+    }
+
+    /**
+     * Starts shards as threads of this JVM.
+     *
+     * @param shards Number of shards
+     * @param transport Socket type
+     * @param config Price protection settings for market orders
+     * @return The running cluster
+     * @throws IOException If a shard cannot be started
+     */
+    public static ShardCluster startInProcess(int shards, Transport transport, MarketOrderConfig config)
+            throws IOException {
+        ShardCluster cluster = new ShardCluster(transport);
+        try {
+            for (int i = 0; i < shards; i++) {
+                ShardServer server = new ShardServer(cluster.bindAddress(transport, i), config);
+                cluster.servers.add(server);
+                cluster.addresses.add(server.start());
+            }
+        } catch (IOException e) {
+            cluster.close();
+            throw e;
+        }
+        return cluster;
+    }
+
+    /**
+     * Starts each shard as a child JVM on the current class path.
+     *
+     * @param shards Number of shards
+     * @param transport Socket type
+     * @param config Price protection settings for market orders
+     * @return The running cluster
+     * @throws IOException If a shard cannot be started
+     */
+    public static ShardCluster startProcesses(int shards, Transport transport, MarketOrderConfig config)
+            throws IOException {
+        ShardCluster cluster = new ShardCluster(transport);
+        try {
+            for (int i = 0; i < shards; i++) {
+                cluster.launch(transport, i, config);
+            }
+        } catch (IOException e) {
+            cluster.close();
+            throw e;
+        }
+        return cluster;
+    }
+
+    private SocketAddress bindAddress(Transport transport, int shard) {
+        return transport == Transport.UNIX
+                ? UnixDomainSocketAddress.of(socketDirectory.resolve("shard-" + shard + ".sock"))
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+    }
+
+    private void launch(Transport transport, int shard, MarketOrderConfig config) throws IOException {
+        String address = transport == Transport.UNIX
+                ? socketDirectory.resolve("shard-" + shard + ".sock").toString()
+                : "0";
+        ProcessBuilder builder = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                ShardServer.class.getName(),
+                transport.name().toLowerCase(),
+                address,
+                config.getMaxPriceDeviation().toPlainString());
+        builder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        Process process = builder.start();
+        processes.add(process);
+
+        BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        String line = output.readLine();
+        if (line == null || !line.startsWith(ShardServer.READY + " ")) {
+            throw new IOException("Shard " + shard + " did not start: " + line);
+        }
+        String bound = line.substring(ShardServer.READY.length() + 1).trim();
+        addresses.add(transport == Transport.UNIX
+                ? UnixDomainSocketAddress.of(bound)
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(bound)));
+    }
+
+    /**
+     * Gets the shard addresses, indexed by shard.
+     *
+     * @return Address of each shard
+     */
+    public List<SocketAddress> getAddresses() {
+        return List.copyOf(addresses);
+    }
+
+    public int size() {
+        return addresses.size();
+    }
+
+    @Override
+    public void close() {
+        for (ShardServer server : servers) {
+            try {
+                server.close();
+            } catch (IOException e) {
+                System.err.println("Error stopping shard: " + e.getMessage());
+            }
+        }
+        for (Process process : processes) {
+            try {
+                process.getOutputStream().close();
+                if (!process.waitFor(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroy();
+                }
+            } catch (IOException e) {
+                process.destroy();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                process.destroy();
+            }
+        }
+        if (socketDirectory != null) {
+            try {
+                for (SocketAddress address : addresses) {
+                    Files.deleteIfExists(((UnixDomainSocketAddress) address).getPath());
+                }
+                Files.deleteIfExists(socketDirectory);
+            } catch (IOException e) {
+                System.err.println("Error removing shard sockets: " + e.getMessage());
+            }
+        }
+    }
+}
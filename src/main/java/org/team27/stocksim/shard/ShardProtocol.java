@@ -0,0 +1,225 @@
+package org.team27.stocksim.shard;
+
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.Trade;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Compact binary frames exchanged between the gateway and the matching shards.
+ *
+ * <p>Every frame is a big-endian {@code int} length (not counting itself)
+ * followed by a one-byte type and a fixed layout per type. Prices travel as
+ * unscaled {@code long} plus scale, so a {@link BigDecimal} survives the round
+ * trip exactly. Strings are at most 255 bytes of UTF-8 with a one-byte length.</p>
+ *
+ * <h2>Frames:</h2>
+ * <ul>
+ *   <li>{@code PLACE} (gateway to shard): orderId, side, type, time in force, price,
+ *       quantity, display quantity, timestamp, symbol, traderId; expiry times stay with the gateway,
+ *       which cancels expired orders, and so do stop orders, which are sent
+ *       as the market or limit order they become once triggered</li>
+ *   <li>{@code CANCEL} (gateway to shard): orderId, symbol</li>
+ *   <li>{@code TRADE} (shard to gateway): buyOrderId, sellOrderId, price, quantity</li>
+ *   <li>{@code DONE} (shard to gateway): orderId, sent after all trades of a PLACE</li>
+ *   <li>{@code CANCELLED} (shard to gateway): orderId, sent when a CANCEL removed the order</li>
+ *   <li>{@code AMEND} (gateway to shard): orderId, price, quantity (new total), symbol</li>
+ *   <li>{@code AMENDED} (shard to gateway): orderId, price, quantity, sent when an AMEND was
+ *       applied and before the trades it causes; every AMEND is answered with a {@code DONE}</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * ByteBuffer out = ByteBuffer.allocate(ShardProtocol.MAX_FRAME_BYTES);
+ * ShardProtocol.writePlace(out, order);
+ * out.flip();
+ * out.getInt();                                  // length
+ * if (out.get() == ShardProtocol.PLACE) {
+ *     Order copy = ShardProtocol.readPlace(out);
+ * }
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see ShardServer
+ * @see ShardedMarket
+ */
+public final class ShardProtocol {
+
+    public static final byte PLACE = 1;
+    public static final byte CANCEL = 2;
+    public static final byte TRADE = 3;
+    public static final byte DONE = 4;
+    public static final byte CANCELLED = 5;
+    public static final byte AMEND = 6;
+    public static final byte AMENDED = 7;
+
+    /**
+     * Upper bound for a single frame including its length prefix.
+     */
+    public static final int MAX_FRAME_BYTES = 1024;
+
+    private static final int MAX_STRING_BYTES = 255;
+    private static final BigInteger MIN_UNSCALED = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger MAX_UNSCALED = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private ShardProtocol() {
+    }
+
+    /**
+     * Checks whether an order fits the frame layout.
+     *
+     * @param order The order to check
+     * @return true if symbol, trader ID and price can be encoded
+     */
+    public static boolean isEncodable(Order order) {
+        return fitsString(order.getSymbol()) && fitsString(order.getTraderId()) && fitsPrice(order.getPrice());
+    }
+
+    public static void writePlace(ByteBuffer out, Order order) {
+        int start = begin(out, PLACE);
+        out.putInt(order.getOrderId());
+        out.put((byte) order.getSide().ordinal());
+        out.put((byte) matchingType(order).ordinal());
+        out.put((byte) order.getTimeInForce().ordinal());
+        // A market order carries its price cap, if any, in the price field
+        writePrice(out, order.isMarketOrder() ? order.getPriceCap() : order.getPrice());
+        out.putInt(order.getTotalQuantity());
+        out.putInt(order.getDisplayQuantity());
+        out.putLong(order.getTimeStamp().getEpochSecond());
+        out.putInt(order.getTimeStamp().getNano());
+        writeString(out, order.getSymbol());
+        writeString(out, order.getTraderId());
+        end(out, start);
+    }
+
+    private static Order.OrderType matchingType(Order order) {
+        if (!order.isStopOrder()) {
+            return order.getOrderType();
+        }
+        return order.isMarketOrder() ? Order.OrderType.MARKET : Order.OrderType.LIMIT;
+    }
+
+    public static Order readPlace(ByteBuffer in) {
+        int orderId = in.getInt();
+        Order.Side side = Order.Side.values()[in.get()];
+        Order.OrderType orderType = Order.OrderType.values()[in.get()];
+        Order.TimeInForce timeInForce = Order.TimeInForce.values()[in.get()];
+        BigDecimal price = readPrice(in);
+        int quantity = in.getInt();
+        int displayQuantity = in.getInt();
+        Instant timeStamp = Instant.ofEpochSecond(in.getLong(), in.getInt());
+        String symbol = readString(in);
+        String traderId = readString(in);
+        if (orderType != Order.OrderType.MARKET) {
+            return new Order(orderId, side, orderType, symbol, price, quantity, displayQuantity, traderId, timeStamp,
+                    timeInForce, null);
+        }
+        Order order = new Order(orderId, side, orderType, symbol, null, quantity, displayQuantity, traderId,
+                timeStamp, timeInForce, null);
+        if (price.signum() > 0) {
+            order.setPriceCap(price);
+        }
+        return order;
+    }
+
+    public static void writeCancel(ByteBuffer out, int orderId, String symbol) {
+        int start = begin(out, CANCEL);
+        out.putInt(orderId);
+        writeString(out, symbol);
+        end(out, start);
+    }
+
+    public static void writeAmend(ByteBuffer out, int orderId, BigDecimal price, int quantity, String symbol) {
+        int start = begin(out, AMEND);
+        out.putInt(orderId);
+        writePrice(out, price);
+        out.putInt(quantity);
+        writeString(out, symbol);
+        end(out, start);
+    }
+
+    public static void writeAmended(ByteBuffer out, int orderId, BigDecimal price, int quantity) {
+        int start = begin(out, AMENDED);
+        out.putInt(orderId);
+        writePrice(out, price);
+        out.putInt(quantity);
+        end(out, start);
+    }
+
+    public static void writeTrade(ByteBuffer out, Trade trade) {
+        int start = begin(out, TRADE);
+        out.putInt(trade.getBuyOrderId());
+        out.putInt(trade.getSellOrderId());
+        writePrice(out, trade.getPrice());
+        out.putInt(trade.getQuantity());
+        end(out, start);
+    }
+
+    public static void writeDone(ByteBuffer out, int orderId) {
+        int start = begin(out, DONE);
+        out.putInt(orderId);
+        end(out, start);
+    }
+
+    public static void writeCancelled(ByteBuffer out, int orderId) {
+        int start = begin(out, CANCELLED);
+        out.putInt(orderId);
+        end(out, start);
+    }
+
+    public static BigDecimal readPrice(ByteBuffer in) {
+        long unscaled = in.getLong();
+        byte scale = in.get();
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+
+    public static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.get() & 0xFF];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int begin(ByteBuffer out, byte type) {
+        int start = out.position();
+        out.putInt(0);
+        out.put(type);
+        return start;
+    }
+
+    private static void end(ByteBuffer out, int start) {
+        out.putInt(start, out.position() - start - Integer.BYTES);
+    }
+
+    /**
+     * Market orders may carry no price; they travel as zero.
+     */
+    private static void writePrice(ByteBuffer out, BigDecimal price) {
+        BigDecimal value = price != null ? price : BigDecimal.ZERO;
+        out.putLong(value.unscaledValue().longValueExact());
+        out.put((byte) value.scale());
+    }
+
+    private static void writeString(ByteBuffer out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.put((byte) bytes.length);
+        out.put(bytes);
+    }
+
+    private static boolean fitsString(String value) {
+        return value != null && value.getBytes(StandardCharsets.UTF_8).length <= MAX_STRING_BYTES;
+    }
+
+    static boolean fitsPrice(BigDecimal price) {
+        if (price == null) {
+            return true;
+        }
+        BigInteger unscaled = price.unscaledValue();
+        return unscaled.compareTo(MIN_UNSCALED) >= 0 && unscaled.compareTo(MAX_UNSCALED) <= 0
+                && price.scale() >= Byte.MIN_VALUE && price.scale() <= Byte.MAX_VALUE;
+    }
+}
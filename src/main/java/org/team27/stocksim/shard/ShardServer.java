@@ -0,0 +1,276 @@
+package org.team27.stocksim.shard;
+
+import org.team27.stocksim.model.market.MarketOrderConfig;
+import org.team27.stocksim.model.market.MatchingEngine;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.OrderBook;
+import org.team27.stocksim.model.market.Trade;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A matching-engine process for one partition of the symbols.
+ *
+ * <p>The shard owns the order books of its symbols and nothing else: it
+ * matches incoming orders with the regular {@link MatchingEngine} under the
+ * book lock and streams the resulting trades back to the gateway, followed by
+ * a {@code DONE} frame. Cash and holdings are never touched here; the gateway
+ * settles every trade against the single set of portfolios it owns.</p>
+ *
+ * <p>An {@code AMEND} is applied to the resting order in one step under the
+ * book lock and, if its new price crosses the book, matched like a new order.</p>
+ *
+ * <p>Each shard serves one gateway. Responses are batched per connection and
+ * flushed whenever no further request is already buffered.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Active Object</p>
+ * <ul>
+ *   <li>One thread per gateway connection reads, matches and replies</li>
+ *   <li>Order books are created on first use of a symbol</li>
+ *   <li>Runs in-process for tests or as its own JVM via {@link #main(String[])}</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * // java -cp stocksim.jar org.team27.stocksim.shard.ShardServer tcp 0
+ * // java -cp stocksim.jar org.team27.stocksim.shard.ShardServer unix /tmp/shard-0.sock
+ * try (ShardServer shard = new ShardServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+ *         MarketOrderConfig.createDefault())) {
+ *     SocketAddress address = shard.start();
+ * }
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see ShardProtocol
+ * @see ShardedMarket
+ * @see ShardCluster
+ */
+public class ShardServer implements Closeable {
+
+    /**
+     * First line printed on standard output once the shard accepts connections.
+     */
+    public static final String READY = "READY";
+
+    private final SocketAddress bindAddress;
+    private final MatchingEngine matchingEngine;
+    private final ConcurrentHashMap<String, OrderBook> orderBooks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Order> restingOrders = new ConcurrentHashMap<>();
+    private final List<FrameChannel> connections = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connectionIndex = new AtomicInteger();
+    private ServerSocketChannel server;
+    private volatile boolean closed;
+
+    /**
+     * Creates a shard that will listen on the given address.
+     *
+     * @param bindAddress TCP or Unix domain socket address, port 0 picks a free port
+     * @param marketOrderConfig Price protection settings for market orders
+     */
+    public ShardServer(SocketAddress bindAddress, MarketOrderConfig marketOrderConfig) {
+        this.bindAddress = bindAddress;
+        this.matchingEngine = new MatchingEngine(marketOrderConfig);
+    }
+
+    /**
+     * Binds the socket and starts accepting gateway connections.
+     *
+     * @return The address the shard actually listens on
+     * @throws IOException If the socket cannot be bound
+     */
+    public synchronized SocketAddress start() throws IOException {
+        server = bindAddress instanceof UnixDomainSocketAddress
+                ? ServerSocketChannel.open(StandardProtocolFamily.UNIX)
+                : ServerSocketChannel.open();
+        server.bind(bindAddress);
+        Thread acceptor = new Thread(this::acceptLoop, "shard-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server.getLocalAddress();
+    }
+
+    private void acceptLoop() {
+        while (!closed) {
+            try {
+                SocketChannel channel = server.accept();
+                if (channel.getLocalAddress() instanceof InetSocketAddress) {
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                }
+                FrameChannel connection = new FrameChannel(channel);
+                connections.add(connection);
+                Thread worker = new Thread(() -> serve(connection),
+                        "shard-conn-" + connectionIndex.incrementAndGet());
+                worker.setDaemon(true);
+                worker.start();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Shard accept failed: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(FrameChannel connection) {
+        try (connection) {
+            ByteBuffer frame;
+            while ((frame = connection.next()) != null) {
+                byte type = frame.get();
+                switch (type) {
+                    case ShardProtocol.PLACE -> handlePlace(ShardProtocol.readPlace(frame), connection);
+                    case ShardProtocol.CANCEL -> handleCancel(frame.getInt(), ShardProtocol.readString(frame),
+                            connection);
+                    case ShardProtocol.AMEND -> handleAmend(frame.getInt(), ShardProtocol.readPrice(frame),
+                            frame.getInt(), ShardProtocol.readString(frame), connection);
+                    default -> throw new IOException("Unknown frame type " + type);
+                }
+                if (!connection.hasBufferedFrame()) {
+                    connection.flush();
+                }
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("Shard connection failed: " + e.getMessage());
+            }
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    private void handlePlace(Order order, FrameChannel connection) throws IOException {
+        OrderBook orderBook = orderBooks.computeIfAbsent(order.getSymbol(), OrderBook::new);
+        synchronized (orderBook) {
+            match(order, orderBook, connection);
+        }
+        connection.append(out -> ShardProtocol.writeDone(out, order.getOrderId()));
+    }
+
+    /**
+     * Matches an order not in the book and streams its trades; called under the book lock.
+     */
+    private void match(Order order, OrderBook orderBook, FrameChannel connection) throws IOException {
+        List<Trade> trades = matchingEngine.match(order, orderBook,
+                restingOrder -> restingOrders.remove(restingOrder.getOrderId()));
+        if (order.getRemainingQuantity() > 0 && order.canRest()) {
+            restingOrders.put(order.getOrderId(), order);
+        }
+        for (Trade trade : trades) {
+            connection.append(out -> ShardProtocol.writeTrade(out, trade));
+        }
+    }
+
+    private void handleAmend(int orderId, BigDecimal price, int quantity, String symbol, FrameChannel connection)
+            throws IOException {
+        OrderBook orderBook = orderBooks.get(symbol);
+        if (orderBook != null) {
+            synchronized (orderBook) {
+                Order order = restingOrders.get(orderId);
+                // The order may have filled or been cancelled after the gateway sent the amend
+                if (order != null && quantity > order.getTotalQuantity() - order.getRemainingQuantity()) {
+                    connection.append(out -> ShardProtocol.writeAmended(out, orderId, price, quantity));
+                    if (orderBook.crosses(order.getSide(), price)) {
+                        orderBook.remove(order);
+                        restingOrders.remove(orderId);
+                        order.amend(price, quantity);
+                        match(order, orderBook, connection);
+                    } else {
+                        orderBook.amend(order, price, quantity);
+                    }
+                }
+            }
+        }
+        connection.append(out -> ShardProtocol.writeDone(out, orderId));
+    }
+
+    private void handleCancel(int orderId, String symbol, FrameChannel connection) throws IOException {
+        OrderBook orderBook = orderBooks.get(symbol);
+        if (orderBook == null) {
+            return;
+        }
+        synchronized (orderBook) {
+            Order order = restingOrders.remove(orderId);
+            if (order == null) {
+                return;
+            }
+            orderBook.remove(order);
+            order.cancel();
+        }
+        connection.append(out -> ShardProtocol.writeCancelled(out, orderId));
+    }
+
+    /**
+     * Gets the number of resting orders across the shard's books.
+     *
+     * @return Total book depth of this shard
+     */
+    public int getRestingOrderCount() {
+        return restingOrders.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        if (server != null) {
+            server.close();
+        }
+        for (FrameChannel connection : connections) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Runs a shard as its own process.
+     *
+     * <p>Arguments: {@code tcp <port>} or {@code unix <path>}, optionally
+     * followed by the maximum market order price deviation. Prints
+     * {@code READY <port or path>} once listening and exits when standard
+     * input is closed, so the shard ends with the process that started it.</p>
+     *
+     * @param args Transport, address and optional price deviation
+     * @throws IOException If the socket cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardServer tcp <port> | unix <path> [maxPriceDeviation]");
+            System.exit(1);
+        }
+        SocketAddress address = "unix".equals(args[0])
+                ? UnixDomainSocketAddress.of(args[1])
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(args[1]));
+        MarketOrderConfig config = args.length > 2
+                ? new MarketOrderConfig(new BigDecimal(args[2]), true)
+                : MarketOrderConfig.createDefault();
+
+        try (ShardServer shard = new ShardServer(address, config)) {
+            SocketAddress bound = shard.start();
+            System.out.println(READY + " " + (bound instanceof InetSocketAddress inet
+                    ? String.valueOf(inet.getPort())
+                    : args[1]));
+            System.out.flush();
+            while (System.in.read() >= 0) {
+                // Keep serving until the parent closes our input
+            }
+        } finally {
+            if (address instanceof UnixDomainSocketAddress unix) {
+                Files.deleteIfExists(unix.getPath());
+            }
+        }
+    }
+}
@@ -0,0 +1,851 @@
+package org.team27.stocksim.shard;
+
+import org.team27.stocksim.model.clock.ClockProvider;
+import org.team27.stocksim.model.clock.TimingWheel;
+import org.team27.stocksim.model.instruments.Instrument;
+import org.team27.stocksim.model.market.IMarket;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.OrderBook;
+import org.team27.stocksim.model.market.OrderValidator;
+import org.team27.stocksim.model.market.RiskEngine;
+import org.team27.stocksim.model.market.SettlementEngine;
+import org.team27.stocksim.model.market.StopOrderBook;
+import org.team27.stocksim.model.market.Trade;
+import org.team27.stocksim.model.metrics.LatencyHistogram;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+import org.team27.stocksim.model.session.SimulationContext;
+import org.team27.stocksim.model.users.Trader;
+import org.team27.stocksim.model.users.User;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Gateway of a market whose order books are partitioned across matching processes.
+ *
+ * <p>Orders are validated, tracked and recorded here exactly as in
+ * {@link org.team27.stocksim.model.market.Market}, then routed by symbol to
+ * the shard that owns the symbol's book. Each shard streams its trades back;
+ * a reader thread per shard applies the fills to the gateway's orders and
+ * settles the trades with the one {@link SettlementEngine} of this process.</p>
+ *
+ * <p>Because cash and holdings only ever change here, a trader trading on
+ * several shards at once needs no distributed transaction: settlement and the
+ * pre-trade reservations of the {@link RiskEngine} stay as consistent as in
+ * the single-process market. All trades of one symbol
+ * arrive on one reader thread, so prices are still written in trade order.</p>
+ *
+ * <p><strong>Design Patterns:</strong> Facade + Proxy + Observer</p>
+ * <ul>
+ *   <li>Same {@link IMarket} contract and callbacks as the in-process market</li>
+ *   <li>Matching is asynchronous: placeOrder returns once the order is sent</li>
+ *   <li>At most {@code maxInFlight} orders per shard await their {@code DONE}
+ *       frame; further senders block (back-pressure)</li>
+ *   <li>Order book views are snapshots of the resting orders known to the gateway</li>
+ *   <li>DAY and GTT expiries are timed here and carried out as cancels on the shards</li>
+ *   <li>Stop orders wait in stop order books here; the reader thread that
+ *       settles a trade sends the stops it triggers to the symbol's shard</li>
+ *   <li>Mass cancels are sent as one cancel per matching open order</li>
+ *   <li>Amends are sent to the shard and applied to the gateway's order when
+ *       the shard confirms them, before the trades they cause</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * SymbolPartitioner partitioner = new SymbolPartitioner(symbols, 4);
+ * try (ShardCluster cluster = ShardCluster.startProcesses(4, ShardCluster.Transport.UNIX,
+ *              MarketOrderConfig.createDefault());
+ *      ShardedMarket market = new ShardedMarket(new MetricsRegistry(), partitioner,
+ *              cluster.getAddresses())) {
+ *     market.placeOrder(order, traders, stocks);
+ *     market.awaitIdle(1000);
+ * }
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see IMarket
+ * @see ShardServer
+ * @see ShardProtocol
+ * @see SymbolPartitioner
+ */
+public class ShardedMarket implements IMarket, Closeable {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4096;
+
+    private final SymbolPartitioner partitioner;
+    private final List<ShardLink> links;
+    private final int maxInFlight;
+    private final SimulationContext context;
+
+    private final SettlementEngine settlementEngine;
+    private final OrderValidator orderValidator;
+    private final RiskEngine riskEngine;
+    private final ConcurrentHashMap<Integer, String> orderIdToTraderId;
+
+    /**
+     * Orders accepted by the gateway that are not yet filled, cancelled or dropped.
+     */
+    private final ConcurrentHashMap<Integer, Order> openOrders;
+
+    /**
+     * Open orders the shards have acknowledged as resting in their books.
+     */
+    private final ConcurrentHashMap<Integer, Order> restingOrders;
+
+    /**
+     * The same resting orders by symbol, so a book snapshot only visits its own symbol's orders.
+     */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Integer, Order>> restingBySymbol;
+
+    private final ConcurrentLinkedQueue<Trade> completedTrades;
+
+    /**
+     * Untriggered stop orders by symbol; a book's lock orders its triggers before cancels.
+     */
+    private final ConcurrentHashMap<String, StopOrderBook> stopBooks;
+
+    /**
+     * Pending expiries of resting DAY and GTT orders, in simulated epoch seconds.
+     */
+    private final TimingWheel<Order> expiryWheel;
+    private final ConcurrentHashMap<Integer, TimingWheel.Timer<Order>> expiryTimers;
+
+    /**
+     * Orders whose expiry was sent to their shard as a cancel and not yet confirmed.
+     */
+    private final Set<Integer> expiring;
+
+    private volatile HashMap<String, Trader> traders = new HashMap<>();
+    private volatile HashMap<String, Instrument> stocks = new HashMap<>();
+
+    private Consumer<Set<String>> onPriceUpdate;
+    private Consumer<Trade> onTradeSettled;
+    private Consumer<Order> onOrderAccepted;
+    private BiConsumer<Order, String> onOrderRejected;
+    private Consumer<Order> onOrderAmended;
+    private Consumer<Order> onOrderClosed;
+    private Consumer<String> onOrderBookChanged;
+
+    private final LatencyHistogram validateLatency;
+    private final LatencyHistogram roundTripLatency;
+    private final LatencyHistogram settleLatency;
+    private final LatencyHistogram notifyLatency;
+    private final LongAdder ordersCounter;
+    private final LongAdder tradesCounter;
+    private final LongAdder rejectsCounter;
+    private final LongAdder cancelsCounter;
+    private final LongAdder amendsCounter;
+    private final LongAdder expiriesCounter;
+    private final LongAdder stopsTriggeredCounter;
+
+    private final ThreadLocal<long[]> callbackNanos = ThreadLocal.withInitial(() -> new long[1]);
+
+    private volatile boolean closed;
+
+    /**
+     * Connects a gateway to running shards.
+     *
+     * @param metrics Registry for order lifecycle latencies and counters
+     * @param partitioner Assignment of symbols to shards
+     * @param shardAddresses Address of each shard, indexed like the partitioner's shards
+     * @throws IOException If a shard cannot be reached
+     */
+    public ShardedMarket(MetricsRegistry metrics, SymbolPartitioner partitioner,
+            List<? extends SocketAddress> shardAddresses) throws IOException {
+        this(metrics, partitioner, shardAddresses, DEFAULT_MAX_IN_FLIGHT);
+    }
+
+    /**
+     * Connects a gateway to running shards with a custom in-flight limit.
+     *
+     * @param metrics Registry for order lifecycle latencies and counters
+     * @param partitioner Assignment of symbols to shards
+     * @param shardAddresses Address of each shard, indexed like the partitioner's shards
+     * @param maxInFlight Maximum orders per shard sent but not yet acknowledged
+     * @throws IOException If a shard cannot be reached
+     */
+    public ShardedMarket(MetricsRegistry metrics, SymbolPartitioner partitioner,
+            List<? extends SocketAddress> shardAddresses, int maxInFlight) throws IOException {
+        this(metrics, partitioner, shardAddresses, maxInFlight, new RiskEngine());
+    }
+
+    /**
+     * Connects a gateway to running shards with the given pre-trade risk checks.
+     *
+     * @param metrics Registry for order lifecycle latencies and counters
+     * @param partitioner Assignment of symbols to shards
+     * @param shardAddresses Address of each shard, indexed like the partitioner's shards
+     * @param riskEngine Risk checks reserving cash and shares of open orders
+     * @throws IOException If a shard cannot be reached
+     */
+    public ShardedMarket(MetricsRegistry metrics, SymbolPartitioner partitioner,
+            List<? extends SocketAddress> shardAddresses, RiskEngine riskEngine) throws IOException {
+        this(metrics, partitioner, shardAddresses, DEFAULT_MAX_IN_FLIGHT, riskEngine);
+    }
+
+    /**
+     * Connects a gateway to running shards with a custom in-flight limit and risk checks.
+     *
+     * @param metrics Registry for order lifecycle latencies and counters
+     * @param partitioner Assignment of symbols to shards
+     * @param shardAddresses Address of each shard, indexed like the partitioner's shards
+     * @param maxInFlight Maximum orders per shard sent but not yet acknowledged
+     * @param riskEngine Risk checks reserving cash and shares of open orders
+     * @throws IOException If a shard cannot be reached
+     */
+    public ShardedMarket(MetricsRegistry metrics, SymbolPartitioner partitioner,
+            List<? extends SocketAddress> shardAddresses, int maxInFlight, RiskEngine riskEngine) throws IOException {
+        if (shardAddresses.size() != partitioner.getShardCount()) {
+            throw new IllegalArgumentException("Expected " + partitioner.getShardCount() + " shard addresses, got "
+                    + shardAddresses.size());
+        }
+        this.partitioner = partitioner;
+        this.maxInFlight = maxInFlight;
+        this.context = SimulationContext.current();
+
+        this.validateLatency = metrics.histogram(MetricsRegistry.ORDER_VALIDATE);
+        this.roundTripLatency = metrics.histogram(MetricsRegistry.SHARD_ROUND_TRIP);
+        this.settleLatency = metrics.histogram(MetricsRegistry.ORDER_SETTLE);
+        this.notifyLatency = metrics.histogram(MetricsRegistry.ORDER_NOTIFY);
+        this.ordersCounter = metrics.counter(MetricsRegistry.ORDERS);
+        this.tradesCounter = metrics.counter(MetricsRegistry.TRADES);
+        this.rejectsCounter = metrics.counter(MetricsRegistry.REJECTS);
+        this.cancelsCounter = metrics.counter(MetricsRegistry.CANCELS);
+        this.amendsCounter = metrics.counter(MetricsRegistry.AMENDS);
+        this.expiriesCounter = metrics.counter(MetricsRegistry.EXPIRIES);
+        this.stopsTriggeredCounter = metrics.counter(MetricsRegistry.STOPS_TRIGGERED);
+        metrics.gauge(MetricsRegistry.BOOK_DEPTH, this::getTotalBookDepth);
+        metrics.gauge(MetricsRegistry.PENDING_STOPS, this::getPendingStopCount);
+
+        this.orderIdToTraderId = new ConcurrentHashMap<>();
+        this.settlementEngine = new SettlementEngine(orderIdToTraderId, this::handleTradeSettled);
+        this.orderValidator = new OrderValidator();
+        this.riskEngine = riskEngine;
+        this.openOrders = new ConcurrentHashMap<>();
+        this.restingOrders = new ConcurrentHashMap<>();
+        this.restingBySymbol = new ConcurrentHashMap<>();
+        this.completedTrades = new ConcurrentLinkedQueue<>();
+        this.stopBooks = new ConcurrentHashMap<>();
+        this.expiryWheel = new TimingWheel<>();
+        this.expiryTimers = new ConcurrentHashMap<>();
+        this.expiring = ConcurrentHashMap.newKeySet();
+        metrics.gauge(MetricsRegistry.PENDING_EXPIRIES, expiryWheel::size);
+
+        this.links = new ArrayList<>();
+        try {
+            for (int i = 0; i < shardAddresses.size(); i++) {
+                links.add(connect(i, shardAddresses.get(i)));
+            }
+        } catch (IOException e) {
+            close();
+            throw e;
+        }
+        links.forEach(link -> link.reader.start());
+    }
+
+    private ShardLink connect(int index, SocketAddress address) throws IOException {
+        SocketChannel channel = SocketChannel.open(address);
+        if (address instanceof InetSocketAddress) {
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        }
+        return new ShardLink(index, new FrameChannel(channel));
+    }
+
+    @Override
+    public void placeOrder(Order order, HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
+        long validateStart = System.nanoTime();
+        OrderValidator.ValidationResult validationResult = orderValidator.validate(order);
+        if (validationResult.isValid() && !ShardProtocol.isEncodable(order)) {
+            validationResult = OrderValidator.ValidationResult.failure("Order does not fit the shard protocol");
+        }
+        if (validationResult.isValid()) {
+            validationResult = riskEngine.reserve(order, traders.get(order.getTraderId()),
+                    referencePrice(order.getSymbol(), stocks));
+        }
+        validateLatency.record(System.nanoTime() - validateStart);
+        if (!validationResult.isValid()) {
+            rejectsCounter.increment();
+            System.err.println("Order validation failed: " + validationResult.getErrorMessage() +
+                             " for order " + (order != null ? order.getOrderId() : "null"));
+            if (order != null && onOrderRejected != null) {
+                onOrderRejected.accept(order, validationResult.getErrorMessage());
+            }
+            return;
+        }
+
+        this.traders = traders;
+        this.stocks = stocks;
+        ordersCounter.increment();
+        settlementEngine.trackOrder(order.getOrderId(), order.getTraderId());
+
+        if (traders.get(order.getTraderId()) instanceof User user) {
+            user.getOrderHistory().addOrder(order);
+        }
+
+        if (onOrderAccepted != null) {
+            onOrderAccepted.accept(order);
+        }
+
+        // Register before sending: the shard's reply may arrive before send() returns
+        openOrders.put(order.getOrderId(), order);
+        if (order.isAwaitingTrigger()) {
+            if (getStopOrderBook(order.getSymbol()).add(order)) {
+                scheduleExpiry(order);
+                return;
+            }
+            stopsTriggeredCounter.increment();
+        }
+        send(order, true);
+    }
+
+    /**
+     * Sends an order to its shard.
+     *
+     * @param order The order to match
+     * @param throttled Whether to wait for an in-flight permit; the reader
+     *                  threads send triggered stops without one, since they
+     *                  cannot wait for a {@code DONE} they read themselves
+     */
+    private void send(Order order, boolean throttled) {
+        ShardLink link = links.get(partitioner.shardFor(order.getSymbol()));
+        try {
+            if (throttled) {
+                link.permits.acquire();
+                link.sentAt.put(order.getOrderId(), System.nanoTime());
+            } else {
+                link.unthrottled.add(order.getOrderId());
+            }
+            link.channel.send(out -> ShardProtocol.writePlace(out, order));
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            System.err.println("Order " + order.getOrderId() + " could not be sent to shard " + link.index
+                    + ": " + e.getMessage());
+            if (link.sentAt.remove(order.getOrderId()) != null) {
+                link.permits.release();
+            }
+            link.unthrottled.remove(order.getOrderId());
+            order.cancel();
+            closeOrder(order);
+        }
+    }
+
+    @Override
+    public void cancelOrder(int orderId, HashMap<String, Trader> traders) {
+        Order order = openOrders.get(orderId);
+        if (order == null) {
+            return;
+        }
+        this.traders = traders;
+        StopOrderBook stopBook = getStopOrderBook(order.getSymbol());
+        synchronized (stopBook) {
+            if (stopBook.remove(order)) {
+                // Never reached the shard
+                if (expiring.remove(orderId)) {
+                    order.expire();
+                    expiriesCounter.increment();
+                } else {
+                    order.cancel();
+                    cancelsCounter.increment();
+                }
+                closeOrder(order);
+                return;
+            }
+            // Sent under the lock, so a stop triggered just now reaches the shard before its cancel
+            ShardLink link = links.get(partitioner.shardFor(order.getSymbol()));
+            try {
+                link.channel.send(out -> ShardProtocol.writeCancel(out, orderId, order.getSymbol()));
+            } catch (IOException e) {
+                System.err.println("Cancel of order " + orderId + " could not be sent to shard " + link.index
+                        + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Cancels every open order matching the scope, one cancel per order.
+     *
+     * <p>The gateway holds no books, so it scans its open orders and sends a
+     * cancel for each match; the shards remove each in O(log n). Resting
+     * orders are reported closed once their shard confirms the cancel.</p>
+     *
+     * @return Number of orders a cancel was issued for
+     */
+    @Override
+    public int cancelOrders(String traderId, String symbol, Order.Side side, HashMap<String, Trader> traders) {
+        int cancelled = 0;
+        for (Order order : openOrders.values()) {
+            if ((traderId == null || order.getTraderId().equals(traderId))
+                    && (symbol == null || order.getSymbol().equals(symbol))
+                    && (side == null || order.getSide() == side)) {
+                cancelOrder(order.getOrderId(), traders);
+                cancelled++;
+            }
+        }
+        return cancelled;
+    }
+
+    /**
+     * Sends an amend of a resting order to its shard.
+     *
+     * <p>Only orders the shard has acknowledged as resting can be amended.
+     * The amend takes effect asynchronously: the order changes, and
+     * {@code onOrderAmended} fires, once the shard has applied it. The shard
+     * drops an amend whose order filled or was cancelled in the meantime.</p>
+     *
+     * @return true if the amend was sent
+     */
+    @Override
+    public boolean amendOrder(int orderId, BigDecimal price, int quantity, HashMap<String, Trader> traders,
+            HashMap<String, Instrument> stocks) {
+        Order order = restingOrders.get(orderId);
+        if (order == null || order.isMarketOrder()) {
+            return false;
+        }
+        if (price == null || price.compareTo(BigDecimal.ZERO) <= 0 || !ShardProtocol.fitsPrice(price)) {
+            System.err.println("Amend rejected: invalid price for order " + orderId);
+            return false;
+        }
+        if (quantity <= order.getTotalQuantity() - order.getRemainingQuantity()) {
+            return false;
+        }
+        // Reserved up front; the reservation follows the order's trades even if the shard drops the amend
+        OrderValidator.ValidationResult riskResult = riskEngine.amend(order, price, quantity,
+                referencePrice(order.getSymbol(), stocks));
+        if (!riskResult.isValid()) {
+            System.err.println("Amend rejected: " + riskResult.getErrorMessage() + " for order " + orderId);
+            return false;
+        }
+        this.traders = traders;
+        this.stocks = stocks;
+
+        // Holds a permit until the shard's DONE, so awaitIdle also waits for amends
+        ShardLink link = links.get(partitioner.shardFor(order.getSymbol()));
+        try {
+            link.permits.acquire();
+            link.channel.send(out -> ShardProtocol.writeAmend(out, orderId, price, quantity, order.getSymbol()));
+            return true;
+        } catch (IOException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            } else {
+                link.permits.release();
+            }
+            System.err.println("Amend of order " + orderId + " could not be sent to shard " + link.index
+                    + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void expireOrders(HashMap<String, Trader> traders) {
+        this.traders = traders;
+        for (Order order : expiryWheel.advanceTo(ClockProvider.getClock().epochSecond())) {
+            expiryTimers.remove(order.getOrderId());
+            if (openOrders.containsKey(order.getOrderId())) {
+                expiring.add(order.getOrderId());
+                cancelOrder(order.getOrderId(), traders);
+            }
+        }
+    }
+
+    /**
+     * Does nothing: shards match continuously, without call phases or circuit breakers.
+     */
+    @Override
+    public void runAuctions(HashMap<String, Trader> traders, HashMap<String, Instrument> stocks) {
+    }
+
+    private static BigDecimal referencePrice(String symbol, HashMap<String, Instrument> stocks) {
+        Instrument stock = stocks.get(symbol);
+        return stock != null ? stock.getCurrentPrice() : null;
+    }
+
+    private void scheduleExpiry(Order order) {
+        // A triggered stop order keeps the timer it got while waiting for its trigger
+        if (order.getExpireTime() == null || expiryTimers.containsKey(order.getOrderId())) {
+            return;
+        }
+        long deadline = order.getExpireTime().getEpochSecond() + (order.getExpireTime().getNano() > 0 ? 1 : 0);
+        expiryTimers.put(order.getOrderId(),
+                expiryWheel.schedule(order, deadline, ClockProvider.getClock().epochSecond()));
+    }
+
+    private void readLoop(ShardLink link) {
+        try {
+            ByteBuffer frame;
+            while ((frame = link.channel.next()) != null) {
+                byte type = frame.get();
+                switch (type) {
+                    case ShardProtocol.TRADE -> onTrade(link, frame);
+                    case ShardProtocol.DONE -> onDone(link, frame.getInt());
+                    case ShardProtocol.CANCELLED -> onCancelled(frame.getInt());
+                    case ShardProtocol.AMENDED -> onAmended(frame.getInt(), ShardProtocol.readPrice(frame),
+                            frame.getInt());
+                    default -> throw new IOException("Unknown frame type " + type);
+                }
+            }
+            if (!closed) {
+                System.err.println("Shard " + link.index + " closed the connection");
+            }
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("Shard " + link.index + " connection failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void onTrade(ShardLink link, ByteBuffer frame) {
+        int buyOrderId = frame.getInt();
+        int sellOrderId = frame.getInt();
+        BigDecimal price = ShardProtocol.readPrice(frame);
+        int quantity = frame.getInt();
+
+        Order buyOrder = openOrders.get(buyOrderId);
+        Order sellOrder = openOrders.get(sellOrderId);
+        if (buyOrder == null || sellOrder == null) {
+            System.err.println("Shard " + link.index + " reported a trade for unknown orders "
+                    + buyOrderId + "/" + sellOrderId);
+            return;
+        }
+        buyOrder.fill(quantity);
+        sellOrder.fill(quantity);
+
+        Trade trade = new Trade(buyOrderId, sellOrderId, buyOrder.getSymbol(), price, quantity,
+                ClockProvider.getClock().instant(), buyOrder.getTraderId(), sellOrder.getTraderId());
+        completedTrades.add(trade);
+        tradesCounter.increment();
+
+        long[] notifyNanos = callbackNanos.get();
+        notifyNanos[0] = 0;
+        long settleStart = System.nanoTime();
+        if (settlementEngine.settleTrade(trade, traders, stocks)) {
+            link.affectedSymbols.add(trade.getStockSymbol());
+        }
+        riskEngine.onTrade(trade);
+        settleLatency.record(System.nanoTime() - settleStart - notifyNanos[0]);
+        link.pendingNotifyNanos += notifyNanos[0];
+
+        if (buyOrder.isFilled()) {
+            closeOrder(buyOrder);
+        }
+        if (sellOrder.isFilled()) {
+            closeOrder(sellOrder);
+        }
+
+        StopOrderBook stopBook = getStopOrderBook(trade.getStockSymbol());
+        synchronized (stopBook) {
+            for (Order triggered : stopBook.onTrade(price)) {
+                stopsTriggeredCounter.increment();
+                send(triggered, false);
+            }
+        }
+    }
+
+    private void onDone(ShardLink link, int orderId) {
+        Long sentAt = link.sentAt.remove(orderId);
+        if (sentAt != null) {
+            roundTripLatency.record(System.nanoTime() - sentAt);
+            link.permits.release();
+        } else if (!link.unthrottled.remove(orderId)) {
+            // Answer to an AMEND: the order's PLACE was acknowledged before it could be amended
+            link.permits.release();
+        }
+
+        Order order = openOrders.get(orderId);
+        if (order != null) {
+            if (!order.canRest()) {
+                // Market orders never rest and their remainder is dropped; IOC and FOK remainders are cancelled
+                if (order.getTimeInForce() == Order.TimeInForce.IOC
+                        || order.getTimeInForce() == Order.TimeInForce.FOK) {
+                    order.cancel();
+                }
+                closeOrder(order);
+            } else {
+                restingOrders.put(orderId, order);
+                restingBySymbol.computeIfAbsent(order.getSymbol(), symbol -> new ConcurrentHashMap<>())
+                        .put(orderId, order);
+                scheduleExpiry(order);
+            }
+            if (onOrderBookChanged != null) {
+                onOrderBookChanged.accept(order.getSymbol());
+            }
+        }
+
+        long notifyNanos = link.pendingNotifyNanos;
+        if (!link.affectedSymbols.isEmpty() && onPriceUpdate != null) {
+            long notifyStart = System.nanoTime();
+            onPriceUpdate.accept(link.affectedSymbols);
+            notifyNanos += System.nanoTime() - notifyStart;
+            link.affectedSymbols = new HashSet<>();
+        } else {
+            link.affectedSymbols.clear();
+        }
+        if (sentAt != null) {
+            notifyLatency.record(notifyNanos);
+        }
+        link.pendingNotifyNanos = 0;
+    }
+
+    private void onAmended(int orderId, BigDecimal price, int quantity) {
+        Order order = openOrders.get(orderId);
+        if (order == null) {
+            return;
+        }
+        order.amend(price, quantity);
+        amendsCounter.increment();
+        if (onOrderAmended != null) {
+            onOrderAmended.accept(order);
+        }
+    }
+
+    private void onCancelled(int orderId) {
+        Order order = openOrders.get(orderId);
+        if (order == null) {
+            return;
+        }
+        if (expiring.remove(orderId)) {
+            order.expire();
+            expiriesCounter.increment();
+        } else {
+            order.cancel();
+            cancelsCounter.increment();
+        }
+        closeOrder(order);
+        if (onOrderBookChanged != null) {
+            onOrderBookChanged.accept(order.getSymbol());
+        }
+    }
+
+    private void closeOrder(Order order) {
+        if (openOrders.remove(order.getOrderId()) == null) {
+            return;
+        }
+        if (restingOrders.remove(order.getOrderId()) != null) {
+            Map<Integer, Order> symbolOrders = restingBySymbol.get(order.getSymbol());
+            if (symbolOrders != null) {
+                symbolOrders.remove(order.getOrderId());
+            }
+        }
+        expiring.remove(order.getOrderId());
+        riskEngine.onOrderClosed(order);
+        TimingWheel.Timer<Order> timer = expiryTimers.remove(order.getOrderId());
+        if (timer != null) {
+            timer.cancel();
+        }
+        if (traders.get(order.getTraderId()) instanceof User user) {
+            user.getOrderHistory().onOrderClosed(order);
+        }
+        if (onOrderClosed != null) {
+            onOrderClosed.accept(order);
+        }
+    }
+
+    private void handleTradeSettled(Trade trade) {
+        if (onTradeSettled != null) {
+            long start = System.nanoTime();
+            onTradeSettled.accept(trade);
+            callbackNanos.get()[0] += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Waits until every order sent so far has been matched and settled.
+     *
+     * @param timeoutMillis Maximum time to wait
+     * @return true if no order is in flight anymore
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean awaitIdle(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        while (getInFlightCount() > 0) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of orders sent to a shard and not yet acknowledged.
+     *
+     * @return Orders in flight across all shards
+     */
+    public int getInFlightCount() {
+        int inFlight = 0;
+        for (ShardLink link : links) {
+            inFlight += maxInFlight - link.permits.availablePermits() + link.unthrottled.size();
+        }
+        return inFlight;
+    }
+
+    /**
+     * Gets the number of stop orders waiting for their trigger.
+     *
+     * @return Untriggered stop orders across all symbols
+     */
+    public long getPendingStopCount() {
+        long pending = 0;
+        for (StopOrderBook stopBook : stopBooks.values()) {
+            pending += stopBook.size();
+        }
+        return pending;
+    }
+
+    private StopOrderBook getStopOrderBook(String symbol) {
+        return stopBooks.computeIfAbsent(symbol, StopOrderBook::new);
+    }
+
+    /**
+     * Gets the number of resting orders across all shards, as seen by the gateway.
+     *
+     * @return Total book depth
+     */
+    public long getTotalBookDepth() {
+        return restingOrders.size();
+    }
+
+    public SymbolPartitioner getPartitioner() {
+        return partitioner;
+    }
+
+    /**
+     * Books live in the shard processes and are created there on first use.
+     */
+    @Override
+    public void addOrderBook(String symbol, OrderBook orderBook) {
+    }
+
+    /**
+     * Books live in the shard processes; resting orders stay there.
+     */
+    @Override
+    public void removeOrderBook(String symbol) {
+    }
+
+    /**
+     * Builds a snapshot of the symbol's book from the resting orders known to the gateway.
+     *
+     * <p>The snapshot holds copies: adding an order to a book sets its queue
+     * priority, and the live orders belong to the shard reader threads.</p>
+     *
+     * @param symbol Instrument symbol
+     * @return A new order book holding copies of the resting orders of the symbol
+     */
+    @Override
+    public OrderBook getOrderBook(String symbol) {
+        OrderBook snapshot = new OrderBook(symbol);
+        Map<Integer, Order> symbolOrders = restingBySymbol.get(symbol);
+        if (symbolOrders != null) {
+            for (Order order : symbolOrders.values()) {
+                snapshot.add(order.copy());
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public List<Trade> getCompletedTrades() {
+        return new ArrayList<>(completedTrades);
+    }
+
+    @Override
+    public void setOnPriceUpdate(Consumer<Set<String>> callback) {
+        this.onPriceUpdate = callback;
+    }
+
+    @Override
+    public void setOnTradeSettled(Consumer<Trade> callback) {
+        this.onTradeSettled = callback;
+    }
+
+    @Override
+    public void setOnOrderAccepted(Consumer<Order> callback) {
+        this.onOrderAccepted = callback;
+    }
+
+    @Override
+    public void setOnOrderRejected(BiConsumer<Order, String> callback) {
+        this.onOrderRejected = callback;
+    }
+
+    @Override
+    public void setOnOrderAmended(Consumer<Order> callback) {
+        this.onOrderAmended = callback;
+    }
+
+    @Override
+    public void setOnOrderClosed(Consumer<Order> callback) {
+        this.onOrderClosed = callback;
+    }
+
+    @Override
+    public void setOnOrderBookChanged(Consumer<String> callback) {
+        this.onOrderBookChanged = callback;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (ShardLink link : links) {
+            try {
+                link.channel.close();
+            } catch (IOException e) {
+                System.err.println("Error closing shard " + link.index + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Connection to one shard and the state its reader thread keeps.
+     */
+    private final class ShardLink {
+
+        private final int index;
+        private final FrameChannel channel;
+        private final Semaphore permits;
+        private final ConcurrentHashMap<Integer, Long> sentAt = new ConcurrentHashMap<>();
+
+        /**
+         * Triggered stop orders sent without a permit and not yet acknowledged.
+         */
+        private final Set<Integer> unthrottled = ConcurrentHashMap.newKeySet();
+        private final Thread reader;
+
+        /**
+         * Symbols with settled trades since the last {@code DONE}; reader thread only.
+         */
+        private Set<String> affectedSymbols = new HashSet<>();
+        private long pendingNotifyNanos;
+
+        private ShardLink(int index, FrameChannel channel) {
+            this.index = index;
+            this.channel = channel;
+            this.permits = new Semaphore(maxInFlight);
+            this.reader = new Thread(() -> context.run(() -> readLoop(this)), "shard-gateway-" + index);
+            this.reader.setDaemon(true);
+        }
+    }
+}
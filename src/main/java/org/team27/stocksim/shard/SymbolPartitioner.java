@@ -0,0 +1,87 @@
+package org.team27.stocksim.shard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Assigns every symbol to one of a fixed number of matching shards.
+ *
+ * <p>Known symbols (typically those of {@code stocks-config.json}) are sorted
+ * and dealt out round-robin, so each shard gets an equal share regardless of
+ * how the symbols hash. Symbols added later fall back to a hash of the
+ * symbol. The assignment is deterministic, so every process that builds a
+ * partitioner from the same symbol list agrees on it.</p>
+ *
+ * <p><strong>Design Pattern:</strong> Strategy</p>
+ * <ul>
+ *   <li>A symbol always maps to the same shard</li>
+ *   <li>All orders of one symbol are matched by a single process</li>
+ * </ul>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * SymbolPartitioner partitioner = new SymbolPartitioner(List.of("AAPL", "MSFT", "TSLA"), 2);
+ * int shard = partitioner.shardFor("MSFT"); // 1
+ * }</pre>
+ *
+ * @author Team 27
+ * @version 1.0
+ * @see ShardedMarket
+ */
+public class SymbolPartitioner {
+
+    private final int shardCount;
+    private final Map<String, Integer> assignments = new HashMap<>();
+
+    /**
+     * Creates a partitioner for the given symbols.
+     *
+     * @param symbols Symbols known up front
+     * @param shardCount Number of shards, at least 1
+     */
+    public SymbolPartitioner(Collection<String> symbols, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shardCount = shardCount;
+        List<String> sorted = new ArrayList<>(symbols);
+        sorted.replaceAll(String::toUpperCase);
+        sorted = sorted.stream().distinct().sorted().toList();
+        for (int i = 0; i < sorted.size(); i++) {
+            assignments.put(sorted.get(i), i % shardCount);
+        }
+    }
+
+    /**
+     * Gets the shard that matches orders for a symbol.
+     *
+     * @param symbol Instrument symbol
+     * @return Shard index in {@code [0, shardCount)}
+     */
+    public int shardFor(String symbol) {
+        String key = symbol.toUpperCase();
+        Integer shard = assignments.get(key);
+        return shard != null ? shard : Math.floorMod(key.hashCode(), shardCount);
+    }
+
+    /**
+     * Gets the known symbols assigned to one shard.
+     *
+     * @param shard Shard index
+     * @return Sorted symbols of that shard
+     */
+    public List<String> symbolsOf(int shard) {
+        return assignments.entrySet().stream()
+                .filter(entry -> entry.getValue() == shard)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
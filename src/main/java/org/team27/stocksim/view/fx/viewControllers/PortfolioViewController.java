@@ -55,8 +55,7 @@ public class PortfolioViewController extends ViewControllerBase
         // Register for portfolio change events
         viewAdapter.addPortfolioChangedListener(this);
         viewAdapter.addTradeSettledListener(this);
-        UserDTO user = modelController.getUser();
-        PortfolioDTO portfolio = user.getPortfolio();
+        PortfolioDTO portfolio = modelController.getUserPortfolio();
         BigDecimal balance = portfolio.getBalance();
         availableBalanceLabel.setText("Balance: $" + balance.toString());
 
@@ -143,35 +142,35 @@ public class PortfolioViewController extends ViewControllerBase
      * orders
      */
     private void updatePortfolioDisplay() {
-        UserDTO user = modelController.getUser();
-        PortfolioDTO portfolio = user.getPortfolio();
+        PortfolioDTO portfolio = modelController.getUserPortfolio();
 
         // Update balance
         BigDecimal balance = portfolio.getBalance();
         availableBalanceLabel.setText("Balance: $" + String.format("%.2f", balance));
 
         // Update total value and gain/loss
-        updateTotalValueAndGainLoss(portfolio);
+        updateTotalValueAndGainLoss();
 
         // Update positions
         updatePositionsDisplay(portfolio);
 
         // Update active orders
-        updateOrdersDisplay(user);
+        updateOrdersDisplay(modelController.getActiveOrders());
     }
 
     /**
-     * Updates the total value and gain/loss labels based on current portfolio
-     * positions
+     * Updates the total value and gain/loss labels from the incrementally
+     * maintained valuation of the current user
      */
-    private void updateTotalValueAndGainLoss(PortfolioDTO portfolio) {
-        // Get current stock prices from model
-        Map<String, BigDecimal> currentPrices = getCurrentPrices();
+    private void updateTotalValueAndGainLoss() {
+        ValuationDTO valuation = modelController.getUserValuation();
+        if (valuation == null) {
+            return;
+        }
 
-        // Use Portfolio model methods to calculate values
-        BigDecimal totalValue = portfolio.getTotalValue(currentPrices);
-        BigDecimal totalGainLoss = portfolio.getTotalGainLoss(currentPrices);
-        BigDecimal gainLossPercent = portfolio.getGainLossPercentage(currentPrices);
+        BigDecimal totalValue = valuation.getEquity();
+        BigDecimal totalGainLoss = valuation.getTotalPnL();
+        BigDecimal gainLossPercent = valuation.getReturnPercentage();
 
         // Update total value label
         if (totalValueLabel != null) {
@@ -207,23 +206,6 @@ public class PortfolioViewController extends ViewControllerBase
         }
     }
 
-    /**
-     * Gets current prices for all stocks from the model.
-     *
-     * @return map of symbol to current price
-     */
-    private Map<String, BigDecimal> getCurrentPrices() {
-        Map<String, BigDecimal> prices = new HashMap<>();
-
-        // Fetch all stocks from all categories
-        for (String category : modelController.getAllCategories()) {
-            HashMap<String, InstrumentDTO> stocks = modelController.getStocks(category);
-            stocks.forEach((symbol, stock) -> prices.put(symbol, stock.getPrice()));
-        }
-
-        return prices;
-    }
-
     /**
      * Updates the positions display with detailed information
      */
@@ -250,9 +232,7 @@ public class PortfolioViewController extends ViewControllerBase
     /**
      * Updates the active orders display
      */
-    private void updateOrdersDisplay(UserDTO user) {
-        List<OrderDTO> activeOrders = user.getOrderHistory().getActiveOrders();
-
+    private void updateOrdersDisplay(List<OrderDTO> activeOrders) {
         ordersList.clear();
         orderStringToIdMap.clear();
 
@@ -70,10 +70,16 @@ public class StockViewController extends ViewControllerBase
     private ListView<String> positionsListView;
     @FXML
     private ListView<String> ordersListView;
+    @FXML
+    private ListView<String> depthListView;
+
+    // Price levels shown on each side of the order book
+    private static final int DEPTH_LEVELS = 5;
 
     // Observable lists for positions and orders
     private ObservableList<String> positionsList = FXCollections.observableArrayList();
     private ObservableList<String> ordersList = FXCollections.observableArrayList();
+    private ObservableList<String> depthList = FXCollections.observableArrayList();
     private Map<String, Integer> orderStringToIdMap = new HashMap<>();
 
     // Model Data
@@ -98,6 +104,7 @@ public class StockViewController extends ViewControllerBase
         initializeChart();
         initializeListViews();
         updateStockPositionAndOrders();
+        updateDepthDisplay();
     }
 
     private void registerEventListeners() {
@@ -107,7 +114,7 @@ public class StockViewController extends ViewControllerBase
     }
 
     private void updateBalanceDisplay() {
-        PortfolioDTO portfolio = modelController.getUser().getPortfolio();
+        PortfolioDTO portfolio = modelController.getUserPortfolio();
         availableBalanceLabel.setText("Balance: $" + portfolio.getBalance().toString());
     }
 
@@ -161,6 +168,9 @@ public class StockViewController extends ViewControllerBase
             ordersListView.setItems(ordersList);
             ordersListView.setCellFactory(lv -> new OrderListCell());
         }
+        if (depthListView != null) {
+            depthListView.setItems(depthList);
+        }
     }
 
     /**
@@ -340,7 +350,7 @@ public class StockViewController extends ViewControllerBase
 
         priceSeries = chartDataService.prepareChartData(stock.getPriceHistory());
         priceSeries.setName(stock.getSymbol() + " Price");
-        lastPriceHistorySize = stock.getPriceHistory().getPoints().size();
+        lastPriceHistorySize = stock.getPriceHistory().size();
 
         priceChart.getData().clear();
         priceChart.getData().add(priceSeries);
@@ -397,6 +407,7 @@ public class StockViewController extends ViewControllerBase
 
         updateChartData();
         updateOrderTotal();
+        updateDepthDisplay();
     }
 
     @Override
@@ -404,12 +415,16 @@ public class StockViewController extends ViewControllerBase
         Platform.runLater(() -> {
             updateBalanceDisplay();
             updateStockPositionAndOrders();
+            updateDepthDisplay();
         });
     }
 
     @Override
     public void onPortfolioChanged() {
-        Platform.runLater(this::updateStockPositionAndOrders);
+        Platform.runLater(() -> {
+            updateStockPositionAndOrders();
+            updateDepthDisplay();
+        });
     }
 
     // ==================== Positions and Orders Display ====================
@@ -422,14 +437,13 @@ public class StockViewController extends ViewControllerBase
             return;
         }
 
-        UserDTO user = modelController.getUser();
-        PortfolioDTO portfolio = user.getPortfolio();
+        PortfolioDTO portfolio = modelController.getUserPortfolio();
 
         // Update position for this stock
         updatePositionDisplay(portfolio);
 
         // Update active orders for this stock
-        updateOrdersDisplay(user);
+        updateOrdersDisplay(modelController.getActiveOrders(stock.getSymbol()));
     }
 
     /**
@@ -456,17 +470,10 @@ public class StockViewController extends ViewControllerBase
     /**
      * Updates the active orders display for the selected stock
      */
-    private void updateOrdersDisplay(UserDTO user) {
+    private void updateOrdersDisplay(List<OrderDTO> stockOrders) {
         ordersList.clear();
         orderStringToIdMap.clear();
 
-        List<OrderDTO> activeOrders = user.getOrderHistory().getActiveOrdersDTO();
-
-        // Filter orders for the selected stock
-        List<OrderDTO> stockOrders = activeOrders.stream()
-                .filter(order -> order.getSymbol().equals(stock.getSymbol()))
-                .toList();
-
         if (stockOrders.isEmpty()) {
             ordersList.add("No active orders for " + stock.getSymbol());
         } else {
@@ -481,4 +488,37 @@ public class StockViewController extends ViewControllerBase
             });
         }
     }
+
+    // ==================== Order Book Display ====================
+
+    /**
+     * Updates the aggregated order book for the selected stock: asks above,
+     * best ask nearest the spread, then bids from the best down
+     */
+    private void updateDepthDisplay() {
+        if (stock == null || depthListView == null) {
+            return;
+        }
+
+        OrderBookDepthDTO depth = modelController.getOrderBookDepth(stock.getSymbol(), DEPTH_LEVELS);
+        depthList.clear();
+
+        if (depth.isEmpty()) {
+            depthList.add("No resting orders for " + stock.getSymbol());
+            return;
+        }
+
+        List<PriceLevelDTO> asks = depth.getAsks();
+        for (int i = asks.size() - 1; i >= 0; i--) {
+            depthList.add(formatLevel("ASK", asks.get(i)));
+        }
+        for (PriceLevelDTO bid : depth.getBids()) {
+            depthList.add(formatLevel("BID", bid));
+        }
+    }
+
+    private String formatLevel(String side, PriceLevelDTO level) {
+        return String.format("%s  $%.2f  %d shares (%d orders)",
+                side, level.getPrice(), level.getQuantity(), level.getOrderCount());
+    }
 }
@@ -0,0 +1,124 @@
+package org.team27.stocksim.batch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.instruments.PricePoint;
+import org.team27.stocksim.repository.BatchResultRepository;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("BatchRunner Tests")
+class BatchRunnerTest {
+
+    @Test
+    @DisplayName("Should expand every combination and repetition with distinct seeds")
+    void testExpand() {
+        SweepSpec spec = new SweepSpec();
+        spec.setBotCounts(List.of(10, 20));
+        spec.setStrategyMixes(List.of(List.of("RandomStrategy"), List.of("RandomStrategy", "HodlerStrategy")));
+        spec.setMaxPriceDeviations(List.of(new BigDecimal("0.05"), new BigDecimal("0.10"), new BigDecimal("0.20")));
+        spec.setRepetitions(2);
+
+        List<Scenario> scenarios = spec.expand();
+
+        assertEquals(24, scenarios.size());
+        assertEquals(24, scenarios.stream().mapToLong(Scenario::getSeed).distinct().count());
+        assertEquals(1, scenarios.get(0).getId());
+        assertEquals(24, scenarios.get(23).getId());
+        assertEquals(money("0.20"), scenarios.get(23).getMaxPriceDeviation());
+        assertEquals(new BigDecimal("0.05"),
+                scenarios.get(0).toSimulationConfig(spec).getMarketOrderConfig().getMaxPriceDeviation());
+    }
+
+    @Test
+    @DisplayName("Should read a sweep specification and keep defaults for missing fields")
+    void testLoad() throws IOException {
+        Path file = Files.createTempFile("sweep", ".json");
+        try {
+            Files.writeString(file, "{\"botCounts\":[5],\"maxPriceDeviations\":[0.02,0.04],\"parallelism\":2}");
+
+            SweepSpec spec = SweepSpec.load(file);
+
+            assertEquals(List.of(5), spec.getBotCounts());
+            assertEquals(2, spec.getParallelism());
+            assertEquals(List.of(List.of("RandomStrategy")), spec.getStrategyMixes());
+            assertEquals(2, spec.expand().size());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid sweep specification")
+    void testInvalidSpec() throws IOException {
+        Path file = Files.createTempFile("sweep", ".json");
+        try {
+            Files.writeString(file, "{\"botCounts\":[]}");
+
+            assertThrows(IOException.class, () -> SweepSpec.load(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should downsample price paths keeping the first and last print")
+    void testDownsample() {
+        List<PricePoint> points = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            points.add(new PricePoint(i, new BigDecimal(i)));
+        }
+
+        double[] path = BatchRunner.downsample(points, 11);
+
+        assertEquals(11, path.length);
+        assertEquals(0.0, path[0]);
+        assertEquals(999.0, path[10]);
+        assertEquals(3, BatchRunner.downsample(points.subList(0, 3), 11).length);
+        assertEquals(0, BatchRunner.downsample(List.of(), 11).length);
+    }
+
+    @Test
+    @DisplayName("Should run scenarios concurrently and write results and summary")
+    void testRunAll() throws IOException {
+        Path directory = Files.createTempDirectory("batch-test");
+        try {
+            SweepSpec spec = new SweepSpec();
+            spec.setBotCounts(List.of(10));
+            spec.setStrategyMixes(List.of(List.of("RandomStrategy", "HodlerStrategy")));
+            spec.setMaxPriceDeviations(List.of(new BigDecimal("0.05"), new BigDecimal("0.10")));
+            spec.setDurationInRealSeconds(1);
+            spec.setParallelism(2);
+
+            List<RunResult> results = new BatchRunner(spec, new BatchResultRepository(directory)).runAll();
+
+            assertEquals(2, results.size());
+            for (RunResult result : results) {
+                assertTrue(result.getOrders() > 0);
+                assertFalse(result.getPricePaths().isEmpty());
+                assertEquals(5, result.getStrategies().get("RandomStrategy").getBots());
+                assertEquals(5, result.getStrategies().get("HodlerStrategy").getBots());
+                assertTrue(Files.exists(directory.resolve("run-" + result.getScenario().getId() + ".json")));
+            }
+            List<String> summary = Files.readAllLines(directory.resolve("summary.csv"));
+            assertEquals(3, summary.size());
+            assertTrue(summary.get(0).contains("pnl:HodlerStrategy"));
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package org.team27.stocksim.gateway;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+import org.team27.stocksim.model.session.SimulationContext;
+import org.team27.stocksim.model.simulation.SimulationConfig;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("OrderEntryServer Tests")
+class OrderEntryServerTest {
+
+    private StockSim model;
+    private OrderEntryServer server;
+    private SocketAddress address;
+    private final List<OrderEntryClient> clients = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        model = new StockSim(new SimulationContext("gateway-test"), SimulationConfig.createDefault());
+        model.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
+        model.createStock("MSFT", "Microsoft Corp.", "0.01", "1", "Technology", "100");
+        model.createUser("BUYER", "Buyer", 100000);
+        model.createUser("SELLER", "Seller", 100000);
+        model.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 1000);
+        model.getTraders().get("SELLER").getPortfolio().addStock("MSFT", 1000);
+
+        server = new OrderEntryServer(model, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        address = server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (OrderEntryClient client : clients) {
+            client.close();
+        }
+        server.close();
+    }
+
+    private OrderEntryClient logon(String traderId) throws IOException {
+        OrderEntryClient client = new OrderEntryClient(address);
+        clients.add(client);
+        client.logon(traderId);
+        client.flush();
+        assertEquals(ExecutionReport.ExecType.LOGGED_ON, client.readReport().getExecType());
+        return client;
+    }
+
+    private static ExecutionReport expect(OrderEntryClient client, ExecutionReport.ExecType execType)
+            throws IOException {
+        ExecutionReport report = client.readReport();
+        assertNotNull(report);
+        assertEquals(execType, report.getExecType(), report.toString());
+        return report;
+    }
+
+    @Test
+    @DisplayName("Should acknowledge and fill crossing orders from two sessions")
+    void testAckAndFill() throws IOException {
+        OrderEntryClient seller = logon("seller");
+        OrderEntryClient buyer = logon("BUYER");
+
+        seller.newOrder(1, Order.Side.SELL, Order.OrderType.LIMIT, "AAPL", money("100.00"), 10);
+        seller.flush();
+        ExecutionReport ack = expect(seller, ExecutionReport.ExecType.ACK);
+        assertEquals(1, ack.getClientOrderId());
+        assertEquals(10, ack.getLeavesQuantity());
+
+        buyer.newOrder(7, Order.Side.BUY, Order.OrderType.LIMIT, "aapl", money("100.00"), 4);
+        buyer.flush();
+        expect(buyer, ExecutionReport.ExecType.ACK);
+        ExecutionReport buyFill = expect(buyer, ExecutionReport.ExecType.FILL);
+        assertEquals(7, buyFill.getClientOrderId());
+        assertEquals(4, buyFill.getLastQuantity());
+        assertEquals(0, buyFill.getLeavesQuantity());
+        assertEquals(0, money("100.00").compareTo(buyFill.getPrice()));
+        assertTrue(buyFill.isTerminal());
+
+        ExecutionReport sellFill = expect(seller, ExecutionReport.ExecType.FILL);
+        assertEquals(1, sellFill.getClientOrderId());
+        assertEquals(6, sellFill.getLeavesQuantity());
+        assertEquals(4, model.getTraders().get("BUYER").getPortfolio().getStockQuantity("AAPL"));
+    }
+
+    @Test
+    @DisplayName("Should reject requests before logon and unknown traders")
+    void testLogonRequired() throws IOException {
+        OrderEntryClient client = new OrderEntryClient(address);
+        clients.add(client);
+        client.newOrder(1, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("100.00"), 1);
+        client.logon("NOBODY");
+        client.flush();
+
+        assertEquals("Not logged on", expect(client, ExecutionReport.ExecType.REJECT).getText());
+        assertTrue(expect(client, ExecutionReport.ExecType.REJECT).getText().contains("Unknown trader"));
+    }
+
+    @Test
+    @DisplayName("Should reject unknown symbols and invalid orders")
+    void testRejects() throws IOException {
+        OrderEntryClient buyer = logon("BUYER");
+        buyer.newOrder(1, Order.Side.BUY, Order.OrderType.LIMIT, "NOPE", money("100.00"), 1);
+        buyer.newOrder(2, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("100.00"), 0);
+        buyer.flush();
+
+        ExecutionReport unknown = expect(buyer, ExecutionReport.ExecType.REJECT);
+        assertEquals(1, unknown.getClientOrderId());
+        assertTrue(unknown.getText().contains("NOPE"));
+        assertEquals(2, expect(buyer, ExecutionReport.ExecType.REJECT).getClientOrderId());
+        assertEquals(0, model.getOrderBook("AAPL").size());
+    }
+
+    @Test
+    @DisplayName("Should cancel a resting order")
+    void testCancel() throws IOException {
+        OrderEntryClient buyer = logon("BUYER");
+        buyer.newOrder(1, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("90.00"), 5);
+        buyer.cancel(1);
+        buyer.cancel(2);
+        buyer.flush();
+
+        expect(buyer, ExecutionReport.ExecType.ACK);
+        assertEquals(1, expect(buyer, ExecutionReport.ExecType.CANCELED).getClientOrderId());
+        assertEquals(2, expect(buyer, ExecutionReport.ExecType.REJECT).getClientOrderId());
+        assertEquals(0, model.getOrderBook("AAPL").size());
+    }
+
+    @Test
+    @DisplayName("Should replace a partially filled order with the remaining quantity")
+    void testReplace() throws IOException {
+        OrderEntryClient buyer = logon("BUYER");
+        OrderEntryClient seller = logon("SELLER");
+        buyer.newOrder(1, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("90.00"), 10);
+        buyer.flush();
+        expect(buyer, ExecutionReport.ExecType.ACK);
+        seller.newOrder(1, Order.Side.SELL, Order.OrderType.LIMIT, "AAPL", money("90.00"), 3);
+        seller.flush();
+        assertEquals(7, expect(buyer, ExecutionReport.ExecType.FILL).getLeavesQuantity());
+
+        buyer.replace(1, 2, money("91.00"), 8);
+        buyer.flush();
+        assertEquals(1, expect(buyer, ExecutionReport.ExecType.REPLACED).getClientOrderId());
+        ExecutionReport ack = expect(buyer, ExecutionReport.ExecType.ACK);
+        assertEquals(2, ack.getClientOrderId());
+        assertEquals(5, ack.getLeavesQuantity());
+        assertEquals(0, money("91.00").compareTo(model.getOrderBook("AAPL").getBestBid().getPrice()));
+        assertEquals(1, model.getOrderBook("AAPL").size());
+    }
+
+    @Test
+    @DisplayName("Should mass cancel the trader's orders for one symbol")
+    void testMassCancel() throws IOException {
+        OrderEntryClient buyer = logon("BUYER");
+        buyer.newOrder(1, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("90.00"), 1);
+        buyer.newOrder(2, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("89.00"), 1);
+        buyer.newOrder(3, Order.Side.BUY, Order.OrderType.LIMIT, "MSFT", money("90.00"), 1);
+        buyer.massCancel("AAPL");
+        buyer.flush();
+
+        for (int i = 0; i < 3; i++) {
+            expect(buyer, ExecutionReport.ExecType.ACK);
+        }
+        expect(buyer, ExecutionReport.ExecType.CANCELED);
+        expect(buyer, ExecutionReport.ExecType.CANCELED);
+        assertEquals(2, expect(buyer, ExecutionReport.ExecType.MASS_CANCELED).getLastQuantity());
+        assertEquals(0, model.getOrderBook("AAPL").size());
+        assertEquals(1, model.getOrderBook("MSFT").size());
+
+        // Nothing is left to cancel, so nothing is counted
+        buyer.massCancel("aapl");
+        buyer.flush();
+        assertEquals(0, expect(buyer, ExecutionReport.ExecType.MASS_CANCELED).getLastQuantity());
+    }
+
+    @Test
+    @DisplayName("Should answer every pipelined order in order")
+    void testPipelining() throws IOException {
+        OrderEntryClient buyer = logon("BUYER");
+        int orders = 2000;
+        for (int i = 1; i <= orders; i++) {
+            buyer.newOrder(i, Order.Side.BUY, Order.OrderType.LIMIT, "MSFT", money("50.00"), 1);
+        }
+        buyer.flush();
+
+        for (int i = 1; i <= orders; i++) {
+            assertEquals(i, expect(buyer, ExecutionReport.ExecType.ACK).getClientOrderId());
+        }
+        assertEquals(orders, model.getOrderBook("MSFT").size());
+        assertTrue(model.getMetrics().counter(MetricsRegistry.GATEWAY_MESSAGES).sum() >= orders);
+    }
+
+    @Test
+    @DisplayName("Should cancel open orders when the session disconnects")
+    void testCancelOnDisconnect() throws IOException, InterruptedException {
+        OrderEntryClient buyer = logon("BUYER");
+        buyer.newOrder(1, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("90.00"), 1);
+        buyer.flush();
+        expect(buyer, ExecutionReport.ExecType.ACK);
+        assertEquals(1, model.getOrderBook("AAPL").size());
+
+        buyer.close();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (model.getOrderBook("AAPL").size() > 0 || server.getSessionCount() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting");
+            Thread.sleep(1);
+        }
+    }
+}
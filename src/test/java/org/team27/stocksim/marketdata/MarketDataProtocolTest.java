@@ -0,0 +1,85 @@
+package org.team27.stocksim.marketdata;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.PriceLevel;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("MarketDataProtocol Tests")
+class MarketDataProtocolTest {
+
+    private static MarketDataMessage roundTrip(MarketDataMessage message) {
+        return MarketDataProtocol.decode(ByteBuffer.wrap(MarketDataProtocol.encode(message)));
+    }
+
+    @Test
+    @DisplayName("Should round-trip top of book with an empty side")
+    void testTopOfBook() {
+        MarketDataMessage decoded = roundTrip(
+                MarketDataMessage.topOfBook(7, "AAPL", money("99.50"), 12, null, 0));
+
+        assertEquals(MarketDataMessage.Type.TOP_OF_BOOK, decoded.getType());
+        assertEquals(7, decoded.getSequence());
+        assertEquals("AAPL", decoded.getSymbol());
+        assertEquals(0, money("99.50").compareTo(decoded.getPrice()));
+        assertEquals(12, decoded.getQuantity());
+        assertEquals(0, decoded.getAskPrice().signum());
+        assertEquals(0, decoded.getAskQuantity());
+    }
+
+    @Test
+    @DisplayName("Should round-trip depth updates and trades")
+    void testDepthAndTrade() {
+        MarketDataMessage depth = roundTrip(
+                MarketDataMessage.depthUpdate(8, "MSFT", Order.Side.SELL, money("101.25"), 30, 2));
+        MarketDataMessage trade = roundTrip(MarketDataMessage.trade(9, "MSFT", money("101.25"), 5, 1234567L));
+
+        assertEquals(Order.Side.SELL, depth.getSide());
+        assertEquals(30, depth.getQuantity());
+        assertEquals(2, depth.getOrderCount());
+        assertEquals(MarketDataMessage.Type.TRADE, trade.getType());
+        assertEquals(5, trade.getQuantity());
+        assertEquals(1234567L, trade.getTimestamp());
+    }
+
+    @Test
+    @DisplayName("Should round-trip a snapshot of the deepest allowed book")
+    void testSnapshot() {
+        List<PriceLevel> bids = new ArrayList<>();
+        List<PriceLevel> asks = new ArrayList<>();
+        for (int i = 0; i < MarketDataProtocol.MAX_LEVELS; i++) {
+            bids.add(new PriceLevel(money("100.00").subtract(money(i + ".01")), i + 1, 1));
+            asks.add(new PriceLevel(money("101.00").add(money(i + ".01")), i + 1, 2));
+        }
+        byte[] encoded = MarketDataProtocol.encode(MarketDataMessage.snapshot(3, "AAPL", bids, asks));
+        MarketDataMessage decoded = MarketDataProtocol.decode(ByteBuffer.wrap(encoded));
+
+        assertTrue(encoded.length <= MarketDataProtocol.MAX_MESSAGE_BYTES);
+        assertEquals(bids, decoded.getBids());
+        assertEquals(asks, decoded.getAsks());
+
+        bids.add(new PriceLevel(money("1.00"), 1, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> MarketDataProtocol.encode(MarketDataMessage.snapshot(3, "AAPL", bids, asks)));
+    }
+
+    @Test
+    @DisplayName("Should only report complete messages")
+    void testCompleteMessageLength() {
+        byte[] encoded = MarketDataProtocol.encode(MarketDataMessage.trade(1, "AAPL", money("1.00"), 1, 0));
+
+        assertEquals(-1, MarketDataProtocol.completeMessageLength(ByteBuffer.wrap(encoded, 0, 3)));
+        assertEquals(-1, MarketDataProtocol.completeMessageLength(ByteBuffer.wrap(encoded, 0, encoded.length - 1)));
+        assertEquals(encoded.length - Integer.BYTES,
+                MarketDataProtocol.completeMessageLength(ByteBuffer.wrap(encoded)));
+        assertThrows(IllegalArgumentException.class,
+                () -> MarketDataProtocol.completeMessageLength(ByteBuffer.wrap(new byte[] {0, 0, 0, 0})));
+    }
+}
@@ -0,0 +1,231 @@
+package org.team27.stocksim.marketdata;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+import org.team27.stocksim.model.session.SimulationContext;
+import org.team27.stocksim.model.simulation.SimulationConfig;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("MarketDataPublisher Tests")
+class MarketDataPublisherTest {
+
+    private StockSim model;
+    private MarketDataPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        model = new StockSim(new SimulationContext("market-data-test"), SimulationConfig.createDefault());
+        model.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
+        model.createStock("MSFT", "Microsoft Corp.", "0.01", "1", "Technology", "100");
+        model.createUser("BUYER", "Buyer", 1000000);
+        model.createUser("SELLER", "Seller", 1000000);
+        model.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+    }
+
+    private Order place(Order.Side side, String price, int quantity, String traderId) {
+        return model.getContext().call(() -> {
+            Order order = new Order(side, Order.OrderType.LIMIT, "AAPL", money(price), quantity, traderId);
+            model.placeOrder(order);
+            return order;
+        });
+    }
+
+    /**
+     * Reads updates until one matches, checking that update sequence numbers have no gaps.
+     */
+    private static MarketDataMessage await(BlockingQueue<MarketDataMessage> messages, long[] lastSequence,
+            Predicate<MarketDataMessage> condition) throws InterruptedException {
+        while (true) {
+            MarketDataMessage message = messages.poll(5, TimeUnit.SECONDS);
+            assertNotNull(message, "Timed out waiting for market data");
+            if (message.getType() == MarketDataMessage.Type.SNAPSHOT) {
+                lastSequence[0] = message.getSequence();
+            } else {
+                assertEquals(lastSequence[0] + 1, message.getSequence(), message.toString());
+                lastSequence[0] = message.getSequence();
+            }
+            if (condition.test(message)) {
+                return message;
+            }
+        }
+    }
+
+    private static Predicate<MarketDataMessage> level(Order.Side side, String price, int quantity) {
+        return message -> message.getType() == MarketDataMessage.Type.DEPTH_UPDATE
+                && message.getSide() == side
+                && message.getPrice().compareTo(money(price)) == 0
+                && message.getQuantity() == quantity;
+    }
+
+    @Test
+    @DisplayName("Should start with snapshots and publish depth, top of book and trades in sequence")
+    void testInProcessFeed() throws InterruptedException {
+        publisher = new MarketDataPublisher(model);
+        publisher.start();
+        BlockingQueue<MarketDataMessage> messages = new LinkedBlockingQueue<>();
+        publisher.subscribe("test", messages::add);
+        long[] sequence = new long[1];
+
+        MarketDataMessage first = messages.poll(5, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertEquals(MarketDataMessage.Type.SNAPSHOT, first.getType());
+        assertEquals("AAPL", first.getSymbol());
+        assertTrue(first.getBids().isEmpty());
+        sequence[0] = first.getSequence();
+
+        place(Order.Side.BUY, "99.00", 10, "BUYER");
+        place(Order.Side.BUY, "99.00", 5, "BUYER");
+        MarketDataMessage bid = await(messages, sequence, level(Order.Side.BUY, "99.00", 15));
+        assertEquals(2, bid.getOrderCount());
+        MarketDataMessage top = await(messages, sequence,
+                message -> message.getType() == MarketDataMessage.Type.TOP_OF_BOOK && message.getQuantity() == 15);
+        assertEquals(0, money("99.00").compareTo(top.getPrice()));
+        assertEquals(0, top.getAskQuantity());
+
+        place(Order.Side.SELL, "99.00", 4, "SELLER");
+        MarketDataMessage trade = await(messages, sequence,
+                message -> message.getType() == MarketDataMessage.Type.TRADE);
+        assertEquals(4, trade.getQuantity());
+        assertEquals("AAPL", trade.getSymbol());
+        await(messages, sequence, level(Order.Side.BUY, "99.00", 11));
+    }
+
+    @Test
+    @DisplayName("Should remove a level once its last order is cancelled")
+    void testLevelRemoved() throws InterruptedException {
+        publisher = new MarketDataPublisher(model);
+        publisher.start();
+        BlockingQueue<MarketDataMessage> messages = new LinkedBlockingQueue<>();
+        publisher.subscribe("test", messages::add);
+        long[] sequence = new long[1];
+        await(messages, sequence, message -> message.getSymbol().equals("MSFT"));
+
+        Order order = place(Order.Side.BUY, "98.00", 3, "BUYER");
+        await(messages, sequence, level(Order.Side.BUY, "98.00", 3));
+        model.getContext().run(() -> model.cancelOrder(order.getOrderId()));
+        MarketDataMessage removed = await(messages, sequence, level(Order.Side.BUY, "98.00", 0));
+        assertEquals(0, removed.getOrderCount());
+    }
+
+    @Test
+    @DisplayName("Should conflate a slow subscriber to snapshots of the latest state")
+    void testConflation() throws InterruptedException {
+        publisher = new MarketDataPublisher(model, 5, 4);
+        publisher.start();
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingQueue<MarketDataMessage> slow = new LinkedBlockingQueue<>();
+        MarketDataSubscription slowSubscription = publisher.subscribe("slow", message -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            slow.add(message);
+        });
+
+        for (int i = 0; i < 20; i++) {
+            long before = publisher.getSequence();
+            place(Order.Side.BUY, (80 + i) + ".00", 1, "BUYER");
+            // One pass per order, so the slow subscriber cannot keep up
+            waitFor(() -> publisher.getSequence() > before);
+        }
+        assertTrue(slowSubscription.getConflationCount() > 0);
+        assertTrue(model.getMetrics().counter(MetricsRegistry.MARKET_DATA_CONFLATIONS).sum() > 0);
+
+        release.countDown();
+        MarketDataMessage snapshot;
+        do {
+            snapshot = slow.poll(5, TimeUnit.SECONDS);
+            assertNotNull(snapshot, "Timed out waiting for the recovery snapshot");
+        } while (snapshot.getType() != MarketDataMessage.Type.SNAPSHOT
+                || !snapshot.getSymbol().equals("AAPL")
+                || snapshot.getBids().size() < 5);
+        assertEquals(0, money("99.00").compareTo(snapshot.getBids().get(0).getPrice()));
+        assertEquals(0, money("95.00").compareTo(snapshot.getBids().get(4).getPrice()));
+    }
+
+    @Test
+    @DisplayName("Should serve snapshots and updates to TCP clients")
+    void testTcpFeed() throws IOException, InterruptedException {
+        publisher = new MarketDataPublisher(model);
+        publisher.start();
+        try (MarketDataTcpServer server = new MarketDataTcpServer(publisher,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+             MarketDataClient client = new MarketDataClient(server.start())) {
+            assertEquals(MarketDataMessage.Type.SNAPSHOT, client.read().getType());
+            assertEquals(MarketDataMessage.Type.SNAPSHOT, client.read().getType());
+
+            place(Order.Side.SELL, "101.00", 7, "SELLER");
+            MarketDataMessage message;
+            do {
+                message = client.read();
+                assertNotNull(message);
+            } while (!level(Order.Side.SELL, "101.00", 7).test(message));
+            // The acceptor registers the connection after the feed has already started
+            waitFor(() -> server.getConnectionCount() == 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should send one message per UDP datagram")
+    void testUdpFeed() throws IOException {
+        publisher = new MarketDataPublisher(model);
+        publisher.start();
+        try (DatagramSocket receiver = new DatagramSocket(0, InetAddress.getLoopbackAddress());
+             MarketDataUdpSender sender = new MarketDataUdpSender(publisher,
+                     new InetSocketAddress(InetAddress.getLoopbackAddress(), receiver.getLocalPort()))) {
+            receiver.setSoTimeout(5000);
+            sender.start();
+            assertEquals("AAPL", receive(receiver).getSymbol());
+            assertEquals("MSFT", receive(receiver).getSymbol());
+
+            place(Order.Side.BUY, "97.00", 2, "BUYER");
+            MarketDataMessage message;
+            do {
+                message = receive(receiver);
+            } while (!level(Order.Side.BUY, "97.00", 2).test(message));
+        }
+    }
+
+    private static MarketDataMessage receive(DatagramSocket receiver) throws IOException {
+        byte[] data = new byte[MarketDataProtocol.MAX_MESSAGE_BYTES];
+        DatagramPacket packet = new DatagramPacket(data, data.length);
+        receiver.receive(packet);
+        ByteBuffer datagram = ByteBuffer.wrap(data, 0, packet.getLength());
+        assertEquals(packet.getLength() - Integer.BYTES, MarketDataProtocol.completeMessageLength(datagram));
+        return MarketDataProtocol.decode(datagram);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting");
+            Thread.sleep(1);
+        }
+    }
+}
@@ -4,11 +4,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.team27.stocksim.dto.InstrumentDTO;
+import org.team27.stocksim.model.clock.ClockProvider;
+import org.team27.stocksim.model.clock.GameClock;
+import org.team27.stocksim.model.market.AuctionSchedule;
 import org.team27.stocksim.model.market.Order;
 import org.team27.stocksim.model.market.Trade;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+import org.team27.stocksim.model.simulation.SimulationConfig;
 import org.team27.stocksim.model.users.User;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -78,7 +85,7 @@ class StockSimIntegrationTest {
     @DisplayName("Should match buy and sell orders")
     void testMatchOrders() {
         stockSim.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
-        stockSim.createUser("BUYER", "Buyer User", 10000);
+        stockSim.createUser("BUYER", "Buyer User", 20000);
         stockSim.createUser("SELLER", "Seller User", 10000);
 
         // Give seller some stocks
@@ -159,7 +166,7 @@ class StockSimIntegrationTest {
     @DisplayName("Should track order history for users")
     void testOrderHistory() {
         stockSim.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
-        stockSim.createUser("USER001", "Test User", 10000);
+        stockSim.createUser("USER001", "Test User", 20000);
 
         User user = (User) stockSim.getTraders().get("USER001");
 
@@ -198,7 +205,7 @@ class StockSimIntegrationTest {
     @DisplayName("Should handle partial order fills")
     void testPartialFills() {
         stockSim.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
-        stockSim.createUser("BUYER", "Buyer User", 10000);
+        stockSim.createUser("BUYER", "Buyer User", 20000);
         stockSim.createUser("SELLER", "Seller User", 10000);
 
         User seller = (User) stockSim.getTraders().get("SELLER");
@@ -343,4 +350,400 @@ class StockSimIntegrationTest {
         assertEquals(2, techStocks.size());
         assertEquals(1, financeStocks.size());
     }
+
+    @Test
+    @DisplayName("Should expire a GTT order once the simulation clock reaches its expire time")
+    void testGoodTillTimeExpiry() {
+        Instant start = Instant.parse("2024-01-15T10:00:00Z");
+        GameClock clock = new GameClock(ZoneId.of("UTC"), start, 1.0, true);
+        stockSim.getContext().run(() -> ClockProvider.setClock(clock));
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 10000);
+
+        Order order = stockSim.getContext().call(() -> {
+            Order gtt = new Order(Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("99.00"), 10, "BUYER",
+                    Order.TimeInForce.GTT, start.plusSeconds(30));
+            stockSim.placeOrder(gtt);
+            return gtt;
+        });
+        assertEquals(order, stockSim.getOrderBook("AAPL").getBestBid());
+
+        clock.advanceTo(start.plusSeconds(29).getEpochSecond() * GameClock.NANOS_PER_SECOND);
+        stockSim.getContext().run(stockSim::expireOrders);
+        assertEquals(Order.Status.NEW, order.getStatus());
+
+        clock.advanceTo(start.plusSeconds(30).getEpochSecond() * GameClock.NANOS_PER_SECOND);
+        stockSim.getContext().run(stockSim::expireOrders);
+        assertEquals(Order.Status.EXPIRED, order.getStatus());
+        assertNull(stockSim.getOrderBook("AAPL").getBestBid());
+        assertEquals(1, stockSim.getMetrics().counter(MetricsRegistry.EXPIRIES).sum());
+    }
+
+    @Test
+    @DisplayName("Should trigger a stop order on the first trade at its stop price")
+    void testStopOrderTriggered() {
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 10000);
+        stockSim.createUser("SELLER", "Seller", 10000);
+        stockSim.createUser("STOPPER", "Stopper", 10000);
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 100);
+        stockSim.getTraders().get("STOPPER").getPortfolio().addStock("AAPL", 10);
+
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("99.00"), 10, "BUYER"));
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("97.00"), 20, "BUYER"));
+        Order stopLoss = Order.stop(Order.Side.SELL, "AAPL", money("98.00"), 10, "STOPPER");
+        stockSim.placeOrder(stopLoss);
+        assertEquals(2, stockSim.getOrderBook("AAPL").size());
+
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("99.00"), 10, "SELLER"));
+        assertFalse(stopLoss.isTriggered());
+
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("97.00"), 5, "SELLER"));
+        assertTrue(stopLoss.isTriggered());
+        assertEquals(Order.Status.FILLED, stopLoss.getStatus());
+        assertEquals(0, stockSim.getTraders().get("STOPPER").getPortfolio().getStockQuantity("AAPL"));
+        assertEquals(5, stockSim.getOrderBook("AAPL").getBestBid().getRemainingQuantity());
+        assertEquals(1, stockSim.getMetrics().counter(MetricsRegistry.STOPS_TRIGGERED).sum());
+    }
+
+    @Test
+    @DisplayName("Should rest the remainder of a triggered stop-limit order and cancel untriggered stops")
+    void testStopLimitOrder() {
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 10000);
+        stockSim.createUser("SELLER", "Seller", 10000);
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 100);
+
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("97.00"), 5, "BUYER"));
+        Order stopLimit = Order.stopLimit(Order.Side.SELL, "AAPL", money("98.00"), money("96.00"), 10, "SELLER");
+        stockSim.placeOrder(stopLimit);
+        Order buyStop = Order.stop(Order.Side.BUY, "AAPL", money("120.00"), 1, "BUYER");
+        stockSim.placeOrder(buyStop);
+
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("97.00"), 1, "SELLER"));
+        assertEquals(6, stopLimit.getRemainingQuantity());
+        assertSame(stopLimit, stockSim.getOrderBook("AAPL").getBestAsk());
+        assertEquals(money("96.00"), stockSim.getOrderBook("AAPL").getBestAsk().getPrice());
+
+        stockSim.cancelOrder(buyStop.getOrderId());
+        assertEquals(Order.Status.CANCELLED, buyStop.getStatus());
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("120.00"), 6, "BUYER"));
+        assertFalse(buyStop.isTriggered());
+        assertEquals(Order.Status.FILLED, stopLimit.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should amend a resting order in place and trade it when the new price crosses")
+    void testAmendOrder() {
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 10000);
+        stockSim.createBot("SELLER", "Seller");
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 100);
+
+        Order ask = new Order(Order.Side.SELL, "AAPL", money("101.00"), 10, "SELLER");
+        stockSim.placeOrder(ask);
+        Order bid = new Order(Order.Side.BUY, "AAPL", money("99.00"), 10, "BUYER");
+        stockSim.placeOrder(bid);
+
+        assertTrue(stockSim.amendOrder(bid.getOrderId(), money("99.00"), 6));
+        assertEquals(6, stockSim.getOrderBook("AAPL").getBestBid().getRemainingQuantity());
+
+        // A bot's order can be amended too; its new price trades with the bid
+        assertTrue(stockSim.amendOrder(ask.getOrderId(), money("99.00"), 4));
+        assertEquals(Order.Status.FILLED, ask.getStatus());
+        assertEquals(2, bid.getRemainingQuantity());
+        assertEquals(bid.getOrderId(), stockSim.getOrderBook("AAPL").getBestBid().getOrderId());
+        assertEquals(4, stockSim.getTraders().get("BUYER").getPortfolio().getStockQuantity("AAPL"));
+
+        assertFalse(stockSim.amendOrder(ask.getOrderId(), money("99.00"), 10));
+        assertFalse(stockSim.amendOrder(bid.getOrderId(), money("99.00"), 4));
+        assertEquals(2, stockSim.getMetrics().counter(MetricsRegistry.AMENDS).sum());
+    }
+
+    @Test
+    @DisplayName("Should mass cancel by trader, by trader and symbol, and by side")
+    void testCancelOrders() {
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createStock("MSFT", "Microsoft", "0.01", "1", "Technology", "100");
+        stockSim.createUser("USER001", "User", 100000);
+        stockSim.createBot("BOT001", "Bot");
+        stockSim.getTraders().get("BOT001").getPortfolio().addStock("AAPL", 100);
+
+        Order aapl = new Order(Order.Side.BUY, "AAPL", money("90.00"), 10, "USER001");
+        Order msft = new Order(Order.Side.BUY, "MSFT", money("90.00"), 10, "USER001");
+        Order stop = Order.stop(Order.Side.BUY, "AAPL", money("120.00"), 5, "USER001");
+        stockSim.placeOrder(aapl);
+        stockSim.placeOrder(msft);
+        stockSim.placeOrder(stop);
+        for (int i = 0; i < 3; i++) {
+            stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money((110 + i) + ".00"), 5, "BOT001"));
+        }
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("80.00"), 5, "BOT001"));
+
+        assertEquals(2, stockSim.cancelOrders("USER001", "AAPL", null));
+        assertEquals(Order.Status.CANCELLED, aapl.getStatus());
+        assertEquals(Order.Status.CANCELLED, stop.getStatus());
+        assertEquals(Order.Status.NEW, msft.getStatus());
+
+        assertEquals(3, stockSim.cancelOrders("BOT001", null, Order.Side.SELL));
+        assertNull(stockSim.getOrderBook("AAPL").getBestAsk());
+        assertEquals(1, stockSim.getOrderBook("AAPL").size());
+
+        assertEquals(1, stockSim.cancelOrders(null, "MSFT", Order.Side.BUY));
+        assertEquals(1, stockSim.cancelOrders(null, null, null));
+        assertEquals(0, stockSim.cancelOrders(null, null, null));
+        assertEquals(7, stockSim.getMetrics().counter(MetricsRegistry.CANCELS).sum());
+    }
+
+    @Test
+    @DisplayName("Should reject orders that exceed the buying power or shares not already reserved")
+    void testPreTradeRisk() {
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 1000);
+        stockSim.createUser("SELLER", "Seller", 1000);
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 5);
+
+        Order first = new Order(Order.Side.BUY, "AAPL", money("100.00"), 6, "BUYER");
+        Order second = new Order(Order.Side.BUY, "AAPL", money("100.00"), 6, "BUYER");
+        stockSim.placeOrder(first);
+        stockSim.placeOrder(second);
+        assertEquals(1, stockSim.getOrderBook("AAPL").size());
+        assertEquals(1, stockSim.getMetrics().counter(MetricsRegistry.REJECTS).sum());
+
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("120.00"), 5, "SELLER"));
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("120.00"), 1, "SELLER"));
+        assertEquals(2, stockSim.getMetrics().counter(MetricsRegistry.REJECTS).sum());
+
+        // Cancelling frees the reservation for a new order
+        stockSim.cancelOrder(first.getOrderId());
+        Order third = new Order(Order.Side.BUY, "AAPL", money("100.00"), 6, "BUYER");
+        stockSim.placeOrder(third);
+        assertEquals(Order.Status.NEW, third.getStatus());
+        assertEquals(2, stockSim.getMetrics().counter(MetricsRegistry.REJECTS).sum());
+    }
+
+    @Test
+    @DisplayName("Should halt a symbol on a band breach and reopen it with an auction")
+    void testCircuitBreakerHaltAndReopen() {
+        Instant start = Instant.parse("2024-01-15T10:00:00Z");
+        GameClock clock = new GameClock(ZoneId.of("UTC"), start, 1.0, true);
+        stockSim.getContext().run(() -> ClockProvider.setClock(clock));
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 100000);
+        stockSim.createUser("SELLER", "Seller", 10000);
+        User buyer = (User) stockSim.getTraders().get("BUYER");
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 100);
+
+        stockSim.getContext().run(() -> {
+            stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER"));
+            stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("140.00"), 10, "SELLER"));
+            stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("100.00"), 10, "BUYER"));
+            // 140.00 is outside the 25% band around 100.00
+            stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("140.00"), 10, "BUYER"));
+        });
+        assertEquals(1, stockSim.getMetrics().counter(MetricsRegistry.HALTS).sum());
+        assertEquals(1, buyer.getOrderHistory().getAllTrades().size());
+
+        // Orders queue without matching while the symbol is halted
+        Order queued = new Order(Order.Side.BUY, "AAPL", money("140.00"), 5, "BUYER");
+        stockSim.getContext().run(() -> stockSim.placeOrder(queued));
+        assertEquals(Order.Status.NEW, queued.getStatus());
+        assertEquals(1, buyer.getOrderHistory().getAllTrades().size());
+
+        clock.advanceTo(start.plusSeconds(300).getEpochSecond() * GameClock.NANOS_PER_SECOND);
+        stockSim.getContext().run(stockSim::runAuctions);
+        List<Trade> trades = buyer.getOrderHistory().getAllTrades();
+        assertEquals(3, trades.size());
+        assertEquals(money("140.00"), trades.get(trades.size() - 1).getPrice());
+        assertEquals(Order.Status.FILLED, queued.getStatus());
+        assertNull(stockSim.getOrderBook("AAPL").getBestAsk());
+    }
+
+    @Test
+    @DisplayName("Should collect orders during the opening call and uncross them when it ends")
+    void testOpeningCallAuction() {
+        stockSim = new StockSim(SimulationConfig.builder().auctionSchedule(new AuctionSchedule(600, 0)).build());
+        Instant midnight = Instant.parse("2024-01-15T00:00:00Z");
+        GameClock clock = new GameClock(ZoneId.of("UTC"), midnight, 1.0, true);
+        stockSim.getContext().run(() -> ClockProvider.setClock(clock));
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER1", "Buyer", 10000);
+        stockSim.createUser("BUYER2", "Buyer", 10000);
+        stockSim.createUser("SELLER", "Seller", 10000);
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 15);
+
+        Order bid1 = new Order(Order.Side.BUY, "AAPL", money("101.00"), 10, "BUYER1");
+        Order bid2 = new Order(Order.Side.BUY, "AAPL", money("100.00"), 10, "BUYER2");
+        Order ask = new Order(Order.Side.SELL, "AAPL", money("99.00"), 15, "SELLER");
+        stockSim.getContext().run(() -> {
+            stockSim.placeOrder(bid1);
+            stockSim.placeOrder(bid2);
+            stockSim.placeOrder(ask);
+        });
+        assertEquals(3, stockSim.getOrderBook("AAPL").size());
+
+        clock.advanceTo(midnight.plusSeconds(600).getEpochSecond() * GameClock.NANOS_PER_SECOND);
+        stockSim.getContext().run(stockSim::runAuctions);
+        assertEquals(Order.Status.FILLED, bid1.getStatus());
+        assertEquals(5, bid2.getRemainingQuantity());
+        assertEquals(Order.Status.FILLED, ask.getStatus());
+        List<Trade> trades = ((User) stockSim.getTraders().get("SELLER")).getOrderHistory().getAllTrades();
+        assertTrue(trades.stream().allMatch(t -> t.getPrice().equals(money("100.00"))));
+        assertEquals(1, stockSim.getMetrics().counter(MetricsRegistry.AUCTIONS).sum());
+
+        // Continuous trading after the opening auction
+        Order sell = new Order(Order.Side.SELL, "AAPL", money("100.00"), 5, "BUYER1");
+        stockSim.getContext().run(() -> stockSim.placeOrder(sell));
+        assertEquals(Order.Status.FILLED, sell.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should keep collecting batches through a call phase until its auction")
+    void testFrequentBatchCallPhase() {
+        stockSim = new StockSim(SimulationConfig.builder().auctionSchedule(new AuctionSchedule(600, 0, true)).build());
+        Instant midnight = Instant.parse("2024-01-15T00:00:00Z");
+        GameClock clock = new GameClock(ZoneId.of("UTC"), midnight, 1.0, true);
+        stockSim.getContext().run(() -> ClockProvider.setClock(clock));
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 10000);
+        stockSim.createUser("SELLER", "Seller", 10000);
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 10);
+
+        Order bid = new Order(Order.Side.BUY, "AAPL", money("101.00"), 10, "BUYER");
+        Order ask = new Order(Order.Side.SELL, "AAPL", money("99.00"), 10, "SELLER");
+        stockSim.getContext().run(() -> {
+            stockSim.placeOrder(bid);
+            stockSim.placeOrder(ask);
+        });
+        // The batch joins the crossed book but the call phase holds the auction back
+        clock.advanceTo(midnight.plusSeconds(1).getEpochSecond() * GameClock.NANOS_PER_SECOND);
+        stockSim.getContext().run(stockSim::runAuctions);
+        assertEquals(2, stockSim.getOrderBook("AAPL").size());
+        assertEquals(0, stockSim.getMetrics().counter(MetricsRegistry.AUCTIONS).sum());
+
+        clock.advanceTo(midnight.plusSeconds(600).getEpochSecond() * GameClock.NANOS_PER_SECOND);
+        stockSim.getContext().run(stockSim::runAuctions);
+        assertEquals(Order.Status.FILLED, bid.getStatus());
+        assertEquals(Order.Status.FILLED, ask.getStatus());
+        assertEquals(1, stockSim.getMetrics().counter(MetricsRegistry.AUCTIONS).sum());
+    }
+
+    @Test
+    @DisplayName("Should mass cancel orders still waiting for their batch auction")
+    void testFrequentBatchMassCancel() {
+        stockSim = new StockSim(SimulationConfig.builder().auctionSchedule(AuctionSchedule.frequentBatch()).build());
+        stockSim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 10000);
+        stockSim.createUser("SELLER", "Seller", 10000);
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 10);
+
+        Order bid = new Order(Order.Side.BUY, "AAPL", money("100.00"), 10, "BUYER");
+        stockSim.getContext().run(() -> {
+            stockSim.placeOrder(bid);
+            stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER"));
+        });
+        assertEquals(1, stockSim.cancelOrders("BUYER", null, null));
+        assertEquals(Order.Status.CANCELLED, bid.getStatus());
+
+        stockSim.getContext().run(stockSim::runAuctions);
+        assertEquals(0, stockSim.getTraders().get("BUYER").getPortfolio().getStockQuantity("AAPL"));
+        assertEquals(1, stockSim.getOrderBook("AAPL").size());
+    }
+
+    @Test
+    @DisplayName("Should clear each tick's orders in one batch auction regardless of arrival order")
+    void testFrequentBatchAuction() {
+        String first = batchWinner(List.of("BUYER1", "BUYER2"));
+        String second = batchWinner(List.of("BUYER2", "BUYER1"));
+        assertEquals(first, second);
+    }
+
+    @Test
+    @DisplayName("Should queue a batch in sorted order even when the clock runs between arrivals")
+    void testFrequentBatchPriorityWithFreeRunningClock() {
+        StockSim sim = new StockSim(SimulationConfig.builder().auctionSchedule(AuctionSchedule.frequentBatch()).build());
+        sim.getContext().run(() -> ClockProvider.setClock(
+                new GameClock(ZoneId.of("UTC"), Instant.parse("2024-01-15T10:00:00Z"), 1.0, false)));
+        sim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        sim.createUser("BUYER", "Buyer", 10000);
+        sim.createUser("SELLER", "Seller", 10000);
+        sim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 10);
+
+        Order first = new Order(Order.Side.BUY, "AAPL", money("99.00"), 10, "BUYER");
+        Order second = new Order(Order.Side.BUY, "AAPL", money("100.00"), 10, "BUYER");
+        sim.getContext().run(() -> {
+            sim.placeOrder(first);
+            sim.placeOrder(second);
+            // Repricing restarts the first order's arrival time after the second's
+            assertTrue(sim.amendOrder(first.getOrderId(), money("100.00"), 10));
+            sim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER"));
+            sim.runAuctions();
+        });
+
+        // A trader's own orders keep their order ids' order in the batch
+        assertEquals(Order.Status.FILLED, first.getStatus());
+        assertEquals(10, second.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Should trade market and IOC orders in their batch and cancel what is left")
+    void testFrequentBatchMarketOrders() {
+        StockSim sim = new StockSim(SimulationConfig.builder().auctionSchedule(AuctionSchedule.frequentBatch()).build());
+        sim.getContext().run(() -> ClockProvider.setClock(
+                new GameClock(ZoneId.of("UTC"), Instant.parse("2024-01-15T10:00:00Z"), 1.0, true)));
+        sim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        sim.createUser("BUYER", "Buyer", 10000);
+        sim.createUser("IOC", "Buyer", 10000);
+        sim.createUser("SELLER", "Seller", 10000);
+        sim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 10);
+
+        Order market = new Order(Order.Side.BUY, Order.OrderType.MARKET, "AAPL", null, 6, "BUYER");
+        Order ioc = new Order(Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("101.00"), 10, "IOC",
+                Order.TimeInForce.IOC, null);
+        sim.getContext().run(() -> {
+            sim.placeOrder(market);
+            sim.placeOrder(ioc);
+            sim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER"));
+            sim.runAuctions();
+        });
+
+        assertEquals(Order.Status.FILLED, market.getStatus());
+        assertEquals(6, sim.getTraders().get("BUYER").getPortfolio().getStockQuantity("AAPL"));
+        // The IOC order gets the rest of the seller's 10 and its own remainder is cancelled
+        assertEquals(4, sim.getTraders().get("IOC").getPortfolio().getStockQuantity("AAPL"));
+        assertEquals(Order.Status.CANCELLED, ioc.getStatus());
+        assertEquals(0, sim.getOrderBook("AAPL").size());
+    }
+
+    private String batchWinner(List<String> arrivalOrder) {
+        StockSim sim = new StockSim(SimulationConfig.builder().auctionSchedule(AuctionSchedule.frequentBatch()).build());
+        Instant start = Instant.parse("2024-01-15T10:00:00Z");
+        GameClock clock = new GameClock(ZoneId.of("UTC"), start, 1.0, true);
+        sim.getContext().run(() -> ClockProvider.setClock(clock));
+        sim.createStock("AAPL", "Apple", "0.01", "1", "Technology", "100");
+        sim.createUser("BUYER1", "Buyer", 10000);
+        sim.createUser("BUYER2", "Buyer", 10000);
+        sim.createUser("SELLER", "Seller", 10000);
+        sim.createUser("CANCELLER", "Canceller", 10000);
+        sim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 10);
+
+        Order cancelled = new Order(Order.Side.BUY, "AAPL", money("105.00"), 10, "CANCELLER");
+        sim.getContext().run(() -> {
+            sim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER"));
+            for (String buyer : arrivalOrder) {
+                sim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("100.00"), 10, buyer));
+            }
+            sim.placeOrder(cancelled);
+            sim.cancelOrder(cancelled.getOrderId());
+        });
+        // Nothing enters the book or trades until the batch is cleared
+        assertEquals(0, sim.getOrderBook("AAPL").size());
+
+        clock.advanceTo(start.plusSeconds(1).getEpochSecond() * GameClock.NANOS_PER_SECOND);
+        sim.getContext().run(sim::runAuctions);
+        assertEquals(Order.Status.CANCELLED, cancelled.getStatus());
+        assertEquals(1, sim.getOrderBook("AAPL").size());
+        assertEquals(1, sim.getMetrics().counter(MetricsRegistry.AUCTIONS).sum());
+        return sim.getTraders().get("BUYER1").getPortfolio().getStockQuantity("AAPL") == 10 ? "BUYER1" : "BUYER2";
+    }
 }
@@ -221,5 +221,73 @@ class GameClockTest {
         long diff = Math.abs(afterChange.toEpochMilli() - beforeChange.toEpochMilli());
         assertTrue(diff < 100); // Allow some tolerance for execution time
     }
-}
 
+    @Test
+    @DisplayName("Should expose primitive time consistent with instant")
+    void testPrimitiveTimeApi() {
+        GameClock clock = new GameClock(testZone, testStartTime, 0.0);
+
+        assertEquals(testStartTime.getEpochSecond() * GameClock.NANOS_PER_SECOND, clock.nanos());
+        assertEquals(testStartTime.toEpochMilli(), clock.millis());
+        assertEquals(testStartTime.getEpochSecond(), clock.epochSecond());
+        assertEquals(testStartTime, clock.instant());
+    }
+
+    @Test
+    @DisplayName("Should reuse the cached instant while time stands still")
+    void testCachedInstant() {
+        GameClock clock = new GameClock(testZone, testStartTime, 0.0);
+
+        assertSame(clock.instant(), clock.instant());
+    }
+
+    @Test
+    @DisplayName("Should only advance a tick-quantized clock when published")
+    void testTickQuantized() throws InterruptedException {
+        GameClock clock = new GameClock(testZone, testStartTime, 1000.0, true);
+        assertTrue(clock.isTickQuantized());
+
+        Thread.sleep(20);
+        assertEquals(testStartTime, clock.instant());
+        assertTrue(clock.unquantizedNanos() > clock.nanos());
+
+        long next = (testStartTime.getEpochSecond() + 5) * GameClock.NANOS_PER_SECOND;
+        clock.advanceTo(next);
+        assertEquals(next, clock.nanos());
+        assertEquals(testStartTime.plusSeconds(5), clock.instant());
+
+        // Never moves backwards
+        clock.advanceTo(next - GameClock.NANOS_PER_SECOND);
+        assertEquals(next, clock.nanos());
+    }
+
+    @Test
+    @DisplayName("Should ignore published times on a free-running clock")
+    void testAdvanceIgnoredWhenFreeRunning() {
+        GameClock clock = new GameClock(testZone, testStartTime, 0.0);
+
+        clock.advanceTo(clock.nanos() + GameClock.NANOS_PER_SECOND * 60);
+
+        assertEquals(testStartTime, clock.instant());
+    }
+
+    @Test
+    @DisplayName("Should stay monotonic while another thread changes speed")
+    void testConcurrentSpeedChanges() throws InterruptedException {
+        GameClock clock = new GameClock(testZone, testStartTime, 1.0);
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 10_000; i++) {
+                clock.setSpeed(i % 2 == 0 ? 10.0 : 1000.0);
+            }
+        });
+        writer.start();
+
+        long previous = clock.nanos();
+        while (writer.isAlive()) {
+            long now = clock.nanos();
+            assertTrue(now >= previous);
+            previous = now;
+        }
+        writer.join();
+    }
+}
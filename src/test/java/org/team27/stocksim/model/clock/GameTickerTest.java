@@ -0,0 +1,168 @@
+package org.team27.stocksim.model.clock;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GameTicker Tests")
+class GameTickerTest {
+
+    private static final Instant START = Instant.parse("2024-01-15T10:00:00Z");
+
+    private GameClock fastClock() {
+        // 1000 simulated seconds per real second
+        return new GameClock(ZoneId.of("UTC"), START, 1000.0);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    @DisplayName("Should fire every elapsed second when handler keeps up")
+    void testFiresEverySecond() {
+        List<Instant> fired = new ArrayList<>();
+        GameTicker ticker = new GameTicker(fastClock(), fired::add, 1000, TickOverrunPolicy.COALESCE);
+
+        sleep(50);
+        ticker.tick();
+
+        assertTrue(fired.size() >= 40);
+        for (int i = 1; i < fired.size(); i++) {
+            assertEquals(fired.get(i - 1).plusSeconds(1), fired.get(i));
+        }
+        assertEquals(0, ticker.getLagSeconds());
+        assertEquals(0, ticker.getOverrunCount());
+        assertEquals(0, ticker.getSkippedSeconds());
+    }
+
+    @Test
+    @DisplayName("Should catch up on every second under CATCH_UP even when overrunning")
+    void testCatchUpKeepsEverySecond() {
+        List<Instant> fired = new ArrayList<>();
+        GameTicker ticker = new GameTicker(fastClock(), s -> {
+            fired.add(s);
+            sleep(1);
+        }, 5, TickOverrunPolicy.CATCH_UP);
+
+        sleep(30);
+        ticker.tick();
+
+        assertTrue(fired.size() >= 25);
+        assertEquals(1, ticker.getOverrunCount());
+        assertEquals(0, ticker.getSkippedSeconds());
+    }
+
+    @Test
+    @DisplayName("Should coalesce missed seconds and report the lag")
+    void testCoalesce() {
+        List<Instant> fired = new ArrayList<>();
+        GameClock clock = fastClock();
+        GameTicker ticker = new GameTicker(clock, s -> {
+            fired.add(s);
+            sleep(2);
+        }, 5, TickOverrunPolicy.COALESCE);
+
+        sleep(100);
+        ticker.tick();
+        long caughtUpTo = clock.instant().getEpochSecond();
+
+        assertEquals(1, ticker.getOverrunCount());
+        assertTrue(ticker.getLagSeconds() > 0);
+        assertTrue(ticker.getSkippedSeconds() > 0);
+        assertTrue(fired.size() < 50);
+
+        // The next poll starts from the current second, not from the backlog
+        fired.clear();
+        ticker.tick();
+        assertFalse(fired.isEmpty());
+        assertTrue(fired.get(0).getEpochSecond() >= caughtUpTo - 20);
+    }
+
+    @Test
+    @DisplayName("Should slow the clock on overrun and recover once caught up")
+    void testSlowClock() {
+        GameClock clock = fastClock();
+        boolean[] slow = {true};
+        GameTicker ticker = new GameTicker(clock, s -> {
+            if (slow[0]) {
+                sleep(2);
+            }
+        }, 5, TickOverrunPolicy.SLOW_CLOCK);
+
+        sleep(50);
+        ticker.tick();
+
+        assertEquals(1, ticker.getOverrunCount());
+        assertTrue(clock.getSpeed() < 1000.0);
+        assertTrue(clock.getSpeed() >= GameTicker.MIN_SPEED);
+        assertEquals(0, ticker.getSkippedSeconds());
+
+        slow[0] = false;
+        double slowed = clock.getSpeed();
+        ticker.tick();
+        ticker.tick();
+        assertTrue(clock.getSpeed() > slowed);
+        assertTrue(clock.getSpeed() <= 1000.0);
+    }
+
+    @Test
+    @DisplayName("Should lower the tick rate on overrun and restore it with headroom")
+    void testReduceTickRate() {
+        List<Instant> fired = new ArrayList<>();
+        boolean[] slow = {true};
+        GameTicker ticker = new GameTicker(fastClock(), s -> {
+            fired.add(s);
+            if (slow[0]) {
+                sleep(2);
+            }
+        }, 5, TickOverrunPolicy.REDUCE_TICK_RATE);
+
+        sleep(50);
+        ticker.tick();
+        assertEquals(2, ticker.getStride());
+
+        fired.clear();
+        sleep(20);
+        ticker.tick();
+        assertTrue(ticker.getSkippedSeconds() > 0);
+        for (int i = 1; i < fired.size(); i++) {
+            long gap = fired.get(i).getEpochSecond() - fired.get(i - 1).getEpochSecond();
+            assertTrue(gap >= 1 && gap <= ticker.getStride() * 2L);
+        }
+
+        slow[0] = false;
+        for (int i = 0; i < 20 && ticker.getStride() > 1; i++) {
+            ticker.tick();
+        }
+        assertEquals(1, ticker.getStride());
+    }
+
+    @Test
+    @DisplayName("Should advance a tick-quantized clock to each fired second")
+    void testAdvancesQuantizedClock() {
+        GameClock clock = new GameClock(ZoneId.of("UTC"), START, 1000.0, true);
+        List<Instant> seen = new ArrayList<>();
+        GameTicker ticker = new GameTicker(clock, s -> {
+            assertEquals(s, clock.instant());
+            seen.add(clock.instant());
+        }, 1000, TickOverrunPolicy.COALESCE);
+
+        sleep(20);
+        ticker.tick();
+
+        assertFalse(seen.isEmpty());
+        assertEquals(START.plusSeconds(1), seen.get(0));
+        assertEquals(seen.get(seen.size() - 1), clock.instant());
+    }
+}
@@ -0,0 +1,93 @@
+package org.team27.stocksim.model.clock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TimingWheel Tests")
+class TimingWheelTest {
+
+    private static final long START = 1_700_000_000L;
+
+    private TimingWheel<String> wheel;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new TimingWheel<>();
+    }
+
+    @Test
+    @DisplayName("Should fire a timer exactly at its deadline")
+    void testFiresAtDeadline() {
+        wheel.schedule("a", START + 5, START);
+
+        assertTrue(wheel.advanceTo(START + 4).isEmpty());
+        assertEquals(List.of("a"), wheel.advanceTo(START + 5));
+        assertEquals(0, wheel.size());
+        assertTrue(wheel.advanceTo(START + 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fire an overdue timer on the next advance")
+    void testOverdueDeadline() {
+        wheel.schedule("late", START - 30, START);
+
+        assertEquals(List.of("late"), wheel.advanceTo(START + 1));
+    }
+
+    @Test
+    @DisplayName("Should not fire a cancelled timer")
+    void testCancel() {
+        TimingWheel.Timer<String> timer = wheel.schedule("a", START + 5, START);
+        wheel.schedule("b", START + 5, START);
+
+        assertTrue(timer.cancel());
+        assertFalse(timer.cancel());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("b"), wheel.advanceTo(START + 5));
+    }
+
+    @Test
+    @DisplayName("Should cascade timers from coarser wheels in deadline order")
+    void testCascade() {
+        long[] offsets = {4097, 63, 64, 65, 4096, 300_000, 1};
+        for (long offset : offsets) {
+            wheel.schedule("t" + offset, START + offset, START);
+        }
+
+        List<String> fired = new ArrayList<>();
+        for (long tick = START + 1; tick <= START + 300_000; tick++) {
+            for (String item : wheel.advanceTo(tick)) {
+                assertEquals("t" + (tick - START), item, "Fired at the wrong tick");
+                fired.add(item);
+            }
+        }
+        assertEquals(List.of("t1", "t63", "t64", "t65", "t4096", "t4097", "t300000"), fired);
+    }
+
+    @Test
+    @DisplayName("Should hold deadlines beyond the wheels' range in overflow")
+    void testOverflow() {
+        long far = START + (1L << 24) + 10;
+        wheel.schedule("far", far, START);
+
+        assertTrue(wheel.advanceTo(far - 1).isEmpty());
+        assertEquals(List.of("far"), wheel.advanceTo(far));
+    }
+
+    @Test
+    @DisplayName("Should rebase its timers when the clock moves backwards")
+    void testRebaseBackwards() {
+        wheel.schedule("a", START + 10, START);
+
+        assertTrue(wheel.advanceTo(START - 100).isEmpty());
+        assertEquals(START - 100, wheel.getCurrentTick());
+        assertTrue(wheel.advanceTo(START + 9).isEmpty());
+        assertEquals(List.of("a"), wheel.advanceTo(START + 10));
+    }
+}
@@ -0,0 +1,159 @@
+package org.team27.stocksim.model.instruments;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.users.Trader;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Stock Price Concurrency Tests")
+class StockPriceConcurrencyTest {
+
+    private static final int WRITES_PER_STOCK = 50_000;
+
+    private StockFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        factory = new StockFactory();
+    }
+
+    @Test
+    @DisplayName("Readers should never see torn or missing points while a writer appends")
+    void testReadersScanWhileWriterAppends() throws InterruptedException {
+        Instrument stock = factory.createInstrument("AAPL", "Apple Inc.", new BigDecimal("0.01"), 1,
+                "Technology", new BigDecimal("100"));
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            Thread reader = new Thread(() -> {
+                int lastSize = 0;
+                while (writing.get() && failure.get() == null) {
+                    List<PricePoint> points = stock.getPriceHistory().getRecentPoints(200);
+                    int size = stock.getPriceHistory().size();
+                    if (size < lastSize) {
+                        failure.set("History size went backwards: " + lastSize + " -> " + size);
+                    }
+                    lastSize = size;
+                    for (PricePoint point : points) {
+                        if (point == null || point.getPrice() == null) {
+                            failure.set("Reader saw an unpublished point");
+                        }
+                    }
+                    if (stock.getCurrentPrice() == null) {
+                        failure.set("Reader saw a null last price");
+                    }
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+
+        for (int i = 0; i < WRITES_PER_STOCK; i++) {
+            stock.setCurrentPrice(BigDecimal.valueOf(100 + i), i);
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get(), failure.get());
+        List<PricePoint> points = stock.getPriceHistory().getPoints();
+        assertEquals(WRITES_PER_STOCK, points.size());
+        for (int i = 0; i < WRITES_PER_STOCK; i++) {
+            assertEquals(i, points.get(i).getTimestamp());
+        }
+        assertEquals(BigDecimal.valueOf(100 + WRITES_PER_STOCK - 1), stock.getCurrentPrice());
+    }
+
+    @Test
+    @DisplayName("Each instrument should keep every point when written from its own thread")
+    void testOneWriterPerInstrument() throws InterruptedException {
+        List<Instrument> stocks = new ArrayList<>();
+        for (int s = 0; s < 8; s++) {
+            stocks.add(factory.createInstrument("S" + s, "Stock " + s, new BigDecimal("0.01"), 1,
+                    "Technology", new BigDecimal("10")));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(stocks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        for (Instrument stock : stocks) {
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < WRITES_PER_STOCK; i++) {
+                    stock.setCurrentPrice(BigDecimal.valueOf(i), i);
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        for (Instrument stock : stocks) {
+            assertEquals(WRITES_PER_STOCK, stock.getPriceHistory().size());
+            assertEquals(BigDecimal.valueOf(WRITES_PER_STOCK - 1), stock.getCurrentPrice());
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent matching should record one price point per settled trade")
+    void testConcurrentMatchingRecordsEveryTrade() throws InterruptedException {
+        StockSim stockSim = new StockSim();
+        stockSim.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
+
+        int pairs = 8;
+        int ordersPerTrader = 500;
+        for (int t = 0; t < pairs; t++) {
+            stockSim.createUser("BUYER" + t, "Buyer " + t, 10_000_000);
+            stockSim.createUser("SELLER" + t, "Seller " + t, 0);
+            Trader seller = stockSim.getTraders().get("SELLER" + t);
+            seller.getPortfolio().addStock("AAPL", ordersPerTrader);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(pairs * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < pairs; t++) {
+            String buyer = "BUYER" + t;
+            String seller = "SELLER" + t;
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ordersPerTrader; i++) {
+                    stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", new BigDecimal("100.00"), 1, buyer));
+                }
+                return null;
+            });
+            pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < ordersPerTrader; i++) {
+                    stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", new BigDecimal("100.00"), 1, seller));
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertTrue(stockSim.getOrderBook("AAPL").getOrders().isEmpty(), "All orders should have crossed");
+
+        Instrument stock = stockSim.getInstrument("AAPL");
+        assertEquals(pairs * ordersPerTrader, stock.getPriceHistory().size());
+        assertEquals(new BigDecimal("100.00"), stock.getCurrentPrice());
+    }
+}
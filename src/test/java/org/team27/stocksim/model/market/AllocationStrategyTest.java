@@ -0,0 +1,131 @@
+package org.team27.stocksim.model.market;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("Allocation Strategy Tests")
+class AllocationStrategyTest {
+
+    private static List<Order> level(int... quantities) {
+        List<Order> level = new ArrayList<>();
+        for (int i = 0; i < quantities.length; i++) {
+            level.add(new Order(Order.Side.SELL, "AAPL", money("100.00"), quantities[i], "SELLER" + i));
+        }
+        return level;
+    }
+
+    private static int[] allocate(IAllocationStrategy strategy, int quantity, int... quantities) {
+        int[] allocations = new int[quantities.length];
+        strategy.allocate(level(quantities), quantity, allocations);
+        return allocations;
+    }
+
+    @Test
+    @DisplayName("Should fill the oldest orders first under price-time priority")
+    void testPriceTime() {
+        assertArrayEquals(new int[] {10, 5, 0}, allocate(new PriceTimeAllocation(), 15, 10, 20, 30));
+    }
+
+    @Test
+    @DisplayName("Should allocate in proportion to size and give rounding lots by time")
+    void testProRata() {
+        assertArrayEquals(new int[] {5, 10, 15}, allocate(new ProRataAllocation(), 30, 10, 20, 30));
+        // 7 * 1/3 rounds down to 2 each; the lot left over goes to the oldest order
+        assertArrayEquals(new int[] {3, 2, 2}, allocate(new ProRataAllocation(), 7, 10, 10, 10));
+        assertArrayEquals(new int[] {10, 20, 30}, allocate(new ProRataAllocation(), 60, 10, 20, 30));
+    }
+
+    @Test
+    @DisplayName("Should fill the largest orders first and break ties by time")
+    void testSizePriority() {
+        assertArrayEquals(new int[] {0, 5, 30}, allocate(new SizePriorityAllocation(), 35, 10, 20, 30));
+        assertArrayEquals(new int[] {20, 5, 0}, allocate(new SizePriorityAllocation(), 25, 20, 20, 10));
+    }
+
+    @Test
+    @DisplayName("Should match a symbol by its own allocation strategy")
+    void testEngineProRata() {
+        MatchingEngine engine = new MatchingEngine();
+        engine.setAllocationStrategy("AAPL", new ProRataAllocation());
+        OrderBook orderBook = new OrderBook("AAPL");
+        Order small = new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER1");
+        Order large = new Order(Order.Side.SELL, "AAPL", money("100.00"), 30, "SELLER2");
+        Order own = new Order(Order.Side.SELL, "AAPL", money("100.00"), 40, "BUYER");
+        orderBook.add(small);
+        orderBook.add(large);
+        orderBook.add(own);
+
+        Order buy = new Order(Order.Side.BUY, "AAPL", money("100.00"), 20, "BUYER");
+        List<Trade> trades = engine.match(buy, orderBook);
+
+        assertEquals(2, trades.size());
+        assertEquals(5, small.getRemainingQuantity());
+        assertEquals(15, large.getRemainingQuantity());
+        assertEquals(40, own.getRemainingQuantity());
+        assertTrue(buy.isFilled());
+
+        // Other symbols keep price-time priority
+        OrderBook other = new OrderBook("MSFT");
+        Order first = new Order(Order.Side.SELL, "MSFT", money("100.00"), 10, "SELLER1");
+        other.add(first);
+        other.add(new Order(Order.Side.SELL, "MSFT", money("100.00"), 30, "SELLER2"));
+        engine.match(new Order(Order.Side.BUY, "MSFT", money("100.00"), 10, "BUYER"), other);
+        assertTrue(first.isFilled());
+    }
+
+    @Test
+    @DisplayName("Should stop at the trader's own order with or without an allocation strategy")
+    void testSelfTradeRuleMatchesDefault() {
+        for (IAllocationStrategy strategy : new IAllocationStrategy[] {null, new PriceTimeAllocation(),
+                new ProRataAllocation(), new SizePriorityAllocation()}) {
+            MatchingEngine engine = new MatchingEngine();
+            engine.setAllocationStrategy("AAPL", strategy);
+            OrderBook orderBook = new OrderBook("AAPL");
+            Order other = new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER1");
+            Order own = new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "BUYER");
+            Order behind = new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER2");
+            orderBook.add(other);
+            orderBook.add(own);
+            orderBook.add(behind);
+
+            Order buy = new Order(Order.Side.BUY, "AAPL", money("100.00"), 15, "BUYER");
+            List<Trade> trades = engine.match(buy, orderBook);
+
+            assertEquals(1, trades.size());
+            assertTrue(other.isFilled());
+            assertEquals(10, own.getRemainingQuantity());
+            assertEquals(10, behind.getRemainingQuantity());
+            assertEquals(5, buy.getRemainingQuantity());
+        }
+    }
+
+    @Test
+    @DisplayName("Should allocate deep levels one after another on the same engine")
+    void testEngineDeepLevels() {
+        MatchingEngine engine = new MatchingEngine();
+        engine.setAllocationStrategy("AAPL", new ProRataAllocation());
+        for (int depth : new int[] {40, 3}) {
+            OrderBook orderBook = new OrderBook("AAPL");
+            List<Order> level = new ArrayList<>();
+            for (int i = 0; i < depth; i++) {
+                Order order = new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER" + i);
+                orderBook.add(order);
+                level.add(order);
+            }
+
+            Order buy = new Order(Order.Side.BUY, "AAPL", money("100.00"), depth * 5, "BUYER");
+            engine.match(buy, orderBook);
+
+            assertTrue(buy.isFilled());
+            for (Order order : level) {
+                assertEquals(5, order.getRemainingQuantity());
+            }
+        }
+    }
+}
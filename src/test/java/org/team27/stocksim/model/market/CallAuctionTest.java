@@ -0,0 +1,157 @@
+package org.team27.stocksim.model.market;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("CallAuction Tests")
+class CallAuctionTest {
+
+    private CallAuction callAuction;
+    private OrderBook orderBook;
+    private String testSymbol;
+
+    @BeforeEach
+    void setUp() {
+        callAuction = new CallAuction();
+        testSymbol = "AAPL";
+        orderBook = new OrderBook(testSymbol);
+    }
+
+    @Test
+    @DisplayName("Should pick the auction price trading the most quantity")
+    void testAuctionPrice() {
+        List<PriceLevel> bids = List.of(new PriceLevel(money("102.00"), 30, 1), new PriceLevel(money("100.00"), 50, 1));
+        List<PriceLevel> asks = List.of(new PriceLevel(money("99.00"), 40, 1), new PriceLevel(money("101.00"), 40, 1));
+        // 100.00 trades 40 (80 bids, 40 asks); 101.00 trades 30
+        assertEquals(money("100.00"), CallAuction.auctionPrice(bids, asks, null));
+
+        List<PriceLevel> even = List.of(new PriceLevel(money("101.00"), 10, 1));
+        List<PriceLevel> evenAsks = List.of(new PriceLevel(money("99.00"), 10, 1));
+        assertEquals(money("99.00"), CallAuction.auctionPrice(even, evenAsks, null));
+        assertEquals(money("101.00"), CallAuction.auctionPrice(even, evenAsks, money("102.00")));
+        assertNull(CallAuction.auctionPrice(evenAsks, even, null));
+    }
+
+    @Test
+    @DisplayName("Should uncross a crossed book at one price")
+    void testUncross() {
+        Order bid1 = new Order(Order.Side.BUY, testSymbol, money("102.00"), 30, "BUYER1");
+        Order bid2 = new Order(Order.Side.BUY, testSymbol, money("100.00"), 50, "BUYER2");
+        Order ask1 = new Order(Order.Side.SELL, testSymbol, money("99.00"), 40, "SELLER1");
+        Order ask2 = new Order(Order.Side.SELL, testSymbol, money("101.00"), 40, "SELLER2");
+        orderBook.add(bid1);
+        orderBook.add(bid2);
+        orderBook.add(ask1);
+        orderBook.add(ask2);
+
+        List<Order> closed = new ArrayList<>();
+        List<Trade> trades = callAuction.match(orderBook, closed::add);
+
+        assertEquals(2, trades.size());
+        assertTrue(trades.stream().allMatch(t -> t.getPrice().equals(money("100.00"))));
+        assertEquals(40, trades.stream().mapToInt(Trade::getQuantity).sum());
+        assertEquals(List.of(bid1, ask1), closed);
+        assertEquals(40, bid2.getRemainingQuantity());
+        assertEquals(bid2, orderBook.getBestBid());
+        assertEquals(ask2, orderBook.getBestAsk());
+        assertTrue(callAuction.match(orderBook, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not trade a bid against an ask of the same trader")
+    void testUncrossSelfTrade() {
+        orderBook.add(new Order(Order.Side.BUY, testSymbol, money("101.00"), 10, "TRADER"));
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("99.00"), 10, "TRADER"));
+
+        assertTrue(callAuction.match(orderBook, null).isEmpty());
+        assertEquals(2, orderBook.size());
+    }
+
+    @Test
+    @DisplayName("Should count market orders at every price")
+    void testAuctionPriceWithMarketOrders() {
+        List<PriceLevel> asks = List.of(new PriceLevel(money("100.00"), 5, 1), new PriceLevel(money("101.00"), 10, 1));
+        // A market buy of 10 reaches past the lower ask
+        assertEquals(money("101.00"), CallAuction.auctionPrice(List.of(), asks, 10, 0, null));
+        assertEquals(money("100.00"), CallAuction.auctionPrice(List.of(), List.of(), 10, 10, money("100.00")));
+        assertNull(CallAuction.auctionPrice(List.of(), List.of(), 10, 0, money("100.00")));
+    }
+
+    @Test
+    @DisplayName("Should bid a capped market buy at its cap")
+    void testUncrossCappedMarketBuy() {
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("105.00"), 5, "SELLER"));
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("120.00"), 5, "SELLER"));
+        Order marketBuy = new Order(Order.Side.BUY, Order.OrderType.MARKET, testSymbol, null, 10, "BUYER");
+        marketBuy.setPriceCap(money("110.00"));
+
+        List<Trade> trades = callAuction.uncross(orderBook, null, List.of(marketBuy), null);
+
+        // The surplus of bids lifts the price to the cap, but not to the ask above it
+        assertEquals(1, trades.size());
+        assertEquals(money("110.00"), trades.get(0).getPrice());
+        assertEquals(5, marketBuy.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Should queue a replenished iceberg behind the rest of its price level")
+    void testUncrossIceberg() {
+        Order iceberg = Order.iceberg(Order.Side.SELL, testSymbol, money("99.00"), 100, 10, "SELLER1");
+        Order plain = new Order(Order.Side.SELL, testSymbol, money("99.00"), 10, "SELLER2");
+        orderBook.add(iceberg);
+        orderBook.add(plain);
+        orderBook.add(new Order(Order.Side.BUY, testSymbol, money("101.00"), 30, "BUYER"));
+
+        List<Trade> trades = callAuction.match(orderBook, null);
+
+        assertEquals(3, trades.size());
+        assertEquals(iceberg.getOrderId(), trades.get(0).getSellOrderId());
+        assertEquals(plain.getOrderId(), trades.get(1).getSellOrderId());
+        assertEquals(iceberg.getOrderId(), trades.get(2).getSellOrderId());
+        assertEquals(80, iceberg.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Should pass over an own ask without skipping the bid")
+    void testUncrossSelfTradeSkipsOnlyThePair() {
+        Order bid = new Order(Order.Side.BUY, testSymbol, money("101.00"), 10, "TRADER");
+        Order ownAsk = new Order(Order.Side.SELL, testSymbol, money("99.00"), 10, "TRADER");
+        Order otherAsk = new Order(Order.Side.SELL, testSymbol, money("99.00"), 10, "OTHER");
+        orderBook.add(bid);
+        orderBook.add(ownAsk);
+        orderBook.add(otherAsk);
+
+        List<Trade> trades = callAuction.match(orderBook, null);
+
+        assertEquals(1, trades.size());
+        assertEquals(otherAsk.getOrderId(), trades.get(0).getSellOrderId());
+        assertEquals(10, trades.get(0).getQuantity());
+        assertEquals(1, orderBook.size());
+        assertEquals(10, ownAsk.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Should place call phases at the start and end of the simulated day")
+    void testAuctionSchedule() {
+        AuctionSchedule schedule = new AuctionSchedule(600, 300);
+        ZoneId zone = ZoneId.of("UTC");
+        long midnight = Instant.parse("2024-01-15T00:00:00Z").getEpochSecond();
+
+        assertEquals(midnight + 600, schedule.callPhaseEnd(midnight, zone));
+        assertEquals(midnight + 600, schedule.callPhaseEnd(midnight + 599, zone));
+        assertEquals(-1, schedule.callPhaseEnd(midnight + 600, zone));
+        assertEquals(-1, schedule.callPhaseEnd(midnight + 86_099, zone));
+        assertEquals(midnight + 86_400, schedule.callPhaseEnd(midnight + 86_100, zone));
+        assertEquals(-1, AuctionSchedule.createDefault().callPhaseEnd(midnight, zone));
+        assertThrows(IllegalArgumentException.class, () -> new AuctionSchedule(86_400, 0));
+    }
+}
@@ -0,0 +1,74 @@
+package org.team27.stocksim.model.market;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("CircuitBreaker Tests")
+class CircuitBreakerTest {
+
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new CircuitBreaker(new CircuitBreakerConfig(money("0.10"), 60, 30));
+    }
+
+    private static long units(String price) {
+        return Order.toPriceUnits(money(price));
+    }
+
+    @Test
+    @DisplayName("Should allow any price until the first trade sets the band")
+    void testFirstTradeAnchors() {
+        assertTrue(breaker.allows(units("1000.00")));
+        assertNull(breaker.getReferencePrice());
+
+        breaker.onTrade(units("100.00"), 0);
+        assertEquals(0, money("100.00").compareTo(breaker.getReferencePrice()));
+        assertTrue(breaker.allows(units("90.00")));
+        assertTrue(breaker.allows(units("110.00")));
+        assertFalse(breaker.allows(units("110.01")));
+        assertFalse(breaker.allows(units("89.99")));
+    }
+
+    @Test
+    @DisplayName("Should move the band to the last trade once per reference window")
+    void testReferenceWindow() {
+        breaker.onTrade(units("100.00"), 0);
+        breaker.onTrade(units("105.00"), 59);
+        assertEquals(0, money("100.00").compareTo(breaker.getReferencePrice()));
+
+        breaker.onTrade(units("108.00"), 60);
+        assertEquals(0, money("108.00").compareTo(breaker.getReferencePrice()));
+        assertTrue(breaker.allows(units("118.00")));
+    }
+
+    @Test
+    @DisplayName("Should halt for the configured duration and re-anchor on the reopening price")
+    void testHaltAndReopen() {
+        breaker.onTrade(units("100.00"), 0);
+        breaker.halt(10);
+        assertTrue(breaker.isHalted());
+        assertEquals(1, breaker.getHaltCount());
+        assertFalse(breaker.isReopenDue(39));
+        assertTrue(breaker.isReopenDue(40));
+
+        breaker.reopen(units("120.00"), 40);
+        assertFalse(breaker.isHalted());
+        assertEquals(0, money("120.00").compareTo(breaker.getReferencePrice()));
+        assertTrue(breaker.allows(units("130.00")));
+    }
+
+    @Test
+    @DisplayName("Should never restrict prices when disabled")
+    void testDisabled() {
+        CircuitBreaker disabled = new CircuitBreaker(CircuitBreakerConfig.disabled());
+        disabled.onTrade(units("100.00"), 0);
+        assertNull(disabled.getReferencePrice());
+        assertTrue(disabled.allows(units("1000000.00")));
+    }
+}
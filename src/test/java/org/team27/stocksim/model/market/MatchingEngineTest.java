@@ -260,5 +260,129 @@ class MatchingEngineTest {
         assertEquals(1, trades.size());
         assertNotNull(trades.get(0).getTime());
     }
-}
 
+    @Test
+    @DisplayName("Should fill an IOC order as far as possible without resting the remainder")
+    void testImmediateOrCancel() {
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("150.00"), 40, "SELLER"));
+
+        Order buyOrder = new Order(Order.Side.BUY, Order.OrderType.LIMIT, testSymbol, money("150.00"), 100,
+                "BUYER", Order.TimeInForce.IOC, null);
+        List<Trade> trades = matchingEngine.match(buyOrder, orderBook);
+
+        assertEquals(1, trades.size());
+        assertEquals(40, trades.get(0).getQuantity());
+        assertEquals(60, buyOrder.getRemainingQuantity());
+        assertNull(orderBook.getBestBid());
+    }
+
+    @Test
+    @DisplayName("Should kill a FOK order that cannot be filled completely")
+    void testFillOrKillKilled() {
+        Order sellOrder = new Order(Order.Side.SELL, testSymbol, money("150.00"), 40, "SELLER");
+        orderBook.add(sellOrder);
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("151.00"), 100, "SELLER"));
+
+        Order buyOrder = new Order(Order.Side.BUY, Order.OrderType.LIMIT, testSymbol, money("150.00"), 100,
+                "BUYER", Order.TimeInForce.FOK, null);
+        List<Trade> trades = matchingEngine.match(buyOrder, orderBook);
+
+        assertTrue(trades.isEmpty());
+        assertEquals(100, buyOrder.getRemainingQuantity());
+        assertEquals(40, sellOrder.getRemainingQuantity());
+        assertEquals(sellOrder, orderBook.getBestAsk());
+        assertNull(orderBook.getBestBid());
+    }
+
+    @Test
+    @DisplayName("Should fill a FOK order across levels when enough quantity is available")
+    void testFillOrKillFilled() {
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("150.00"), 40, "SELLER"));
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("151.00"), 100, "SELLER"));
+
+        Order buyOrder = new Order(Order.Side.BUY, Order.OrderType.LIMIT, testSymbol, money("151.00"), 100,
+                "BUYER", Order.TimeInForce.FOK, null);
+        List<Trade> trades = matchingEngine.match(buyOrder, orderBook);
+
+        assertEquals(2, trades.size());
+        assertTrue(buyOrder.isFilled());
+        assertEquals(40, orderBook.getBestAsk().getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Should stop at the trader's own resting order")
+    void testSelfTradeStopsAtOwnOrder() {
+        Order other = new Order(Order.Side.SELL, testSymbol, money("150.00"), 30, "SELLER");
+        Order own = new Order(Order.Side.SELL, testSymbol, money("150.00"), 50, "BUYER");
+        Order next = new Order(Order.Side.SELL, testSymbol, money("151.00"), 30, "SELLER");
+        orderBook.add(other);
+        orderBook.add(own);
+        orderBook.add(next);
+
+        Order buyOrder = new Order(Order.Side.BUY, testSymbol, money("151.00"), 40, "BUYER");
+        List<Trade> trades = matchingEngine.match(buyOrder, orderBook);
+
+        assertEquals(1, trades.size());
+        assertTrue(other.isFilled());
+        assertEquals(10, buyOrder.getRemainingQuantity());
+        assertEquals(50, own.getRemainingQuantity());
+        assertEquals(30, next.getRemainingQuantity());
+
+        // A fill-or-kill order counts only what matching would reach before the own order
+        Order fok = new Order(Order.Side.BUY, Order.OrderType.LIMIT, testSymbol, money("151.00"), 20,
+                "BUYER", Order.TimeInForce.FOK, null);
+        assertTrue(matchingEngine.match(fok, orderBook).isEmpty());
+        assertEquals(30, next.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Should trade through an iceberg's slices, yielding priority after each")
+    void testIcebergSlices() {
+        Order iceberg = Order.iceberg(Order.Side.SELL, testSymbol, money("150.00"), 30, 10, "ICEBERG");
+        Order other = new Order(Order.Side.SELL, testSymbol, money("150.00"), 10, "SELLER");
+        orderBook.add(iceberg);
+        orderBook.add(other);
+
+        Order buyOrder = new Order(Order.Side.BUY, testSymbol, money("150.00"), 35, "BUYER");
+        List<Trade> trades = matchingEngine.match(buyOrder, orderBook);
+
+        assertEquals(List.of(10, 10, 10, 5), trades.stream().map(Trade::getQuantity).toList());
+        assertEquals(List.of(iceberg.getOrderId(), other.getOrderId(), iceberg.getOrderId(), iceberg.getOrderId()),
+                trades.stream().map(Trade::getSellOrderId).toList());
+        assertTrue(buyOrder.isFilled());
+        assertTrue(other.isFilled());
+        assertEquals(5, iceberg.getRemainingQuantity());
+        assertEquals(List.of(new PriceLevel(money("150.00"), 5, 1)), orderBook.getDepth(Order.Side.SELL, 5));
+    }
+
+    @Test
+    @DisplayName("Should trade an incoming iceberg's whole quantity and rest one slice")
+    void testIncomingIceberg() {
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("150.00"), 12, "SELLER"));
+
+        Order iceberg = Order.iceberg(Order.Side.BUY, testSymbol, money("150.00"), 40, 10, "ICEBERG");
+        List<Trade> trades = matchingEngine.match(iceberg, orderBook);
+
+        assertEquals(1, trades.size());
+        assertEquals(12, trades.get(0).getQuantity());
+        assertEquals(iceberg, orderBook.getBestBid());
+        assertEquals(List.of(new PriceLevel(money("150.00"), 10, 1)), orderBook.getDepth(Order.Side.BUY, 5));
+    }
+
+    @Test
+    @DisplayName("Should halt instead of trading outside the circuit breaker band")
+    void testCircuitBreakerHalt() {
+        CircuitBreaker breaker = new CircuitBreaker(new CircuitBreakerConfig(money("0.10"), 300, 60));
+        breaker.onTrade(Order.toPriceUnits(money("100.00")), 0);
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("105.00"), 10, "SELLER"));
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("115.00"), 10, "SELLER"));
+
+        Order buy = new Order(Order.Side.BUY, testSymbol, money("120.00"), 20, "BUYER");
+        List<Trade> trades = matchingEngine.match(buy, orderBook, null, breaker);
+
+        assertEquals(1, trades.size());
+        assertEquals(10, buy.getRemainingQuantity());
+        assertTrue(breaker.isHalted());
+        assertEquals(money("115.00"), orderBook.getBestAsk().getPrice());
+    }
+}
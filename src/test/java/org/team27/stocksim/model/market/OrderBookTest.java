@@ -6,6 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.team27.stocksim.model.util.MoneyUtils.money;
@@ -188,5 +189,205 @@ class OrderBookTest {
         BigDecimal spread = orderBook.getBestAsk().getPrice().subtract(orderBook.getBestBid().getPrice());
         assertEquals(money("1.00"), spread);
     }
-}
 
+    @Test
+    @DisplayName("Should aggregate quantity and order count per price level, best first")
+    void testDepthAggregation() {
+        orderBook.add(new Order(Order.Side.BUY, testSymbol, money("150.00"), 100, "TRADER001"));
+        orderBook.add(new Order(Order.Side.BUY, testSymbol, money("150.00"), 50, "TRADER002"));
+        orderBook.add(new Order(Order.Side.BUY, testSymbol, money("151.00"), 20, "TRADER003"));
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("153.00"), 40, "TRADER004"));
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("152.00"), 10, "TRADER005"));
+
+        List<PriceLevel> bids = orderBook.getDepth(Order.Side.BUY, 10);
+        assertEquals(List.of(new PriceLevel(money("151.00"), 20, 1), new PriceLevel(money("150.00"), 150, 2)), bids);
+
+        List<PriceLevel> asks = orderBook.getDepth(Order.Side.SELL, 10);
+        assertEquals(List.of(new PriceLevel(money("152.00"), 10, 1), new PriceLevel(money("153.00"), 40, 1)), asks);
+        assertEquals(2, orderBook.getLevelCount(Order.Side.BUY));
+    }
+
+    @Test
+    @DisplayName("Should return only the requested number of levels")
+    void testDepthLimit() {
+        for (int i = 0; i < 8; i++) {
+            orderBook.add(new Order(Order.Side.SELL, testSymbol, money((160 - i) + ".00"), 10, "TRADER001"));
+        }
+
+        List<PriceLevel> asks = orderBook.getDepth(Order.Side.SELL, 3);
+
+        assertEquals(3, asks.size());
+        assertEquals(money("153.00"), asks.get(0).getPrice());
+        assertEquals(money("155.00"), asks.get(2).getPrice());
+        assertTrue(orderBook.getDepth(Order.Side.BUY, 3).isEmpty());
+        assertEquals(8, orderBook.getLevelCount(Order.Side.SELL));
+    }
+
+    @Test
+    @DisplayName("Should shrink levels on fills and drop them when their last order leaves")
+    void testDepthFillsAndRemovals() {
+        Order first = new Order(Order.Side.BUY, testSymbol, money("150.00"), 100, "TRADER001");
+        Order second = new Order(Order.Side.BUY, testSymbol, money("150.00"), 50, "TRADER002");
+        orderBook.add(first);
+        orderBook.add(second);
+
+        orderBook.fillOrder(first, 30);
+        assertEquals(new PriceLevel(money("150.00"), 120, 2), orderBook.getDepth(Order.Side.BUY, 1).get(0));
+
+        orderBook.remove(first);
+        assertEquals(new PriceLevel(money("150.00"), 50, 1), orderBook.getDepth(Order.Side.BUY, 1).get(0));
+
+        // Removing an order twice must not count it twice
+        orderBook.remove(first);
+        assertEquals(new PriceLevel(money("150.00"), 50, 1), orderBook.getDepth(Order.Side.BUY, 1).get(0));
+
+        second.cancel();
+        orderBook.remove(second);
+        assertTrue(orderBook.getDepth(Order.Side.BUY, 5).isEmpty());
+        assertEquals(0, orderBook.getLevelCount(Order.Side.BUY));
+    }
+
+    @Test
+    @DisplayName("Should keep depth in step with matching")
+    void testDepthAfterMatching() {
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("151.00"), 30, "TRADER001"));
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("151.00"), 30, "TRADER002"));
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("152.00"), 30, "TRADER003"));
+
+        new MatchingEngine().match(new Order(Order.Side.BUY, testSymbol, money("151.00"), 40, "TRADER004"), orderBook);
+
+        assertEquals(List.of(new PriceLevel(money("151.00"), 20, 1), new PriceLevel(money("152.00"), 30, 1)),
+                orderBook.getDepth(Order.Side.SELL, 5));
+    }
+
+    @Test
+    @DisplayName("Should show only an iceberg's slice in depth")
+    void testIcebergDepth() {
+        Order iceberg = Order.iceberg(Order.Side.SELL, testSymbol, money("151.00"), 100, 10, "TRADER001");
+        orderBook.add(iceberg);
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("151.00"), 5, "TRADER002"));
+
+        assertEquals(new PriceLevel(money("151.00"), 15, 2), orderBook.getDepth(Order.Side.SELL, 1).get(0));
+        assertEquals(105, orderBook.getMatchableQuantity(
+                new Order(Order.Side.BUY, testSymbol, money("151.00"), 200, "TRADER003"), order -> true, 200));
+    }
+
+    @Test
+    @DisplayName("Should replenish an iceberg in place behind orders at its price")
+    void testIcebergReplenish() {
+        Order iceberg = Order.iceberg(Order.Side.SELL, testSymbol, money("151.00"), 25, 10, "TRADER001");
+        Order later = new Order(Order.Side.SELL, testSymbol, money("151.00"), 5, "TRADER002");
+        orderBook.add(iceberg);
+        orderBook.add(later);
+
+        orderBook.fillOrder(iceberg, 4);
+        assertEquals(iceberg, orderBook.getBestAsk());
+        assertEquals(6, iceberg.getVisibleQuantity());
+
+        orderBook.fillOrder(iceberg, 6);
+        assertEquals(later, orderBook.getBestAsk());
+        assertEquals(2, orderBook.size());
+        assertEquals(10, iceberg.getVisibleQuantity());
+        assertEquals(15, iceberg.getRemainingQuantity());
+        assertEquals(new PriceLevel(money("151.00"), 15, 2), orderBook.getDepth(Order.Side.SELL, 1).get(0));
+
+        orderBook.remove(later);
+        orderBook.fillOrder(iceberg, 10);
+        assertEquals(5, iceberg.getVisibleQuantity());
+        assertEquals(new PriceLevel(money("151.00"), 5, 1), orderBook.getDepth(Order.Side.SELL, 1).get(0));
+
+        orderBook.fillOrder(iceberg, 5);
+        orderBook.remove(iceberg);
+        assertEquals(0, orderBook.getLevelCount(Order.Side.SELL));
+    }
+
+    @Test
+    @DisplayName("Should keep queue priority when an amend only lowers quantity")
+    void testAmendQuantityDownKeepsPriority() {
+        Order first = new Order(Order.Side.BUY, testSymbol, money("150.00"), 100, "TRADER001");
+        Order second = new Order(Order.Side.BUY, testSymbol, money("150.00"), 50, "TRADER002");
+        orderBook.add(first);
+        orderBook.add(second);
+        orderBook.fillOrder(first, 20);
+
+        assertTrue(orderBook.amend(first, money("150.00"), 60));
+
+        assertEquals(first, orderBook.getBestBid());
+        assertEquals(60, first.getTotalQuantity());
+        assertEquals(40, first.getRemainingQuantity());
+        assertEquals(new PriceLevel(money("150.00"), 90, 2), orderBook.getDepth(Order.Side.BUY, 1).get(0));
+    }
+
+    @Test
+    @DisplayName("Should move an amended order to the back of its new price level")
+    void testAmendPriceMovesLevel() {
+        Order first = new Order(Order.Side.BUY, testSymbol, money("150.00"), 100, "TRADER001");
+        Order second = new Order(Order.Side.BUY, testSymbol, money("150.00"), 50, "TRADER002");
+        Order other = new Order(Order.Side.BUY, testSymbol, money("149.00"), 10, "TRADER003");
+        orderBook.add(first);
+        orderBook.add(second);
+        orderBook.add(other);
+
+        assertTrue(orderBook.amend(first, money("149.00"), 100));
+
+        assertEquals(second, orderBook.getBestBid());
+        assertEquals(List.of(new PriceLevel(money("150.00"), 50, 1), new PriceLevel(money("149.00"), 110, 2)),
+                orderBook.getDepth(Order.Side.BUY, 5));
+
+        orderBook.remove(second);
+        assertEquals(other, orderBook.getBestBid());
+
+        // A quantity increase loses priority as well
+        assertTrue(orderBook.amend(other, money("149.00"), 20));
+        assertEquals(first, orderBook.getBestBid());
+        assertFalse(orderBook.amend(second, money("150.00"), 10));
+    }
+
+    @Test
+    @DisplayName("Should tell whether a limit price crosses the book")
+    void testCrosses() {
+        orderBook.add(new Order(Order.Side.SELL, testSymbol, money("151.00"), 10, "TRADER001"));
+        orderBook.add(new Order(Order.Side.BUY, testSymbol, money("149.00"), 10, "TRADER002"));
+
+        assertTrue(orderBook.crosses(Order.Side.BUY, money("151.00")));
+        assertFalse(orderBook.crosses(Order.Side.BUY, money("150.99")));
+        assertTrue(orderBook.crosses(Order.Side.SELL, money("148.00")));
+        assertFalse(orderBook.crosses(Order.Side.SELL, money("150.00")));
+    }
+
+    @Test
+    @DisplayName("Should remove only the given trader's orders, by side")
+    void testRemoveOrdersByTrader() {
+        Order bid = new Order(Order.Side.BUY, testSymbol, money("150.00"), 10, "TRADER001");
+        Order ask = new Order(Order.Side.SELL, testSymbol, money("152.00"), 10, "TRADER001");
+        Order otherBid = new Order(Order.Side.BUY, testSymbol, money("150.00"), 20, "TRADER002");
+        orderBook.add(bid);
+        orderBook.add(otherBid);
+        orderBook.add(ask);
+        assertEquals(2, orderBook.getOrderCount("TRADER001"));
+
+        assertEquals(List.of(ask), orderBook.removeOrders("TRADER001", Order.Side.SELL));
+        assertNull(orderBook.getBestAsk());
+        assertEquals(List.of(bid), orderBook.removeOrders("TRADER001", null));
+        assertEquals(0, orderBook.getOrderCount("TRADER001"));
+        assertTrue(orderBook.removeOrders("TRADER001", null).isEmpty());
+
+        assertEquals(otherBid, orderBook.getBestBid());
+        assertEquals(new PriceLevel(money("150.00"), 20, 1), orderBook.getDepth(Order.Side.BUY, 1).get(0));
+    }
+
+    @Test
+    @DisplayName("Should clear one side of the book")
+    void testRemoveOrdersBySide() {
+        orderBook.add(new Order(Order.Side.BUY, testSymbol, money("150.00"), 10, "TRADER001"));
+        orderBook.add(new Order(Order.Side.BUY, testSymbol, money("149.00"), 10, "TRADER002"));
+        Order ask = new Order(Order.Side.SELL, testSymbol, money("152.00"), 10, "TRADER001");
+        orderBook.add(ask);
+
+        assertEquals(2, orderBook.removeOrders(Order.Side.BUY).size());
+
+        assertEquals(0, orderBook.getLevelCount(Order.Side.BUY));
+        assertEquals(1, orderBook.getOrderCount("TRADER001"));
+        assertEquals(List.of(ask), orderBook.getOrders());
+    }
+}
@@ -85,6 +85,28 @@ class OrderTest {
         assertTrue(order.isFilled());
     }
 
+    @Test
+    @DisplayName("Should track the shown slice of an iceberg order")
+    void testIcebergVisibleQuantity() {
+        Order iceberg = Order.iceberg(Order.Side.BUY, testSymbol, testPrice, testQuantity, 30, testTraderId);
+        Order plain = new Order(Order.Side.BUY, testSymbol, testPrice, testQuantity, testTraderId);
+
+        assertTrue(iceberg.isIceberg());
+        assertFalse(plain.isIceberg());
+        assertEquals(30, iceberg.getVisibleQuantity());
+        assertEquals(testQuantity, plain.getVisibleQuantity());
+
+        iceberg.fill(30);
+        assertEquals(0, iceberg.getVisibleQuantity());
+        assertTrue(iceberg.showNextSlice());
+        assertEquals(30, iceberg.getVisibleQuantity());
+        assertFalse(iceberg.showNextSlice());
+
+        assertTrue(new OrderValidator().validate(iceberg).isValid());
+        assertFalse(new OrderValidator().validate(
+                Order.iceberg(Order.Side.BUY, testSymbol, testPrice, 30, 30, testTraderId)).isValid());
+    }
+
     @Test
     @DisplayName("Should handle multiple partial fills")
     void testMultiplePartialFills() {
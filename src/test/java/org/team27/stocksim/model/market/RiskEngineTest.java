@@ -0,0 +1,168 @@
+package org.team27.stocksim.model.market;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.portfolio.Portfolio;
+import org.team27.stocksim.model.users.Trader;
+import org.team27.stocksim.model.users.UserFactory;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("RiskEngine Tests")
+class RiskEngineTest {
+
+    private RiskEngine riskEngine;
+    private Trader trader;
+
+    @BeforeEach
+    void setUp() {
+        riskEngine = new RiskEngine(new RiskLimits(1_000, money("0.20"), 3), MarketOrderConfig.createDefault());
+        trader = new UserFactory().createTrader("TRADER", "Trader", new Portfolio(money("1000.00")));
+        trader.getPortfolio().addStock("AAPL", 10);
+    }
+
+    private OrderValidator.ValidationResult reserve(Order order) {
+        return riskEngine.reserve(order, trader, money("100.00"));
+    }
+
+    @Test
+    @DisplayName("Should reserve buying power until it runs out")
+    void testReserveCash() {
+        assertTrue(reserve(new Order(Order.Side.BUY, "AAPL", money("100.00"), 6, "TRADER")).isValid());
+        assertEquals(0, money("600.00").compareTo(riskEngine.getReservedCash("TRADER")));
+
+        OrderValidator.ValidationResult result = reserve(new Order(Order.Side.BUY, "AAPL", money("100.00"), 5, "TRADER"));
+        assertFalse(result.isValid());
+        assertEquals("Insufficient buying power", result.getErrorMessage());
+        assertTrue(reserve(new Order(Order.Side.BUY, "AAPL", money("100.00"), 4, "TRADER")).isValid());
+        assertEquals(2, riskEngine.getOpenOrderCount("TRADER"));
+    }
+
+    @Test
+    @DisplayName("Should reserve shares so they cannot be offered twice")
+    void testReserveShares() {
+        assertTrue(reserve(new Order(Order.Side.SELL, "AAPL", money("100.00"), 7, "TRADER")).isValid());
+        assertFalse(reserve(new Order(Order.Side.SELL, "AAPL", money("100.00"), 4, "TRADER")).isValid());
+        assertTrue(reserve(new Order(Order.Side.SELL, "AAPL", money("100.00"), 3, "TRADER")).isValid());
+        assertEquals(10, riskEngine.getReservedShares("TRADER", "AAPL"));
+        assertFalse(reserve(new Order(Order.Side.SELL, "MSFT", money("100.00"), 1, "TRADER")).isValid());
+    }
+
+    @Test
+    @DisplayName("Should reject orders over the size, price band or open order limits")
+    void testLimits() {
+        assertFalse(reserve(new Order(Order.Side.BUY, "AAPL", money("0.50"), 1_001, "TRADER")).isValid());
+        assertFalse(reserve(new Order(Order.Side.BUY, "AAPL", money("79.99"), 1, "TRADER")).isValid());
+        assertFalse(reserve(Order.stop(Order.Side.SELL, "AAPL", money("121.00"), 1, "TRADER")).isValid());
+        assertFalse(riskEngine.reserve(new Order(Order.Side.BUY, "AAPL", money("100.00"), 1, "NOBODY"), null,
+                money("100.00")).isValid());
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(reserve(new Order(Order.Side.BUY, "AAPL", money("80.00"), 1, "TRADER")).isValid());
+        }
+        OrderValidator.ValidationResult result = reserve(new Order(Order.Side.BUY, "AAPL", money("80.00"), 1, "TRADER"));
+        assertFalse(result.isValid());
+        assertTrue(result.getErrorMessage().contains("Open order limit"));
+        assertEquals(0, money("240.00").compareTo(riskEngine.getReservedCash("TRADER")));
+    }
+
+    @Test
+    @DisplayName("Should reserve market buys at the protected price and reject them without a reference")
+    void testMarketBuy() {
+        Order marketBuy = new Order(Order.Side.BUY, Order.OrderType.MARKET, "AAPL", null, 5, "TRADER");
+        assertTrue(reserve(marketBuy).isValid());
+        // 5 at 100.00 plus the default 10% protection band
+        assertEquals(0, money("550.00").compareTo(riskEngine.getReservedCash("TRADER")));
+
+        Order unpriced = new Order(Order.Side.BUY, Order.OrderType.MARKET, "AAPL", null, 1, "TRADER");
+        assertFalse(riskEngine.reserve(unpriced, trader, null).isValid());
+    }
+
+    @Test
+    @DisplayName("Should not let a market buy trade above its reservation before the symbol's first trade")
+    void testMarketBuyCappedWithoutLastTrade() {
+        Order marketBuy = new Order(Order.Side.BUY, Order.OrderType.MARKET, "AAPL", null, 5, "TRADER");
+        assertTrue(reserve(marketBuy).isValid());
+        assertEquals(0, money("110.00").compareTo(marketBuy.getPriceCap()));
+
+        OrderBook orderBook = new OrderBook("AAPL");
+        orderBook.add(new Order(Order.Side.SELL, "AAPL", money("105.00"), 2, "SELLER"));
+        orderBook.add(new Order(Order.Side.SELL, "AAPL", money("120.00"), 10, "SELLER"));
+        List<Trade> trades = new MatchingEngine().match(marketBuy, orderBook);
+
+        assertEquals(1, trades.size());
+        assertEquals(money("105.00"), trades.get(0).getPrice());
+        assertEquals(3, marketBuy.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Should not let a triggered stop market buy trade past its reservation after a gap")
+    void testStopMarketBuyCappedAfterGap() {
+        Order stop = Order.stop(Order.Side.BUY, "AAPL", money("100.00"), 5, "TRADER");
+        assertTrue(reserve(stop).isValid());
+        assertEquals(0, money("550.00").compareTo(riskEngine.getReservedCash("TRADER")));
+
+        MatchingEngine engine = new MatchingEngine();
+        OrderBook orderBook = new OrderBook("AAPL");
+        orderBook.add(new Order(Order.Side.SELL, "AAPL", money("130.00"), 10, "SELLER"));
+        // The price gaps straight past the stop to 130.00
+        engine.match(new Order(Order.Side.BUY, "AAPL", money("130.00"), 1, "OTHER"), orderBook);
+        stop.trigger();
+
+        assertTrue(engine.match(stop, orderBook).isEmpty());
+        assertEquals(5, stop.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Should release reservations as trades settle and when the order closes")
+    void testRelease() {
+        Order buy = new Order(Order.Side.BUY, "AAPL", money("100.00"), 5, "TRADER");
+        assertTrue(reserve(buy).isValid());
+
+        buy.fill(2);
+        trader.getPortfolio().withdraw(money("200.00"));
+        riskEngine.onTrade(new Trade(buy.getOrderId(), -1, "AAPL", money("100.00"), 2, Instant.EPOCH));
+        assertEquals(0, money("300.00").compareTo(riskEngine.getReservedCash("TRADER")));
+
+        buy.cancel();
+        riskEngine.onOrderClosed(buy);
+        assertEquals(0, riskEngine.getReservedCash("TRADER").signum());
+        assertEquals(0, riskEngine.getOpenOrderCount("TRADER"));
+    }
+
+    @Test
+    @DisplayName("Should keep a filled order's reservation until its last trade settles")
+    void testFilledBeforeSettlement() {
+        Order sell = new Order(Order.Side.SELL, "AAPL", money("100.00"), 4, "TRADER");
+        assertTrue(reserve(sell).isValid());
+
+        sell.fill(4);
+        riskEngine.onOrderClosed(sell);
+        assertEquals(4, riskEngine.getReservedShares("TRADER", "AAPL"));
+        assertEquals(0, riskEngine.getOpenOrderCount("TRADER"));
+
+        riskEngine.onTrade(new Trade(-1, sell.getOrderId(), "AAPL", money("100.00"), 4, Instant.EPOCH));
+        assertEquals(0, riskEngine.getReservedShares("TRADER", "AAPL"));
+    }
+
+    @Test
+    @DisplayName("Should resize a reservation on amend and leave it unchanged when the amend is unaffordable")
+    void testAmend() {
+        Order buy = new Order(Order.Side.BUY, "AAPL", money("100.00"), 5, "TRADER");
+        assertTrue(reserve(buy).isValid());
+
+        assertTrue(riskEngine.amend(buy, money("90.00"), 10, money("100.00")).isValid());
+        assertEquals(0, money("900.00").compareTo(riskEngine.getReservedCash("TRADER")));
+
+        assertFalse(riskEngine.amend(buy, money("110.00"), 10, money("100.00")).isValid());
+        assertEquals(0, money("900.00").compareTo(riskEngine.getReservedCash("TRADER")));
+
+        assertTrue(riskEngine.amend(buy, money("90.00"), 2, money("100.00")).isValid());
+        assertEquals(0, money("180.00").compareTo(riskEngine.getReservedCash("TRADER")));
+    }
+}
@@ -0,0 +1,117 @@
+package org.team27.stocksim.model.market;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("StopOrderBook Tests")
+class StopOrderBookTest {
+
+    private StopOrderBook stopBook;
+
+    @BeforeEach
+    void setUp() {
+        stopBook = new StopOrderBook("AAPL");
+    }
+
+    private static Order sellStop(String stopPrice) {
+        return Order.stop(Order.Side.SELL, "AAPL", money(stopPrice), 10, "TRADER");
+    }
+
+    private static Order buyStop(String stopPrice) {
+        return Order.stop(Order.Side.BUY, "AAPL", money(stopPrice), 10, "TRADER");
+    }
+
+    @Test
+    @DisplayName("Should trigger sell stops at or above the trade price, highest stop first")
+    void testSellStops() {
+        Order low = sellStop("90.00");
+        Order high = sellStop("95.00");
+        Order middle = sellStop("92.00");
+        stopBook.add(low);
+        stopBook.add(high);
+        stopBook.add(middle);
+
+        assertTrue(stopBook.onTrade(money("96.00")).isEmpty());
+        assertEquals(List.of(high, middle), stopBook.onTrade(money("92.00")));
+        assertTrue(high.isTriggered());
+        assertFalse(low.isTriggered());
+        assertEquals(1, stopBook.size());
+    }
+
+    @Test
+    @DisplayName("Should trigger buy stops at or below the trade price, lowest stop first")
+    void testBuyStops() {
+        Order near = buyStop("101.00");
+        Order far = buyStop("105.00");
+        stopBook.add(far);
+        stopBook.add(near);
+
+        assertEquals(List.of(near), stopBook.onTrade(money("101.00")));
+        assertEquals(List.of(far), stopBook.onTrade(money("110.00")));
+        assertEquals(0, stopBook.size());
+    }
+
+    @Test
+    @DisplayName("Should trigger orders at the same stop price in arrival order")
+    void testTimePriority() {
+        Order first = sellStop("90.00");
+        Order second = sellStop("90.00");
+        stopBook.add(first);
+        stopBook.add(second);
+
+        assertEquals(List.of(first, second), stopBook.onTrade(money("89.00")));
+    }
+
+    @Test
+    @DisplayName("Should trigger a stop on arrival if the last trade already reached it")
+    void testTriggeredOnArrival() {
+        stopBook.onTrade(money("88.00"));
+
+        Order stop = sellStop("90.00");
+        assertFalse(stopBook.add(stop));
+        assertTrue(stop.isTriggered());
+        assertEquals(0, stopBook.size());
+
+        assertTrue(stopBook.add(buyStop("90.00")));
+    }
+
+    @Test
+    @DisplayName("Should not trigger a removed stop")
+    void testRemove() {
+        Order stop = sellStop("90.00");
+        stopBook.add(stop);
+
+        assertTrue(stopBook.remove(stop));
+        assertFalse(stopBook.remove(stop));
+        assertTrue(stopBook.onTrade(money("80.00")).isEmpty());
+        assertFalse(stop.isTriggered());
+    }
+
+    @Test
+    @DisplayName("Should remove one trader's stops and leave triggered stops out of the index")
+    void testRemoveOrdersByTrader() {
+        Order sell = sellStop("90.00");
+        Order buy = buyStop("110.00");
+        Order other = Order.stop(Order.Side.SELL, "AAPL", money("90.00"), 10, "OTHER");
+        Order triggered = sellStop("95.00");
+        stopBook.add(sell);
+        stopBook.add(buy);
+        stopBook.add(other);
+        stopBook.add(triggered);
+        stopBook.onTrade(money("94.00"));
+
+        assertEquals(List.of(sell), stopBook.removeOrders("TRADER", Order.Side.SELL));
+        assertEquals(List.of(buy), stopBook.removeOrders("TRADER", null));
+        assertTrue(stopBook.removeOrders("TRADER", null).isEmpty());
+        assertEquals(List.of(other), stopBook.getOrders());
+
+        assertEquals(List.of(other), stopBook.removeOrders(Order.Side.SELL));
+        assertEquals(0, stopBook.size());
+    }
+}
@@ -0,0 +1,100 @@
+package org.team27.stocksim.model.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LatencyHistogram Tests")
+class LatencyHistogramTest {
+
+    private LatencyHistogram histogram;
+
+    @BeforeEach
+    void setUp() {
+        histogram = new LatencyHistogram();
+    }
+
+    @Test
+    @DisplayName("Should report zero for an empty histogram")
+    void testEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0.0, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should record small values exactly")
+    void testSmallValuesExact() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(5.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should keep percentiles within bucket precision")
+    void testPercentilePrecision() {
+        for (long v = 1; v <= 100_000; v++) {
+            histogram.record(v * 1000);
+        }
+
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertEquals(50_000_000, p50, 50_000_000 * 0.04);
+        assertEquals(99_000_000, p99, 99_000_000 * 0.04);
+        assertEquals(100_000_000, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Should map every value into a bucket whose bound covers it")
+    void testBucketBounds() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE / 3};
+        for (long value : values) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= value, "Upper bound below " + value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value, "Previous bucket covers " + value);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should count every record from concurrent writers")
+    void testConcurrentRecording() throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, histogram.getCount());
+        assertEquals(9_999, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Should clear on reset")
+    void testReset() {
+        histogram.record(500);
+        histogram.reset();
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+}
@@ -0,0 +1,95 @@
+package org.team27.stocksim.model.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.market.Order;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("MetricsRegistry Tests")
+class MetricsRegistryTest {
+
+    @Test
+    @DisplayName("Should return the same instrument for the same name")
+    void testInstrumentsAreShared() {
+        MetricsRegistry metrics = new MetricsRegistry();
+
+        assertSame(metrics.histogram("a"), metrics.histogram("a"));
+        assertSame(metrics.counter("b"), metrics.counter("b"));
+    }
+
+    @Test
+    @DisplayName("Should render text and JSON snapshots")
+    void testSnapshots() {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.histogram(MetricsRegistry.ORDER_MATCH).record(2_000);
+        metrics.counter(MetricsRegistry.ORDERS).add(3);
+        metrics.gauge(MetricsRegistry.BOOK_DEPTH, () -> 7);
+
+        String text = metrics.toText();
+        assertTrue(text.contains("order.match"));
+        assertTrue(text.contains("orders"));
+        assertTrue(text.contains("book.depth"));
+
+        String json = metrics.toJson();
+        assertTrue(json.contains("\"orders\":3"));
+        assertTrue(json.contains("\"book.depth\":7"));
+        assertTrue(json.contains("\"order.match\":{\"count\":1"));
+    }
+
+    @Test
+    @DisplayName("Should record the order lifecycle through the market")
+    void testMarketInstrumentation() {
+        StockSim stockSim = new StockSim();
+        stockSim.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 10000);
+        stockSim.createUser("SELLER", "Seller", 10000);
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 10);
+        MetricsRegistry metrics = stockSim.getMetrics();
+
+        Order resting = new Order(Order.Side.BUY, "AAPL", money("90.00"), 5, "BUYER");
+        stockSim.placeOrder(resting);
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER"));
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("100.00"), 10, "BUYER"));
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("100.00"), -1, "BUYER"));
+        stockSim.cancelOrder(resting.getOrderId());
+
+        assertEquals(3, metrics.counter(MetricsRegistry.ORDERS).sum());
+        assertEquals(1, metrics.counter(MetricsRegistry.TRADES).sum());
+        assertEquals(1, metrics.counter(MetricsRegistry.REJECTS).sum());
+        assertEquals(1, metrics.counter(MetricsRegistry.CANCELS).sum());
+        assertEquals(4, metrics.histogram(MetricsRegistry.ORDER_VALIDATE).getCount());
+        assertEquals(3, metrics.histogram(MetricsRegistry.ORDER_MATCH).getCount());
+        assertEquals(1, metrics.histogram(MetricsRegistry.ORDER_SETTLE).getCount());
+        assertEquals(1, metrics.histogram(MetricsRegistry.ORDER_NOTIFY).getCount());
+        assertTrue(metrics.toJson().contains("\"book.depth\":0"));
+    }
+
+    @Test
+    @DisplayName("Should serve snapshots over local HTTP")
+    void testHttpEndpoint() throws IOException {
+        MetricsRegistry metrics = new MetricsRegistry();
+        metrics.counter(MetricsRegistry.TRADES).add(42);
+        MetricsReporter reporter = new MetricsReporter(metrics);
+        try {
+            int port = reporter.startHttpServer(0);
+            HttpURLConnection connection =
+                    (HttpURLConnection) new URL("http://127.0.0.1:" + port + "/metrics.json").openConnection();
+            assertEquals(200, connection.getResponseCode());
+            try (InputStream in = connection.getInputStream()) {
+                String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                assertTrue(body.contains("\"trades\":42"));
+            }
+        } finally {
+            reporter.stop();
+        }
+    }
+}
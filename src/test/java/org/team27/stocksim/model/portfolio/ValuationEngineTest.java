@@ -0,0 +1,139 @@
+package org.team27.stocksim.model.portfolio;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.Trade;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("ValuationEngine Tests")
+class ValuationEngineTest {
+
+    private ValuationEngine engine;
+    private Portfolio buyerPortfolio;
+    private Portfolio sellerPortfolio;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ValuationEngine();
+        engine.onPricePrint("AAPL", money("100.00"));
+
+        buyerPortfolio = new Portfolio(money("10000.00"));
+        sellerPortfolio = new Portfolio(money("10000.00"));
+        sellerPortfolio.addStock("AAPL", 50, money("80.00"), null);
+
+        engine.track("BUYER", buyerPortfolio);
+        engine.track("SELLER", sellerPortfolio);
+    }
+
+    private Trade trade(String price, int quantity) {
+        return new Trade(1, 2, "AAPL", money(price), quantity, Instant.EPOCH, "BUYER", "SELLER");
+    }
+
+    @Test
+    @DisplayName("Should seed valuation from portfolio")
+    void testSeedFromPortfolio() {
+        TraderValuation seller = engine.getValuation("SELLER");
+
+        assertEquals(money("10000.00"), seller.getCash());
+        assertEquals(money("5000.00"), seller.getMarketValue());
+        assertEquals(money("15000.00"), seller.getEquity());
+        assertEquals(money("1000.00"), seller.getUnrealizedPnL());
+        assertEquals(0.0, seller.getReturn(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Should apply buy side of a settled trade")
+    void testApplyBuy() {
+        engine.onTradeSettled(trade("100.00", 10));
+
+        TraderValuation buyer = engine.getValuation("BUYER");
+        assertEquals(money("1000.00"), buyer.getMarketValue());
+        assertEquals(money("10000.00"), buyer.getEquity());
+        assertEquals(money("0.00"), buyer.getUnrealizedPnL());
+        assertEquals(money("0.00"), buyer.getRealizedPnL());
+    }
+
+    @Test
+    @DisplayName("Should realize profit on sell at average cost")
+    void testApplySellRealizesPnL() {
+        engine.onTradeSettled(trade("100.00", 10));
+
+        TraderValuation seller = engine.getValuation("SELLER");
+        assertEquals(money("200.00"), seller.getRealizedPnL());
+        assertEquals(money("800.00"), seller.getUnrealizedPnL());
+        assertEquals(money("15000.00"), seller.getEquity());
+    }
+
+    @Test
+    @DisplayName("Should revalue holders when price prints")
+    void testPricePrintRevaluesHolders() {
+        engine.onPricePrint("AAPL", money("110.00"));
+
+        TraderValuation seller = engine.getValuation("SELLER");
+        assertEquals(money("5500.00"), seller.getMarketValue());
+        assertEquals(money("1500.00"), seller.getUnrealizedPnL());
+        assertTrue(seller.getReturn() > 0);
+    }
+
+    @Test
+    @DisplayName("Should resync seller when shares were added outside settlement")
+    void testResyncWhenSharesUnknown() {
+        Portfolio late = new Portfolio(money("0.00"));
+        engine.track("LATE", late);
+        late.addStock("AAPL", 5, money("90.00"), null);
+
+        // Portfolio already reflects the sale, as it would after settlement
+        late.removeStock("AAPL", 5);
+        late.deposit(money("500.00"));
+        engine.onTradeSettled(new Trade(1, 2, "AAPL", money("100.00"), 5, Instant.EPOCH, "BUYER", "LATE"));
+
+        TraderValuation valuation = engine.getValuation("LATE");
+        assertEquals(money("500.00"), valuation.getEquity());
+        assertEquals(money("0.00"), valuation.getMarketValue());
+    }
+
+    @Test
+    @DisplayName("Should rank leaderboard by return")
+    void testLeaderboardRanking() {
+        engine.onPricePrint("AAPL", money("120.00"));
+        engine.refreshLeaderboard();
+
+        List<TraderValuation> top = engine.getLeaderboard(2);
+        assertEquals(2, top.size());
+        assertEquals("SELLER", top.get(0).getTraderId());
+        assertEquals("BUYER", top.get(1).getTraderId());
+        assertEquals(1, engine.getLeaderboard(1).size());
+        assertTrue(engine.getLeaderboard(0).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep valuation in step with settlement through StockSim")
+    void testStockSimIntegration() {
+        StockSim stockSim = new StockSim();
+        stockSim.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 10000);
+        stockSim.createUser("SELLER", "Seller", 10000);
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 20, money("100.00"), null);
+
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("110.00"), 10, "SELLER"));
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("110.00"), 10, "BUYER"));
+
+        TraderValuation buyer = stockSim.getValuation("BUYER");
+        TraderValuation seller = stockSim.getValuation("SELLER");
+        Portfolio buyerPortfolio = stockSim.getTraders().get("BUYER").getPortfolio();
+
+        assertEquals(0, buyerPortfolio.getBalance().compareTo(buyer.getCash()));
+        assertEquals(money("1100.00"), buyer.getMarketValue());
+        assertEquals(money("100.00"), seller.getRealizedPnL());
+        assertEquals(money("11100.00"), seller.getCash());
+        assertEquals(money("1100.00"), seller.getMarketValue());
+    }
+}
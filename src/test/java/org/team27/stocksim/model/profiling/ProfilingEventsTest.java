@@ -0,0 +1,84 @@
+package org.team27.stocksim.model.profiling;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.market.Order;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("Profiling Events Tests")
+class ProfilingEventsTest {
+
+    private List<RecordedEvent> recordTrade(StockSim stockSim, Order sell, Order buy) throws IOException {
+        Path file = Files.createTempFile("stocksim-test", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(MatchEvent.class);
+            recording.enable(SettlementEvent.class);
+            recording.start();
+
+            stockSim.placeOrder(sell);
+            stockSim.placeOrder(buy);
+
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should emit match and settlement events with domain fields")
+    void testMatchAndSettlementEvents() throws IOException {
+        StockSim stockSim = new StockSim();
+        stockSim.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
+        stockSim.createUser("BUYER", "Buyer", 10000);
+        stockSim.createBot("SELLER", "Seller");
+        stockSim.getTraders().get("SELLER").getPortfolio().addStock("AAPL", 10);
+
+        Order sell = new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "SELLER");
+        Order buy = new Order(Order.Side.BUY, "AAPL", money("100.00"), 4, "BUYER");
+        List<RecordedEvent> events = recordTrade(stockSim, sell, buy);
+
+        List<RecordedEvent> matches = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.team27.stocksim.Match"))
+                .toList();
+        assertEquals(2, matches.size());
+        RecordedEvent buyMatch = matches.stream()
+                .filter(e -> e.getInt("orderId") == buy.getOrderId())
+                .findFirst()
+                .orElseThrow();
+        assertEquals("AAPL", buyMatch.getString("symbol"));
+        assertEquals("BUY", buyMatch.getString("side"));
+        assertEquals(1, buyMatch.getInt("fills"));
+        assertFalse(buyMatch.getBoolean("rested"));
+
+        RecordedEvent settlement = events.stream()
+                .filter(e -> e.getEventType().getName().equals("org.team27.stocksim.Settlement"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(4, settlement.getInt("quantity"));
+        assertEquals("User", settlement.getString("buyerType"));
+        assertEquals("Bot", settlement.getString("sellerType"));
+        assertTrue(settlement.getBoolean("settled"));
+    }
+
+    @Test
+    @DisplayName("Should not emit events when no recording is running")
+    void testNoEventsWhenDisabled() {
+        MatchEvent event = new MatchEvent();
+        event.begin();
+
+        assertFalse(event.shouldCommit());
+    }
+}
@@ -0,0 +1,112 @@
+package org.team27.stocksim.model.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FairSharePool Tests")
+class FairSharePoolTest {
+
+    @Test
+    @DisplayName("Should serve a small session before a busy session's backlog")
+    void testRoundRobin() throws InterruptedException {
+        FairSharePool pool = new FairSharePool(1, "fair-test");
+        FairSharePool.Lane busy = pool.newLane(new SimulationContext("busy"));
+        FairSharePool.Lane small = pool.newLane(new SimulationContext("small"));
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch gate = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(102);
+
+        busy.execute(() -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            order.add("busy");
+            done.countDown();
+        });
+        for (int i = 0; i < 100; i++) {
+            busy.execute(() -> {
+                order.add("busy");
+                done.countDown();
+            });
+        }
+        small.execute(() -> {
+            order.add("small");
+            done.countDown();
+        });
+        gate.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(order.indexOf("small") <= 2, "small session waited behind " + order.indexOf("small"));
+    }
+
+    @Test
+    @DisplayName("Should let one session use every worker")
+    void testSingleLaneUsesAllWorkers() throws InterruptedException {
+        FairSharePool pool = new FairSharePool(4, "fair-test");
+        FairSharePool.Lane lane = pool.newLane(new SimulationContext("solo"));
+        CountDownLatch allRunning = new CountDownLatch(4);
+        CountDownLatch release = new CountDownLatch(1);
+
+        for (int i = 0; i < 4; i++) {
+            lane.execute(() -> {
+                allRunning.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        assertTrue(allRunning.await(5, TimeUnit.SECONDS));
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Should wait for queued tasks on shutdown and reject new ones")
+    void testShutdown() {
+        FairSharePool pool = new FairSharePool(2, "fair-test");
+        FairSharePool.Lane lane = pool.newLane(new SimulationContext("closing"));
+        AtomicInteger completed = new AtomicInteger();
+
+        for (int i = 0; i < 50; i++) {
+            lane.execute(() -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                completed.incrementAndGet();
+            });
+        }
+        lane.shutdown();
+
+        assertEquals(50, completed.get());
+        assertTrue(lane.isShutdown());
+        assertThrows(RejectedExecutionException.class, () -> lane.execute(() -> { }));
+    }
+
+    @Test
+    @DisplayName("Should keep serving other sessions after one lane shuts down")
+    void testOtherLanesUnaffected() throws InterruptedException {
+        FairSharePool pool = new FairSharePool(1, "fair-test");
+        pool.newLane(new SimulationContext("first")).shutdown();
+        CountDownLatch ran = new CountDownLatch(1);
+
+        pool.newLane(new SimulationContext("second")).execute(ran::countDown);
+
+        assertTrue(ran.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,111 @@
+package org.team27.stocksim.model.session;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.clock.ClockProvider;
+import org.team27.stocksim.model.clock.GameClock;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.simulation.SimulationConfig;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("SimulationContext Tests")
+class SimulationContextTest {
+
+    @Test
+    @DisplayName("Should fall back to the global context on unbound threads")
+    void testGlobalFallback() {
+        assertSame(SimulationContext.global(), SimulationContext.current());
+    }
+
+    @Test
+    @DisplayName("Should bind the context for the duration of a call and restore it")
+    void testBinding() {
+        SimulationContext outer = new SimulationContext("outer");
+        SimulationContext inner = new SimulationContext("inner");
+
+        outer.run(() -> {
+            assertSame(outer, SimulationContext.current());
+            assertSame(inner, inner.call(SimulationContext::current));
+            assertSame(outer, SimulationContext.current());
+        });
+        assertSame(SimulationContext.global(), SimulationContext.current());
+    }
+
+    @Test
+    @DisplayName("Should allocate order IDs per session")
+    void testOrderIdsPerSession() {
+        SimulationContext first = new SimulationContext("first");
+        SimulationContext second = new SimulationContext("second");
+
+        Order a = first.call(() -> new Order(Order.Side.BUY, "AAPL", money("100.00"), 1, "T1"));
+        Order b = second.call(() -> new Order(Order.Side.BUY, "AAPL", money("100.00"), 1, "T1"));
+        Order c = first.call(() -> new Order(Order.Side.BUY, "AAPL", money("100.00"), 1, "T1"));
+
+        assertEquals(1, a.getOrderId());
+        assertEquals(1, b.getOrderId());
+        assertEquals(2, c.getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should give each session its own clock")
+    void testClockPerSession() {
+        SimulationContext first = new SimulationContext("first");
+        SimulationContext second = new SimulationContext("second");
+        Instant t1 = Instant.parse("2024-01-15T10:00:00Z");
+        Instant t2 = Instant.parse("2030-06-01T00:00:00Z");
+
+        first.run(() -> ClockProvider.setClock(new GameClock(ZoneId.of("UTC"), t1, 0.0)));
+        second.run(() -> ClockProvider.setClock(new GameClock(ZoneId.of("UTC"), t2, 0.0)));
+
+        assertEquals(t1, first.call(() -> ClockProvider.getClock().instant()));
+        assertEquals(t2, second.call(() -> ClockProvider.getClock().instant()));
+        assertEquals(t2, second.call(() -> new Order(Order.Side.SELL, "AAPL", money("1.00"), 1, "T1"))
+                .getTimeStamp());
+        assertNotSame(first.getClock(), SimulationContext.global().getClock());
+    }
+
+    @Test
+    @DisplayName("Should keep two StockSim instances fully separate")
+    void testIndependentStockSims() {
+        StockSim first = new StockSim(new SimulationContext("first"), SimulationConfig.createDefault());
+        StockSim second = new StockSim(new SimulationContext("second"), SimulationConfig.createDefault());
+
+        first.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
+        first.createUser("USER1", "User", 10000);
+
+        assertNotNull(first.getInstrument("AAPL"));
+        assertNull(second.getInstrument("AAPL"));
+        assertTrue(second.getTraders().isEmpty());
+        assertNotSame(first.getContext().getTraderRegistry(), second.getContext().getTraderRegistry());
+    }
+
+    @Test
+    @DisplayName("Should run lane tasks bound to their session")
+    void testLaneBindsContext() throws InterruptedException {
+        SimulationContext context = new SimulationContext("lane");
+        List<SimulationContext> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+
+        for (int i = 0; i < 3; i++) {
+            context.getExecutor().execute(() -> {
+                seen.add(SimulationContext.current());
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(3, seen.size());
+        seen.forEach(c -> assertSame(context, c));
+    }
+}
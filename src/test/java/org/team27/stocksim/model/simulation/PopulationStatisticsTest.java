@@ -0,0 +1,127 @@
+package org.team27.stocksim.model.simulation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.StockSim;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.portfolio.Portfolio;
+import org.team27.stocksim.model.portfolio.TraderValuation;
+import org.team27.stocksim.model.portfolio.ValuationEngine;
+import org.team27.stocksim.model.users.Bot;
+import org.team27.stocksim.model.users.BotFactory;
+import org.team27.stocksim.model.users.bot.HodlerStrategy;
+import org.team27.stocksim.model.users.bot.RandomStrategy;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("PopulationStatistics Tests")
+class PopulationStatisticsTest {
+
+    private StockSim stockSim;
+
+    @BeforeEach
+    void setUp() {
+        stockSim = new StockSim();
+        stockSim.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
+        stockSim.createBot("HODL1", "Hodler 1", new HodlerStrategy());
+        stockSim.createBot("HODL2", "Hodler 2", new HodlerStrategy());
+        stockSim.createBot("RAND1", "Random 1", new RandomStrategy());
+        stockSim.getBots().get("RAND1").getPortfolio().addStock("AAPL", 50, money("100.00"), null);
+    }
+
+    private StrategyStatistics hodlers() {
+        return stockSim.getStrategyStatistics().get("HodlerStrategy");
+    }
+
+    private StrategyStatistics randoms() {
+        return stockSim.getStrategyStatistics().get("RandomStrategy");
+    }
+
+    @Test
+    @DisplayName("Should group bots by strategy class")
+    void testGroupsByStrategy() {
+        assertEquals(2, hodlers().getBotCount());
+        assertEquals(1, randoms().getBotCount());
+        assertEquals(money("20000.00"), hodlers().getTotalEquity());
+    }
+
+    @Test
+    @DisplayName("Should count resting orders as active until filled")
+    void testActiveOrders() {
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("100.00"), 10, "HODL1"));
+        assertEquals(1, hodlers().getActiveOrders());
+        assertEquals(0.0, hodlers().getFillRatio(), 1e-9);
+
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("100.00"), 4, "RAND1"));
+        assertEquals(1, hodlers().getActiveOrders(), "Partially filled order stays active");
+        assertEquals(0, randoms().getActiveOrders(), "Fully filled incoming order is closed");
+
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("100.00"), 6, "RAND1"));
+        assertEquals(0, hodlers().getActiveOrders());
+        assertEquals(1.0, hodlers().getFillRatio(), 1e-9);
+        assertEquals(2, hodlers().getFillCount());
+    }
+
+    @Test
+    @DisplayName("Should accumulate turnover and keep equity marked to market")
+    void testTurnoverAndEquity() {
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("110.00"), 10, "RAND1"));
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("110.00"), 10, "HODL1"));
+
+        assertEquals(money("1100.00"), hodlers().getTurnover());
+        assertEquals(money("1100.00"), randoms().getTurnover());
+        assertEquals(10, hodlers().getQuantityFilled());
+
+        // Hodlers paid 1100 for shares now marked at 110
+        assertEquals(money("20000.00"), hodlers().getTotalEquity());
+
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("120.00"), 1, "RAND1"));
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("120.00"), 1, "HODL2"));
+        // 11 shares marked at 120, cash reduced by 1100 + 120
+        assertEquals(money("20100.00"), hodlers().getTotalEquity());
+    }
+
+    @Test
+    @DisplayName("Should ignore orders from users")
+    void testIgnoresUsers() {
+        stockSim.createUser("USER1", "User", 10000);
+        stockSim.placeOrder(new Order(Order.Side.BUY, "AAPL", money("100.00"), 10, "USER1"));
+
+        assertEquals(0, hodlers().getOrdersPlaced());
+        assertEquals(0, randoms().getOrdersPlaced());
+    }
+
+    @Test
+    @DisplayName("Should keep the best bots of each strategy after a refresh")
+    void testTopBots() {
+        ValuationEngine engine = new ValuationEngine();
+        engine.onPricePrint("AAPL", money("100.00"));
+        PopulationStatistics statistics = new PopulationStatistics(engine);
+        BotFactory factory = new BotFactory();
+
+        int bots = PopulationStatistics.TOP_BOTS_PER_STRATEGY + 2;
+        for (int i = 0; i < bots; i++) {
+            Bot bot = (Bot) factory.createTrader("BOT" + i, "Bot " + i, new Portfolio(money("1000.00")));
+            // Bot i holds i shares bought at 50, so higher i means higher return
+            bot.getPortfolio().addStock("AAPL", i, money("50.00"), null);
+            engine.track(bot.getId(), bot.getPortfolio());
+            statistics.register(bot);
+        }
+        engine.onPricePrint("AAPL", money("200.00"));
+
+        StrategyStatistics randoms = statistics.getStrategyStatistics("RandomStrategy");
+        assertTrue(randoms.getTopBots().isEmpty(), "Top bots are only picked on refresh");
+
+        engine.refreshLeaderboard();
+        statistics.refreshTopBots();
+
+        List<TraderValuation> top = randoms.getTopBots();
+        assertEquals(PopulationStatistics.TOP_BOTS_PER_STRATEGY, top.size());
+        assertEquals("BOT" + (bots - 1), top.get(0).getTraderId());
+        assertEquals(bots, randoms.getBotCount());
+    }
+}
@@ -3,11 +3,20 @@ package org.team27.stocksim.model.users;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.team27.stocksim.dto.HistoryPageDTO;
+import org.team27.stocksim.dto.OrderDTO;
+import org.team27.stocksim.dto.TradeDTO;
+import org.team27.stocksim.model.StockSim;
 import org.team27.stocksim.model.market.Order;
 import org.team27.stocksim.model.market.Trade;
+import org.team27.stocksim.repository.OrderHistoryRepository;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -180,5 +189,196 @@ class OrderHistoryTest {
         assertEquals(1, orderHistory.getAllTrades().size());
     }
 
-}
+    @Test
+    @DisplayName("Should find orders by ID")
+    void testGetOrderById() {
+        Order order1 = new Order(Order.Side.BUY, "AAPL", money("150.00"), 100, "TRADER001");
+        Order order2 = new Order(Order.Side.SELL, "GOOGL", money("2800.00"), 50, "TRADER001");
+        orderHistory.addOrder(order1);
+        orderHistory.addOrder(order2);
+
+        assertSame(order1, orderHistory.getOrderById(order1.getOrderId()));
+        assertSame(order2, orderHistory.getOrderById(order2.getOrderId()));
+        assertNull(orderHistory.getOrderById(-1));
+    }
+
+    @Test
+    @DisplayName("Should index orders by symbol")
+    void testOrdersBySymbol() {
+        Order order1 = new Order(Order.Side.BUY, "AAPL", money("150.00"), 100, "TRADER001");
+        Order order2 = new Order(Order.Side.SELL, "GOOGL", money("2800.00"), 50, "TRADER001");
+        Order order3 = new Order(Order.Side.SELL, "AAPL", money("151.00"), 10, "TRADER001");
+        orderHistory.addOrder(order1);
+        orderHistory.addOrder(order2);
+        orderHistory.addOrder(order3);
+
+        assertEquals(List.of(order1, order3), orderHistory.getOrdersBySymbol("AAPL"));
+        assertEquals(2, orderHistory.getOrdersBySymbolDTO("AAPL").size());
+        assertTrue(orderHistory.getOrdersBySymbolDTO("MSFT").isEmpty());
+    }
 
+    @Test
+    @DisplayName("Should move closed orders out of the active view")
+    void testActiveOrdersUpdatedOnClose() {
+        Order filled = new Order(Order.Side.BUY, "AAPL", money("150.00"), 100, "TRADER001");
+        Order cancelled = new Order(Order.Side.SELL, "GOOGL", money("2800.00"), 50, "TRADER001");
+        Order open = new Order(Order.Side.BUY, "MSFT", money("380.00"), 75, "TRADER001");
+        orderHistory.addOrder(filled);
+        orderHistory.addOrder(cancelled);
+        orderHistory.addOrder(open);
+        assertEquals(3, orderHistory.getActiveOrdersDTO().size());
+
+        filled.fill(100);
+        orderHistory.onOrderClosed(filled);
+        cancelled.cancel();
+        orderHistory.onOrderClosed(cancelled);
+
+        assertEquals(List.of(open), orderHistory.getActiveOrders());
+        assertEquals(1, orderHistory.getFilledOrdersDTO().size());
+        assertEquals(filled.getOrderId(), orderHistory.getFilledOrdersDTO().get(0).getOrderId());
+        assertEquals(3, orderHistory.getOrderCount());
+    }
+
+    @Test
+    @DisplayName("Should keep the active orders of each symbol apart")
+    void testActiveOrdersBySymbol() {
+        Order first = new Order(Order.Side.BUY, "AAPL", money("150.00"), 100, "TRADER001");
+        Order other = new Order(Order.Side.BUY, "MSFT", money("380.00"), 75, "TRADER001");
+        Order second = new Order(Order.Side.SELL, "AAPL", money("155.00"), 50, "TRADER001");
+        orderHistory.addOrder(first);
+        orderHistory.addOrder(other);
+        orderHistory.addOrder(second);
+
+        List<OrderDTO> apple = orderHistory.getActiveOrdersBySymbolDTO("AAPL");
+        assertEquals(2, apple.size());
+        assertEquals(first.getOrderId(), apple.get(0).getOrderId());
+        assertEquals(second.getOrderId(), apple.get(1).getOrderId());
+
+        first.cancel();
+        orderHistory.onOrderClosed(first);
+        other.fill(75);
+        orderHistory.onOrderClosed(other);
+
+        assertEquals(1, orderHistory.getActiveOrdersBySymbolDTO("AAPL").size());
+        assertTrue(orderHistory.getActiveOrdersBySymbolDTO("MSFT").isEmpty());
+        assertEquals(2, orderHistory.getOrdersBySymbolDTO("AAPL").size());
+    }
+
+    @Test
+    @DisplayName("Should ignore repeated close notifications")
+    void testRepeatedCloseIsIgnored() {
+        Order order = new Order(Order.Side.BUY, "AAPL", money("150.00"), 100, "TRADER001");
+        orderHistory.addOrder(order);
+        order.fill(100);
+
+        orderHistory.onOrderClosed(order);
+        orderHistory.onOrderClosed(order);
+
+        assertTrue(orderHistory.getActiveOrders().isEmpty());
+        assertEquals(1, orderHistory.getFilledOrdersDTO().size());
+    }
+
+    @Test
+    @DisplayName("Should update active orders as the market fills and cancels them")
+    void testMarketUpdatesActiveOrders() {
+        StockSim stockSim = new StockSim();
+        stockSim.createStock("AAPL", "Apple Inc.", "0.01", "1", "Technology", "100");
+        stockSim.createUser("USER1", "User", 10000);
+        stockSim.createUser("USER2", "Other", 10000);
+        stockSim.getTraders().get("USER2").getPortfolio().addStock("AAPL", 10);
+        OrderHistory history = stockSim.getUsers().get("USER1").getOrderHistory();
+
+        Order toFill = new Order(Order.Side.BUY, "AAPL", money("100.00"), 10, "USER1");
+        Order toCancel = new Order(Order.Side.BUY, "AAPL", money("90.00"), 10, "USER1");
+        stockSim.placeOrder(toFill);
+        stockSim.placeOrder(toCancel);
+        assertEquals(2, history.getActiveOrders().size());
+
+        stockSim.placeOrder(new Order(Order.Side.SELL, "AAPL", money("100.00"), 10, "USER2"));
+        assertEquals(List.of(toCancel), history.getActiveOrders());
+
+        stockSim.cancelOrder(toCancel.getOrderId());
+        assertTrue(history.getActiveOrders().isEmpty());
+        assertEquals(1, history.getFilledOrdersDTO().size());
+        assertEquals(Order.Status.CANCELLED, history.getOrderById(toCancel.getOrderId()).getStatus());
+    }
+
+    @Test
+    @DisplayName("Should spill old history to the repository and page through all of it")
+    void testSpillAndPaginate() throws IOException {
+        Path directory = Files.createTempDirectory("order-history-test");
+        OrderHistoryRepository repository = new OrderHistoryRepository(directory);
+        OrderHistory bounded = new OrderHistory(repository, 20, 10);
+
+        List<Order> placed = new ArrayList<>();
+        for (int i = 0; i < 95; i++) {
+            Order order = new Order(Order.Side.BUY, "AAPL", money("100.00"), 1, "TRADER001");
+            bounded.addOrder(order);
+            order.fill(1);
+            bounded.onOrderClosed(order);
+            bounded.addTrade(new Trade(order.getOrderId(), 0, "AAPL", money("100.00"), 1, Instant.ofEpochSecond(i)));
+            placed.add(order);
+        }
+
+        assertEquals(95, bounded.getOrderCount());
+        assertEquals(95, bounded.getTradeCount());
+        assertTrue(bounded.getAllOrders().size() < 30, "Only the hot window stays in memory");
+        assertTrue(bounded.getAllTrades().size() < 30, "Only the hot window stays in memory");
+        assertNull(bounded.getOrderById(placed.get(0).getOrderId()));
+
+        HistoryPageDTO<OrderDTO> first = bounded.getOrderPage(0, 25);
+        assertEquals(25, first.getItems().size());
+        assertEquals(placed.get(94).getOrderId(), first.getItems().get(0).getOrderId());
+        assertTrue(first.hasNext());
+
+        HistoryPageDTO<OrderDTO> last = bounded.getOrderPage(3, 25);
+        assertEquals(20, last.getItems().size());
+        assertEquals(placed.get(0).getOrderId(), last.getItems().get(19).getOrderId());
+        assertEquals("FILLED", last.getItems().get(19).getStatus());
+        assertFalse(last.hasNext());
+
+        HistoryPageDTO<TradeDTO> trades = bounded.getTradePage(1, 50);
+        assertEquals(45, trades.getItems().size());
+        assertEquals(Instant.ofEpochSecond(0), trades.getItems().get(44).getTimestamp());
+
+        bounded.clear();
+        assertEquals(0, bounded.getOrderCount());
+        assertTrue(bounded.getOrderPage(0, 10).getItems().isEmpty());
+        repository.close();
+        assertFalse(Files.exists(directory));
+    }
+
+    @Test
+    @DisplayName("Should keep active orders live when spilling them in placement order")
+    void testActiveOrdersStayLiveWhenSpilled() throws IOException {
+        Path directory = Files.createTempDirectory("order-history-test");
+        OrderHistoryRepository repository = new OrderHistoryRepository(directory);
+        OrderHistory bounded = new OrderHistory(repository, 5, 5);
+
+        Order resting = new Order(Order.Side.BUY, "AAPL", money("90.00"), 10, "TRADER001");
+        bounded.addOrder(resting);
+        for (int i = 0; i < 30; i++) {
+            Order order = new Order(Order.Side.BUY, "AAPL", money("100.00"), 1, "TRADER001");
+            bounded.addOrder(order);
+            order.fill(1);
+            bounded.onOrderClosed(order);
+        }
+
+        assertSame(resting, bounded.getOrderById(resting.getOrderId()));
+        assertEquals(List.of(resting), bounded.getActiveOrders());
+        assertEquals(31, bounded.getOrderCount());
+        List<OrderDTO> all = bounded.getOrderPage(0, 100).getItems();
+        assertEquals(31, all.size());
+        // Chunks are contiguous, so the oldest order is still the last one paged
+        assertEquals(resting.getOrderId(), all.get(30).getOrderId());
+
+        resting.cancel();
+        bounded.onOrderClosed(resting);
+        assertTrue(bounded.getActiveOrders().isEmpty());
+        assertNull(bounded.getOrderById(resting.getOrderId()));
+        assertEquals("CANCELLED", bounded.getOrderPage(0, 100).getItems().get(30).getStatus());
+
+        bounded.clear();
+        repository.close();
+    }
+}
@@ -0,0 +1,111 @@
+package org.team27.stocksim.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.market.Trade;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("ShardProtocol Tests")
+class ShardProtocolTest {
+
+    @Test
+    @DisplayName("Should round-trip an order with ID, price scale and timestamp intact")
+    void testPlaceRoundTrip() {
+        Instant time = Instant.ofEpochSecond(1_700_000_000L, 123_456_789);
+        Order order = new Order(42, Order.Side.SELL, Order.OrderType.LIMIT, "AAPL", money("150.25"), 30,
+                "trader1", time);
+
+        ByteBuffer frame = encode(out -> ShardProtocol.writePlace(out, order));
+        assertEquals(ShardProtocol.PLACE, frame.get());
+        Order copy = ShardProtocol.readPlace(frame);
+
+        assertEquals(42, copy.getOrderId());
+        assertEquals(Order.Side.SELL, copy.getSide());
+        assertEquals(Order.OrderType.LIMIT, copy.getOrderType());
+        assertEquals(money("150.25"), copy.getPrice());
+        assertEquals(30, copy.getRemainingQuantity());
+        assertEquals("AAPL", copy.getSymbol());
+        assertEquals("trader1", copy.getTraderId());
+        assertEquals(time, copy.getTimeStamp());
+        assertEquals(Order.TimeInForce.GTC, copy.getTimeInForce());
+        assertFalse(frame.hasRemaining());
+    }
+
+    @Test
+    @DisplayName("Should round-trip the display quantity of an iceberg order")
+    void testIcebergRoundTrip() {
+        Order order = Order.iceberg(Order.Side.BUY, "AAPL", money("99.50"), 500, 25, "trader1");
+
+        ByteBuffer frame = encode(out -> ShardProtocol.writePlace(out, order));
+        assertEquals(ShardProtocol.PLACE, frame.get());
+        Order copy = ShardProtocol.readPlace(frame);
+
+        assertTrue(copy.isIceberg());
+        assertEquals(25, copy.getDisplayQuantity());
+        assertEquals(25, copy.getVisibleQuantity());
+        assertEquals(500, copy.getRemainingQuantity());
+    }
+
+    @Test
+    @DisplayName("Should round-trip the price cap of a market buy")
+    void testMarketPriceCapRoundTrip() {
+        Order order = new Order(Order.Side.BUY, Order.OrderType.MARKET, "AAPL", null, 5, "trader1");
+        order.setPriceCap(money("110.00"));
+
+        ByteBuffer frame = encode(out -> ShardProtocol.writePlace(out, order));
+        assertEquals(ShardProtocol.PLACE, frame.get());
+        Order copy = ShardProtocol.readPlace(frame);
+
+        assertTrue(copy.isMarketOrder());
+        assertNull(copy.getPrice());
+        assertEquals(money("110.00"), copy.getPriceCap());
+    }
+
+    @Test
+    @DisplayName("Should encode trades and acknowledgements")
+    void testTradeAndDone() {
+        Trade trade = new Trade(7, 8, "MSFT", money("99.99"), 5, Instant.EPOCH);
+
+        ByteBuffer frame = encode(out -> ShardProtocol.writeTrade(out, trade));
+        assertEquals(ShardProtocol.TRADE, frame.get());
+        assertEquals(7, frame.getInt());
+        assertEquals(8, frame.getInt());
+        assertEquals(money("99.99"), ShardProtocol.readPrice(frame));
+        assertEquals(5, frame.getInt());
+
+        ByteBuffer done = encode(out -> ShardProtocol.writeDone(out, 7));
+        assertEquals(ShardProtocol.DONE, done.get());
+        assertEquals(7, done.getInt());
+    }
+
+    @Test
+    @DisplayName("Should refuse orders that do not fit a frame")
+    void testEncodable() {
+        Order hugePrice = new Order(1, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL",
+                new BigDecimal("123456789012345678901234567890.00"), 1, "trader1", Instant.EPOCH);
+        Order longId = new Order(2, Order.Side.BUY, Order.OrderType.LIMIT, "AAPL", money("1.00"), 1,
+                "x".repeat(300), Instant.EPOCH);
+        Order market = new Order(3, Order.Side.BUY, Order.OrderType.MARKET, "AAPL", null, 1,
+                "trader1", Instant.EPOCH);
+
+        assertFalse(ShardProtocol.isEncodable(hugePrice));
+        assertFalse(ShardProtocol.isEncodable(longId));
+        assertTrue(ShardProtocol.isEncodable(market));
+    }
+
+    private static ByteBuffer encode(Consumer<ByteBuffer> encoder) {
+        ByteBuffer out = ByteBuffer.allocate(ShardProtocol.MAX_FRAME_BYTES);
+        encoder.accept(out);
+        out.flip();
+        assertEquals(out.remaining() - Integer.BYTES, out.getInt());
+        return out;
+    }
+}
@@ -0,0 +1,250 @@
+package org.team27.stocksim.shard;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.team27.stocksim.model.market.MarketOrderConfig;
+import org.team27.stocksim.model.market.Order;
+import org.team27.stocksim.model.metrics.MetricsRegistry;
+import org.team27.stocksim.model.portfolio.Portfolio;
+import org.team27.stocksim.model.session.SimulationContext;
+import org.team27.stocksim.model.users.ITraderRegistry;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.team27.stocksim.model.util.MoneyUtils.money;
+
+@DisplayName("ShardedMarket Tests")
+class ShardedMarketTest {
+
+    private static final List<String> SYMBOLS = List.of("AAPL", "MSFT");
+
+    private SimulationContext context;
+    private MetricsRegistry metrics;
+    private ShardCluster cluster;
+    private ShardedMarket market;
+    private List<Order> closedOrders;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        start(ShardCluster.Transport.TCP);
+    }
+
+    @AfterEach
+    void tearDown() {
+        market.close();
+        cluster.close();
+    }
+
+    private void start(ShardCluster.Transport transport) throws IOException {
+        context = new SimulationContext("shard-test");
+        metrics = new MetricsRegistry();
+        cluster = ShardCluster.startInProcess(2, transport, MarketOrderConfig.createDefault());
+        market = context.call(() -> {
+            try {
+                return new ShardedMarket(metrics, new SymbolPartitioner(SYMBOLS, 2), cluster.getAddresses());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        closedOrders = Collections.synchronizedList(new ArrayList<>());
+        market.setOnOrderClosed(closedOrders::add);
+
+        for (String symbol : SYMBOLS) {
+            context.getInstrumentRegistry().createInstrument(symbol, symbol, "0.01", "1", "Test", "100");
+        }
+        ITraderRegistry traders = context.getTraderRegistry();
+        traders.createUser("BUYER", "Buyer", 10000);
+        traders.createUser("SELLER", "Seller", 10000);
+        traders.getTrader("SELLER").getPortfolio().addStock("AAPL", 50);
+        traders.getTrader("SELLER").getPortfolio().addStock("MSFT", 50);
+    }
+
+    private Order place(Order.Side side, Order.OrderType type, String symbol, String price, int quantity,
+            String traderId) {
+        return context.call(() -> {
+            Order order = new Order(side, type, symbol, price != null ? money(price) : null, quantity, traderId);
+            market.placeOrder(order, context.getTraderRegistry().getAllTraders(),
+                    context.getInstrumentRegistry().getAllInstruments());
+            return order;
+        });
+    }
+
+    private Order limit(Order.Side side, String symbol, String price, int quantity, String traderId) {
+        return place(side, Order.OrderType.LIMIT, symbol, price, quantity, traderId);
+    }
+
+    @Test
+    @DisplayName("Should settle trades from several shards against one set of portfolios")
+    void testCrossShardSettlement() throws InterruptedException {
+        assertNotEquals(market.getPartitioner().shardFor("AAPL"), market.getPartitioner().shardFor("MSFT"));
+
+        limit(Order.Side.SELL, "AAPL", "100.00", 10, "SELLER");
+        limit(Order.Side.SELL, "MSFT", "50.00", 20, "SELLER");
+        Order buyAapl = limit(Order.Side.BUY, "AAPL", "100.00", 10, "BUYER");
+        Order buyMsft = limit(Order.Side.BUY, "MSFT", "50.00", 20, "BUYER");
+        assertTrue(market.awaitIdle(5000));
+
+        Portfolio buyer = context.getTraderRegistry().getTrader("BUYER").getPortfolio();
+        Portfolio seller = context.getTraderRegistry().getTrader("SELLER").getPortfolio();
+        assertEquals(Order.Status.FILLED, buyAapl.getStatus());
+        assertEquals(Order.Status.FILLED, buyMsft.getStatus());
+        assertEquals(0, money("8000.00").compareTo(buyer.getBalance()));
+        assertEquals(0, money("12000.00").compareTo(seller.getBalance()));
+        assertEquals(10, buyer.getStockQuantity("AAPL"));
+        assertEquals(20, buyer.getStockQuantity("MSFT"));
+        assertEquals(40, seller.getStockQuantity("AAPL"));
+        assertEquals(30, seller.getStockQuantity("MSFT"));
+        assertEquals(0, money("50.00").compareTo(
+                context.getInstrumentRegistry().getInstrument("MSFT").getCurrentPrice()));
+        assertEquals(2, market.getCompletedTrades().size());
+        assertEquals(4, closedOrders.size());
+        assertEquals(0, market.getTotalBookDepth());
+    }
+
+    @Test
+    @DisplayName("Should keep unmatched limit orders resting and cancel them on the shard")
+    void testRestingAndCancel() throws InterruptedException {
+        Order bid = limit(Order.Side.BUY, "AAPL", "90.00", 5, "BUYER");
+        assertTrue(market.awaitIdle(5000));
+
+        assertEquals(1, market.getOrderBook("AAPL").size());
+        // The snapshot holds a copy, leaving the live order to the shard
+        Order snapshotBid = market.getOrderBook("AAPL").getBestBid();
+        assertNotSame(bid, snapshotBid);
+        assertEquals(bid.getOrderId(), snapshotBid.getOrderId());
+        assertEquals(bid.getRemainingQuantity(), snapshotBid.getRemainingQuantity());
+        assertEquals(0, bid.getPrice().compareTo(snapshotBid.getPrice()));
+        assertEquals(0, market.getOrderBook("MSFT").size());
+
+        market.cancelOrder(bid.getOrderId(), context.getTraderRegistry().getAllTraders());
+        waitFor(() -> bid.getStatus() == Order.Status.CANCELLED);
+
+        assertEquals(0, market.getOrderBook("AAPL").size());
+        assertEquals(List.of(bid), closedOrders);
+        assertEquals(1, metrics.counter(MetricsRegistry.CANCELS).sum());
+
+        // The cancelled order no longer matches
+        limit(Order.Side.SELL, "AAPL", "90.00", 5, "SELLER");
+        assertTrue(market.awaitIdle(5000));
+        assertTrue(market.getCompletedTrades().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should amend a resting order on its shard and trade it when the new price crosses")
+    void testAmend() throws InterruptedException {
+        List<Order> amended = Collections.synchronizedList(new ArrayList<>());
+        market.setOnOrderAmended(amended::add);
+        Order bid = limit(Order.Side.BUY, "AAPL", "90.00", 10, "BUYER");
+        Order ask = limit(Order.Side.SELL, "AAPL", "95.00", 10, "SELLER");
+        assertTrue(market.awaitIdle(5000));
+
+        assertTrue(market.amendOrder(bid.getOrderId(), money("90.00"), 6,
+                context.getTraderRegistry().getAllTraders(), context.getInstrumentRegistry().getAllInstruments()));
+        assertTrue(market.awaitIdle(5000));
+        assertEquals(6, bid.getRemainingQuantity());
+        assertEquals(List.of(bid), amended);
+
+        assertTrue(market.amendOrder(ask.getOrderId(), money("90.00"), 4,
+                context.getTraderRegistry().getAllTraders(), context.getInstrumentRegistry().getAllInstruments()));
+        assertTrue(market.awaitIdle(5000));
+        waitFor(() -> ask.getStatus() == Order.Status.FILLED);
+
+        assertEquals(2, bid.getRemainingQuantity());
+        assertEquals(4, context.getTraderRegistry().getTrader("BUYER").getPortfolio().getStockQuantity("AAPL"));
+        assertEquals(2, metrics.counter(MetricsRegistry.AMENDS).sum());
+        assertFalse(market.amendOrder(ask.getOrderId(), money("90.00"), 10,
+                context.getTraderRegistry().getAllTraders(), context.getInstrumentRegistry().getAllInstruments()));
+        assertEquals(0, market.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should drop the unfilled remainder of a market order and report the price update")
+    void testMarketOrderRemainder() throws InterruptedException {
+        List<Set<String>> updates = Collections.synchronizedList(new ArrayList<>());
+        market.setOnPriceUpdate(updates::add);
+
+        limit(Order.Side.SELL, "MSFT", "100.00", 3, "SELLER");
+        Order buy = place(Order.Side.BUY, Order.OrderType.MARKET, "MSFT", null, 5, "BUYER");
+        assertTrue(market.awaitIdle(5000));
+
+        assertEquals(2, buy.getRemainingQuantity());
+        assertTrue(closedOrders.contains(buy));
+        assertEquals(0, market.getOrderBook("MSFT").size());
+        assertEquals(List.of(Set.of("MSFT")), updates);
+    }
+
+    @Test
+    @DisplayName("Should reject invalid orders without sending them")
+    void testReject() {
+        limit(Order.Side.BUY, "AAPL", "100.00", 0, "BUYER");
+
+        assertEquals(1, metrics.counter(MetricsRegistry.REJECTS).sum());
+        assertEquals(0, metrics.counter(MetricsRegistry.ORDERS).sum());
+        assertEquals(0, market.getInFlightCount());
+    }
+
+    @Test
+    @DisplayName("Should trade over Unix domain sockets")
+    void testUnixTransport() throws IOException, InterruptedException {
+        tearDown();
+        start(ShardCluster.Transport.UNIX);
+
+        limit(Order.Side.SELL, "AAPL", "100.00", 1, "SELLER");
+        limit(Order.Side.BUY, "AAPL", "100.00", 1, "BUYER");
+        assertTrue(market.awaitIdle(5000));
+
+        assertEquals(1, market.getCompletedTrades().size());
+        assertEquals(1, context.getTraderRegistry().getTrader("BUYER").getPortfolio().getStockQuantity("AAPL"));
+    }
+
+    @Test
+    @DisplayName("Should hold stop orders at the gateway and send them once a trade triggers them")
+    void testStopOrders() throws InterruptedException {
+        limit(Order.Side.BUY, "AAPL", "97.00", 15, "BUYER");
+        Order stopLoss = context.call(() -> {
+            Order order = Order.stop(Order.Side.SELL, "AAPL", money("98.00"), 10, "SELLER");
+            market.placeOrder(order, context.getTraderRegistry().getAllTraders(),
+                    context.getInstrumentRegistry().getAllInstruments());
+            return order;
+        });
+        Order cancelled = context.call(() -> {
+            Order order = Order.stop(Order.Side.BUY, "AAPL", money("150.00"), 1, "BUYER");
+            market.placeOrder(order, context.getTraderRegistry().getAllTraders(),
+                    context.getInstrumentRegistry().getAllInstruments());
+            return order;
+        });
+        assertTrue(market.awaitIdle(5000));
+        assertEquals(2, market.getPendingStopCount());
+
+        market.cancelOrder(cancelled.getOrderId(), context.getTraderRegistry().getAllTraders());
+        assertEquals(Order.Status.CANCELLED, cancelled.getStatus());
+
+        limit(Order.Side.SELL, "AAPL", "97.00", 5, "SELLER");
+        assertTrue(market.awaitIdle(5000));
+        waitFor(() -> market.getCompletedTrades().size() == 2);
+        assertTrue(market.awaitIdle(5000));
+
+        assertEquals(0, market.getPendingStopCount());
+        assertEquals(1, metrics.counter(MetricsRegistry.STOPS_TRIGGERED).sum());
+        assertTrue(stopLoss.isTriggered());
+        // The market stop sells into the remaining bid at 97.00
+        assertEquals(Order.Status.FILLED, stopLoss.getStatus());
+        assertEquals(15, context.getTraderRegistry().getTrader("BUYER").getPortfolio().getStockQuantity("AAPL"));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Timed out waiting");
+            Thread.sleep(1);
+        }
+    }
+}
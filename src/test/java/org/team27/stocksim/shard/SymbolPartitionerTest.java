@@ -0,0 +1,40 @@
+package org.team27.stocksim.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SymbolPartitioner Tests")
+class SymbolPartitionerTest {
+
+    @Test
+    @DisplayName("Should deal sorted symbols out round-robin")
+    void testRoundRobin() {
+        SymbolPartitioner partitioner = new SymbolPartitioner(List.of("TSLA", "AAPL", "MSFT", "GOOGL"), 2);
+
+        assertEquals(0, partitioner.shardFor("AAPL"));
+        assertEquals(1, partitioner.shardFor("GOOGL"));
+        assertEquals(0, partitioner.shardFor("MSFT"));
+        assertEquals(1, partitioner.shardFor("tsla"));
+        assertEquals(List.of("AAPL", "MSFT"), partitioner.symbolsOf(0));
+    }
+
+    @Test
+    @DisplayName("Should place unknown symbols on a valid shard consistently")
+    void testUnknownSymbol() {
+        SymbolPartitioner partitioner = new SymbolPartitioner(List.of("AAPL"), 3);
+
+        int shard = partitioner.shardFor("NEW");
+        assertTrue(shard >= 0 && shard < 3);
+        assertEquals(shard, new SymbolPartitioner(List.of(), 3).shardFor("new"));
+    }
+
+    @Test
+    @DisplayName("Should reject a non-positive shard count")
+    void testInvalidShardCount() {
+        assertThrows(IllegalArgumentException.class, () -> new SymbolPartitioner(List.of("AAPL"), 0));
+    }
+}